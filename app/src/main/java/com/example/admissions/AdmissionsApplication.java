@@ -1,9 +1,12 @@
 package com.example.admissions;
 
+import com.example.admissions.config.AdmissionsRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(AdmissionsRuntimeHints.class)
 public class AdmissionsApplication {
     public static void main(String[] args) {
         SpringApplication.run(AdmissionsApplication.class, args);
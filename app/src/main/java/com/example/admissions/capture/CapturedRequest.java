@@ -0,0 +1,29 @@
+package com.example.admissions.capture;
+
+/**
+ * An API request as {@link TrafficCaptureFilter} saw it.
+ *
+ * @param offsetNanos       when the request arrived, relative to the start of the capture
+ * @param durationNanos     time from arrival to the response being complete
+ * @param method            HTTP method
+ * @param path              path with the query string, if any, without the context path
+ * @param idempotencyKey    the {@code Idempotency-Key} header, null if absent
+ * @param body              request body, cut at the capture's body limit
+ * @param bodyTruncated     whether the request body was cut
+ * @param status            response status
+ * @param responseBody      response body, cut at the capture's body limit
+ * @param responseTruncated whether the response body was cut
+ */
+public record CapturedRequest(
+        long offsetNanos,
+        long durationNanos,
+        String method,
+        String path,
+        String idempotencyKey,
+        byte[] body,
+        boolean bodyTruncated,
+        int status,
+        byte[] responseBody,
+        boolean responseTruncated
+) {
+}
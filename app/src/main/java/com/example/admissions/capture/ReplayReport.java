@@ -0,0 +1,43 @@
+package com.example.admissions.capture;
+
+import java.util.List;
+
+/**
+ * Outcome of a {@link TrafficReplay}.
+ *
+ * @param requests          requests replayed
+ * @param failed            requests that got no response (connection errors, timeouts)
+ * @param statusMismatches  responses whose status differs from the recorded one
+ * @param bodyMismatches    responses with the recorded status whose JSON body differs from the recorded one
+ * @param speed             replay speed as a multiple of the recorded pace
+ * @param recorded          latency the application had when the traffic was captured
+ * @param replayed          latency seen by the replay client
+ * @param diffs             the first mismatches, for a look at what changed
+ * @param elapsedMillis     wall-clock time of the replay
+ */
+public record ReplayReport(
+        long requests,
+        long failed,
+        long statusMismatches,
+        long bodyMismatches,
+        double speed,
+        Latency recorded,
+        Latency replayed,
+        List<Diff> diffs,
+        long elapsedMillis
+) {
+
+    /**
+     * Latency percentiles in milliseconds.
+     */
+    public record Latency(double p50, double p90, double p99, double max) {
+    }
+
+    /**
+     * @param request  method and path as captured
+     * @param expected recorded status and body
+     * @param actual   replayed status and body, ids mapped back to the recorded ones
+     */
+    public record Diff(String request, String expected, String actual) {
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.admissions.capture;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous writer of a traffic capture file.
+ * <p>
+ * Request threads only offer the captured request to a bounded queue; encoding and writing happen on a single
+ * background thread. A request that finds the queue full, or arrives once the file has reached its size limit, is
+ * dropped and counted, so capturing never blocks a request and never fills the disk.
+ */
+@Slf4j
+public final class TrafficCapture implements AutoCloseable {
+    private static final int MAX_BATCH = 256;
+
+    private final Path file;
+    private final long maxFileBytes;
+    private final long startedNanos = System.nanoTime();
+    private final TrafficLog.Writer writer;
+    private final BlockingQueue<CapturedRequest> queue;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+    private volatile boolean full;
+
+    private final LongAdder captured = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile long bytes;
+
+    /**
+     * @param capacity     requests queued for the writer thread before further ones are dropped
+     * @param maxFileBytes size at which the capture stops growing
+     */
+    public TrafficCapture(Path file, int capacity, long maxFileBytes) throws IOException {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capture capacity must be at least 1");
+        }
+        this.file = file;
+        this.maxFileBytes = maxFileBytes;
+        this.writer = new TrafficLog.Writer(file, System.currentTimeMillis());
+        this.bytes = writer.size();
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writerThread = new Thread(this::run, "traffic-capture");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    public Path getFile() { return file; }
+
+    /**
+     * @return {@code nanoTime} relative to the start of the capture, for {@link CapturedRequest#offsetNanos()}
+     */
+    public long offsetNanos(long nanoTime) {
+        return Math.max(0, nanoTime - startedNanos);
+    }
+
+    public void record(CapturedRequest request) {
+        if (!running || full || !queue.offer(request)) {
+            dropped.increment();
+        }
+    }
+
+    public long getCaptured() { return captured.sum(); }
+
+    public long getDropped() { return dropped.sum(); }
+
+    public long getBytes() { return bytes; }
+
+    public int getQueueDepth() { return queue.size(); }
+
+    private void run() {
+        List<CapturedRequest> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                CapturedRequest first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.error("Closing traffic capture {} failed", file, e);
+        }
+    }
+
+    private void write(List<CapturedRequest> batch) {
+        for (CapturedRequest request : batch) {
+            if (full) {
+                dropped.increment();
+                continue;
+            }
+            try {
+                writer.append(request);
+                captured.increment();
+                bytes = writer.size();
+                if (bytes >= maxFileBytes) {
+                    full = true;
+                    log.warn("Traffic capture {} reached {} bytes; further requests are dropped", file, bytes);
+                }
+            } catch (IOException e) {
+                full = true;
+                dropped.increment();
+                log.error("Writing traffic capture {} failed; further requests are dropped", file, e);
+            }
+        }
+        if (queue.isEmpty()) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                log.error("Flushing traffic capture {} failed", file, e);
+            }
+        }
+    }
+
+    /**
+     * Stops the writer thread after it has written the queued requests and closes the file; later requests are
+     * dropped.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.admissions.capture;
+
+import com.example.admissions.dto.BatchResponse;
+import com.example.admissions.overload.TrafficClass;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Servlet filter recording each applicant-facing API request, with its bodies and timing, to a
+ * {@link TrafficCapture}.
+ * <p>
+ * The request body is kept as the controller reads it, up to the body limit; the response body is buffered and
+ * copied to the client once the chain returns, which it would be anyway for these small JSON responses.
+ * <p>
+ * Batch requests are recorded as the single requests their items stand for, each with the item's own status and
+ * body, so a replay keeps each user's requests in order whether they arrived alone or in a batch. The items share
+ * the batch's time: they run one after another, so each gets an equal slice of it. A batch that cannot be split,
+ * such as one with a malformed body, is recorded as it arrived.
+ */
+public class TrafficCaptureFilter extends OncePerRequestFilter {
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private static final String COMPLETE_BATCH = "/steps/complete/batch";
+
+    private final TrafficCapture capture;
+    private final int maxBodyBytes;
+    private final ObjectMapper objectMapper;
+
+    public TrafficCaptureFilter(TrafficCapture capture, int maxBodyBytes, ObjectMapper objectMapper) {
+        this.capture = capture;
+        this.maxBodyBytes = maxBodyBytes;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!isCaptured(request.getMethod(), path)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long started = System.nanoTime();
+        boolean batch = TrafficClass.classify(request.getMethod(), path) == TrafficClass.BATCH;
+        // A batch body holds up to MAX_ITEMS requests, each of which may use the body limit once split off
+        int bodyLimit = batch ? (int) Math.min(Integer.MAX_VALUE, (long) maxBodyBytes * BatchResponse.MAX_ITEMS) : maxBodyBytes;
+        ContentCachingRequestWrapper cachingRequest = new ContentCachingRequestWrapper(request, bodyLimit);
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(cachingRequest, cachingResponse);
+        } finally {
+            long duration = System.nanoTime() - started;
+            byte[] body = cachingRequest.getContentAsByteArray();
+            long contentLength = request.getContentLengthLong();
+            boolean bodyTruncated = contentLength > body.length || (contentLength < 0 && body.length >= bodyLimit);
+            byte[] responseBody = cachingResponse.getContentAsByteArray();
+            List<CapturedRequest> items = batch && !bodyTruncated
+                    ? splitBatch(path, started, duration, body, cachingResponse.getStatus(), responseBody)
+                    : null;
+            if (items != null) {
+                items.forEach(capture::record);
+            } else {
+                String query = request.getQueryString();
+                capture.record(captured(capture.offsetNanos(started), duration, request.getMethod(),
+                        query != null ? path + "?" + query : path, request.getHeader(IDEMPOTENCY_KEY),
+                        body, bodyTruncated, cachingResponse.getStatus(), responseBody));
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * @return the single requests standing for the batch's items, or null if the request body is not a batch
+     */
+    private List<CapturedRequest> splitBatch(String path, long started, long duration, byte[] body, int status,
+                                             byte[] responseBody) {
+        try {
+            JsonNode request = objectMapper.readTree(body);
+            JsonNode items = request == null ? null : request.get(COMPLETE_BATCH.equals(path) ? "completions" : "user_ids");
+            if (items == null || !items.isArray() || items.isEmpty()) {
+                return null;
+            }
+            JsonNode results = status == 200 ? objectMapper.readTree(responseBody).get("results") : null;
+            if (results != null && (!results.isArray() || results.size() != items.size())) {
+                results = null;
+            }
+            long slice = duration / items.size();
+            List<CapturedRequest> requests = new ArrayList<>(items.size());
+            for (int i = 0; i < items.size(); i++) {
+                JsonNode item = items.get(i);
+                // Without per-item results (the batch was turned away as a whole) each item gets the batch's response
+                int itemStatus = status;
+                byte[] itemResponse = responseBody;
+                if (results != null) {
+                    JsonNode result = results.get(i);
+                    itemStatus = result.path("status").asInt();
+                    itemResponse = objectMapper.writeValueAsBytes(result.hasNonNull("body")
+                            ? result.get("body")
+                            : objectMapper.createObjectNode().put("error", result.path("error").asText()));
+                }
+                long offset = capture.offsetNanos(started) + i * slice;
+                if (COMPLETE_BATCH.equals(path)) {
+                    String key = item.hasNonNull("idempotency_key") ? item.get("idempotency_key").asText() : null;
+                    JsonNode single = item.isObject() ? ((ObjectNode) item.deepCopy()).without("idempotency_key") : item;
+                    requests.add(captured(offset, slice, "PUT", "/steps/complete", key,
+                            objectMapper.writeValueAsBytes(single), false, itemStatus, itemResponse));
+                } else {
+                    requests.add(captured(offset, slice, "GET", "/users/" + item.asText() + "/status", null,
+                            new byte[0], false, itemStatus, itemResponse));
+                }
+            }
+            return requests;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private CapturedRequest captured(long offsetNanos, long durationNanos, String method, String path,
+                                     String idempotencyKey, byte[] body, boolean bodyTruncated, int status,
+                                     byte[] responseBody) {
+        boolean cutBody = body.length > maxBodyBytes;
+        boolean responseTruncated = responseBody.length > maxBodyBytes;
+        return new CapturedRequest(offsetNanos, durationNanos, method, path, idempotencyKey,
+                cutBody ? Arrays.copyOf(body, maxBodyBytes) : body, bodyTruncated || cutBody, status,
+                responseTruncated ? Arrays.copyOf(responseBody, maxBodyBytes) : responseBody, responseTruncated);
+    }
+
+    /**
+     * Captures applicant-facing API calls, batches included; event streams, the flow definition and admin traffic
+     * are left out.
+     */
+    static boolean isCaptured(String method, String path) {
+        TrafficClass trafficClass = TrafficClass.classify(method, path);
+        return trafficClass != null && trafficClass != TrafficClass.ADMIN;
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.admissions.capture;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * The binary format of a traffic capture.
+ * <p>
+ * A file starts with the 8-byte magic {@value #MAGIC} and the capture's start as epoch milliseconds (8 bytes, big
+ * endian). Each {@link CapturedRequest} follows as a frame: its length as a varint, then the fields as varints and
+ * length-prefixed byte strings:
+ * <pre>
+ * offset micros, duration micros, flags (1: body truncated, 2: response truncated), status,
+ * method, path, idempotency key (length 0: none), body, response body
+ * </pre>
+ * Varints are unsigned LEB128. Requests are appended as they complete, so offsets are only roughly ascending.
+ * A frame cut short by a crash ends the log for the {@link Reader}.
+ */
+public final class TrafficLog {
+    public static final String MAGIC = "ADMCAP01";
+
+    private static final int TRUNCATED_BODY = 1;
+    private static final int TRUNCATED_RESPONSE = 2;
+
+    private TrafficLog() {
+    }
+
+    /**
+     * Appends requests to a new capture file; not thread-safe.
+     */
+    public static final class Writer implements Closeable {
+        private final DataOutputStream out;
+        private final ByteArrayOutputStream frame = new ByteArrayOutputStream(1024);
+        private long size;
+
+        public Writer(Path file, long startedAtEpochMillis) throws IOException {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+            out.write(MAGIC.getBytes(StandardCharsets.US_ASCII));
+            out.writeLong(startedAtEpochMillis);
+            size = MAGIC.length() + Long.BYTES;
+        }
+
+        public void append(CapturedRequest request) throws IOException {
+            frame.reset();
+            writeVarLong(frame, request.offsetNanos() / 1000);
+            writeVarLong(frame, request.durationNanos() / 1000);
+            writeVarLong(frame, (request.bodyTruncated() ? TRUNCATED_BODY : 0)
+                    | (request.responseTruncated() ? TRUNCATED_RESPONSE : 0));
+            writeVarLong(frame, request.status());
+            writeBytes(frame, request.method().getBytes(StandardCharsets.UTF_8));
+            writeBytes(frame, request.path().getBytes(StandardCharsets.UTF_8));
+            writeBytes(frame, request.idempotencyKey() != null
+                    ? request.idempotencyKey().getBytes(StandardCharsets.UTF_8) : new byte[0]);
+            writeBytes(frame, request.body());
+            writeBytes(frame, request.responseBody());
+
+            writeVarLong(out, frame.size());
+            frame.writeTo(out);
+            size += varLongSize(frame.size()) + frame.size();
+        }
+
+        /**
+         * @return bytes written so far, header included
+         */
+        public long size() {
+            return size;
+        }
+
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * Reads a capture file front to back.
+     */
+    public static final class Reader implements Closeable {
+        private final DataInputStream in;
+        private final long startedAtEpochMillis;
+
+        public Reader(Path file) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+            byte[] magic = new byte[MAGIC.length()];
+            try {
+                in.readFully(magic);
+                if (!Arrays.equals(magic, MAGIC.getBytes(StandardCharsets.US_ASCII))) {
+                    throw new IOException(file + " is not a traffic capture");
+                }
+                this.startedAtEpochMillis = in.readLong();
+            } catch (IOException e) {
+                in.close();
+                throw e instanceof EOFException ? new IOException(file + " is not a traffic capture", e) : e;
+            }
+        }
+
+        public long startedAtEpochMillis() {
+            return startedAtEpochMillis;
+        }
+
+        /**
+         * @return the next request, or null at the end of the log or at a frame cut short
+         */
+        public CapturedRequest next() throws IOException {
+            byte[] frame;
+            try {
+                long length = readVarLong(in);
+                if (length < 0) {
+                    return null;
+                }
+                frame = new byte[Math.toIntExact(length)];
+                in.readFully(frame);
+            } catch (EOFException e) {
+                return null;
+            }
+            DataInputStream fields = new DataInputStream(new ByteArrayInputStream(frame));
+            long offsetMicros = readVarLong(fields);
+            long durationMicros = readVarLong(fields);
+            int flags = (int) readVarLong(fields);
+            int status = (int) readVarLong(fields);
+            String method = new String(readBytes(fields), StandardCharsets.UTF_8);
+            String path = new String(readBytes(fields), StandardCharsets.UTF_8);
+            byte[] key = readBytes(fields);
+            byte[] body = readBytes(fields);
+            byte[] response = readBytes(fields);
+            return new CapturedRequest(offsetMicros * 1000, durationMicros * 1000, method, path,
+                    key.length > 0 ? new String(key, StandardCharsets.UTF_8) : null,
+                    body, (flags & TRUNCATED_BODY) != 0, status, response, (flags & TRUNCATED_RESPONSE) != 0);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static void writeBytes(OutputStream out, byte[] bytes) throws IOException {
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[Math.toIntExact(readVarLong(in))];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * @return the value, or -1 if the stream ended before its first byte
+     */
+    private static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                if (shift == 0) {
+                    return -1;
+                }
+                throw new EOFException();
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
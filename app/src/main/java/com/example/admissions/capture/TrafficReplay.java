@@ -0,0 +1,416 @@
+package com.example.admissions.capture;
+
+import com.example.admissions.AdmissionsApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Replays a traffic capture against a running application and compares its responses with the recorded ones.
+ * <p>
+ * Requests are sent in the order they were captured, each no earlier than its recorded arrival divided by the
+ * speed. Requests of the same user never overlap: each waits for the user's previous request to be answered, so
+ * a sign-up, the completions that follow it and the status reads in between reach the application in their
+ * original order. Batch requests were split into their items at capture, so their items are replayed as the
+ * single requests they stand for and take their place in their users' order. Users get new ids on the replay target; the ids from sign-up responses are mapped to the new
+ * ones in paths and {@code user_id} fields before sending, and back in responses before comparing. Attempt
+ * timestamps ({@code when}) differ by construction and are not compared, nor are bodies the capture cut short.
+ * Request headers other than {@code Idempotency-Key} are not captured, so conditional reads are replayed
+ * unconditionally and a recorded {@code 304} is matched by a {@code 200}.
+ * <pre>
+ * TrafficReplay &lt;capture.admcap&gt; [--speed &lt;x&gt;] [--target &lt;url&gt;] [--max-in-flight &lt;n&gt;] [--json]
+ *               [--&lt;property&gt;=&lt;value&gt; ...]
+ * </pre>
+ * Without {@code --target} the application is started on a free local port for the replay, with any
+ * {@code --property=value} arguments, and stopped afterwards.
+ */
+public final class TrafficReplay {
+    static final int MAX_DIFFS = 20;
+
+    private static final Pattern USER_PATH = Pattern.compile("^/users/([^/?]+)(.*)$");
+    private static final Set<String> ID_FIELDS = Set.of("id", "userId", "user_id");
+    private static final Set<String> VOLATILE_FIELDS = Set.of("when");
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+    private final URI target;
+    private final double speed;
+    private final int maxInFlight;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * @param speed       multiple of the recorded pace, e.g. 1 for real time or 20 for twenty times as fast
+     * @param maxInFlight requests awaiting a response before reading the capture pauses
+     */
+    public TrafficReplay(URI target, double speed, int maxInFlight) {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("Replay speed must be positive");
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("At least one request must be allowed in flight");
+        }
+        this.target = target;
+        this.speed = speed;
+        this.maxInFlight = maxInFlight;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        Path capture = null;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                if (capture != null) {
+                    throw new IllegalArgumentException("Unexpected argument " + arg);
+                }
+                capture = Path.of(arg);
+            } else if (arg.contains("=")) {
+                applicationArgs.add(arg);
+            } else if (arg.equals("--json")) {
+                options.put("json", "true");
+            } else if (i + 1 < args.length) {
+                options.put(arg.substring(2), args[++i]);
+            } else {
+                throw new IllegalArgumentException(arg + " needs a value");
+            }
+        }
+        if (capture == null) {
+            throw new IllegalArgumentException("Usage: TrafficReplay <capture.admcap> [--speed <x>] [--target <url>] "
+                    + "[--max-in-flight <n>] [--json] [--<property>=<value> ...]");
+        }
+        double speed = Double.parseDouble(options.getOrDefault("speed", "1"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "256"));
+
+        ConfigurableApplicationContext context = null;
+        URI target;
+        if (options.containsKey("target")) {
+            target = URI.create(options.get("target"));
+        } else {
+            applicationArgs.add("--server.port=0");
+            applicationArgs.add("--admissions.capture.enabled=false");
+            context = new SpringApplicationBuilder(AdmissionsApplication.class).run(applicationArgs.toArray(String[]::new));
+            target = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+        }
+        ReplayReport report;
+        try {
+            report = new TrafficReplay(target, speed, maxInFlight).replay(capture);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+
+        PrintStream out = System.out;
+        if (options.containsKey("json")) {
+            out.println(new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(report));
+        } else {
+            print(out, report);
+        }
+    }
+
+    static void print(PrintStream out, ReplayReport report) {
+        out.printf(Locale.ROOT, "Replayed %,d requests at %sx in %,d ms: %,d failed, %,d status mismatches, "
+                        + "%,d body mismatches%n%n", report.requests(), report.speed(), report.elapsedMillis(),
+                report.failed(), report.statusMismatches(), report.bodyMismatches());
+        out.printf(Locale.ROOT, "%-12s %9s %9s %9s %9s%n", "latency ms", "p50", "p90", "p99", "max");
+        printLatency(out, "recorded", report.recorded());
+        printLatency(out, "replayed", report.replayed());
+        for (ReplayReport.Diff diff : report.diffs()) {
+            out.printf(Locale.ROOT, "%n%s%n  recorded: %s%n  replayed: %s%n", diff.request(), diff.expected(), diff.actual());
+        }
+    }
+
+    private static void printLatency(PrintStream out, String label, ReplayReport.Latency latency) {
+        out.printf(Locale.ROOT, "%-12s %9.2f %9.2f %9.2f %9.2f%n",
+                label, latency.p50(), latency.p90(), latency.p99(), latency.max());
+    }
+
+    public ReplayReport replay(Path capture) throws IOException, InterruptedException {
+        Run run = new Run();
+        long started = System.nanoTime();
+        try (TrafficLog.Reader reader = new TrafficLog.Reader(capture)) {
+            CapturedRequest request;
+            while ((request = reader.next()) != null) {
+                long wait = started + (long) (request.offsetNanos() / speed) - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                run.permits.acquire();
+                run.dispatch(request);
+            }
+        }
+        run.permits.acquire(maxInFlight);
+        return new ReplayReport(run.requests, run.failed.sum(), run.statusMismatches.sum(), run.bodyMismatches.sum(),
+                speed, run.recordedLatency.summary(), run.replayedLatency.summary(), List.copyOf(run.diffs),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    /**
+     * State of one replay. Only the reading thread dispatches; responses are handled on the client's threads.
+     */
+    private final class Run {
+        final Semaphore permits = new Semaphore(maxInFlight);
+        final Map<String, CompletableFuture<Void>> lanes = new ConcurrentHashMap<>();
+        final Map<String, String> replayedIds = new ConcurrentHashMap<>();
+        final Map<String, String> recordedIds = new ConcurrentHashMap<>();
+        final Latencies recordedLatency = new Latencies();
+        final Latencies replayedLatency = new Latencies();
+        final List<ReplayReport.Diff> diffs = new ArrayList<>();
+        final LongAdder failed = new LongAdder();
+        final LongAdder statusMismatches = new LongAdder();
+        final LongAdder bodyMismatches = new LongAdder();
+        long requests;
+
+        void dispatch(CapturedRequest request) {
+            requests++;
+            recordedLatency.add(request.durationNanos());
+            String lane = laneOf(request);
+            if (lane == null) {
+                send(request);
+                return;
+            }
+            CompletableFuture<Void> previous = lanes.get(lane);
+            CompletableFuture<Void> next = (previous != null ? previous : DONE).thenCompose(ignored -> send(request));
+            lanes.put(lane, next);
+            next.whenComplete((ignored, e) -> lanes.remove(lane, next));
+        }
+
+        /**
+         * @return the recorded user the request belongs to, or null if it cannot be told
+         */
+        private String laneOf(CapturedRequest request) {
+            Matcher userPath = USER_PATH.matcher(request.path());
+            if (userPath.matches()) {
+                return "user:" + userPath.group(1);
+            }
+            if ("POST".equals(request.method())) {
+                String id = field(parse(request.responseBody(), request.responseTruncated()), "id");
+                if (id != null) {
+                    return "user:" + id;
+                }
+                String email = field(parse(request.body(), request.bodyTruncated()), "email");
+                return email != null ? "email:" + email : null;
+            }
+            String userId = field(parse(request.body(), request.bodyTruncated()), "user_id");
+            return userId != null ? "user:" + userId : null;
+        }
+
+        /**
+         * @return a future completing, never exceptionally, once the response has been compared
+         */
+        private CompletableFuture<Void> send(CapturedRequest request) {
+            HttpRequest httpRequest;
+            try {
+                httpRequest = toHttpRequest(request);
+            } catch (RuntimeException e) {
+                failed.increment();
+                permits.release();
+                return DONE;
+            }
+            long sent = System.nanoTime();
+            return client.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray())
+                    .handle((response, error) -> {
+                        try {
+                            if (error != null) {
+                                failed.increment();
+                            } else {
+                                replayedLatency.add(System.nanoTime() - sent);
+                                compare(request, response);
+                            }
+                        } catch (RuntimeException e) {
+                            failed.increment();
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    });
+        }
+
+        private HttpRequest toHttpRequest(CapturedRequest request) {
+            String path = request.path();
+            Matcher userPath = USER_PATH.matcher(path);
+            if (userPath.matches()) {
+                path = "/users/" + replayedIds.getOrDefault(userPath.group(1), userPath.group(1)) + userPath.group(2);
+            }
+            byte[] body = request.body();
+            JsonNode json = parse(body, request.bodyTruncated());
+            String userId = field(json, "user_id");
+            if (userId != null && replayedIds.containsKey(userId)) {
+                ((ObjectNode) json).put("user_id", replayedIds.get(userId));
+                body = write(json);
+            }
+            HttpRequest.Builder builder = HttpRequest.newBuilder(target.resolve(path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Accept", "application/json")
+                    .method(request.method(), body.length > 0
+                            ? HttpRequest.BodyPublishers.ofByteArray(body)
+                            : HttpRequest.BodyPublishers.noBody());
+            if (body.length > 0) {
+                builder.header("Content-Type", "application/json");
+            }
+            if (request.idempotencyKey() != null) {
+                builder.header(TrafficCaptureFilter.IDEMPOTENCY_KEY, request.idempotencyKey());
+            }
+            return builder.build();
+        }
+
+        private void compare(CapturedRequest request, HttpResponse<byte[]> response) {
+            JsonNode actual = parse(response.body(), false);
+            if ("POST".equals(request.method()) && response.statusCode() / 100 == 2) {
+                String recordedId = field(parse(request.responseBody(), request.responseTruncated()), "id");
+                String replayedId = field(actual, "id");
+                if (recordedId != null && replayedId != null) {
+                    replayedIds.put(recordedId, replayedId);
+                    recordedIds.put(replayedId, recordedId);
+                }
+            }
+            if (request.status() == 304 && response.statusCode() == 200) {
+                return;
+            }
+            if (response.statusCode() != request.status()) {
+                statusMismatches.increment();
+                diff(request, response);
+                return;
+            }
+            if (request.responseTruncated() || request.responseBody().length == 0) {
+                return;
+            }
+            JsonNode expected = parse(request.responseBody(), false);
+            boolean same = expected != null && actual != null
+                    ? normalize(expected.deepCopy(), Map.of()).equals(normalize(actual.deepCopy(), recordedIds))
+                    : Arrays.equals(request.responseBody(), response.body());
+            if (!same) {
+                bodyMismatches.increment();
+                diff(request, response);
+            }
+        }
+
+        private void diff(CapturedRequest request, HttpResponse<byte[]> response) {
+            synchronized (diffs) {
+                if (diffs.size() < MAX_DIFFS) {
+                    JsonNode actual = parse(response.body(), false);
+                    diffs.add(new ReplayReport.Diff(request.method() + " " + request.path(),
+                            request.status() + " " + new String(request.responseBody(), StandardCharsets.UTF_8),
+                            response.statusCode() + " " + (actual != null
+                                    ? normalize(actual, recordedIds).toString()
+                                    : new String(response.body(), StandardCharsets.UTF_8))));
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops fields that differ on every run and maps ids through {@code ids}, in place.
+     */
+    private static JsonNode normalize(JsonNode node, Map<String, String> ids) {
+        if (node instanceof ObjectNode object) {
+            Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (VOLATILE_FIELDS.contains(field.getKey())) {
+                    fields.remove();
+                } else if (ID_FIELDS.contains(field.getKey()) && field.getValue().isTextual()) {
+                    String id = ids.get(field.getValue().asText());
+                    if (id != null) {
+                        field.setValue(TextNode.valueOf(id));
+                    }
+                } else {
+                    normalize(field.getValue(), ids);
+                }
+            }
+        } else if (node.isArray()) {
+            node.forEach(element -> normalize(element, ids));
+        }
+        return node;
+    }
+
+    private JsonNode parse(byte[] json, boolean truncated) {
+        if (truncated || json.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private byte[] write(JsonNode json) {
+        try {
+            return objectMapper.writeValueAsBytes(json);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String field(JsonNode json, String name) {
+        if (json == null || !json.isObject()) {
+            return null;
+        }
+        JsonNode value = json.get(name);
+        return value != null && value.isValueNode() && !value.isNull() ? value.asText() : null;
+    }
+
+    /**
+     * Latency samples of a replay, in nanoseconds.
+     */
+    private static final class Latencies {
+        private long[] samples = new long[1024];
+        private int size;
+
+        synchronized void add(long nanos) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+        }
+
+        synchronized ReplayReport.Latency summary() {
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            return new ReplayReport.Latency(percentile(sorted, 0.5), percentile(sorted, 0.9),
+                    percentile(sorted, 0.99), size > 0 ? sorted[size - 1] / 1e6 : 0);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = Math.max(0, (int) Math.ceil(quantile * sorted.length) - 1);
+            return sorted[index] / 1e6;
+        }
+    }
+}
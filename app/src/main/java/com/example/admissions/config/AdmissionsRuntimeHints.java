@@ -0,0 +1,51 @@
+package com.example.admissions.config;
+
+import com.example.admissions.dto.BatchResponse;
+import com.example.admissions.dto.CompleteStepBatchRequest;
+import com.example.admissions.dto.CompleteStepRequest;
+import com.example.admissions.dto.CreateUserRequest;
+import com.example.admissions.dto.CreateUserResponse;
+import com.example.admissions.dto.UserStatusBatchRequest;
+import com.example.admissions.engine.config.FlowConfigLoader;
+import com.example.admissions.engine.config.FlowJsonDto;
+import com.example.admissions.engine.dto.CompleteStepResponse;
+import com.example.admissions.engine.dto.CurrentPositionResponse;
+import com.example.admissions.engine.dto.TaskAttemptsResponse;
+import com.example.admissions.engine.dto.UserProgressEvent;
+import com.example.admissions.engine.dto.UserStatusResponse;
+import com.example.admissions.engine.model.CompiledFlow;
+import com.example.admissions.engine.model.Flow;
+import com.example.admissions.jfr.RecordingInfo;
+import com.example.admissions.timing.SlowRequest;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * Hints for a GraalVM native image: what the AOT engine cannot infer from the bean definitions.
+ * <p>
+ * Request and response bodies of the controllers are detected automatically; these are the types Jackson
+ * binds outside of a controller signature (the {@code flow.json} DTOs read by {@link FlowConfigLoader}, the
+ * {@link Flow} model rendered by {@code GET /flow}, the progress events pushed over SSE, the actuator
+ * endpoint payloads and the generic batch results), plus the {@code flow.json} resource itself. Nested types are registered recursively.
+ * The flow class generated at build time is loaded by name when {@code admissions.flow.engine=generated}.
+ */
+public class AdmissionsRuntimeHints implements RuntimeHintsRegistrar {
+    private static final Class<?>[] BOUND_TYPES = {
+            FlowJsonDto.class, Flow.class, UserProgressEvent.class,
+            CompleteStepRequest.class, CompleteStepResponse.class, CreateUserRequest.class, CreateUserResponse.class,
+            CurrentPositionResponse.class, TaskAttemptsResponse.class, UserStatusResponse.class,
+            CompleteStepBatchRequest.class, UserStatusBatchRequest.class, BatchResponse.class,
+            SlowRequest.class, RecordingInfo.class
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), BOUND_TYPES);
+        hints.resources().registerPattern("flow.json");
+        hints.reflection().registerType(TypeReference.of(CompiledFlow.GENERATED_CLASS),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.PUBLIC_FIELDS);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.admissions.config;
+
+import com.example.admissions.overload.Bulkhead;
+import com.example.admissions.overload.BulkheadFilter;
+import com.example.admissions.overload.Bulkheads;
+import com.example.admissions.overload.ReactiveBulkheadFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the per-class bulkheads (reads, writes, batches, admin), applied after the adaptive limiter.
+ *
+ * <h3>Properties</h3>
+ * <ul>
+ *   <li><code>admissions.bulkhead.enabled</code> - isolate traffic classes from each other (default: true)</li>
+ *   <li><code>admissions.bulkhead.read.*</code> - <code>/users/{id}/current|status|attempts</code>
+ *       (defaults: a quarter of the container threads concurrent, an eighth queued, 100ms max wait)</li>
+ *   <li><code>admissions.bulkhead.write.*</code> - <code>PUT /steps/complete</code> and <code>POST /users</code>
+ *       (defaults: a quarter of the container threads concurrent, an eighth queued, 1s max wait)</li>
+ *   <li><code>admissions.bulkhead.batch.*</code> - <code>PUT /steps/complete/batch</code> and <code>POST /users/status/batch</code>
+ *       (defaults: a 25th of the container threads concurrent, a 50th queued, 1s max wait)</li>
+ *   <li><code>admissions.bulkhead.admin.*</code> - <code>/admin/**</code> bulk operations and actuator endpoints other than health
+ *       (defaults: 2 concurrent, 4 queued, 5s max wait)</li>
+ *   <li><code>admissions.bulkhead.retry-after</code> - <code>Retry-After</code> sent with <code>503</code> responses (default: 1s)</li>
+ * </ul>
+ * Each class takes <code>max-concurrent</code>, <code>max-queued</code> and <code>max-wait</code>. On the servlet stack a
+ * queued request holds a container thread, so the read, write and batch defaults are derived from
+ * <code>server.tomcat.threads.max</code> (default 200): with 200 threads all classes together hold at most 168, which
+ * leaves threads for unclassified requests such as the flow and health endpoints. Startup fails on the servlet stack
+ * if the configured slots and queues add up to the thread pool or more, since a burst could then take every thread.
+ */
+@Configuration
+@ConditionalOnProperty(name = "admissions.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadConfig {
+
+    @Bean
+    public Bulkheads bulkheads(
+            @Value("${admissions.bulkhead.read.max-concurrent:#{${server.tomcat.threads.max:200} / 4}}") int readConcurrent,
+            @Value("${admissions.bulkhead.read.max-queued:#{${server.tomcat.threads.max:200} / 8}}") int readQueued,
+            @Value("${admissions.bulkhead.read.max-wait:100ms}") Duration readWait,
+            @Value("${admissions.bulkhead.write.max-concurrent:#{${server.tomcat.threads.max:200} / 4}}") int writeConcurrent,
+            @Value("${admissions.bulkhead.write.max-queued:#{${server.tomcat.threads.max:200} / 8}}") int writeQueued,
+            @Value("${admissions.bulkhead.write.max-wait:1s}") Duration writeWait,
+            @Value("${admissions.bulkhead.batch.max-concurrent:#{${server.tomcat.threads.max:200} / 25}}") int batchConcurrent,
+            @Value("${admissions.bulkhead.batch.max-queued:#{${server.tomcat.threads.max:200} / 50}}") int batchQueued,
+            @Value("${admissions.bulkhead.batch.max-wait:1s}") Duration batchWait,
+            @Value("${admissions.bulkhead.admin.max-concurrent:2}") int adminConcurrent,
+            @Value("${admissions.bulkhead.admin.max-queued:4}") int adminQueued,
+            @Value("${admissions.bulkhead.admin.max-wait:5s}") Duration adminWait) {
+        return new Bulkheads(
+                new Bulkhead("read", readConcurrent, readQueued, readWait),
+                new Bulkhead("write", writeConcurrent, writeQueued, writeWait),
+                new Bulkhead("batch", batchConcurrent, batchQueued, batchWait),
+                new Bulkhead("admin", adminConcurrent, adminQueued, adminWait));
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilter(
+            Bulkheads bulkheads,
+            @Value("${admissions.bulkhead.retry-after:1s}") Duration retryAfter,
+            @Value("${server.tomcat.threads.max:200}") int containerThreads) {
+        int held = 0;
+        for (Bulkhead bulkhead : bulkheads.all()) {
+            held += bulkhead.getMaxConcurrent() + bulkhead.getMaxQueued();
+        }
+        if (held >= containerThreads) {
+            throw new IllegalArgumentException("Bulkheads hold up to " + held + " requests but Tomcat has only "
+                    + containerThreads + " threads; lower admissions.bulkhead.*.max-concurrent/max-queued");
+        }
+        FilterRegistrationBean<BulkheadFilter> registration =
+                new FilterRegistrationBean<>(new BulkheadFilter(bulkheads, retryAfter));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 20)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public ReactiveBulkheadFilter reactiveBulkheadFilter(
+            Bulkheads bulkheads,
+            @Value("${admissions.bulkhead.retry-after:1s}") Duration retryAfter) {
+        return new ReactiveBulkheadFilter(bulkheads, retryAfter);
+    }
+
+    @Bean
+    public MeterBinder bulkheadMetrics(Bulkheads bulkheads) {
+        return registry -> {
+            for (Bulkhead bulkhead : bulkheads.all()) {
+                Gauge.builder("admissions.bulkhead.active", bulkhead, Bulkhead::getActive)
+                        .tag("bulkhead", bulkhead.getName())
+                        .register(registry);
+                Gauge.builder("admissions.bulkhead.queued", bulkhead, Bulkhead::getQueued)
+                        .tag("bulkhead", bulkhead.getName())
+                        .register(registry);
+                FunctionCounter.builder("admissions.bulkhead.admitted", bulkhead, Bulkhead::getAdmitted)
+                        .tag("bulkhead", bulkhead.getName())
+                        .register(registry);
+                FunctionCounter.builder("admissions.bulkhead.rejected", bulkhead, Bulkhead::getRejected)
+                        .tag("bulkhead", bulkhead.getName())
+                        .description("Requests turned away because the bulkhead queue was full")
+                        .register(registry);
+                FunctionCounter.builder("admissions.bulkhead.abandoned", bulkhead, Bulkhead::getAbandoned)
+                        .tag("bulkhead", bulkhead.getName())
+                        .description("Queued requests that timed out or whose client went away")
+                        .register(registry);
+            }
+        };
+    }
+}
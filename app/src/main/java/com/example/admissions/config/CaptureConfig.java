@@ -0,0 +1,81 @@
+package com.example.admissions.config;
+
+import com.example.admissions.capture.TrafficCapture;
+import com.example.admissions.capture.TrafficCaptureFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Configuration of API traffic capture for later replay ({@code TrafficReplay}). Off by default; when on, each
+ * applicant-facing request, and each item of a batch request, is recorded to a new file named after the start time,
+ * {@code capture-<yyyyMMdd-HHmmss>.admcap}.
+ *
+ * <h3>Properties</h3>
+ * <ul>
+ *   <li><code>admissions.capture.enabled</code> - record API requests (default: false)</li>
+ *   <li><code>admissions.capture.directory</code> - where capture files are written (default: data/capture)</li>
+ *   <li><code>admissions.capture.max-body-bytes</code> - request and response bytes kept per request; longer bodies
+ *       are cut and marked (default: 64KB)</li>
+ *   <li><code>admissions.capture.capacity</code> - requests queued for the writer thread before further ones are
+ *       dropped (default: 16384)</li>
+ *   <li><code>admissions.capture.max-file-size</code> - size at which the capture stops growing (default: 1GB)</li>
+ * </ul>
+ * Only the servlet stack is captured. The capture filter runs ahead of the timing filter, limiter and bulkheads,
+ * so shed requests are recorded with the status clients saw.
+ */
+@Configuration
+@ConditionalOnProperty(name = "admissions.capture.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CaptureConfig {
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Bean
+    public TrafficCapture trafficCapture(
+            @Value("${admissions.capture.directory:data/capture}") Path directory,
+            @Value("${admissions.capture.capacity:16384}") int capacity,
+            @Value("${admissions.capture.max-file-size:1GB}") DataSize maxFileSize) throws IOException {
+        Path file = directory.resolve("capture-" + FILE_TIMESTAMP.format(LocalDateTime.now()) + ".admcap");
+        return new TrafficCapture(file, capacity, maxFileSize.toBytes());
+    }
+
+    @Bean
+    public FilterRegistrationBean<TrafficCaptureFilter> trafficCaptureFilter(
+            TrafficCapture trafficCapture,
+            ObjectMapper objectMapper,
+            @Value("${admissions.capture.max-body-bytes:64KB}") DataSize maxBodyBytes) {
+        FilterRegistrationBean<TrafficCaptureFilter> registration = new FilterRegistrationBean<>(
+                new TrafficCaptureFilter(trafficCapture, Math.toIntExact(maxBodyBytes.toBytes()), objectMapper));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 4);
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder trafficCaptureMetrics(TrafficCapture trafficCapture) {
+        return registry -> {
+            FunctionCounter.builder("admissions.capture.captured", trafficCapture, TrafficCapture::getCaptured)
+                    .register(registry);
+            FunctionCounter.builder("admissions.capture.dropped", trafficCapture, TrafficCapture::getDropped)
+                    .description("Requests not captured because the queue was full or the file reached its size limit")
+                    .register(registry);
+            Gauge.builder("admissions.capture.bytes", trafficCapture, TrafficCapture::getBytes)
+                    .register(registry);
+            Gauge.builder("admissions.capture.queue_depth", trafficCapture, TrafficCapture::getQueueDepth)
+                    .register(registry);
+        };
+    }
+}
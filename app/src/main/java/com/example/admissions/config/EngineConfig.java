@@ -0,0 +1,58 @@
+package com.example.admissions.config;
+
+import com.example.admissions.engine.AdmissionsEngine;
+import com.example.admissions.engine.logging.EngineEventLog;
+import com.example.admissions.engine.model.CompiledFlow;
+import com.example.admissions.engine.model.FlowAnalysis;
+import com.example.admissions.engine.service.FlowService;
+import com.example.admissions.engine.service.UserService;
+import com.example.admissions.engine.storage.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Builds the {@link AdmissionsEngine} from the application's flow, storage and event log beans and exposes its
+ * services to the controllers. Progress notifications are published as application events, which is how
+ * the server-sent event stream hears about them.
+ *
+ * <h3>Properties</h3>
+ * <ul>
+ *   <li><code>admissions.history.max-attempts-per-task</code> - attempts per task retained for each user
+ *       (default: 16)</li>
+ * </ul>
+ */
+@Configuration
+public class EngineConfig {
+
+    /**
+     * The repository and event log are beans of their own, closed by the context, so the engine is not closed.
+     */
+    @Bean(destroyMethod = "")
+    public AdmissionsEngine admissionsEngine(
+            CompiledFlow compiledFlow,
+            FlowAnalysis flowAnalysis,
+            UserRepository userRepository,
+            EngineEventLog engineEventLog,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${admissions.history.max-attempts-per-task:16}") int attemptHistoryLimit) {
+        return AdmissionsEngine.builder()
+                .flow(compiledFlow, flowAnalysis)
+                .repository(userRepository)
+                .attemptHistoryLimit(attemptHistoryLimit)
+                .eventLog(engineEventLog)
+                .progressListener(eventPublisher::publishEvent)
+                .build();
+    }
+
+    @Bean
+    public UserService userService(AdmissionsEngine admissionsEngine) {
+        return admissionsEngine.userService();
+    }
+
+    @Bean
+    public FlowService flowService(AdmissionsEngine admissionsEngine) {
+        return admissionsEngine.flowService();
+    }
+}
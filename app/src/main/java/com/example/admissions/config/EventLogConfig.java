@@ -0,0 +1,60 @@
+package com.example.admissions.config;
+
+import com.example.admissions.engine.logging.EngineEvent;
+import com.example.admissions.engine.logging.EngineEventLog;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * Configuration of the flow engine's structured event log (logger <code>com.example.admissions.events</code>).
+ *
+ * <h3>Properties</h3>
+ * <ul>
+ *   <li><code>admissions.event-log.async</code> - format and write events on a background thread (default: true)</li>
+ *   <li><code>admissions.event-log.capacity</code> - events queued for that thread before sampleable ones
+ *       are dropped (default: 8192)</li>
+ *   <li><code>admissions.event-log.sample.task-completed</code> - share of passed completions logged (default: 1.0)</li>
+ *   <li><code>admissions.event-log.sample.current-position</code> - share of current position reads logged (default: 1.0)</li>
+ *   <li><code>admissions.event-log.sample.flow-completed</code> - share of reads by users who finished the flow
+ *       logged (default: 1.0)</li>
+ * </ul>
+ * User creations, failed completions and final statuses are always logged.
+ */
+@Configuration
+public class EventLogConfig {
+
+    @Bean
+    public EngineEventLog engineEventLog(
+            @Value("${admissions.event-log.async:true}") boolean async,
+            @Value("${admissions.event-log.capacity:8192}") int capacity,
+            @Value("${admissions.event-log.sample.task-completed:1.0}") double taskCompleted,
+            @Value("${admissions.event-log.sample.current-position:1.0}") double currentPosition,
+            @Value("${admissions.event-log.sample.flow-completed:1.0}") double flowCompleted) {
+        return new EngineEventLog(async ? capacity : 0, Map.of(
+                EngineEvent.TASK_COMPLETED, taskCompleted,
+                EngineEvent.CURRENT_POSITION, currentPosition,
+                EngineEvent.FLOW_COMPLETED, flowCompleted));
+    }
+
+    @Bean
+    public MeterBinder engineEventLogMetrics(EngineEventLog engineEventLog) {
+        return registry -> {
+            FunctionCounter.builder("admissions.event_log.written", engineEventLog, EngineEventLog::getWritten)
+                    .register(registry);
+            FunctionCounter.builder("admissions.event_log.sampled_out", engineEventLog, EngineEventLog::getSampledOut)
+                    .description("Events skipped by sampling")
+                    .register(registry);
+            FunctionCounter.builder("admissions.event_log.dropped", engineEventLog, EngineEventLog::getDropped)
+                    .description("Sampleable events dropped because the queue was full")
+                    .register(registry);
+            Gauge.builder("admissions.event_log.queue_depth", engineEventLog, EngineEventLog::getQueueDepth)
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.admissions.config;
+
+import com.example.admissions.engine.service.FlowService;
+import com.example.admissions.stream.UserEventHub;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the per-user Server-Sent Events streams.
+ *
+ * <h3>Properties</h3>
+ * <ul>
+ *   <li><code>admissions.events.timeout</code> - how long a stream stays open before the client reconnects (default: 30m)</li>
+ *   <li><code>admissions.events.heartbeat-interval</code> - silence after which a stream gets a heartbeat comment (default: 15s)</li>
+ *   <li><code>admissions.events.write-timeout</code> - how long a client may leave events unread before it is disconnected (default: 10s)</li>
+ *   <li><code>admissions.events.buffer-capacity</code> - events buffered per stream before a slow client is disconnected (default: 16)</li>
+ *   <li><code>admissions.events.dispatcher-threads</code> - threads writing events to clients (default: 4)</li>
+ * </ul>
+ */
+@Configuration
+public class EventStreamConfig {
+
+    @Bean
+    public UserEventHub userEventHub(
+            FlowService flowService,
+            ObjectMapper objectMapper,
+            @Value("${admissions.events.timeout:30m}") Duration timeout,
+            @Value("${admissions.events.heartbeat-interval:15s}") Duration heartbeatInterval,
+            @Value("${admissions.events.write-timeout:10s}") Duration writeTimeout,
+            @Value("${admissions.events.buffer-capacity:16}") int bufferCapacity,
+            @Value("${admissions.events.dispatcher-threads:4}") int dispatcherThreads) {
+        return new UserEventHub(flowService::getUserProgressEvent, objectMapper, timeout,
+                heartbeatInterval, writeTimeout, bufferCapacity, dispatcherThreads);
+    }
+
+    @Bean
+    public MeterBinder userEventHubMetrics(UserEventHub userEventHub) {
+        return registry -> {
+            Gauge.builder("admissions.events.subscribers", userEventHub, UserEventHub::getSubscriberCount)
+                    .description("Open per-user event streams")
+                    .register(registry);
+            FunctionCounter.builder("admissions.events.sent", userEventHub, UserEventHub::getEventsSent)
+                    .description("Progress events computed and fanned out")
+                    .register(registry);
+            FunctionCounter.builder("admissions.events.heartbeats", userEventHub, UserEventHub::getHeartbeatsSent)
+                    .register(registry);
+            FunctionCounter.builder("admissions.events.slow_disconnects", userEventHub, UserEventHub::getSlowDisconnects)
+                    .description("Streams closed because the client let its buffer fill")
+                    .register(registry);
+        };
+    }
+}
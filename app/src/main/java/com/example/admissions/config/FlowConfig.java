@@ -0,0 +1,90 @@
+package com.example.admissions.config;
+
+import com.example.admissions.engine.config.FlowCodeGenerator;
+import com.example.admissions.engine.config.FlowConfigLoader;
+import com.example.admissions.engine.model.CompiledFlow;
+import com.example.admissions.engine.model.Flow;
+import com.example.admissions.engine.model.FlowAnalysis;
+import com.example.admissions.engine.model.InterpretedFlow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration that loads the flow from JSON file.
+ * 
+ * <h3>Modifying the Flow</h3>
+ * <p>The flow is now defined in <code>engine/src/main/resources/flow.json</code>.</p>
+ * <p>Non-developers (PMs) can easily modify the flow by editing the JSON file:</p>
+ * <ul>
+ *   <li><b>Add a step:</b> Add a new step object to the "steps" array</li>
+ *   <li><b>Remove a step:</b> Remove the step object from the "steps" array</li>
+ *   <li><b>Reorder steps:</b> Change the order in the "steps" array - order matters!</li>
+ *   <li><b>Add a task:</b> Add a new task object to a step's "tasks" array</li>
+ *   <li><b>Remove a task:</b> Remove the task object from the step's "tasks" array</li>
+ *   <li><b>Reorder tasks:</b> Change the order in the step's "tasks" array</li>
+ *   <li><b>Modify conditions:</b> Update the passCondition or visibilityCondition</li>
+ * </ul>
+ * 
+ * <h3>Supported Pass Conditions</h3>
+ * <ul>
+ *   <li><code>{"type": "always"}</code> - Task always passes when completed</li>
+ *   <li><code>{"type": "scoreGreaterThan", "field": "score", "threshold": 75.0}</code> - Passes if score > threshold</li>
+ *   <li><code>{"type": "equals", "field": "decision", "value": "passed_interview"}</code> - Passes if field equals value</li>
+ * </ul>
+ * 
+ * <h3>Supported Visibility Conditions</h3>
+ * <ul>
+ *   <li><code>{"type": "always"}</code> - Task always visible</li>
+ *   <li><code>{"type": "previousTaskScoreBetween", "taskId": "iq_test", "min": 60.0, "max": 75.0}</code> - Visible if previous task score is between min and max</li>
+ * </ul>
+ * <p>previousTaskScoreBetween reads <code>score</code> from the earlier task's payload unless a <code>field</code>
+ * is given; both bounds are inclusive.</p>
+ *
+ * <h3>Validation</h3>
+ * <p>{@code FlowAnalyzer} checks the flow at startup (and at build time). Duplicate task ids, pass conditions on
+ * fields missing from requiredFields and visibility conditions on unknown or later tasks fail startup; tasks that
+ * can never be shown are logged. The derived {@link FlowAnalysis} sizes each applicant's task maps.</p>
+ *
+ * <h3>Flow Engine</h3>
+ * <p>The build also compiles flow.json into Java ({@link FlowCodeGenerator}). Which form the engine runs is
+ * chosen at startup; both behave identically, the generated one avoids walking the model on every request.
+ * A generated class that does not match the flow.json on the classpath fails startup.</p>
+ *
+ * <h3>Properties</h3>
+ * <ul>
+ *   <li><code>admissions.flow.engine</code> - <code>interpreted</code> or <code>generated</code> (default: interpreted)</li>
+ * </ul>
+ */
+@Configuration
+public class FlowConfig {
+    private final FlowConfigLoader flowConfigLoader = new FlowConfigLoader();
+
+    @Bean
+    public FlowConfigLoader flowConfigLoader() {
+        return flowConfigLoader;
+    }
+
+    @Bean
+    public FlowAnalysis flowAnalysis() {
+        return flowConfigLoader.analyzeFlow();
+    }
+
+    /**
+     * Depends on the analysis so an invalid flow fails startup with every problem listed.
+     */
+    @Bean
+    public CompiledFlow compiledFlow(FlowAnalysis flowAnalysis,
+                                     @Value("${admissions.flow.engine:interpreted}") String engine) {
+        return switch (engine) {
+            case "interpreted" -> new InterpretedFlow(flowConfigLoader.loadFlow());
+            case "generated" -> flowConfigLoader.loadGeneratedFlow();
+            default -> throw new IllegalArgumentException("Unknown flow engine: " + engine);
+        };
+    }
+
+    @Bean
+    public Flow admissionsFlow(CompiledFlow compiledFlow) {
+        return compiledFlow.flow();
+    }
+}
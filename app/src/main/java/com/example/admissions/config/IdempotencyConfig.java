@@ -0,0 +1,53 @@
+package com.example.admissions.config;
+
+import com.example.admissions.service.IdempotencyCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the {@code Idempotency-Key} replay cache for {@code PUT /steps/complete}.
+ *
+ * <h3>Properties</h3>
+ * <ul>
+ *   <li><code>admissions.idempotency.max-entries</code> - completed responses kept for replay (default: 100000)</li>
+ *   <li><code>admissions.idempotency.ttl</code> - how long a key can be replayed after its first use (default: 1h)</li>
+ * </ul>
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyCache idempotencyCache(
+            @Value("${admissions.idempotency.max-entries:100000}") int maxEntries,
+            @Value("${admissions.idempotency.ttl:1h}") Duration ttl) {
+        return new IdempotencyCache(maxEntries, ttl);
+    }
+
+    @Bean
+    public MeterBinder idempotencyCacheMetrics(IdempotencyCache idempotencyCache) {
+        return registry -> {
+            Gauge.builder("admissions.idempotency.size", idempotencyCache, IdempotencyCache::size)
+                    .register(registry);
+            Gauge.builder("admissions.idempotency.hit_ratio", idempotencyCache, IdempotencyCache::hitRatio)
+                    .description("Share of keyed completions answered from the cache")
+                    .register(registry);
+            FunctionCounter.builder("admissions.idempotency.hits", idempotencyCache, IdempotencyCache::getHits)
+                    .description("Retries answered with a stored response")
+                    .register(registry);
+            FunctionCounter.builder("admissions.idempotency.collapsed", idempotencyCache, IdempotencyCache::getCollapsed)
+                    .description("Duplicates that waited for an in-flight completion with the same key")
+                    .register(registry);
+            FunctionCounter.builder("admissions.idempotency.misses", idempotencyCache, IdempotencyCache::getMisses)
+                    .register(registry);
+            FunctionCounter.builder("admissions.idempotency.evictions", idempotencyCache, IdempotencyCache::getEvictions)
+                    .description("Entries dropped before their TTL because the cache was full")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.admissions.config;
+
+import com.example.admissions.jfr.FlightRecordings;
+import com.example.admissions.jfr.FlightRecordingsEndpoint;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration of Java Flight Recorder support: the {@code /actuator/jfr} endpoint and an optional
+ * recording that runs for the lifetime of the application.
+ * <p>
+ * The flow engine's events are emitted regardless of these properties; they cost nothing until a
+ * recording enables them.
+ * <p>
+ * The endpoint lets callers start recordings and download them, which show the application's internals. It is not
+ * exposed over HTTP by default; add <code>jfr</code> to <code>management.endpoints.web.exposure.include</code> only
+ * behind management security or on a separate management port.
+ *
+ * <h3>Properties</h3>
+ * <ul>
+ *   <li><code>admissions.jfr.enabled</code> - register the recording endpoint (default: true)</li>
+ *   <li><code>admissions.jfr.threshold</code> - shortest flow engine event recorded (default: 0ms, all)</li>
+ *   <li><code>admissions.jfr.max-recording-size</code> - largest <code>maxSize</code> a recording may ask for, and the
+ *       size used when it asks for none (default: 250MB)</li>
+ *   <li><code>admissions.jfr.continuous.enabled</code> - record continuously from startup with the
+ *       <code>default</code> settings (default: false)</li>
+ *   <li><code>admissions.jfr.continuous.max-age</code> - history kept by the continuous recording (default: 30m)</li>
+ *   <li><code>admissions.jfr.continuous.max-size</code> - disk space used by the continuous recording (default: 100MB)</li>
+ * </ul>
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "admissions.jfr.enabled", havingValue = "true", matchIfMissing = true)
+public class JfrConfig {
+
+    @Bean
+    public FlightRecordings flightRecordings(
+            @Value("${admissions.jfr.threshold:0ms}") Duration threshold,
+            @Value("${admissions.jfr.max-recording-size:250MB}") DataSize maxRecordingSize) {
+        return new FlightRecordings(threshold, maxRecordingSize);
+    }
+
+    @Bean
+    public FlightRecordingsEndpoint flightRecordingsEndpoint(FlightRecordings flightRecordings) {
+        return new FlightRecordingsEndpoint(flightRecordings);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "admissions.jfr.continuous.enabled", havingValue = "true")
+    public Recording continuousRecording(
+            FlightRecordings flightRecordings,
+            @Value("${admissions.jfr.continuous.max-age:30m}") Duration maxAge,
+            @Value("${admissions.jfr.continuous.max-size:100MB}") DataSize maxSize) {
+        Recording recording = flightRecordings.start("admissions-continuous", "default", null, maxAge, maxSize);
+        log.info("Continuous flight recording started: id={}, maxAge={}, maxSize={}", recording.getId(), maxAge, maxSize);
+        return recording;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.admissions.config;
+
+import com.example.admissions.overload.AdaptiveConcurrencyLimiter;
+import com.example.admissions.overload.ConcurrencyLimitFilter;
+import com.example.admissions.overload.ReactiveConcurrencyLimitFilter;
+import com.example.admissions.overload.TrafficClass;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.time.Duration;
+
+/**
+ * Configuration of adaptive load shedding in front of the API controllers.
+ *
+ * <h3>Properties</h3>
+ * <ul>
+ *   <li><code>admissions.limiter.enabled</code> - shed requests over the adaptive concurrency limit (default: true)</li>
+ *   <li><code>admissions.limiter.initial-limit</code>, <code>.min-limit</code>, <code>.max-limit</code> - bounds of the
+ *       concurrent request limit (defaults: 50, 10, 1000)</li>
+ *   <li><code>admissions.limiter.read-share</code> - share of the limit status polling may use; the rest is kept for
+ *       task completions and sign-ups (default: 0.8)</li>
+ *   <li><code>admissions.limiter.smoothing</code> - weight of each new limit estimate (default: 0.2)</li>
+ *   <li><code>admissions.limiter.tolerance</code> - latency, as a multiple of the no-load latency, tolerated before the
+ *       limit shrinks (default: 2.0)</li>
+ *   <li><code>admissions.limiter.retry-after</code> - <code>Retry-After</code> sent with <code>429</code> responses (default: 1s)</li>
+ * </ul>
+ */
+@Configuration
+@ConditionalOnProperty(name = "admissions.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class OverloadConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+            @Value("${admissions.limiter.initial-limit:50}") int initialLimit,
+            @Value("${admissions.limiter.min-limit:10}") int minLimit,
+            @Value("${admissions.limiter.max-limit:1000}") int maxLimit,
+            @Value("${admissions.limiter.read-share:0.8}") double readShare,
+            @Value("${admissions.limiter.smoothing:0.2}") double smoothing,
+            @Value("${admissions.limiter.tolerance:2.0}") double tolerance) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, readShare, smoothing, tolerance);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            AdaptiveConcurrencyLimiter limiter,
+            @Value("${admissions.limiter.retry-after:1s}") Duration retryAfter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(limiter, retryAfter));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 10)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public ReactiveConcurrencyLimitFilter reactiveConcurrencyLimitFilter(
+            AdaptiveConcurrencyLimiter limiter,
+            @Value("${admissions.limiter.retry-after:1s}") Duration retryAfter) {
+        return new ReactiveConcurrencyLimitFilter(limiter, retryAfter);
+    }
+
+    @Bean
+    public MeterBinder concurrencyLimiterMetrics(AdaptiveConcurrencyLimiter limiter) {
+        return registry -> {
+            Gauge.builder("admissions.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .register(registry);
+            Gauge.builder("admissions.limiter.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .register(registry);
+            for (TrafficClass trafficClass : new TrafficClass[]{TrafficClass.READ, TrafficClass.WRITE}) {
+                String tag = trafficClass.name().toLowerCase();
+                FunctionCounter.builder("admissions.limiter.admitted", limiter, l -> l.getAdmitted(trafficClass))
+                        .tag("class", tag)
+                        .register(registry);
+                FunctionCounter.builder("admissions.limiter.rejected", limiter, l -> l.getRejected(trafficClass))
+                        .tag("class", tag)
+                        .description("Requests shed with 429")
+                        .register(registry);
+            }
+        };
+    }
+}
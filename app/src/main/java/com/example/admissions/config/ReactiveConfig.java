@@ -0,0 +1,34 @@
+package com.example.admissions.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Configuration of the reactive (WebFlux on Netty) stack, active with the <code>reactive</code> profile.
+ * <p>
+ * The reactive controllers call the same {@code FlowService}/{@code UserService} core as the servlet ones.
+ * That core can block on every backend (file and JDBC writes wait for a group commit, a full event-log
+ * queue falls back to a synchronous write, a keyed batch item waits for its in-flight duplicate), so
+ * service calls always run on the bounded elastic pool and never on the event loop.
+ * <p>
+ * Tomcat stays on the classpath for the default servlet stack and would otherwise be picked to host
+ * WebFlux too, so the Netty server factory is declared explicitly.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public Scheduler serviceScheduler() {
+        return Schedulers.boundedElastic();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.admissions.config;
+
+import com.example.admissions.engine.config.FlowConfigLoader;
+import com.example.admissions.engine.model.CompiledFlow;
+import com.example.admissions.engine.model.InterpretedFlow;
+import com.example.admissions.engine.service.UserService;
+import com.example.admissions.reevaluation.FlowReevaluation;
+import com.example.admissions.reevaluation.ReevaluationEndpoint;
+import com.example.admissions.reevaluation.ReevaluationThrottle;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Configuration of the bulk re-evaluation run after a flow change ({@code /actuator/reevaluation}).
+ * <p>
+ * The throttle reads the live p99 from the {@code http.server.requests} timers of applicant-facing URIs, which
+ * only publish a p99 when <code>management.metrics.distribution.percentiles.http.server.requests</code> includes
+ * 0.99; without it the throttle sees no latency and only the rate limits apply.
+ * <p>
+ * A run with {@code apply} rewrites the final status of any user, and actuator endpoints carry no authentication of
+ * their own. The endpoint is therefore off by default, and once enabled it must also be added to
+ * <code>management.endpoints.web.exposure.include</code>; expose it only behind management security or on a separate
+ * management port (<code>management.server.port</code>) that applicants cannot reach.
+ *
+ * <h3>Properties</h3>
+ * <ul>
+ *   <li><code>admissions.reevaluation.enabled</code> - register the endpoint (default: false)</li>
+ *   <li><code>admissions.reevaluation.flows-directory</code> - the only directory <code>previousFlow</code> names a
+ *       file in (default: data/flows)</li>
+ *   <li><code>admissions.reevaluation.directory</code> - where diff files are written (default: data/reevaluation)</li>
+ *   <li><code>admissions.reevaluation.parallelism</code> - worker threads (default: half the processors, at least 1)</li>
+ *   <li><code>admissions.reevaluation.partition-size</code> - users per partition, the unit of checkpointing
+ *       (default: 4096)</li>
+ *   <li><code>admissions.reevaluation.p99-budget</code> - live p99 the scan backs off to keep (default: 200ms)</li>
+ *   <li><code>admissions.reevaluation.min-rate</code> - users per second the scan never drops below (default: 500)</li>
+ *   <li><code>admissions.reevaluation.max-rate</code> - users per second the scan never exceeds (default: 200000)</li>
+ *   <li><code>admissions.reevaluation.adjust-interval</code> - how often the rate is adapted (default: 1s)</li>
+ * </ul>
+ */
+@Configuration
+@ConditionalOnProperty(name = "admissions.reevaluation.enabled", havingValue = "true")
+public class ReevaluationConfig {
+
+    @Bean
+    public ReevaluationThrottle reevaluationThrottle(
+            MeterRegistry meterRegistry,
+            @Value("${admissions.reevaluation.p99-budget:200ms}") Duration p99Budget,
+            @Value("${admissions.reevaluation.min-rate:500}") double minRate,
+            @Value("${admissions.reevaluation.max-rate:200000}") double maxRate,
+            @Value("${admissions.reevaluation.adjust-interval:1s}") Duration adjustInterval) {
+        return new ReevaluationThrottle(liveP99Millis(meterRegistry), p99Budget.toNanos() / 1e6,
+                minRate, maxRate, adjustInterval);
+    }
+
+    @Bean
+    public FlowReevaluation flowReevaluation(
+            UserService userService,
+            CompiledFlow compiledFlow,
+            FlowConfigLoader flowConfigLoader,
+            ReevaluationThrottle reevaluationThrottle,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            @Value("${admissions.reevaluation.flows-directory:data/flows}") Path flowsDirectory,
+            @Value("${admissions.reevaluation.directory:data/reevaluation}") Path directory,
+            @Value("${admissions.reevaluation.parallelism:0}") int parallelism,
+            @Value("${admissions.reevaluation.partition-size:" + FlowReevaluation.DEFAULT_PARTITION_SIZE + "}") int partitionSize) {
+        int threads = parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new FlowReevaluation(userService, compiledFlow, path -> new InterpretedFlow(flowConfigLoader.loadFlow(path)),
+                flowsDirectory, reevaluationThrottle, eventPublisher, objectMapper, directory, threads, partitionSize);
+    }
+
+    @Bean
+    public ReevaluationEndpoint reevaluationEndpoint(FlowReevaluation flowReevaluation) {
+        return new ReevaluationEndpoint(flowReevaluation);
+    }
+
+    @Bean
+    public MeterBinder reevaluationMetrics(FlowReevaluation flowReevaluation, ReevaluationThrottle reevaluationThrottle) {
+        return registry -> {
+            Gauge.builder("admissions.reevaluation.scanned_users", flowReevaluation, r -> r.progress().scannedUsers())
+                    .description("Users evaluated by the latest re-evaluation run")
+                    .register(registry);
+            Gauge.builder("admissions.reevaluation.changed_users", flowReevaluation, r -> r.progress().changedUsers())
+                    .description("Users whose status or current task changed in the latest re-evaluation run")
+                    .register(registry);
+            Gauge.builder("admissions.reevaluation.allowed_rate", reevaluationThrottle, ReevaluationThrottle::getRate)
+                    .description("Users per second the re-evaluation throttle allows")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Highest p99 among the applicant-facing request timers, NaN when none publishes one.
+     */
+    private static DoubleSupplier liveP99Millis(MeterRegistry registry) {
+        return () -> {
+            double p99 = Double.NaN;
+            for (Timer timer : registry.find("http.server.requests").timers()) {
+                String uri = timer.getId().getTag("uri");
+                if (uri == null || uri.startsWith("/actuator") || uri.startsWith("/admin")) {
+                    continue;
+                }
+                for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+                    double millis = percentile.value(TimeUnit.MILLISECONDS);
+                    if (percentile.percentile() == 0.99 && (Double.isNaN(p99) || millis > p99)) {
+                        p99 = millis;
+                    }
+                }
+            }
+            return p99;
+        };
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.admissions.config;
+
+import com.example.admissions.engine.storage.AppendOnlyFileUserRepository;
+import com.example.admissions.engine.storage.CachingUserRepository;
+import com.example.admissions.engine.storage.ColdUserTier;
+import com.example.admissions.engine.storage.GroupCommitWriter;
+import com.example.admissions.engine.storage.InMemoryUserRepository;
+import com.example.admissions.engine.storage.JdbcUserRepository;
+import com.example.admissions.engine.storage.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration of the user storage tiers.
+ *
+ * <h3>Properties</h3>
+ * <ul>
+ *   <li><code>admissions.storage.cold-tier.enabled</code> - move finalized users off the heap (default: true)</li>
+ *   <li><code>admissions.storage.cold-tier.segment-size</code> - size in bytes of each off-heap segment (default: 4 MiB)</li>
+ *   <li><code>admissions.storage.backend</code> - user storage backend: <code>memory</code> (default),
+ *       <code>file</code> (append-only log) or <code>jdbc</code> (embedded database)</li>
+ *   <li><code>admissions.storage.file.path</code>, <code>admissions.storage.file.fsync</code> - log location and whether batches are fsynced</li>
+ *   <li><code>admissions.storage.jdbc.url</code>, <code>.username</code>, <code>.password</code>, <code>.read-pool-size</code> - database connection</li>
+ *   <li><code>admissions.storage.jdbc.sync-statement</code> - statement forcing committed writes to disk (blank to skip)</li>
+ *   <li><code>admissions.storage.jdbc.deferred-sync</code> - 0 (default) syncs every batch before acknowledging it; a
+ *       positive interval syncs at most that often instead, which is NOT durable: a crash can lose acknowledged writes</li>
+ *   <li><code>admissions.storage.writer.max-batch-size</code>, <code>.max-delay</code>, <code>.queue-capacity</code> - write coalescing
+ *       for the persistent backends</li>
+ *   <li><code>admissions.storage.cache.enabled</code> - put a hot-user cache in front of the backend; in front of a heap
+ *       backend it keeps users rehydrated from the cold tier (default: false)</li>
+ *   <li><code>admissions.storage.cache.maximum-size</code> - maximum number of cached users (default: 10000)</li>
+ *   <li><code>admissions.storage.cache.missing-id-ttl</code> - how long unknown user ids are remembered (default: 30s)</li>
+ *   <li><code>admissions.history.max-attempts-per-task</code> - attempts retained per task when users are rebuilt from storage (default: 16)</li>
+ * </ul>
+ */
+@Slf4j
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    public UserRepository userRepository(
+            ColdUserTier coldUserTier,
+            @Value("${admissions.storage.backend:memory}") String backend,
+            @Value("${admissions.storage.file.path:data/users.log}") Path filePath,
+            @Value("${admissions.storage.file.fsync:true}") boolean fileFsync,
+            @Value("${admissions.storage.jdbc.url:jdbc:h2:file:./data/admissions}") String jdbcUrl,
+            @Value("${admissions.storage.jdbc.username:sa}") String jdbcUsername,
+            @Value("${admissions.storage.jdbc.password:}") String jdbcPassword,
+            @Value("${admissions.storage.jdbc.read-pool-size:8}") int jdbcReadPoolSize,
+            @Value("${admissions.storage.jdbc.sync-statement:CHECKPOINT SYNC}") String jdbcSyncStatement,
+            @Value("${admissions.storage.jdbc.deferred-sync:0ms}") Duration jdbcDeferredSync,
+            @Value("${admissions.history.max-attempts-per-task:16}") int attemptHistoryLimit,
+            @Value("${admissions.storage.writer.max-batch-size:512}") int maxBatchSize,
+            @Value("${admissions.storage.writer.max-delay:2ms}") Duration maxDelay,
+            @Value("${admissions.storage.writer.queue-capacity:10000}") int queueCapacity,
+            @Value("${admissions.storage.cache.enabled:false}") boolean cacheEnabled,
+            @Value("${admissions.storage.cache.maximum-size:10000}") int cacheMaximumSize,
+            @Value("${admissions.storage.cache.missing-id-ttl:30s}") Duration missingIdTtl) {
+        UserRepository repository = switch (backend) {
+            case "memory" -> new InMemoryUserRepository(coldUserTier);
+            case "file" -> new AppendOnlyFileUserRepository(
+                    filePath, coldUserTier, fileFsync, attemptHistoryLimit, maxBatchSize, maxDelay, queueCapacity);
+            case "jdbc" -> new JdbcUserRepository(
+                    jdbcUrl, jdbcUsername, jdbcPassword, jdbcReadPoolSize, jdbcSyncStatement, jdbcDeferredSync,
+                    attemptHistoryLimit, maxBatchSize, maxDelay, queueCapacity);
+            default -> throw new IllegalArgumentException("Unknown user storage backend: " + backend);
+        };
+        log.info("User storage backend: {}", backend);
+        if (!cacheEnabled) {
+            return repository;
+        }
+        if (repository.isHeapResident() && !coldUserTier.isEnabled()) {
+            log.warn("Ignoring admissions.storage.cache.enabled: without the cold tier the {} backend serves every user from the heap", backend);
+            return repository;
+        }
+        return new CachingUserRepository(repository, cacheMaximumSize, missingIdTtl);
+    }
+
+    @Bean
+    public ColdUserTier coldUserTier(
+            @Value("${admissions.storage.cold-tier.enabled:true}") boolean enabled,
+            @Value("${admissions.storage.cold-tier.segment-size:" + ColdUserTier.DEFAULT_SEGMENT_SIZE + "}") int segmentSize) {
+        return enabled ? new ColdUserTier(true, segmentSize) : ColdUserTier.disabled();
+    }
+
+    @Bean
+    public MeterBinder coldUserTierMetrics(ColdUserTier coldUserTier) {
+        return registry -> {
+            Gauge.builder("admissions.cold_tier.users", coldUserTier, ColdUserTier::getStoredUsers)
+                    .description("Finalized users held in the cold tier")
+                    .register(registry);
+            Gauge.builder("admissions.cold_tier.bytes", coldUserTier, ColdUserTier::getStoredBytes)
+                    .description("Compressed bytes written to the cold tier")
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("admissions.cold_tier.released_bytes", coldUserTier, ColdUserTier::getReleasedBytes)
+                    .description("Cold-tier bytes superseded by a newer record or by users promoted back to the hot tier")
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("admissions.cold_tier.reserved_bytes", coldUserTier, ColdUserTier::getReservedBytes)
+                    .description("Off-heap bytes reserved by cold-tier segments")
+                    .baseUnit("bytes")
+                    .register(registry);
+            FunctionCounter.builder("admissions.cold_tier.rehydrations", coldUserTier, ColdUserTier::getRehydrations)
+                    .description("Detail reads that rehydrated a cold user")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder userCacheMetrics(UserRepository userRepository) {
+        return registry -> {
+            if (!(userRepository instanceof CachingUserRepository cache)) {
+                return;
+            }
+            FunctionCounter.builder("admissions.user_cache.hits", cache, CachingUserRepository::getHitCount)
+                    .register(registry);
+            FunctionCounter.builder("admissions.user_cache.misses", cache, CachingUserRepository::getMissCount)
+                    .register(registry);
+            FunctionCounter.builder("admissions.user_cache.negative_hits", cache, CachingUserRepository::getNegativeHitCount)
+                    .description("Lookups of unknown user ids answered from the negative cache")
+                    .register(registry);
+            FunctionCounter.builder("admissions.user_cache.evictions", cache, CachingUserRepository::getEvictionCount)
+                    .register(registry);
+            Gauge.builder("admissions.user_cache.size", cache, CachingUserRepository::getSize)
+                    .register(registry);
+            Gauge.builder("admissions.user_cache.hit_ratio", cache, CachingUserRepository::getHitRatio)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder storageWriterMetrics(UserRepository userRepository) {
+        return registry -> {
+            UserRepository backend = userRepository instanceof CachingUserRepository cache ? cache.getDelegate() : userRepository;
+            GroupCommitWriter<?> writer;
+            if (backend instanceof AppendOnlyFileUserRepository file) {
+                writer = file.getWriter();
+            } else if (backend instanceof JdbcUserRepository jdbc) {
+                writer = jdbc.getWriter();
+            } else {
+                return;
+            }
+            FunctionCounter.builder("admissions.storage.writer.batches", writer, GroupCommitWriter::getBatchCount)
+                    .description("Batches committed by the storage writer")
+                    .register(registry);
+            FunctionCounter.builder("admissions.storage.writer.writes", writer, GroupCommitWriter::getWriteCount)
+                    .description("Writes committed by the storage writer")
+                    .register(registry);
+            Gauge.builder("admissions.storage.writer.queue_depth", writer, GroupCommitWriter::getQueueDepth)
+                    .register(registry);
+        };
+    }
+}
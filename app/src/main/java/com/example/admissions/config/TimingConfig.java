@@ -0,0 +1,63 @@
+package com.example.admissions.config;
+
+import com.example.admissions.timing.ReactiveServerTimingFilter;
+import com.example.admissions.timing.ServerTimingFilter;
+import com.example.admissions.timing.SlowRequestLog;
+import com.example.admissions.timing.SlowRequestsEndpoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.time.Duration;
+
+/**
+ * Configuration of per-request phase timing: a {@code Server-Timing} header on API responses and the
+ * {@code /actuator/slowrequests} endpoint. Off by default; when off nothing is registered and the phase marks
+ * in the service layer find no timer bound.
+ *
+ * <h3>Properties</h3>
+ * <ul>
+ *   <li><code>admissions.timing.enabled</code> - time API requests by phase (default: false)</li>
+ *   <li><code>admissions.timing.slow-requests.capacity</code> - slowest requests retained (default: 20)</li>
+ *   <li><code>admissions.timing.slow-requests.window</code> - how long a slow request is retained (default: 5m)</li>
+ * </ul>
+ * The timing filter runs ahead of the limiter and bulkheads, so time spent queueing in a bulkhead shows up
+ * in the first phase ({@code dispatch}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "admissions.timing.enabled", havingValue = "true")
+public class TimingConfig {
+
+    @Bean
+    public SlowRequestLog slowRequestLog(
+            @Value("${admissions.timing.slow-requests.capacity:20}") int capacity,
+            @Value("${admissions.timing.slow-requests.window:5m}") Duration window) {
+        return new SlowRequestLog(capacity, window);
+    }
+
+    @Bean
+    public SlowRequestsEndpoint slowRequestsEndpoint(SlowRequestLog slowRequestLog) {
+        return new SlowRequestsEndpoint(slowRequestLog);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(SlowRequestLog slowRequestLog) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(slowRequestLog));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 5)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public ReactiveServerTimingFilter reactiveServerTimingFilter(SlowRequestLog slowRequestLog) {
+        return new ReactiveServerTimingFilter(slowRequestLog);
+    }
+}
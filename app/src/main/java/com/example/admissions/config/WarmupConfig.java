@@ -0,0 +1,58 @@
+package com.example.admissions.config;
+
+import com.example.admissions.engine.model.CompiledFlow;
+import com.example.admissions.warmup.FlowWarmup;
+import com.example.admissions.warmup.WarmupReport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the startup JIT warmup.
+ * <p>
+ * The warmup runs as an {@link ApplicationRunner}, so the application is not marked ready (readiness state
+ * {@code REFUSING_TRAFFIC}, {@code /actuator/health/readiness} answering 503) until it has finished; the web server
+ * is already up, so liveness probes pass in the meantime.
+ *
+ * <h3>Properties</h3>
+ * <ul>
+ *   <li><code>admissions.warmup.enabled</code> - warm up before reporting ready (default: false)</li>
+ *   <li><code>admissions.warmup.min-iterations</code> - synthetic users always driven through the flow (default: 500)</li>
+ *   <li><code>admissions.warmup.max-iterations</code> - upper bound on synthetic users (default: 5000)</li>
+ *   <li><code>admissions.warmup.compile-queue-threshold</code> - stop after the minimum once at most this many methods
+ *       wait for the JIT (default: 10; -1 always runs the maximum)</li>
+ *   <li><code>admissions.warmup.max-duration</code> - readiness is never held longer than this (default: 60s)</li>
+ * </ul>
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "admissions.warmup.enabled", havingValue = "true")
+public class WarmupConfig {
+
+    @Bean
+    public FlowWarmup flowWarmup(
+            CompiledFlow flow,
+            ObjectMapper objectMapper,
+            @Value("${admissions.warmup.min-iterations:500}") int minIterations,
+            @Value("${admissions.warmup.max-iterations:5000}") int maxIterations,
+            @Value("${admissions.warmup.compile-queue-threshold:10}") int compileQueueThreshold,
+            @Value("${admissions.warmup.max-duration:60s}") Duration maxDuration) {
+        return new FlowWarmup(flow, objectMapper, minIterations, maxIterations, compileQueueThreshold, maxDuration);
+    }
+
+    @Bean
+    public ApplicationRunner flowWarmupRunner(FlowWarmup flowWarmup) {
+        return args -> {
+            WarmupReport report = flowWarmup.run();
+            log.info("Warmup finished: iterations={}, completions={}, elapsed={}ms, compileQueue={}, stopReason={}",
+                    report.iterations(), report.completions(), report.elapsed().toMillis(),
+                    report.compileQueue(), report.stopReason());
+        };
+    }
+}
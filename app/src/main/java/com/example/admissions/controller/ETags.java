@@ -0,0 +1,84 @@
+package com.example.admissions.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.regex.Pattern;
+
+/**
+ * Helpers for conditional GETs, shared by the servlet and reactive controllers.
+ */
+final class ETags {
+    private static final Pattern ZERO_QUALITY = Pattern.compile("[qQ]\\s*=\\s*0(\\.0{0,3})?");
+
+    private ETags() {
+    }
+
+    /**
+     * Evaluates {@code If-None-Match} against an entity tag using weak comparison (RFC 9110 13.1.2),
+     * so a weak or strong form of the same tag matches.
+     *
+     * @param ifNoneMatch the request header value, may be null
+     * @param etag        the current entity tag, quoted, optionally prefixed with {@code W/}
+     * @return true if the client's copy is current and a 304 can be sent
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag) || stripWeak(tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the {@code Accept-Encoding} header allows gzip
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (!"gzip".equalsIgnoreCase(name) && !"*".equals(name)) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                if (ZERO_QUALITY.matcher(parts[i].trim()).matches()) {
+                    refused = true;
+                }
+            }
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static <T> ResponseEntity<T> notModified(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .build();
+    }
+
+    /**
+     * Per-user responses are revalidated on every poll, finalized ones included: a redo or a re-evaluation
+     * after a flow change can reopen an accepted or rejected user.
+     */
+    static CacheControl userStateCacheControl() {
+        return CacheControl.noCache().cachePrivate();
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.admissions.controller;
+
+import com.example.admissions.service.FlowRepresentation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+
+/**
+ * Exposes flow template for frontend (alternate endpoint).
+ * The body is pre-rendered once per flow version and revalidated with a strong ETag.
+ */
+@RestController
+@RequestMapping("/flow")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class FlowController {
+    private final FlowRepresentation flowRepresentation;
+    private final CacheControl cacheControl;
+
+    public FlowController(FlowRepresentation flowRepresentation,
+                          @Value("${admissions.flow.cache-max-age:60s}") Duration cacheMaxAge) {
+        this.flowRepresentation = flowRepresentation;
+        this.cacheControl = CacheControl.maxAge(cacheMaxAge).cachePublic();
+    }
+
+    /**
+     * Returns the flow as JSON, gzip-encoded when the client accepts it.
+     *
+     * @param ifNoneMatch    entity tags the client already holds
+     * @param acceptEncoding content codings the client accepts
+     * @return the pre-rendered flow, or 304 if the client's copy is current
+     */
+    @GetMapping
+    public ResponseEntity<byte[]> getFlow(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return respond(flowRepresentation.current(), ifNoneMatch, acceptEncoding, cacheControl);
+    }
+
+    /**
+     * Picks the variant for the client's encodings and answers 304 if the client already has it.
+     */
+    static ResponseEntity<byte[]> respond(FlowRepresentation.Rendered flow, String ifNoneMatch, String acceptEncoding,
+                                          CacheControl cacheControl) {
+        boolean gzip = ETags.acceptsGzip(acceptEncoding);
+        String etag = gzip ? flow.gzipEtag() : flow.etag();
+
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(flow.gzip());
+        }
+        return response.body(flow.json());
+    }
+}
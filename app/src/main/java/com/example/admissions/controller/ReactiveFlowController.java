@@ -0,0 +1,37 @@
+package com.example.admissions.controller;
+
+import com.example.admissions.service.FlowRepresentation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Reactive counterpart of {@link FlowController}. The flow is pre-rendered, so nothing here blocks.
+ */
+@RestController
+@RequestMapping("/flow")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveFlowController {
+    private final FlowRepresentation flowRepresentation;
+    private final CacheControl cacheControl;
+
+    public ReactiveFlowController(FlowRepresentation flowRepresentation,
+                                  @Value("${admissions.flow.cache-max-age:60s}") Duration cacheMaxAge) {
+        this.flowRepresentation = flowRepresentation;
+        this.cacheControl = CacheControl.maxAge(cacheMaxAge).cachePublic();
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<byte[]>> getFlow(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return Mono.fromSupplier(() ->
+                FlowController.respond(flowRepresentation.current(), ifNoneMatch, acceptEncoding, cacheControl));
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.admissions.controller;
+
+import com.example.admissions.dto.BatchResponse;
+import com.example.admissions.dto.CompleteStepBatchRequest;
+import com.example.admissions.dto.CompleteStepRequest;
+import com.example.admissions.engine.dto.CompleteStepResponse;
+import com.example.admissions.engine.service.FlowService;
+import com.example.admissions.engine.timing.PhaseTimer;
+import com.example.admissions.service.BatchProcessor;
+import com.example.admissions.service.IdempotencyCache;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Reactive counterpart of {@link StepController}.
+ */
+@RestController
+@RequestMapping("/steps")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveStepController {
+    private final FlowService flowService;
+    private final IdempotencyCache idempotencyCache;
+    private final BatchProcessor batchProcessor;
+    private final Scheduler serviceScheduler;
+
+    public ReactiveStepController(FlowService flowService, IdempotencyCache idempotencyCache, BatchProcessor batchProcessor,
+                                  Scheduler serviceScheduler) {
+        this.flowService = flowService;
+        this.idempotencyCache = idempotencyCache;
+        this.batchProcessor = batchProcessor;
+        this.serviceScheduler = serviceScheduler;
+    }
+
+    /**
+     * Duplicates of an in-flight keyed completion wait on its shared future instead of blocking a thread;
+     * a client that disconnects does not cancel that future for the others.
+     */
+    @PutMapping("/complete")
+    public Mono<ResponseEntity<CompleteStepResponse>> completeStep(
+            @Valid @RequestBody Mono<CompleteStepRequest> request,
+            @RequestHeader(value = StepController.IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return Mono.deferContextual(context -> {
+            PhaseTimer timer = context.getOrDefault(PhaseTimer.class, null);
+            return request.flatMap(r -> idempotencyKey == null
+                    ? complete(r, timer)
+                    : Mono.fromFuture(() -> idempotencyCache.submit(idempotencyKey, r, () -> complete(r, timer).toFuture()), true));
+        }).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Items run one after another on a service thread; a keyed item whose duplicate is still in flight blocks
+     * that thread until it finishes.
+     */
+    @PutMapping("/complete/batch")
+    public Mono<ResponseEntity<BatchResponse<CompleteStepResponse>>> completeSteps(
+            @Valid @RequestBody Mono<CompleteStepBatchRequest> request) {
+        return Mono.deferContextual(context -> {
+            PhaseTimer timer = context.getOrDefault(PhaseTimer.class, null);
+            return request.flatMap(r -> Mono.fromCallable(PhaseTimer.bound(timer, () -> batchProcessor.completeAll(r.completions())))
+                    .subscribeOn(serviceScheduler));
+        }).map(ResponseEntity::ok);
+    }
+
+    /**
+     * The request's {@link PhaseTimer} (if timing is on) is taken from the subscriber context up front, since the
+     * keyed path subscribes through a future that does not carry the context.
+     */
+    private Mono<CompleteStepResponse> complete(CompleteStepRequest r, PhaseTimer timer) {
+        return Mono.fromCallable(PhaseTimer.bound(timer, () -> flowService.completeStep(r.userId(), r.taskId(), r.taskPayload())))
+                .subscribeOn(serviceScheduler);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.admissions.controller;
+
+import com.example.admissions.dto.BatchResponse;
+import com.example.admissions.dto.CreateUserRequest;
+import com.example.admissions.dto.CreateUserResponse;
+import com.example.admissions.dto.UserStatusBatchRequest;
+import com.example.admissions.engine.dto.CurrentPositionResponse;
+import com.example.admissions.engine.dto.TaskAttemptsResponse;
+import com.example.admissions.engine.dto.UserStatusResponse;
+import com.example.admissions.engine.exception.UserNotFoundException;
+import com.example.admissions.engine.service.FlowService;
+import com.example.admissions.engine.service.UserService;
+import com.example.admissions.engine.timing.PhaseTimer;
+import com.example.admissions.service.BatchProcessor;
+import com.example.admissions.service.UserStateValidator;
+import com.example.admissions.stream.UserEventHub;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Reactive counterpart of {@link UserController}, with the same conditional-GET and event stream behavior.
+ */
+@RestController
+@RequestMapping("/users")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserController {
+    private final UserService userService;
+    private final FlowService flowService;
+    private final UserStateValidator userStateValidator;
+    private final UserEventHub userEventHub;
+    private final BatchProcessor batchProcessor;
+    private final Scheduler serviceScheduler;
+
+    public ReactiveUserController(UserService userService, FlowService flowService, UserStateValidator userStateValidator,
+                                  UserEventHub userEventHub, BatchProcessor batchProcessor, Scheduler serviceScheduler) {
+        this.userService = userService;
+        this.flowService = flowService;
+        this.userStateValidator = userStateValidator;
+        this.userEventHub = userEventHub;
+        this.batchProcessor = batchProcessor;
+        this.serviceScheduler = serviceScheduler;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<CreateUserResponse>> createUser(@Valid @RequestBody Mono<CreateUserRequest> request) {
+        return request.flatMap(r -> call(() -> userService.createUser(r.email())))
+                .map(user -> ResponseEntity.ok(new CreateUserResponse(user.getId())));
+    }
+
+    @GetMapping("/{userId}/current")
+    public Mono<ResponseEntity<CurrentPositionResponse>> getCurrentPosition(
+            @PathVariable String userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return call(() -> {
+            UserStateValidator.UserStateTag tag = userStateValidator.tag(userId);
+            if (ETags.matches(ifNoneMatch, tag.etag())) {
+                return ETags.notModified(tag.etag(), ETags.userStateCacheControl());
+            }
+            CurrentPositionResponse response = flowService.getCurrentPositionResponse(userId);
+            return ResponseEntity.ok()
+                    .eTag(tag.etag())
+                    .cacheControl(ETags.userStateCacheControl())
+                    .body(response);
+        });
+    }
+
+    @GetMapping("/{userId}/status")
+    public Mono<ResponseEntity<UserStatusResponse>> getUserStatus(
+            @PathVariable String userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return call(() -> {
+            UserStateValidator.UserStateTag tag = userStateValidator.tag(userId);
+            if (ETags.matches(ifNoneMatch, tag.etag())) {
+                return ETags.notModified(tag.etag(), ETags.userStateCacheControl());
+            }
+            UserStatusResponse response = flowService.getUserStatusResponse(userId);
+            return ResponseEntity.ok()
+                    .eTag(tag.etag())
+                    .cacheControl(ETags.userStateCacheControl())
+                    .body(response);
+        });
+    }
+
+    @PostMapping("/status/batch")
+    public Mono<ResponseEntity<BatchResponse<UserStatusResponse>>> getUserStatuses(
+            @Valid @RequestBody Mono<UserStatusBatchRequest> request) {
+        return request.flatMap(r -> call(() -> ResponseEntity.ok(batchProcessor.statusAll(r.userIds()))));
+    }
+
+    @GetMapping("/{userId}/events")
+    public Mono<ResponseEntity<Flux<ServerSentEvent<String>>>> streamEvents(@PathVariable String userId) {
+        return call(() -> {
+            if (!userService.exists(userId)) {
+                throw new UserNotFoundException(userId);
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body(userEventHub.stream(userId));
+        });
+    }
+
+    @GetMapping("/{userId}/tasks/{taskId}/attempts")
+    public Mono<ResponseEntity<TaskAttemptsResponse>> getTaskAttempts(@PathVariable String userId, @PathVariable String taskId) {
+        return call(() -> ResponseEntity.ok(flowService.getTaskAttemptsResponse(userId, taskId)));
+    }
+
+    private <T> Mono<T> call(Callable<T> serviceCall) {
+        return Mono.deferContextual(context ->
+                        Mono.fromCallable(PhaseTimer.bound(context.getOrDefault(PhaseTimer.class, null), serviceCall)))
+                .subscribeOn(serviceScheduler);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.admissions.controller;
+
+import com.example.admissions.dto.BatchResponse;
+import com.example.admissions.dto.CompleteStepBatchRequest;
+import com.example.admissions.dto.CompleteStepRequest;
+import com.example.admissions.engine.dto.CompleteStepResponse;
+import com.example.admissions.engine.service.FlowService;
+import com.example.admissions.service.BatchProcessor;
+import com.example.admissions.service.IdempotencyCache;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for step completion operations.
+ * Handles marking steps/tasks as completed by matching payloads to tasks.
+ */
+@RestController
+@RequestMapping("/steps")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class StepController {
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final FlowService flowService;
+    private final IdempotencyCache idempotencyCache;
+    private final BatchProcessor batchProcessor;
+
+    public StepController(FlowService flowService, IdempotencyCache idempotencyCache, BatchProcessor batchProcessor) {
+        this.flowService = flowService;
+        this.idempotencyCache = idempotencyCache;
+        this.batchProcessor = batchProcessor;
+    }
+
+    /**
+     * Marks a task as completed.
+     * Validates that all required fields are present and evaluates the pass condition.
+     * With an {@code Idempotency-Key}, retries of the same request replay the first response.
+     *
+     * @param request the task completion request
+     * @param idempotencyKey optional client-chosen key identifying this completion
+     * @return response containing task result and updated user status
+     */
+    @PutMapping("/complete")
+    public ResponseEntity<CompleteStepResponse> completeStep(
+            @Valid @RequestBody CompleteStepRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(complete(request));
+        }
+        return ResponseEntity.ok(idempotencyCache.execute(idempotencyKey, request, () -> complete(request)));
+    }
+
+    /**
+     * Marks several tasks as completed, in order, each as {@link #completeStep} would with the item's
+     * {@code idempotency_key} as its {@code Idempotency-Key}.
+     *
+     * @param request the completions
+     * @return one result per completion, with the status the completion would have received on its own
+     */
+    @PutMapping("/complete/batch")
+    public ResponseEntity<BatchResponse<CompleteStepResponse>> completeSteps(@Valid @RequestBody CompleteStepBatchRequest request) {
+        return ResponseEntity.ok(batchProcessor.completeAll(request.completions()));
+    }
+
+    private CompleteStepResponse complete(CompleteStepRequest request) {
+        return flowService.completeStep(
+                request.userId(),
+                request.taskId(),
+                request.taskPayload()
+        );
+    }
+}
\ No newline at end of file
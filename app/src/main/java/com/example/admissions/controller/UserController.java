@@ -0,0 +1,139 @@
+package com.example.admissions.controller;
+
+import com.example.admissions.dto.BatchResponse;
+import com.example.admissions.dto.CreateUserRequest;
+import com.example.admissions.dto.CreateUserResponse;
+import com.example.admissions.dto.UserStatusBatchRequest;
+import com.example.admissions.engine.dto.CurrentPositionResponse;
+import com.example.admissions.engine.dto.TaskAttemptsResponse;
+import com.example.admissions.engine.dto.UserStatusResponse;
+import com.example.admissions.engine.exception.UserNotFoundException;
+import com.example.admissions.engine.service.FlowService;
+import com.example.admissions.engine.service.UserService;
+import com.example.admissions.service.BatchProcessor;
+import com.example.admissions.service.UserStateValidator;
+import com.example.admissions.stream.UserEventHub;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * REST controller for user-related operations.
+ * Handles user creation, flow retrieval, current position, and status checks.
+ * Current position and status support conditional GETs with a weak ETag of the user's state;
+ * responses are {@code no-cache}, so clients revalidate them on every poll.
+ */
+@RestController
+@RequestMapping("/users")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class UserController {
+    private final UserService userService;
+    private final FlowService flowService;
+    private final UserStateValidator userStateValidator;
+    private final UserEventHub userEventHub;
+    private final BatchProcessor batchProcessor;
+
+    public UserController(UserService userService, FlowService flowService, UserStateValidator userStateValidator,
+                          UserEventHub userEventHub, BatchProcessor batchProcessor) {
+        this.userService = userService;
+        this.flowService = flowService;
+        this.userStateValidator = userStateValidator;
+        this.userEventHub = userEventHub;
+        this.batchProcessor = batchProcessor;
+    }
+
+    /**
+     * Creates a new user in the system.
+     *
+     * @param request the user creation request containing email
+     * @return response containing the created user's ID
+     */
+    @PostMapping
+    public ResponseEntity<CreateUserResponse> createUser(@Valid @RequestBody CreateUserRequest request) {
+        var user = userService.createUser(request.email());
+        return ResponseEntity.ok(new CreateUserResponse(user.getId()));
+    }
+
+    /**
+     * Fetches the current step and task for a specific user.
+     * Returns detailed information about the user's position in the flow.
+     *
+     * @param userId the user identifier
+     * @return response containing current position and progress information
+     */
+    @GetMapping("/{userId}/current")
+    public ResponseEntity<CurrentPositionResponse> getCurrentPosition(
+            @PathVariable String userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        UserStateValidator.UserStateTag tag = userStateValidator.tag(userId);
+        if (ETags.matches(ifNoneMatch, tag.etag())) {
+            return ETags.notModified(tag.etag(), ETags.userStateCacheControl());
+        }
+        CurrentPositionResponse response = flowService.getCurrentPositionResponse(userId);
+        return ResponseEntity.ok().eTag(tag.etag()).cacheControl(ETags.userStateCacheControl()).body(response);
+    }
+
+    /**
+     * Checks whether a user is accepted, rejected, or still in progress.
+     *
+     * @param userId the user identifier
+     * @return response containing the user's status
+     */
+    @GetMapping("/{userId}/status")
+    public ResponseEntity<UserStatusResponse> getUserStatus(
+            @PathVariable String userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        UserStateValidator.UserStateTag tag = userStateValidator.tag(userId);
+        if (ETags.matches(ifNoneMatch, tag.etag())) {
+            return ETags.notModified(tag.etag(), ETags.userStateCacheControl());
+        }
+        UserStatusResponse response = flowService.getUserStatusResponse(userId);
+        return ResponseEntity.ok().eTag(tag.etag()).cacheControl(ETags.userStateCacheControl()).body(response);
+    }
+
+    /**
+     * Checks the statuses of several users in one call. Results are not cached and carry no entity tags.
+     *
+     * @param request the user identifiers
+     * @return one result per user, with {@code 404} for unknown users
+     */
+    @PostMapping("/status/batch")
+    public ResponseEntity<BatchResponse<UserStatusResponse>> getUserStatuses(@Valid @RequestBody UserStatusBatchRequest request) {
+        return ResponseEntity.ok(batchProcessor.statusAll(request.userIds()));
+    }
+
+    /**
+     * Opens a Server-Sent Events stream of the user's progress.
+     * The current progress is sent first, then a {@code progress} event whenever a completed task
+     * changes it; idle streams get periodic heartbeat comments.
+     *
+     * @param userId the user identifier
+     */
+    @GetMapping("/{userId}/events")
+    public void streamEvents(@PathVariable String userId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (!userService.exists(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+        userEventHub.subscribe(userId, request, response);
+    }
+
+    /**
+     * Lists the user's recorded attempts at a task, oldest first.
+     * Only the most recent attempts are retained; {@code totalAttempts} counts all of them.
+     *
+     * @param userId the user identifier
+     * @param taskId the ID or name of the task
+     * @return response containing the retained attempts
+     */
+    @GetMapping("/{userId}/tasks/{taskId}/attempts")
+    public ResponseEntity<TaskAttemptsResponse> getTaskAttempts(@PathVariable String userId, @PathVariable String taskId) {
+        return ResponseEntity.ok(flowService.getTaskAttemptsResponse(userId, taskId));
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.admissions.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Response DTO for the batch endpoints: one result per item, in request order. The batch itself answers
+ * {@code 200} whenever it could be read; each result carries the status and body, or error, that the item
+ * would have received as a request of its own.
+ *
+ * @param results the per-item results
+ * @param <T>     the response type of a single item
+ */
+public record BatchResponse<T>(List<Result<T>> results) {
+    public static final int MAX_ITEMS = 256;
+
+    /**
+     * @param status the HTTP status the item would have received on its own
+     * @param body   the item's response, for a {@code 2xx} status
+     * @param error  the error message, otherwise
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Result<T>(int status, T body, String error) {
+        public static <T> Result<T> ok(T body) {
+            return new Result<>(200, body, null);
+        }
+
+        public static <T> Result<T> failed(int status, String error) {
+            return new Result<>(status, null, error);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.admissions.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request DTO for completing several tasks in one call ({@code PUT /steps/complete/batch}).
+ * Items are checked one by one, so a malformed item fails alone instead of failing the batch.
+ *
+ * @param completions the completions, answered in the same order
+ */
+public record CompleteStepBatchRequest(
+        @NotNull(message = "completions is required")
+        @Size(min = 1, max = BatchResponse.MAX_ITEMS, message = "completions must hold 1-" + BatchResponse.MAX_ITEMS + " items")
+        List<Completion> completions
+) {
+    /**
+     * One completion: the fields of {@link CompleteStepRequest} plus the {@code Idempotency-Key} that header
+     * would carry on a single request.
+     *
+     * @param idempotencyKey optional client-chosen key identifying this completion (mapped from "idempotency_key")
+     * @param userId         the user identifier (mapped from "user_id")
+     * @param taskId         the ID or name of the task to complete (mapped from "task_id")
+     * @param taskPayload    the payload data for the task completion (mapped from "task_payload")
+     */
+    public record Completion(
+            @JsonProperty("idempotency_key") String idempotencyKey,
+            @JsonProperty("user_id") String userId,
+            @JsonProperty("task_id") String taskId,
+            @JsonProperty("task_payload") Map<String, Object> taskPayload
+    ) {
+        public CompleteStepRequest toRequest() {
+            return new CompleteStepRequest(userId, taskId, taskPayload);
+        }
+    }
+}
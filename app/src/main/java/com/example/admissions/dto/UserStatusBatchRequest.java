@@ -0,0 +1,20 @@
+package com.example.admissions.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request DTO for reading several users' statuses in one call ({@code POST /users/status/batch}).
+ *
+ * @param userIds the user identifiers (mapped from "user_ids"), answered in the same order
+ */
+public record UserStatusBatchRequest(
+        @JsonProperty("user_ids")
+        @NotNull(message = "user_ids is required")
+        @Size(min = 1, max = BatchResponse.MAX_ITEMS, message = "user_ids must hold 1-" + BatchResponse.MAX_ITEMS + " items")
+        List<String> userIds
+) {
+}
@@ -1,5 +1,12 @@
 package com.example.admissions.exception;
 
+import com.example.admissions.engine.exception.DuplicateUserException;
+import com.example.admissions.engine.exception.MissingRequiredFieldsException;
+import com.example.admissions.engine.exception.StorageException;
+import com.example.admissions.engine.exception.TaskAlreadyCompletedException;
+import com.example.admissions.engine.exception.TaskNotFoundException;
+import com.example.admissions.engine.exception.TaskOrderViolationException;
+import com.example.admissions.engine.exception.UserNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -7,7 +14,9 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -61,10 +70,35 @@ public class GlobalExceptionHandler {
                 .body(Map.of("error", ex.getMessage()));
     }
 
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex) {
+        log.warn("Idempotency key reused: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(StorageException.class)
+    public ResponseEntity<Map<String, String>> handleStorage(StorageException ex) {
+        log.error("Storage failure", ex);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("error", "Storage is temporarily unavailable"));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationErrors(MethodArgumentNotValidException ex) {
-        Map<String, String> errors = ex.getBindingResult()
-                .getFieldErrors()
+        return validationFailed(ex.getBindingResult().getFieldErrors());
+    }
+
+    /**
+     * Reactive stack counterpart of {@link MethodArgumentNotValidException}.
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, Object>> handleReactiveValidationErrors(WebExchangeBindException ex) {
+        return validationFailed(ex.getFieldErrors());
+    }
+
+    private ResponseEntity<Map<String, Object>> validationFailed(List<FieldError> fieldErrors) {
+        Map<String, String> errors = fieldErrors
                 .stream()
                 .collect(Collectors.toMap(
                         FieldError::getField,
@@ -99,5 +133,41 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("error", "An internal error occurred"));
     }
+
+    /**
+     * Status a failed item of a batch request is reported with: the one the handlers above answer for the same
+     * exception on a request of its own.
+     */
+    public static HttpStatus statusOf(Throwable ex) {
+        if (ex instanceof UserNotFoundException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (ex instanceof DuplicateUserException) {
+            return HttpStatus.CONFLICT;
+        }
+        if (ex instanceof TaskNotFoundException || ex instanceof MissingRequiredFieldsException
+                || ex instanceof TaskOrderViolationException || ex instanceof TaskAlreadyCompletedException
+                || ex instanceof IllegalArgumentException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        if (ex instanceof IdempotencyKeyReusedException) {
+            return HttpStatus.UNPROCESSABLE_ENTITY;
+        }
+        if (ex instanceof StorageException) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    /**
+     * Error message for {@link #statusOf}; server-side failures are not described to the client.
+     */
+    public static String errorOf(Throwable ex) {
+        return switch (statusOf(ex)) {
+            case SERVICE_UNAVAILABLE -> "Storage is temporarily unavailable";
+            case INTERNAL_SERVER_ERROR -> "An internal error occurred";
+            default -> ex.getMessage();
+        };
+    }
 }
 
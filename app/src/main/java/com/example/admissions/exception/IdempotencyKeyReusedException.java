@@ -0,0 +1,10 @@
+package com.example.admissions.exception;
+
+/**
+ * Exception thrown when an Idempotency-Key is sent again with a different request body.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String key) {
+        super("Idempotency-Key '" + key + "' was already used for a different request");
+    }
+}
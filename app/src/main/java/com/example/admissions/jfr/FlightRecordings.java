@@ -0,0 +1,169 @@
+package com.example.admissions.jfr;
+
+import com.example.admissions.engine.jfr.AdmissionsEvent;
+import com.example.admissions.engine.jfr.CompleteStepEvent;
+import com.example.admissions.engine.jfr.CreateUserEvent;
+import com.example.admissions.engine.jfr.CurrentPositionEvent;
+import com.example.admissions.engine.jfr.SnapshotEvent;
+import com.example.admissions.engine.jfr.UserStatusEvent;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordingFile;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Starts, stops and dumps Flight Recorder recordings of this JVM.
+ * <p>
+ * Recordings use one of the JDK's settings files ({@code default}, about 1% overhead, or {@code profile})
+ * with the flow engine's {@link AdmissionsEvent events} enabled on top. Events shorter than {@code threshold}
+ * are not recorded, so a long-running recording can be limited to latency outliers. All recordings of the JVM
+ * are visible here, including ones started with {@code -XX:StartFlightRecording}.
+ * <p>
+ * The JDK settings record the JVM's system properties, environment variables and command line, which hold
+ * passwords and other secrets; those events are disabled in recordings started here and removed from every dump.
+ * Each recording started here keeps at most {@code maxRecordingSize} on disk.
+ */
+public class FlightRecordings {
+    static final List<Class<? extends AdmissionsEvent>> EVENTS = List.of(
+            CompleteStepEvent.class, CurrentPositionEvent.class, UserStatusEvent.class,
+            CreateUserEvent.class, SnapshotEvent.class);
+    static final Set<String> SECRET_EVENTS = Set.of(
+            "jdk.InitialSystemProperty", "jdk.InitialEnvironmentVariable", "jdk.JVMInformation");
+
+    private final Duration threshold;
+    private final DataSize maxRecordingSize;
+
+    public FlightRecordings(Duration threshold, DataSize maxRecordingSize) {
+        this.threshold = threshold;
+        this.maxRecordingSize = maxRecordingSize;
+    }
+
+    /**
+     * Starts a recording.
+     *
+     * @param settings JDK settings file name; {@code default} if null
+     * @param duration stop automatically after this long; runs until stopped if null
+     * @param maxAge   keep only this much history (data goes to disk); unbounded if null
+     * @param maxSize  keep at most this much data on disk; {@code maxRecordingSize} if null
+     * @throws IllegalArgumentException if there is no settings file of that name, or {@code maxSize} is larger than
+     *                                  {@code maxRecordingSize}
+     * @throws IllegalStateException if Flight Recorder is not available in this JVM
+     */
+    public Recording start(String name, String settings, Duration duration, Duration maxAge, DataSize maxSize) {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("Flight Recorder is not available in this JVM");
+        }
+        if (maxSize != null && maxSize.compareTo(maxRecordingSize) > 0) {
+            throw new IllegalArgumentException("maxSize may be at most " + maxRecordingSize);
+        }
+        Recording recording = new Recording(configuration(settings != null ? settings : "default"));
+        recording.setName(name);
+        for (Class<? extends AdmissionsEvent> event : EVENTS) {
+            recording.enable(event).withThreshold(threshold);
+        }
+        SECRET_EVENTS.forEach(recording::disable);
+        if (duration != null) {
+            recording.setDuration(duration);
+        }
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize((maxSize != null ? maxSize : maxRecordingSize).toBytes());
+        recording.start();
+        return recording;
+    }
+
+    public List<Recording> list() {
+        return FlightRecorder.getFlightRecorder().getRecordings();
+    }
+
+    /**
+     * @return the recording with that id, or null if there is none (or it was closed)
+     */
+    public Recording find(long id) {
+        return list().stream().filter(recording -> recording.getId() == id).findFirst().orElse(null);
+    }
+
+    /**
+     * Stops a running recording; its data stays available for {@link #dump} until it is closed.
+     *
+     * @return the recording, or null if there is none with that id
+     */
+    public Recording stop(long id) {
+        Recording recording = find(id);
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        return recording;
+    }
+
+    /**
+     * Writes the data recorded so far, without the {@link #SECRET_EVENTS}, to a new temporary file; the recording may
+     * still be running.
+     *
+     * @return the file, or null if there is no recording with that id
+     */
+    public Path dump(long id) {
+        Recording recording = find(id);
+        if (recording == null) {
+            return null;
+        }
+        Path raw = null;
+        try {
+            raw = Files.createTempFile("admissions-" + id + "-raw-", ".jfr");
+            recording.dump(raw);
+            Path file = Files.createTempFile("admissions-" + id + "-", ".jfr");
+            try (RecordingFile recorded = new RecordingFile(raw)) {
+                recorded.write(file, event -> !SECRET_EVENTS.contains(event.getEventType().getName()));
+            }
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not dump recording " + id, e);
+        } finally {
+            if (raw != null) {
+                try {
+                    Files.deleteIfExists(raw);
+                } catch (IOException e) {
+                    // a leftover temporary file
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the recording if needed and discards its data.
+     *
+     * @return false if there is no recording with that id
+     */
+    public boolean close(long id) {
+        Recording recording = find(id);
+        if (recording == null) {
+            return false;
+        }
+        recording.close();
+        return true;
+    }
+
+    private static Configuration configuration(String settings) {
+        try {
+            return Configuration.getConfiguration(settings);
+        } catch (NoSuchFileException e) {
+            throw new IllegalArgumentException("Unknown Flight Recorder settings: " + settings);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid Flight Recorder settings: " + settings, e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.admissions.jfr;
+
+import jdk.jfr.Recording;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Actuator endpoint ({@code /actuator/jfr}) managing Flight Recorder recordings on demand.
+ * <ul>
+ *   <li>{@code GET /actuator/jfr} - list recordings</li>
+ *   <li>{@code POST /actuator/jfr} - start one; the optional JSON body takes {@code name}, {@code settings}
+ *       ({@code default} or {@code profile}), {@code duration}, {@code maxAge} and {@code maxSize}</li>
+ *   <li>{@code POST /actuator/jfr/{id}} - stop it</li>
+ *   <li>{@code GET /actuator/jfr/{id}} - download what it recorded so far as a {@code .jfr} file</li>
+ *   <li>{@code DELETE /actuator/jfr/{id}} - close it and discard its data</li>
+ * </ul>
+ * Not exposed by default: it has no authentication of its own, so it belongs behind management security or on a
+ * separate management port.
+ */
+@Endpoint(id = "jfr")
+public class FlightRecordingsEndpoint {
+    private final FlightRecordings recordings;
+
+    public FlightRecordingsEndpoint(FlightRecordings recordings) {
+        this.recordings = recordings;
+    }
+
+    @ReadOperation
+    public List<RecordingInfo> recordings() {
+        return recordings.list().stream().map(RecordingInfo::of).toList();
+    }
+
+    @WriteOperation
+    public RecordingInfo start(@Nullable String name, @Nullable String settings, @Nullable Duration duration,
+                               @Nullable Duration maxAge, @Nullable DataSize maxSize) {
+        try {
+            Recording recording = recordings.start(name != null ? name : "admissions", settings, duration, maxAge, maxSize);
+            return RecordingInfo.of(recording);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+
+    @WriteOperation
+    public RecordingInfo stop(@Selector long id) {
+        Recording recording = recordings.stop(id);
+        return recording != null ? RecordingInfo.of(recording) : null;
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public Resource download(@Selector long id) {
+        Path file = recordings.dump(id);
+        return file != null ? new TemporaryFileResource(file) : null;
+    }
+
+    @DeleteOperation
+    public void close(@Selector long id) {
+        recordings.close(id);
+    }
+}
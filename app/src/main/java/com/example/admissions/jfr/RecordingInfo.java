@@ -0,0 +1,32 @@
+package com.example.admissions.jfr;
+
+import jdk.jfr.Recording;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Summary of a Flight Recorder recording, as listed by the {@code jfr} actuator endpoint.
+ *
+ * @param id        recording id, used in the endpoint path
+ * @param name      recording name
+ * @param state     {@code NEW}, {@code DELAYED}, {@code RUNNING}, {@code STOPPED} or {@code CLOSED}
+ * @param startTime when the recording started, or null if it has not
+ * @param duration  how long the recording runs before stopping itself, or null if it runs until stopped
+ * @param maxAge    how long recorded data is kept, or null if unbounded
+ * @param size      bytes recorded so far
+ */
+public record RecordingInfo(
+        long id,
+        String name,
+        String state,
+        Instant startTime,
+        Duration duration,
+        Duration maxAge,
+        long size
+) {
+    static RecordingInfo of(Recording recording) {
+        return new RecordingInfo(recording.getId(), recording.getName(), recording.getState().name(),
+                recording.getStartTime(), recording.getDuration(), recording.getMaxAge(), recording.getSize());
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.admissions.jfr;
+
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * File resource that deletes its file once the response has been written from it. It reports itself as
+ * not being a file so the web layers stream it through {@link #getInputStream()} instead of zero-copy transfer.
+ */
+class TemporaryFileResource extends FileSystemResource {
+    private final Path path;
+
+    TemporaryFileResource(Path path) {
+        super(path);
+        this.path = path;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return new FilterInputStream(super.getInputStream()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    delete();
+                }
+            }
+        };
+    }
+
+    @Override
+    public boolean isFile() {
+        return false;
+    }
+
+    private void delete() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.admissions.overload;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to measured request latency, in the style of the gradient algorithm
+ * (TCP Vegas applied to request concurrency).
+ * <p>
+ * Two moving averages of the round-trip time are kept: a long one (the latency the service has when it is
+ * not queueing) and a short one (the latency right now). Their ratio is the gradient; while the short RTT
+ * stays within {@code tolerance} of the long one the limit grows by about its square root per sample, and
+ * once requests start queueing the gradient drops below one and the limit shrinks proportionally. Samples
+ * taken while fewer than half of the permits were in use say nothing about capacity and are ignored.
+ * <p>
+ * Writes may use the whole limit; reads only {@code readShare} of it, so when the service saturates
+ * status polling is shed first and task completions keep getting through.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final int SHORT_WINDOW = 10;
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double readShare;
+    private final double smoothing;
+    private final double tolerance;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private double shortRttNanos; // guarded by this
+    private double longRttNanos;  // guarded by this
+
+    private final LongAdder[] admitted = adders();
+    private final LongAdder[] rejected = adders();
+
+    /**
+     * @param readShare share of the limit available to {@link TrafficClass#READ} requests (0-1]
+     * @param smoothing weight of each new limit estimate (0-1]; lower values react more slowly
+     * @param tolerance how many times the no-load latency a request may take before the limit shrinks
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double readShare, double smoothing, double tolerance) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (readShare <= 0 || readShare > 1 || smoothing <= 0 || smoothing > 1 || tolerance < 1) {
+            throw new IllegalArgumentException("Invalid concurrency limiter tuning");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.readShare = readShare;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * @return a permit to release when the request completes, or {@code null} if the request should be shed
+     */
+    public Permit tryAcquire(TrafficClass trafficClass) {
+        int allowed = Math.max(1, (int) (trafficClass == TrafficClass.READ ? limit * readShare : limit));
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= allowed) {
+                rejected[trafficClass.ordinal()].increment();
+                return null;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        admitted[trafficClass.ordinal()].increment();
+        return new Permit(current + 1);
+    }
+
+    public int getLimit() { return (int) limit; }
+
+    public int getInFlight() { return inFlight.get(); }
+
+    public long getAdmitted(TrafficClass trafficClass) { return admitted[trafficClass.ordinal()].sum(); }
+
+    public long getRejected(TrafficClass trafficClass) { return rejected[trafficClass.ordinal()].sum(); }
+
+    synchronized void onSample(long rttNanos, int inFlightAtStart) {
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+        } else {
+            shortRttNanos += (rttNanos - shortRttNanos) / SHORT_WINDOW;
+            longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+        }
+        // Latency has dropped well below the long-term average (e.g. after a slow period): let it catch up
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= 0.95;
+        }
+        double current = limit;
+        if (inFlightAtStart < current / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        double estimate = current * gradient + Math.sqrt(current);
+        limit = Math.max(minLimit, Math.min(maxLimit, current * (1 - smoothing) + estimate * smoothing));
+    }
+
+    private static LongAdder[] adders() {
+        LongAdder[] adders = new LongAdder[TrafficClass.values().length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * One admitted request; {@link #release()} feeds its latency back into the limit.
+     */
+    public final class Permit {
+        private final long startNanos = System.nanoTime();
+        private final int inFlightAtStart;
+        private boolean released;
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        public void release() {
+            if (released) {
+                return;
+            }
+            released = true;
+            inFlight.decrementAndGet();
+            onSample(System.nanoTime() - startNanos, inFlightAtStart);
+        }
+    }
+}
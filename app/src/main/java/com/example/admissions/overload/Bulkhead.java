@@ -0,0 +1,128 @@
+package com.example.admissions.overload;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded compartment for one {@link TrafficClass}: at most {@code maxConcurrent} requests run at once and at
+ * most {@code maxQueued} wait (FIFO) for a slot, each for at most {@code maxWait}.
+ * <p>
+ * Acquisition is future-based so the same bulkhead serves both stacks: servlet threads wait on the future
+ * with a timeout, reactive requests chain on it. Whatever happens to the request (completed, timed out while
+ * queued, client gone) its {@link Acquisition} is closed once, which either frees the slot or leaves the queue.
+ */
+public class Bulkhead {
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Duration maxWait;
+
+    private final ArrayDeque<CompletableFuture<Void>> waiters = new ArrayDeque<>(); // guarded by this
+    private int active; // guarded by this
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder abandoned = new LongAdder();
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueued, Duration maxWait) {
+        if (maxConcurrent < 1 || maxQueued < 0) {
+            throw new IllegalArgumentException("Bulkhead " + name + " needs at least one slot and a non-negative queue");
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * @return an acquisition whose {@link Acquisition#granted()} completes once a slot is free,
+     *         or {@code null} if the queue is full
+     */
+    public Acquisition acquire() {
+        CompletableFuture<Void> granted;
+        synchronized (this) {
+            if (active < maxConcurrent) {
+                active++;
+                granted = CompletableFuture.completedFuture(null);
+            } else if (waiters.size() < maxQueued) {
+                granted = new CompletableFuture<>();
+                waiters.add(granted);
+                return new Acquisition(granted);
+            } else {
+                rejected.increment();
+                return null;
+            }
+        }
+        admitted.increment();
+        return new Acquisition(granted);
+    }
+
+    private void release() {
+        CompletableFuture<Void> next;
+        do {
+            synchronized (this) {
+                next = waiters.poll();
+                if (next == null) {
+                    active--;
+                    return;
+                }
+            }
+            // The slot passes straight to the next waiter; if it has just given up, try the one after it
+        } while (!next.complete(null));
+        admitted.increment();
+    }
+
+    public String getName() { return name; }
+
+    public int getMaxConcurrent() { return maxConcurrent; }
+
+    public int getMaxQueued() { return maxQueued; }
+
+    public Duration getMaxWait() { return maxWait; }
+
+    public synchronized int getActive() { return active; }
+
+    public synchronized int getQueued() { return waiters.size(); }
+
+    public long getAdmitted() { return admitted.sum(); }
+
+    public long getRejected() { return rejected.sum(); }
+
+    public long getAbandoned() { return abandoned.sum(); }
+
+    /**
+     * One request's claim on the bulkhead, granted immediately or after queueing.
+     */
+    public final class Acquisition {
+        private final CompletableFuture<Void> granted;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Acquisition(CompletableFuture<Void> granted) {
+            this.granted = granted;
+        }
+
+        public CompletableFuture<Void> granted() {
+            return granted;
+        }
+
+        /**
+         * Frees the slot if it was granted, otherwise leaves the queue. Only the first call has an effect.
+         */
+        public void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            if (granted.cancel(false)) {
+                abandoned.increment();
+                synchronized (Bulkhead.this) {
+                    waiters.remove(granted);
+                }
+            } else {
+                release();
+            }
+        }
+    }
+}
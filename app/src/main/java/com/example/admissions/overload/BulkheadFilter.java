@@ -0,0 +1,79 @@
+package com.example.admissions.overload;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Servlet filter running each classified request inside its {@link Bulkhead}; requests that find the queue
+ * full or wait longer than the bulkhead allows get {@code 503 Service Unavailable} with {@code Retry-After}.
+ * <p>
+ * Queued requests hold their servlet thread, so the slots plus queue lengths of all bulkheads should stay
+ * below the container's thread pool size.
+ */
+public class BulkheadFilter extends OncePerRequestFilter {
+    static final byte[] REJECTED_BODY =
+            "{\"error\":\"Too many concurrent requests of this kind, retry later\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final Bulkheads bulkheads;
+    private final String retryAfterSeconds;
+
+    public BulkheadFilter(Bulkheads bulkheads, Duration retryAfter) {
+        this.bulkheads = bulkheads;
+        this.retryAfterSeconds = ConcurrencyLimitFilter.retryAfterSeconds(retryAfter);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        TrafficClass trafficClass = TrafficClass.classify(
+                request.getMethod(), request.getRequestURI().substring(request.getContextPath().length()));
+        if (trafficClass == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Bulkhead bulkhead = bulkheads.forClass(trafficClass);
+        Bulkhead.Acquisition acquisition = bulkhead.acquire();
+        if (acquisition == null) {
+            reject(response);
+            return;
+        }
+        try {
+            acquisition.granted().get(bulkhead.getMaxWait().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            acquisition.close();
+            reject(response);
+            return;
+        } catch (InterruptedException e) {
+            acquisition.close();
+            Thread.currentThread().interrupt();
+            reject(response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            acquisition.close();
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(REJECTED_BODY.length);
+        response.getOutputStream().write(REJECTED_BODY);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.admissions.overload;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The bulkhead of each {@link TrafficClass}.
+ */
+public class Bulkheads {
+    private final Map<TrafficClass, Bulkhead> bulkheads = new EnumMap<>(TrafficClass.class);
+
+    public Bulkheads(Bulkhead read, Bulkhead write, Bulkhead batch, Bulkhead admin) {
+        bulkheads.put(TrafficClass.READ, read);
+        bulkheads.put(TrafficClass.WRITE, write);
+        bulkheads.put(TrafficClass.BATCH, batch);
+        bulkheads.put(TrafficClass.ADMIN, admin);
+    }
+
+    public Bulkhead forClass(TrafficClass trafficClass) {
+        return bulkheads.get(trafficClass);
+    }
+
+    public Collection<Bulkhead> all() {
+        return bulkheads.values();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.admissions.overload;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Servlet filter that sheds API requests over the {@link AdaptiveConcurrencyLimiter} limit with
+ * {@code 429 Too Many Requests} and a {@code Retry-After} header, before they reach a controller.
+ * Batch requests are not limited here, since one permit per batch would admit far more work than the limit allows:
+ * {@link com.example.admissions.service.BatchProcessor} takes one permit per item instead. Admin traffic is left to
+ * its bulkhead, as its long-running requests would skew the latency signal.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    public static final String REJECTED_ERROR = "Server is overloaded, retry later";
+    static final byte[] REJECTED_BODY = ("{\"error\":\"" + REJECTED_ERROR + "\"}").getBytes(StandardCharsets.UTF_8);
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final String retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, Duration retryAfter) {
+        this.limiter = limiter;
+        this.retryAfterSeconds = retryAfterSeconds(retryAfter);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        TrafficClass trafficClass = TrafficClass.classify(
+                request.getMethod(), request.getRequestURI().substring(request.getContextPath().length()));
+        if (trafficClass == null || trafficClass == TrafficClass.BATCH || trafficClass == TrafficClass.ADMIN) {
+            chain.doFilter(request, response);
+            return;
+        }
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(trafficClass);
+        if (permit == null) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(REJECTED_BODY.length);
+            response.getOutputStream().write(REJECTED_BODY);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permit.release();
+        }
+    }
+
+    static String retryAfterSeconds(Duration retryAfter) {
+        return String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.admissions.overload;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Reactive counterpart of {@link BulkheadFilter}. Queued requests wait without holding a thread; a client that
+ * disconnects while queued leaves the queue.
+ */
+public class ReactiveBulkheadFilter implements WebFilter {
+    private final Bulkheads bulkheads;
+    private final String retryAfterSeconds;
+
+    public ReactiveBulkheadFilter(Bulkheads bulkheads, Duration retryAfter) {
+        this.bulkheads = bulkheads;
+        this.retryAfterSeconds = ConcurrencyLimitFilter.retryAfterSeconds(retryAfter);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        TrafficClass trafficClass = TrafficClass.classify(
+                request.getMethod().name(), request.getPath().pathWithinApplication().value());
+        if (trafficClass == null) {
+            return chain.filter(exchange);
+        }
+        Bulkhead bulkhead = bulkheads.forClass(trafficClass);
+        Bulkhead.Acquisition acquisition = bulkhead.acquire();
+        if (acquisition == null) {
+            return reject(exchange);
+        }
+        return Mono.fromFuture(acquisition.granted(), true)
+                .timeout(bulkhead.getMaxWait())
+                .then(Mono.just(Boolean.TRUE))
+                .onErrorReturn(TimeoutException.class, Boolean.FALSE)
+                .flatMap(granted -> granted ? chain.filter(exchange) : reject(exchange))
+                .doFinally(signal -> acquisition.close());
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(BulkheadFilter.REJECTED_BODY)));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.admissions.overload;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Reactive counterpart of {@link ConcurrencyLimitFilter}; the permit is held until the response completes.
+ */
+public class ReactiveConcurrencyLimitFilter implements WebFilter {
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final String retryAfterSeconds;
+
+    public ReactiveConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, Duration retryAfter) {
+        this.limiter = limiter;
+        this.retryAfterSeconds = ConcurrencyLimitFilter.retryAfterSeconds(retryAfter);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        TrafficClass trafficClass = TrafficClass.classify(
+                request.getMethod().name(), request.getPath().pathWithinApplication().value());
+        if (trafficClass == null || trafficClass == TrafficClass.BATCH || trafficClass == TrafficClass.ADMIN) {
+            return chain.filter(exchange);
+        }
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(trafficClass);
+        if (permit == null) {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            DataBuffer body = response.bufferFactory().wrap(ConcurrencyLimitFilter.REJECTED_BODY);
+            return response.writeWith(Mono.just(body));
+        }
+        return chain.filter(exchange).doFinally(signal -> permit.release());
+    }
+}
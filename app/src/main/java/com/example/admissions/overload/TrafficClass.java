@@ -0,0 +1,42 @@
+package com.example.admissions.overload;
+
+/**
+ * Classes of API traffic that overload protection treats differently.
+ * <p>
+ * Writes (task completions, sign-ups) move applicants forward and are admitted ahead of reads
+ * (current/status polling), which clients simply repeat later. Batch requests do as much work as many single
+ * requests while holding one thread, so they get a small bulkhead of their own, and the adaptive limiter counts
+ * each of their items as a request of its own class rather than the batch once. Admin traffic (bulk operations under {@code /admin}, actuator endpoints other
+ * than health) is long-running and is kept in its own bulkhead so it cannot take threads from applicants.
+ */
+public enum TrafficClass {
+    READ,
+    WRITE,
+    BATCH,
+    ADMIN;
+
+    /**
+     * @return the class of the request, or {@code null} for requests that are never limited
+     *         (flow definition, event streams, health probes)
+     */
+    public static TrafficClass classify(String method, String path) {
+        if (path.startsWith("/admin/") || (path.startsWith("/actuator/") && !path.startsWith("/actuator/health"))) {
+            return ADMIN;
+        }
+        if (("PUT".equals(method) && "/steps/complete/batch".equals(path))
+                || ("POST".equals(method) && "/users/status/batch".equals(path))) {
+            return BATCH;
+        }
+        if ("PUT".equals(method) && "/steps/complete".equals(path)) {
+            return WRITE;
+        }
+        if ("POST".equals(method) && "/users".equals(path)) {
+            return WRITE;
+        }
+        if ("GET".equals(method) && path.startsWith("/users/")
+                && (path.endsWith("/current") || path.endsWith("/status") || path.endsWith("/attempts"))) {
+            return READ;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,338 @@
+package com.example.admissions.reevaluation;
+
+import com.example.admissions.engine.model.CompiledFlow;
+import com.example.admissions.engine.model.User;
+import com.example.admissions.engine.model.UserStateSnapshot;
+import com.example.admissions.engine.service.UserProgressChanged;
+import com.example.admissions.engine.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Re-evaluates every user against the running flow after a flow change, e.g. a new threshold or an added task,
+ * and records the users whose status or current task changed.
+ * <p>
+ * User ids are assigned densely from 1, so the scan splits {@code [1, lastAssignedId]} into fixed partitions and
+ * works through them fork/join style on its own pool, reading users through {@link UserService} like any request
+ * does. Each user is evaluated twice from one snapshot: under the previous flow version (when given; otherwise
+ * its cached final status stands for "before") and under the running flow. Workers take their users from a
+ * {@link ReevaluationThrottle}, which slows the scan down whenever live traffic runs over its p99 budget.
+ * <p>
+ * With {@code apply}, a cached final status that no longer holds is corrected: a user accepted before a task was
+ * added is reopened, a changed verdict is replaced. The correction is written only if the user's version is still
+ * the one it was evaluated at, checked atomically with the write; otherwise it is counted as skipped, and the
+ * user's next status check evaluates it anyway.
+ * <p>
+ * The diff is a {@link ReevaluationLog} written one finished partition at a time, which also makes the run
+ * resumable: {@link #pause()} lets the workers finish their partitions and stop, and {@link #resume()} continues
+ * the latest run, after a pause or a restart, with the partitions it has not finished.
+ */
+@Slf4j
+public class FlowReevaluation {
+    public static final int DEFAULT_PARTITION_SIZE = 4096;
+    private static final int PERMIT_BATCH = 64;
+    private static final String FILE_PREFIX = "reevaluation-";
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    private final UserService userService;
+    private final CompiledFlow flow;
+    private final Function<Path, CompiledFlow> flowLoader;
+    private final Path flowsDirectory;
+    private final ReevaluationThrottle throttle;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int parallelism;
+    private final int partitionSize;
+
+    private volatile Run run; // the latest run, guarded by this for starting
+
+    /**
+     * @param flowLoader     loads a previous flow version from a file
+     * @param flowsDirectory the only directory previous flow versions are read from
+     * @param directory      where diff files are written
+     * @param parallelism    worker threads
+     * @param partitionSize  users per partition, the unit of work, checkpointing and pausing
+     */
+    public FlowReevaluation(UserService userService, CompiledFlow flow, Function<Path, CompiledFlow> flowLoader,
+                            Path flowsDirectory, ReevaluationThrottle throttle, ApplicationEventPublisher eventPublisher,
+                            ObjectMapper objectMapper, Path directory, int parallelism, int partitionSize) {
+        if (parallelism < 1 || partitionSize < 1) {
+            throw new IllegalArgumentException("Parallelism and partition size must be positive");
+        }
+        this.userService = userService;
+        this.flow = flow;
+        this.flowLoader = flowLoader;
+        this.flowsDirectory = flowsDirectory;
+        this.throttle = throttle;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.directory = directory;
+        this.parallelism = parallelism;
+        this.partitionSize = partitionSize;
+    }
+
+    /**
+     * Starts a new run over every user created so far.
+     *
+     * @param previousFlow file name, within the flows directory, of the flow version users were evaluated under,
+     *                     or null to compare against cached final statuses only
+     * @throws IllegalStateException    if a run is in progress
+     * @throws IllegalArgumentException if the flows directory holds no such file
+     */
+    public synchronized ReevaluationProgress start(String previousFlow, boolean apply) {
+        checkIdle();
+        CompiledFlow previous = loadPrevious(previousFlow);
+        Instant now = Instant.now();
+        ReevaluationLog.Header header = new ReevaluationLog.Header(
+                previousFlow, apply, userService.lastAssignedId(), partitionSize, now.toString());
+        try {
+            Files.createDirectories(directory);
+            Path file = directory.resolve(FILE_PREFIX + FILE_TIMESTAMP.format(now) + ".ndjson");
+            launch(ReevaluationLog.create(file, header, objectMapper), previous);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create re-evaluation diff in " + directory, e);
+        }
+        log.info("Re-evaluation started: lastUserId={}, previousFlow={}, apply={}, diff={}",
+                header.lastUserId(), previousFlow, apply, run.runLog.file());
+        return progress();
+    }
+
+    /**
+     * Reads a previous flow version from the flows directory. The name is resolved with links followed, so neither
+     * {@code ..}, an absolute path nor a link can reach a file outside it.
+     */
+    private CompiledFlow loadPrevious(String previousFlow) {
+        if (previousFlow == null) {
+            return flow;
+        }
+        Path file = null;
+        try {
+            Path base = flowsDirectory.toRealPath();
+            Path resolved = base.resolve(previousFlow).toRealPath();
+            if (resolved.startsWith(base) && Files.isRegularFile(resolved)) {
+                file = resolved;
+            }
+        } catch (IOException | InvalidPathException e) {
+            // missing or malformed: rejected below like a name outside the directory
+        }
+        if (file == null) {
+            throw new IllegalArgumentException("No flow file " + previousFlow + " in " + flowsDirectory);
+        }
+        return flowLoader.apply(file);
+    }
+
+    /**
+     * Continues the latest run, keeping the partitions it already finished.
+     *
+     * @throws IllegalStateException if a run is in progress or there is no run to resume
+     */
+    public synchronized ReevaluationProgress resume() {
+        checkIdle();
+        Path latest;
+        try (Stream<Path> files = Files.exists(directory) ? Files.list(directory) : Stream.empty()) {
+            latest = files.filter(file -> file.getFileName().toString().startsWith(FILE_PREFIX))
+                    .max(Path::compareTo)
+                    .orElseThrow(() -> new IllegalStateException("No re-evaluation to resume in " + directory));
+            ReevaluationLog runLog = ReevaluationLog.open(latest, objectMapper);
+            launch(runLog, loadPrevious(runLog.header().previousFlow()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to resume re-evaluation from " + directory, e);
+        }
+        log.info("Re-evaluation resumed: diff={}, donePartitions={}/{}",
+                latest, run.runLog.donePartitions(), run.runLog.header().partitions());
+        return progress();
+    }
+
+    /**
+     * Asks the workers to stop after their current partition; the run can be resumed later.
+     */
+    public void pause() {
+        Run current = run;
+        if (current != null) {
+            current.pauseRequested = true;
+        }
+    }
+
+    /**
+     * @return true if the latest run stopped (completed, paused or failed) within the timeout
+     */
+    public boolean awaitTermination(Duration timeout) throws InterruptedException {
+        Run current = run;
+        return current == null || current.finished.await(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    public ReevaluationProgress progress() {
+        Run current = run;
+        if (current == null) {
+            return new ReevaluationProgress("idle", null, null, false, 0, 0, 0, 0, 0, 0, 0,
+                    throttle.getRate(), throttle.getLastP99Millis(), throttle.getBudgetMillis(), null, 0, null);
+        }
+        ReevaluationLog.Header header = current.runLog.header();
+        long elapsedNanos = (current.finished.getCount() == 0 ? current.endNanos : System.nanoTime()) - current.startNanos;
+        return new ReevaluationProgress(current.state, current.runLog.file().toString(), header.previousFlow(),
+                header.apply(), header.lastUserId(), header.partitions(), current.runLog.donePartitions(),
+                current.runLog.scannedUsers(), current.runLog.changedUsers(), current.runLog.appliedUsers(),
+                current.runLog.skippedUsers(), throttle.getRate(), throttle.getLastP99Millis(), throttle.getBudgetMillis(),
+                header.startedAt(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos), current.error);
+    }
+
+    private void checkIdle() {
+        if (run != null && run.finished.getCount() > 0) {
+            throw new IllegalStateException("A re-evaluation is already running");
+        }
+    }
+
+    private void launch(ReevaluationLog runLog, CompiledFlow previous) {
+        Run next = new Run(runLog, previous);
+        run = next;
+        ForkJoinPool pool = new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("flow-reevaluation-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        pool.execute(() -> {
+            try {
+                new Partitions(next, 0, runLog.header().partitions()).invoke();
+                next.state = runLog.donePartitions() == runLog.header().partitions() ? "completed" : "paused";
+                log.info("Re-evaluation {}: scanned={}, changed={}, applied={}, skipped={}, diff={}", next.state,
+                        runLog.scannedUsers(), runLog.changedUsers(), runLog.appliedUsers(), runLog.skippedUsers(),
+                        runLog.file());
+            } catch (RuntimeException e) {
+                next.state = "failed";
+                next.error = e.toString();
+                log.error("Re-evaluation failed: diff={}", runLog.file(), e);
+            } finally {
+                try {
+                    runLog.close();
+                } catch (IOException e) {
+                    log.warn("Failed to close re-evaluation diff {}", runLog.file(), e);
+                }
+                next.endNanos = System.nanoTime();
+                next.finished.countDown();
+                pool.shutdown();
+            }
+        });
+    }
+
+    private UserChange evaluate(Run current, User user) {
+        long version = user.getVersion();
+        String cached = user.getFinalStatus();
+        UserStateSnapshot snapshot = new UserStateSnapshot(user.getId(), user.getCompletedTasks());
+        String statusBefore = cached != null ? cached : current.previous.status(snapshot);
+        String taskBefore = taskId(current.previous, current.previous.currentTask(snapshot));
+        String statusAfter = flow.status(snapshot);
+        String taskAfter = taskId(flow, flow.currentTask(snapshot));
+        if (statusBefore.equals(statusAfter) && Objects.equals(taskBefore, taskAfter)) {
+            return null;
+        }
+        boolean applied = false;
+        boolean skipped = false;
+        if (current.runLog.header().apply() && cached != null && !cached.equals(statusAfter)) {
+            applied = userService.replaceFinalStatus(user.getId(), version,
+                    "in_progress".equals(statusAfter) ? null : statusAfter);
+            skipped = !applied;
+            if (applied) {
+                eventPublisher.publishEvent(new UserProgressChanged(user.getId()));
+            }
+        }
+        return new UserChange(user.getId(), statusBefore, statusAfter, taskBefore, taskAfter, applied, skipped);
+    }
+
+    private static String taskId(CompiledFlow flow, int ordinal) {
+        return ordinal < 0 ? null : flow.task(ordinal).getId();
+    }
+
+    private final class Run {
+        final ReevaluationLog runLog;
+        final CompiledFlow previous;
+        final CountDownLatch finished = new CountDownLatch(1);
+        final long startNanos = System.nanoTime();
+        volatile long endNanos;
+        volatile String state = "running";
+        volatile String error;
+        volatile boolean pauseRequested;
+
+        Run(ReevaluationLog runLog, CompiledFlow previous) {
+            this.runLog = runLog;
+            this.previous = previous;
+        }
+    }
+
+    /**
+     * Splits a range of partitions in halves down to single partitions.
+     */
+    private final class Partitions extends RecursiveAction {
+        private final Run current;
+        private final int from;
+        private final int to;
+
+        Partitions(Run current, int from, int to) {
+            this.current = current;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Partitions(current, from, middle), new Partitions(current, middle, to));
+            } else if (to > from && !current.pauseRequested && !current.runLog.isDone(from)) {
+                try {
+                    scan(from);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    current.pauseRequested = true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        private void scan(int partition) throws InterruptedException, IOException {
+            ReevaluationLog.Header header = current.runLog.header(); // a resumed run keeps its own partitioning
+            long first = (long) partition * header.partitionSize() + 1;
+            long last = Math.min(header.lastUserId(), first + header.partitionSize() - 1);
+            List<UserChange> changes = new ArrayList<>();
+            int users = 0;
+            for (long id = first; id <= last; id++) {
+                if ((id - first) % PERMIT_BATCH == 0) {
+                    throttle.acquire((int) Math.min(PERMIT_BATCH, last - id + 1));
+                }
+                User user = userService.getUser(String.valueOf(id));
+                if (user == null) {
+                    continue; // id skipped by a failed sign-up
+                }
+                users++;
+                UserChange change = evaluate(current, user);
+                if (change != null) {
+                    changes.add(change);
+                }
+            }
+            current.runLog.appendPartition(partition, users, changes);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.admissions.reevaluation;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * Actuator endpoint ({@code /actuator/reevaluation}) running {@link FlowReevaluation} on demand.
+ * <ul>
+ *   <li>{@code GET /actuator/reevaluation} - progress of the latest run</li>
+ *   <li>{@code POST /actuator/reevaluation} - start a run; the optional JSON body takes {@code previousFlow}
+ *       (name of the flow.json users were evaluated under, within
+ *       {@code admissions.reevaluation.flows-directory}), {@code apply} (correct stale cached statuses) and
+ *       {@code resume} (continue the latest run instead)</li>
+ *   <li>{@code DELETE /actuator/reevaluation} - pause the running run after its current partitions</li>
+ * </ul>
+ * Off unless {@code admissions.reevaluation.enabled} is set and the endpoint is exposed; it has no authentication of
+ * its own, so it belongs behind management security or on a separate management port.
+ */
+@Endpoint(id = "reevaluation")
+public class ReevaluationEndpoint {
+    private final FlowReevaluation reevaluation;
+
+    public ReevaluationEndpoint(FlowReevaluation reevaluation) {
+        this.reevaluation = reevaluation;
+    }
+
+    @ReadOperation
+    public ReevaluationProgress progress() {
+        return reevaluation.progress();
+    }
+
+    @WriteOperation
+    public ReevaluationProgress start(@Nullable String previousFlow, @Nullable Boolean apply, @Nullable Boolean resume) {
+        try {
+            return Boolean.TRUE.equals(resume)
+                    ? reevaluation.resume()
+                    : reevaluation.start(previousFlow, Boolean.TRUE.equals(apply));
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+
+    @DeleteOperation
+    public ReevaluationProgress pause() {
+        reevaluation.pause();
+        return reevaluation.progress();
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.admissions.reevaluation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The diff of a re-evaluation run, doubling as its checkpoint: an NDJSON file starting with a
+ * {@code {"run": ...}} header, followed per finished partition by its {@code {"change": ...}} lines and a
+ * closing {@code {"partition": ...}} marker. Each partition is appended with a single write, so on resume
+ * everything after the last marker (a partition cut short by a crash) is truncated and that partition runs again.
+ */
+@Slf4j
+final class ReevaluationLog implements AutoCloseable {
+    private final Path file;
+    private final FileChannel channel;
+    private final ObjectMapper objectMapper;
+    private final Header header;
+    private final BitSet donePartitions;
+    private long scannedUsers;
+    private long changedUsers;
+    private long appliedUsers;
+    private long skippedUsers;
+
+    /**
+     * @param previousFlow  file of the flow users were evaluated under before, or null for the running flow
+     * @param apply         whether stale cached statuses are corrected
+     * @param lastUserId    highest user id scanned
+     * @param partitionSize users per partition
+     * @param startedAt     when the run was first started, ISO-8601
+     */
+    record Header(String previousFlow, boolean apply, long lastUserId, int partitionSize, String startedAt) {
+        int partitions() {
+            return (int) ((lastUserId + partitionSize - 1) / partitionSize);
+        }
+    }
+
+    /**
+     * @param index   partition number; it covers user ids {@code index * partitionSize + 1} onwards
+     * @param users   users found and evaluated
+     * @param changed users whose status or current task differs
+     * @param applied users whose cached status was corrected
+     * @param skipped users whose correction was skipped because they changed during the run
+     */
+    record PartitionDone(int index, int users, int changed, int applied, int skipped) {
+    }
+
+    private ReevaluationLog(Path file, FileChannel channel, ObjectMapper objectMapper, Header header, BitSet donePartitions) {
+        this.file = file;
+        this.channel = channel;
+        this.objectMapper = objectMapper;
+        this.header = header;
+        this.donePartitions = donePartitions;
+    }
+
+    static ReevaluationLog create(Path file, Header header, ObjectMapper objectMapper) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ReevaluationLog runLog = new ReevaluationLog(file, channel, objectMapper, header, new BitSet());
+        runLog.write(objectMapper.writeValueAsBytes(Map.of("run", header)));
+        return runLog;
+    }
+
+    /**
+     * Reopens an earlier run's file to continue it, restoring its progress.
+     */
+    static ReevaluationLog open(Path file, ObjectMapper objectMapper) throws IOException {
+        Header header = null;
+        BitSet done = new BitSet();
+        long scanned = 0;
+        long changed = 0;
+        long applied = 0;
+        long skipped = 0;
+        long validLength = 0;
+        long offset = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                offset += line.getBytes(StandardCharsets.UTF_8).length + 1;
+                JsonNode node;
+                try {
+                    node = objectMapper.readTree(line);
+                } catch (IOException e) {
+                    break; // torn line
+                }
+                if (header == null) {
+                    header = objectMapper.treeToValue(node.get("run"), Header.class);
+                    validLength = offset;
+                } else if (node.has("partition")) {
+                    PartitionDone partition = objectMapper.treeToValue(node.get("partition"), PartitionDone.class);
+                    done.set(partition.index());
+                    scanned += partition.users();
+                    changed += partition.changed();
+                    applied += partition.applied();
+                    skipped += partition.skipped();
+                    validLength = offset;
+                }
+            }
+        }
+        if (header == null) {
+            throw new IOException("Not a re-evaluation file: " + file);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE);
+        if (channel.size() > validLength) {
+            log.warn("Discarding unfinished partition at the end of {}: {} bytes", file, channel.size() - validLength);
+            channel.truncate(validLength);
+        }
+        ReevaluationLog runLog = new ReevaluationLog(file, channel, objectMapper, header, done);
+        runLog.scannedUsers = scanned;
+        runLog.changedUsers = changed;
+        runLog.appliedUsers = applied;
+        runLog.skippedUsers = skipped;
+        return runLog;
+    }
+
+    /**
+     * Appends a finished partition's changes and its marker in one write.
+     */
+    void appendPartition(int index, int users, List<UserChange> changes) throws IOException {
+        int applied = 0;
+        int skipped = 0;
+        StringBuilder block = new StringBuilder(changes.size() * 128 + 64);
+        for (UserChange change : changes) {
+            block.append(objectMapper.writeValueAsString(Map.of("change", change))).append('\n');
+            if (change.applied()) {
+                applied++;
+            }
+            if (change.skipped()) {
+                skipped++;
+            }
+        }
+        PartitionDone marker = new PartitionDone(index, users, changes.size(), applied, skipped);
+        block.append(objectMapper.writeValueAsString(Map.of("partition", marker)));
+        byte[] bytes = block.toString().getBytes(StandardCharsets.UTF_8);
+        synchronized (this) {
+            write(bytes);
+            donePartitions.set(index);
+            scannedUsers += users;
+            changedUsers += changes.size();
+            appliedUsers += applied;
+            skippedUsers += skipped;
+        }
+    }
+
+    private void write(byte[] line) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(line.length + 1).put(line).put((byte) '\n').flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, channel.size());
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    Header header() {
+        return header;
+    }
+
+    synchronized boolean isDone(int partition) {
+        return donePartitions.get(partition);
+    }
+
+    synchronized int donePartitions() {
+        return donePartitions.cardinality();
+    }
+
+    synchronized long scannedUsers() {
+        return scannedUsers;
+    }
+
+    synchronized long changedUsers() {
+        return changedUsers;
+    }
+
+    synchronized long appliedUsers() {
+        return appliedUsers;
+    }
+
+    synchronized long skippedUsers() {
+        return skippedUsers;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.admissions.reevaluation;
+
+/**
+ * State of the latest re-evaluation run.
+ *
+ * @param state          "idle" (never run), "running", "paused", "completed" or "failed"
+ * @param diffFile       NDJSON file holding the run's changes, also used to resume it
+ * @param previousFlow   flow file users were compared against, null for the running flow
+ * @param apply          whether stale cached statuses are corrected
+ * @param lastUserId     highest user id covered; users created after the run started already use the running flow
+ * @param partitions     number of id partitions
+ * @param donePartitions partitions finished, including those finished before a resume
+ * @param scannedUsers   users evaluated in finished partitions
+ * @param changedUsers   users whose status or current task changed
+ * @param appliedUsers   users whose cached status was corrected
+ * @param skippedUsers   users whose correction was skipped because they changed during the run
+ * @param allowedRate    users per second the throttle currently allows
+ * @param liveP99Millis  live p99 at the throttle's last adjustment, NaN if unknown
+ * @param p99BudgetMillis live p99 the throttle keeps within
+ * @param startedAt      when the run was first started, ISO-8601
+ * @param elapsedMillis  time spent since it was last started or resumed
+ * @param error          why the run failed, null otherwise
+ */
+public record ReevaluationProgress(
+        String state,
+        String diffFile,
+        String previousFlow,
+        boolean apply,
+        long lastUserId,
+        int partitions,
+        int donePartitions,
+        long scannedUsers,
+        long changedUsers,
+        long appliedUsers,
+        long skippedUsers,
+        double allowedRate,
+        double liveP99Millis,
+        double p99BudgetMillis,
+        String startedAt,
+        long elapsedMillis,
+        String error
+) {
+}
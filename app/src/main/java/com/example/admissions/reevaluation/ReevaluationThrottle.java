@@ -0,0 +1,105 @@
+package com.example.admissions.reevaluation;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Paces a background scan so live traffic stays within its latency budget.
+ * <p>
+ * Workers reserve permits (users) from a shared schedule running at {@code rate} permits per second and sleep
+ * until their reservation starts. Every {@code adjustInterval} the live p99 is sampled and the rate adapted
+ * AIMD-style: raised by {@code step} while the p99 is within budget (or unknown, when there is no traffic),
+ * halved as soon as it is over. The scan therefore backs off within one interval of hurting applicants and
+ * creeps back up once they recover.
+ */
+public class ReevaluationThrottle {
+    private final DoubleSupplier liveP99Millis;
+    private final double budgetMillis;
+    private final double minRate;
+    private final double maxRate;
+    private final double step;
+    private final long adjustIntervalNanos;
+
+    private double rate;           // guarded by this
+    private long nextFreeNanos;    // guarded by this
+    private long nextAdjustNanos;  // guarded by this
+    private volatile double lastP99Millis = Double.NaN;
+
+    /**
+     * @param liveP99Millis  current p99 latency of applicant requests, NaN when unknown
+     * @param budgetMillis   p99 the scan must not push live traffic beyond
+     * @param minRate        users per second the scan never drops below
+     * @param maxRate        users per second the scan never exceeds
+     * @param adjustInterval how often the rate is adapted
+     */
+    public ReevaluationThrottle(DoubleSupplier liveP99Millis, double budgetMillis, double minRate, double maxRate,
+                                Duration adjustInterval) {
+        if (minRate <= 0 || maxRate < minRate || budgetMillis <= 0) {
+            throw new IllegalArgumentException("Throttle must satisfy 0 < min-rate <= max-rate and budget > 0");
+        }
+        this.liveP99Millis = liveP99Millis;
+        this.budgetMillis = budgetMillis;
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.step = Math.max(minRate, (maxRate - minRate) / 20);
+        this.adjustIntervalNanos = adjustInterval.toNanos();
+        this.rate = minRate;
+        this.nextFreeNanos = System.nanoTime();
+        this.nextAdjustNanos = nextFreeNanos + adjustIntervalNanos;
+    }
+
+    /**
+     * Returns a throttle that never waits.
+     */
+    public static ReevaluationThrottle unlimited() {
+        return new ReevaluationThrottle(() -> Double.NaN, 1, Double.MAX_VALUE, Double.MAX_VALUE, Duration.ofDays(1));
+    }
+
+    /**
+     * Blocks until {@code permits} users may be processed.
+     */
+    public void acquire(int permits) throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (now - nextAdjustNanos >= 0) {
+                adjust(liveP99Millis.getAsDouble());
+                nextAdjustNanos = now + adjustIntervalNanos;
+            }
+            long start = Math.max(now, nextFreeNanos);
+            nextFreeNanos = start + (long) (permits * 1e9 / rate);
+            waitNanos = start - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    synchronized void adjust(double p99Millis) {
+        lastP99Millis = p99Millis;
+        if (p99Millis > budgetMillis) {
+            rate = Math.max(minRate, rate / 2);
+        } else {
+            rate = Math.min(maxRate, rate + step);
+        }
+    }
+
+    /**
+     * @return users per second currently allowed
+     */
+    public synchronized double getRate() {
+        return rate;
+    }
+
+    /**
+     * @return the live p99 seen at the last adjustment, NaN if unknown
+     */
+    public double getLastP99Millis() {
+        return lastP99Millis;
+    }
+
+    public double getBudgetMillis() {
+        return budgetMillis;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.admissions.reevaluation;
+
+/**
+ * A user whose status or current task differs between the previous flow version and the running one.
+ *
+ * @param userId       Identifier of the user
+ * @param statusBefore Cached final status, or the status under the previous flow if none was cached
+ * @param statusAfter  Status under the running flow: "accepted", "rejected" or "in_progress"
+ * @param taskBefore   Id of the current task under the previous flow, null if every visible task had passed
+ * @param taskAfter    Id of the current task under the running flow, null if every visible task has passed
+ * @param applied      Whether the cached final status was corrected to match {@code statusAfter}
+ * @param skipped      Whether a correction was due but not made, because the user changed after it was read
+ */
+public record UserChange(
+        String userId,
+        String statusBefore,
+        String statusAfter,
+        String taskBefore,
+        String taskAfter,
+        boolean applied,
+        boolean skipped
+) {
+}
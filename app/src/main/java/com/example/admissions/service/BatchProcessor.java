@@ -0,0 +1,115 @@
+package com.example.admissions.service;
+
+import com.example.admissions.dto.BatchResponse;
+import com.example.admissions.dto.CompleteStepBatchRequest;
+import com.example.admissions.engine.dto.CompleteStepResponse;
+import com.example.admissions.engine.dto.UserStatusResponse;
+import com.example.admissions.engine.service.FlowService;
+import com.example.admissions.exception.GlobalExceptionHandler;
+import com.example.admissions.overload.AdaptiveConcurrencyLimiter;
+import com.example.admissions.overload.ConcurrencyLimitFilter;
+import com.example.admissions.overload.TrafficClass;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Runs the items of the batch endpoints one at a time, each exactly as its single-request endpoint would: keyed
+ * completions go through the {@link IdempotencyCache}, so a retried batch replays the items that already ran.
+ * A failing item is reported in its result and does not stop the others.
+ * <p>
+ * The batch request itself is not counted by the {@link AdaptiveConcurrencyLimiter}; each item takes a permit of its
+ * single-request class while it runs, so a batch weighs as much as its items. An item over the limit is answered
+ * {@code 429} in its result, which clients retry like a shed single request.
+ */
+@Slf4j
+@Component
+public class BatchProcessor {
+    private final FlowService flowService;
+    private final IdempotencyCache idempotencyCache;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    @Autowired
+    public BatchProcessor(FlowService flowService, IdempotencyCache idempotencyCache,
+                          ObjectProvider<AdaptiveConcurrencyLimiter> limiter) {
+        this(flowService, idempotencyCache, limiter.getIfAvailable());
+    }
+
+    /**
+     * @param limiter limiter the items are admitted by, or {@code null} if load shedding is disabled
+     */
+    public BatchProcessor(FlowService flowService, IdempotencyCache idempotencyCache, AdaptiveConcurrencyLimiter limiter) {
+        this.flowService = flowService;
+        this.idempotencyCache = idempotencyCache;
+        this.limiter = limiter;
+    }
+
+    public BatchResponse<CompleteStepResponse> completeAll(List<CompleteStepBatchRequest.Completion> completions) {
+        List<BatchResponse.Result<CompleteStepResponse>> results = new ArrayList<>(completions.size());
+        for (CompleteStepBatchRequest.Completion completion : completions) {
+            String missing = missingField(completion);
+            if (missing != null) {
+                results.add(BatchResponse.Result.failed(400, missing + " is required"));
+                continue;
+            }
+            Supplier<CompleteStepResponse> complete =
+                    () -> flowService.completeStep(completion.userId(), completion.taskId(), completion.taskPayload());
+            results.add(run(TrafficClass.WRITE, completion.idempotencyKey() == null
+                    ? complete
+                    : () -> idempotencyCache.execute(completion.idempotencyKey(), completion.toRequest(), complete)));
+        }
+        return new BatchResponse<>(results);
+    }
+
+    public BatchResponse<UserStatusResponse> statusAll(List<String> userIds) {
+        List<BatchResponse.Result<UserStatusResponse>> results = new ArrayList<>(userIds.size());
+        for (String userId : userIds) {
+            results.add(userId == null || userId.isBlank()
+                    ? BatchResponse.Result.failed(400, "user_id is required")
+                    : run(TrafficClass.READ, () -> flowService.getUserStatusResponse(userId)));
+        }
+        return new BatchResponse<>(results);
+    }
+
+    private <T> BatchResponse.Result<T> run(TrafficClass trafficClass, Supplier<T> item) {
+        AdaptiveConcurrencyLimiter.Permit permit = null;
+        if (limiter != null) {
+            permit = limiter.tryAcquire(trafficClass);
+            if (permit == null) {
+                return BatchResponse.Result.failed(HttpStatus.TOO_MANY_REQUESTS.value(), ConcurrencyLimitFilter.REJECTED_ERROR);
+            }
+        }
+        try {
+            return BatchResponse.Result.ok(item.get());
+        } catch (RuntimeException e) {
+            int status = GlobalExceptionHandler.statusOf(e).value();
+            if (status >= 500) {
+                log.error("Batch item failed", e);
+            }
+            return BatchResponse.Result.failed(status, GlobalExceptionHandler.errorOf(e));
+        } finally {
+            if (permit != null) {
+                permit.release();
+            }
+        }
+    }
+
+    /**
+     * Same checks as the validation of {@link com.example.admissions.dto.CompleteStepRequest}.
+     */
+    private static String missingField(CompleteStepBatchRequest.Completion completion) {
+        if (completion == null || completion.userId() == null || completion.userId().isBlank()) {
+            return "user_id";
+        }
+        if (completion.taskId() == null || completion.taskId().isBlank()) {
+            return "task_id";
+        }
+        return completion.taskPayload() == null ? "task_payload" : null;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.admissions.service;
+
+import com.example.admissions.engine.model.Flow;
+import com.example.admissions.engine.service.FlowService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-rendered JSON of the flow, shared by every {@code GET /flow} request.
+ * <p>
+ * The flow is immutable between reloads, so it is serialized once (plain and gzip) and the bytes
+ * are served as-is. The rendering is keyed by the identity of the {@link Flow} instance; if the
+ * flow is ever replaced it is re-rendered on the next request. The version is a content hash,
+ * so it only changes when the serialized flow actually does.
+ */
+@Slf4j
+@Component
+public class FlowRepresentation {
+    private final FlowService flowService;
+    private final ObjectMapper objectMapper;
+    private volatile Rendered rendered;
+
+    public FlowRepresentation(FlowService flowService, ObjectMapper objectMapper) {
+        this.flowService = flowService;
+        this.objectMapper = objectMapper;
+        this.rendered = render(flowService.getFlow());
+    }
+
+    /**
+     * Returns the rendering of the current flow, re-rendering only if the flow instance changed.
+     */
+    public Rendered current() {
+        Flow flow = flowService.getFlow();
+        Rendered current = rendered;
+        if (current.flow() != flow) {
+            current = render(flow); // a racing thread may render the same flow too; both results are equal
+            rendered = current;
+        }
+        return current;
+    }
+
+    /**
+     * @return content hash of the current flow, usable as a validator by other cached responses
+     */
+    public String version() {
+        return current().version();
+    }
+
+    private Rendered render(Flow flow) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(flow);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            String version = HexFormat.of().formatHex(Arrays.copyOf(digest, 8));
+            log.info("Flow rendered: id={}, version={}, bytes={}, gzipBytes={}", flow.id(), version, json.length, compressed.size());
+            return new Rendered(flow, version, json, compressed.toByteArray());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize flow " + flow.id(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * One rendering of a flow. The byte arrays are shared and must not be modified.
+     *
+     * @param flow    the rendered flow instance
+     * @param version content hash of the JSON
+     * @param json    the JSON body
+     * @param gzip    the JSON body, gzip-compressed
+     */
+    public record Rendered(Flow flow, String version, byte[] json, byte[] gzip) {
+        /** Strong entity tag of the plain JSON. */
+        public String etag() {
+            return "\"" + version + "\"";
+        }
+
+        /** Strong entity tag of the gzip variant; strong tags must differ per content coding. */
+        public String gzipEtag() {
+            return "\"" + version + "-gzip\"";
+        }
+    }
+}
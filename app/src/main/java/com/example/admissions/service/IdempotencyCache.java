@@ -0,0 +1,170 @@
+package com.example.admissions.service;
+
+import com.example.admissions.dto.CompleteStepRequest;
+import com.example.admissions.engine.dto.CompleteStepResponse;
+import com.example.admissions.engine.service.FlowService;
+import com.example.admissions.exception.IdempotencyKeyReusedException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Replay cache for step completions keyed by the client's {@code Idempotency-Key}.
+ * <p>
+ * The first request with a key runs the completion and stores its future; a retry with the same key
+ * gets the stored {@link CompleteStepResponse} without reaching {@link FlowService}, and a duplicate that
+ * arrives while the first is still running waits for the same future, so concurrent duplicates collapse
+ * into one execution. Failed completions are not cached: waiters see the same exception and the next retry
+ * runs again. Reusing a key for a different request is rejected.
+ * <p>
+ * Every entry lives for the same TTL, so insertion order is also expiry order: a FIFO of entries drives
+ * both expiry and the size bound, and the oldest entries are dropped first once {@code maxEntries} is exceeded.
+ */
+public class IdempotencyCache {
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public IdempotencyCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, System::nanoTime);
+    }
+
+    IdempotencyCache(int maxEntries, Duration ttl, LongSupplier nanoTime) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Idempotency cache size must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Runs {@code completion} once per key and returns its response to every request carrying that key.
+     *
+     * @throws IdempotencyKeyReusedException if the key was already used for a different request
+     */
+    public CompleteStepResponse execute(String key, CompleteStepRequest request, Supplier<CompleteStepResponse> completion) {
+        CompletableFuture<CompleteStepResponse> response =
+                submit(key, request, () -> CompletableFuture.completedFuture(completion.get()));
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Asynchronous form of {@link #execute}: {@code completion} is started only for the first request with
+     * the key, and the returned future is shared with every duplicate.
+     */
+    public CompletableFuture<CompleteStepResponse> submit(String key, CompleteStepRequest request,
+                                                          Supplier<CompletableFuture<CompleteStepResponse>> completion) {
+        validateKey(key);
+        long now = nanoTime.getAsLong();
+        Entry created = new Entry(key, request, now + ttlNanos);
+        Entry entry = entries.compute(key, (k, existing) -> existing != null && !existing.isExpired(now) ? existing : created);
+        if (entry != created) {
+            if (!entry.request.equals(request)) {
+                throw new IdempotencyKeyReusedException(key);
+            }
+            (entry.response.isDone() ? hits : collapsed).increment();
+            return entry.response;
+        }
+
+        misses.increment();
+        insertionOrder.add(created);
+        evict(now);
+        CompletableFuture<CompleteStepResponse> started;
+        try {
+            started = completion.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        started.whenComplete((response, failure) -> {
+            if (failure != null) {
+                entries.remove(key, created);
+                created.response.completeExceptionally(failure);
+            } else {
+                created.response.complete(response);
+            }
+        });
+        return created.response;
+    }
+
+    public int size() { return entries.size(); }
+
+    public long getHits() { return hits.sum(); }
+
+    public long getCollapsed() { return collapsed.sum(); }
+
+    public long getMisses() { return misses.sum(); }
+
+    public long getEvictions() { return evictions.sum(); }
+
+    /**
+     * Share of keyed requests answered without running the completion (replays plus collapsed duplicates).
+     */
+    public double hitRatio() {
+        long replayed = hits.sum() + collapsed.sum();
+        long total = replayed + misses.sum();
+        return total == 0 ? 0 : (double) replayed / total;
+    }
+
+    private static void validateKey(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    /**
+     * Drops entries from the head of the FIFO while they are expired, already replaced (expired and
+     * re-created, or removed after a failure), or the cache is over its bound. The bound counts the live
+     * entries in the map, so replaced entries still queued never push out live ones.
+     */
+    private void evict(long now) {
+        Entry head;
+        while ((head = insertionOrder.peek()) != null && (head.isExpired(now) || entries.get(head.key) != head || entries.size() > maxEntries)) {
+            if (insertionOrder.remove(head)) {
+                if (entries.remove(head.key, head) && !head.isExpired(now)) {
+                    evictions.increment();
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        final String key;
+        final CompleteStepRequest request;
+        final long expiresAtNanos;
+        final CompletableFuture<CompleteStepResponse> response = new CompletableFuture<>();
+
+        Entry(String key, CompleteStepRequest request, long expiresAtNanos) {
+            this.key = key;
+            this.request = Objects.requireNonNull(request);
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.admissions.service;
+
+import com.example.admissions.engine.exception.UserNotFoundException;
+import com.example.admissions.engine.service.UserService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache validators for the per-user read endpoints ({@code /users/{id}/current} and {@code /status}).
+ * <p>
+ * Both responses are a pure function of the user's state and the flow, so a weak entity tag built
+ * from the user's version and the flow version identifies them. It is computed from two cheap
+ * lookups, which lets a conditional GET be answered without computing the position or status.
+ */
+@Component
+public class UserStateValidator {
+    private final UserService userService;
+    private final FlowRepresentation flowRepresentation;
+
+    public UserStateValidator(UserService userService, FlowRepresentation flowRepresentation) {
+        this.userService = userService;
+        this.flowRepresentation = flowRepresentation;
+    }
+
+    /**
+     * Reads the validator before the response is computed, so the tag can only ever be older than
+     * the body it is sent with; at worst the next poll is a full response instead of a 304.
+     *
+     * @throws UserNotFoundException if the user does not exist
+     */
+    public UserStateTag tag(String userId) {
+        long version = userService.getVersion(userId);
+        return new UserStateTag("W/\"" + version + "-" + flowRepresentation.version() + "\"");
+    }
+
+    /**
+     * @param etag weak entity tag of the user's current state
+     */
+    public record UserStateTag(String etag) {
+    }
+}
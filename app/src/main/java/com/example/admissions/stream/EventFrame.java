@@ -0,0 +1,16 @@
+package com.example.admissions.stream;
+
+/**
+ * A Server-Sent Event rendered once and shared by every stream it is sent to,
+ * independent of the web stack that writes it.
+ *
+ * @param name event name, or null for a comment line
+ * @param data event data (pre-serialized JSON), or the comment text
+ */
+public record EventFrame(String name, String data) {
+    public static final EventFrame HEARTBEAT = new EventFrame(null, "heartbeat");
+
+    public boolean isComment() {
+        return name == null;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.admissions.stream;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open event stream: a bounded buffer of pre-rendered frames drained by the hub's dispatcher.
+ * At most one drain runs per subscriber at a time, so frames are written in order. A drain stops early
+ * while the sink is not {@link Sink#ready() ready}; the stream is then blocked until the sink resumes it.
+ */
+public final class EventSubscriber {
+
+    /**
+     * Writes a frame to the client on the transport of the web stack in use.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        void send(EventFrame frame) throws IOException;
+
+        /**
+         * @return false while a frame cannot be written without blocking; the transport then asks the hub to
+         *         resume the drain once it can
+         */
+        default boolean ready() {
+            return true;
+        }
+    }
+
+    private final String userId;
+    private final Sink sink;
+    private final Runnable onClose;
+    private final BlockingQueue<EventFrame> buffer;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile long lastSentNanos = System.nanoTime();
+    private volatile long blockedSinceNanos; // 0 unless frames are waiting for the sink to become ready
+
+    EventSubscriber(String userId, Sink sink, Runnable onClose, int bufferCapacity) {
+        this.userId = userId;
+        this.sink = sink;
+        this.onClose = onClose;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+    }
+
+    String getUserId() { return userId; }
+    long getLastSentNanos() { return lastSentNanos; }
+    boolean isIdle() { return buffer.isEmpty() && !draining.get(); }
+    boolean isClosed() { return closed.get(); }
+
+    /**
+     * @return true if frames have been waiting for the sink for at least {@code timeoutNanos}
+     */
+    boolean isStalled(long nowNanos, long timeoutNanos) {
+        long since = blockedSinceNanos;
+        return since != 0 && nowNanos - since >= timeoutNanos;
+    }
+
+    /**
+     * @return false if the buffer is full; the caller should drop this subscriber
+     */
+    boolean offer(EventFrame frame) {
+        return !closed.get() && buffer.offer(frame);
+    }
+
+    /**
+     * Claims the drain; returns false if one is already running or the buffer is empty.
+     */
+    boolean tryStartDrain() {
+        return !buffer.isEmpty() && draining.compareAndSet(false, true);
+    }
+
+    /**
+     * Writes buffered frames until the buffer is empty or the sink is not ready.
+     *
+     * @return true if frames can be written after the drain released (new frames arrived, or the sink became
+     *         ready in the meantime), so another drain must be scheduled
+     * @throws IOException if the client is gone
+     */
+    boolean drain() throws IOException {
+        try {
+            EventFrame frame;
+            while (!closed.get() && sink.ready() && (frame = buffer.poll()) != null) {
+                sink.send(frame);
+                lastSentNanos = System.nanoTime();
+                blockedSinceNanos = 0;
+            }
+            if (!buffer.isEmpty() && blockedSinceNanos == 0) {
+                blockedSinceNanos = System.nanoTime();
+            }
+        } finally {
+            draining.set(false);
+        }
+        // A resume that arrived while this drain still held the flag was refused; pick it up here
+        return !closed.get() && !buffer.isEmpty() && sink.ready();
+    }
+
+    /**
+     * Closes the subscriber once; further frames are rejected and the buffer is released.
+     */
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            buffer.clear();
+            onClose.run();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.admissions.stream;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Servlet transport of an event stream, written with non-blocking I/O.
+ * <p>
+ * Frames are written only while {@link ServletOutputStream#isReady()} says the container can take them
+ * without blocking. When it cannot, the frames stay in the subscriber's buffer and the container's
+ * {@link WriteListener#onWritePossible()} callback resumes the drain, so a client that stops reading
+ * never holds a dispatcher thread.
+ */
+final class ServletEventStream implements EventSubscriber.Sink, WriteListener, AsyncListener {
+    private final AsyncContext async;
+    private final ServletOutputStream out;
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private volatile boolean writable; // set once the container has called onWritePossible
+    private volatile EventSubscriber subscriber;
+    private volatile Runnable resume;
+
+    ServletEventStream(AsyncContext async, ServletOutputStream out) {
+        this.async = async;
+        this.out = out;
+    }
+
+    /**
+     * Registers the listeners; the first frames are written once the container reports the stream writable.
+     *
+     * @param resume schedules a drain of the subscriber
+     */
+    void start(EventSubscriber subscriber, Runnable resume) {
+        this.subscriber = subscriber;
+        this.resume = resume;
+        async.addListener(this);
+        out.setWriteListener(this);
+    }
+
+    @Override
+    public boolean ready() {
+        return writable && !completed.get() && out.isReady();
+    }
+
+    @Override
+    public void send(EventFrame frame) throws IOException {
+        out.write(render(frame));
+        if (out.isReady()) {
+            out.flush();
+        } // otherwise the container is already flushing and calls onWritePossible when done
+    }
+
+    /**
+     * Completes the response once; safe to call from any thread.
+     */
+    void complete() {
+        if (completed.compareAndSet(false, true)) {
+            try {
+                async.complete();
+            } catch (IllegalStateException e) {
+                // the container already completed or recycled the request
+            }
+        }
+    }
+
+    @Override
+    public void onWritePossible() {
+        writable = true;
+        resume.run();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        subscriber.close();
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        completed.set(true);
+        subscriber.close();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        subscriber.close(); // completes the response
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        subscriber.close();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+
+    static byte[] render(EventFrame frame) {
+        String text = frame.isComment()
+                ? ":" + frame.data() + "\n\n"
+                : "event:" + frame.name() + "\ndata:" + frame.data() + "\n\n";
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
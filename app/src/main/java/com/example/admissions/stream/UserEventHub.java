@@ -0,0 +1,292 @@
+package com.example.admissions.stream;
+
+import com.example.admissions.engine.dto.UserProgressEvent;
+import com.example.admissions.engine.service.UserProgressChanged;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Registry of open per-user event streams ({@code GET /users/{id}/events}).
+ * <p>
+ * Streams are async servlet responses written with non-blocking I/O ({@link ServletEventStream}) or, in the reactive
+ * profile, WebFlux {@link Flux} responses; either way an idle connection costs a map entry and a small buffer, not
+ * a thread. Work happens only when a user with subscribers changes:
+ * <ul>
+ *   <li>Changes are coalesced per user: while a refresh is pending, further changes are absorbed by it.
+ *       A refresh computes the user's progress once, serializes it once and fans the same frame out to
+ *       every stream of that user (e.g. several open tabs).</li>
+ *   <li>Each stream has a bounded frame buffer drained by a small shared dispatcher pool, so a slow
+ *       client never blocks the request that completed the task. Writes never block a dispatcher thread
+ *       either: a drain stops when the transport cannot take more and resumes when it can. A client that
+ *       lets its buffer fill, or leaves frames unread for the write timeout, is disconnected; on reconnect
+ *       it receives the current state first, so nothing is lost.</li>
+ *   <li>Heartbeats and the write timeout come from a single timer for all streams. Heartbeats are skipped
+ *       for streams that sent anything during the last interval or still have frames queued.</li>
+ * </ul>
+ */
+@Slf4j
+public class UserEventHub implements AutoCloseable {
+    private final Function<String, UserProgressEvent> progress;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+    private final long heartbeatNanos;
+    private final long writeTimeoutNanos;
+    private final int bufferCapacity;
+    private final Map<String, Topic> topics = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeats;
+
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final LongAdder eventsSent = new LongAdder();
+    private final LongAdder heartbeatsSent = new LongAdder();
+    private final LongAdder slowDisconnects = new LongAdder();
+
+    /**
+     * @param progress          computes the current progress of a user
+     * @param timeout           how long a stream stays open before the client has to reconnect
+     * @param heartbeat         interval after which an otherwise silent stream gets a heartbeat comment
+     * @param writeTimeout      how long a client may leave frames unread before it is disconnected
+     * @param bufferCapacity    frames buffered per stream before the client is considered too slow
+     * @param dispatcherThreads threads writing frames to clients
+     */
+    public UserEventHub(Function<String, UserProgressEvent> progress, ObjectMapper objectMapper, Duration timeout,
+                        Duration heartbeat, Duration writeTimeout, int bufferCapacity, int dispatcherThreads) {
+        this.progress = progress;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.heartbeatNanos = heartbeat.toNanos();
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        this.bufferCapacity = bufferCapacity;
+        this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads, daemonThreads("user-events-"));
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(daemonThreads("user-events-heartbeat-"));
+        long sweepNanos = Math.max(1, Math.min(heartbeatNanos, writeTimeoutNanos / 2));
+        heartbeats.scheduleWithFixedDelay(this::sweep, sweepNanos, sweepNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Opens a servlet stream for an existing user on the current request, which is put in async mode;
+     * its first event is the user's current progress.
+     */
+    public void subscribe(String userId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        AsyncContext async = request.startAsync(request, response);
+        async.setTimeout(timeout.toMillis());
+        ServletEventStream stream = new ServletEventStream(async, response.getOutputStream());
+        EventSubscriber subscriber = subscribe(userId, stream, stream::complete);
+        stream.start(subscriber, () -> resume(subscriber));
+    }
+
+    /**
+     * Opens a WebFlux stream for an existing user; its first event is the user's current progress.
+     * The stream's own backpressure buffer is bounded like the MVC one: overflowing it ends the stream.
+     */
+    public Flux<ServerSentEvent<String>> stream(String userId) {
+        return Flux.<ServerSentEvent<String>>create(sink -> {
+                    EventSubscriber subscriber = subscribe(userId, frame -> sink.next(toServerSentEvent(frame)), sink::complete);
+                    sink.onDispose(subscriber::close);
+                }, FluxSink.OverflowStrategy.IGNORE)
+                .onBackpressureBuffer(bufferCapacity, dropped -> slowDisconnects.increment(), BufferOverflowStrategy.ERROR)
+                .take(timeout)
+                .onErrorComplete(Exceptions::isOverflow);
+    }
+
+    /**
+     * Registers a stream on any transport and queues the user's current progress as its first frame.
+     *
+     * @param sink    writes frames to the client; called from the dispatcher, one frame at a time
+     * @param onClose called once when the stream is closed by the hub or the client
+     * @return the subscriber; close it when the client goes away
+     */
+    public EventSubscriber subscribe(String userId, EventSubscriber.Sink sink, Runnable onClose) {
+        Topic[] topic = new Topic[1];
+        EventSubscriber subscriber = new EventSubscriber(userId, sink, () -> {
+            unsubscribe(topic[0]);
+            onClose.run();
+        }, bufferCapacity);
+        topic[0] = topics.compute(userId, (id, existing) -> {
+            Topic t = existing != null ? existing : new Topic(id);
+            t.subscribers.add(subscriber);
+            return t;
+        });
+        subscribers.incrementAndGet();
+        refresh(topic[0]);
+        return subscriber;
+    }
+
+    /**
+     * Schedules a refresh of the user's streams; a no-op for users nobody is watching.
+     */
+    @EventListener
+    public void onProgressChanged(UserProgressChanged event) {
+        Topic topic = topics.get(event.userId());
+        if (topic != null) {
+            refresh(topic);
+        }
+    }
+
+    public int getSubscriberCount() { return subscribers.get(); }
+    public long getEventsSent() { return eventsSent.sum(); }
+    public long getHeartbeatsSent() { return heartbeatsSent.sum(); }
+    public long getSlowDisconnects() { return slowDisconnects.sum(); }
+
+    @Override
+    public void close() {
+        heartbeats.shutdownNow();
+        dispatcher.shutdownNow();
+        for (Topic topic : topics.values()) {
+            for (EventSubscriber subscriber : topic.subscribers) {
+                subscriber.close();
+            }
+        }
+    }
+
+    private void refresh(Topic topic) {
+        if (topic.dirty.compareAndSet(false, true)) {
+            execute(() -> publish(topic));
+        }
+    }
+
+    private void publish(Topic topic) {
+        topic.dirty.set(false); // later changes schedule another refresh
+        if (topic.subscribers.isEmpty()) {
+            return;
+        }
+        EventFrame frame;
+        try {
+            frame = new EventFrame("progress", objectMapper.writeValueAsString(progress.apply(topic.userId)));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to compute progress event: userId={}", topic.userId, e);
+            return;
+        }
+        for (EventSubscriber subscriber : topic.subscribers) {
+            enqueue(subscriber, frame);
+        }
+        eventsSent.increment();
+    }
+
+    void enqueue(EventSubscriber subscriber, EventFrame frame) {
+        if (!subscriber.offer(frame)) {
+            if (!subscriber.isClosed()) {
+                disconnectSlow(subscriber);
+            }
+            return;
+        }
+        resume(subscriber);
+    }
+
+    /**
+     * Schedules a drain unless one is running; also called by a transport that has become writable again.
+     */
+    void resume(EventSubscriber subscriber) {
+        if (subscriber.tryStartDrain()) {
+            execute(() -> drain(subscriber));
+        }
+    }
+
+    private void disconnectSlow(EventSubscriber subscriber) {
+        slowDisconnects.increment();
+        log.info("Closing slow event stream: userId={}", subscriber.getUserId());
+        subscriber.close();
+    }
+
+    private void drain(EventSubscriber subscriber) {
+        try {
+            if (subscriber.drain() && subscriber.tryStartDrain()) {
+                execute(() -> drain(subscriber));
+            }
+        } catch (IOException | IllegalStateException e) {
+            subscriber.close(); // client went away or the emitter already completed
+        }
+    }
+
+    /**
+     * Disconnects streams whose client has stopped reading and sends heartbeats to silent ones.
+     */
+    void sweep() {
+        long now = System.nanoTime();
+        for (Topic topic : topics.values()) {
+            for (EventSubscriber subscriber : topic.subscribers) {
+                if (subscriber.isStalled(now, writeTimeoutNanos)) {
+                    disconnectSlow(subscriber);
+                } else if (subscriber.isIdle() && now - subscriber.getLastSentNanos() >= heartbeatNanos) {
+                    enqueue(subscriber, EventFrame.HEARTBEAT);
+                    heartbeatsSent.increment();
+                }
+            }
+        }
+    }
+
+    private void unsubscribe(Topic topic) {
+        topics.computeIfPresent(topic.userId, (id, t) -> {
+            t.subscribers.removeIf(EventSubscriber::isClosed);
+            return t.subscribers.isEmpty() ? null : t;
+        });
+        subscribers.decrementAndGet();
+    }
+
+    private void execute(Runnable task) {
+        try {
+            dispatcher.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("Event dispatcher is shut down, dropping task");
+        }
+    }
+
+    private static ServerSentEvent<String> toServerSentEvent(EventFrame frame) {
+        return frame.isComment()
+                ? ServerSentEvent.<String>builder().comment(frame.data()).build()
+                : ServerSentEvent.builder(frame.data()).event(frame.name()).build();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * The streams of one user, plus a flag coalescing refreshes.
+     */
+    private static final class Topic {
+        final String userId;
+        final Set<EventSubscriber> subscribers = new CopyOnWriteArraySet<>();
+        final AtomicBoolean dirty = new AtomicBoolean();
+
+        Topic(String userId) {
+            this.userId = userId;
+        }
+    }
+}
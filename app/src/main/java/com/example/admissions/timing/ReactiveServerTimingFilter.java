@@ -0,0 +1,45 @@
+package com.example.admissions.timing;
+
+import com.example.admissions.engine.timing.PhaseTimer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link ServerTimingFilter}. The timer travels in the Reactor context (the reactive
+ * controllers bind it around their service calls) and the header is added just before the response commits.
+ */
+public class ReactiveServerTimingFilter implements WebFilter {
+    private final SlowRequestLog slowRequestLog;
+
+    public ReactiveServerTimingFilter(SlowRequestLog slowRequestLog) {
+        this.slowRequestLog = slowRequestLog;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String method = request.getMethod().name();
+        String path = request.getPath().pathWithinApplication().value();
+        if (!ServerTimingFilter.isTimed(method, path)) {
+            return chain.filter(exchange);
+        }
+        PhaseTimer timer = new PhaseTimer();
+        ServerHttpResponse response = exchange.getResponse();
+        response.beforeCommit(() -> {
+            response.getHeaders().set(ServerTimingAdvice.SERVER_TIMING, timer.serverTiming());
+            return Mono.empty();
+        });
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(PhaseTimer.class, timer))
+                .doFinally(signal -> {
+                    timer.stop();
+                    HttpStatusCode status = response.getStatusCode();
+                    slowRequestLog.record(method, path, status != null ? status.value() : 200, timer);
+                });
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.admissions.timing;
+
+import com.example.admissions.engine.timing.PhaseTimer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the {@code Server-Timing} header of the bound {@link PhaseTimer} to servlet responses; runs after the
+ * controller (and any exception handler) returned and before the body is serialized and the response committed.
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "admissions.timing.enabled", havingValue = "true")
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+    static final String SERVER_TIMING = "Server-Timing";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        PhaseTimer timer = PhaseTimer.current();
+        if (timer != null) {
+            response.getHeaders().set(SERVER_TIMING, timer.serverTiming());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.admissions.timing;
+
+import com.example.admissions.engine.timing.PhaseTimer;
+import com.example.admissions.overload.TrafficClass;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Servlet filter binding a {@link PhaseTimer} to each API request and offering the finished request to the
+ * {@link SlowRequestLog}. The header itself is added by {@link ServerTimingAdvice} just before the body is written.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+    private final SlowRequestLog slowRequestLog;
+
+    public ServerTimingFilter(SlowRequestLog slowRequestLog) {
+        this.slowRequestLog = slowRequestLog;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!isTimed(request.getMethod(), path)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        PhaseTimer timer = new PhaseTimer();
+        try (PhaseTimer.Scope ignored = timer.bind()) {
+            chain.doFilter(request, response);
+        } finally {
+            timer.stop();
+            slowRequestLog.record(request.getMethod(), path, response.getStatus(), timer);
+        }
+    }
+
+    /**
+     * Times applicant-facing API calls; event streams, the flow definition and admin traffic are left out.
+     */
+    static boolean isTimed(String method, String path) {
+        TrafficClass trafficClass = TrafficClass.classify(method, path);
+        return trafficClass != null && trafficClass != TrafficClass.ADMIN;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.admissions.timing;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * One of the slowest recent requests, as listed by the {@code slowrequests} actuator endpoint.
+ *
+ * @param at           when the request finished
+ * @param method       HTTP method
+ * @param path         request path
+ * @param status       response status code
+ * @param totalMillis  time from the start of the request to its completion
+ * @param phasesMillis service phases in the order they ended, in milliseconds
+ */
+public record SlowRequest(
+        Instant at,
+        String method,
+        String path,
+        int status,
+        double totalMillis,
+        Map<String, Double> phasesMillis
+) {
+}
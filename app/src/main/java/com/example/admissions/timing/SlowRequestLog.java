@@ -0,0 +1,84 @@
+package com.example.admissions.timing;
+
+import com.example.admissions.engine.timing.PhaseTimer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The {@code capacity} slowest requests that finished within the last {@code window}.
+ * <p>
+ * Kept as a min-heap on total time, so a new request only has to beat the fastest retained one. That
+ * threshold is published in a volatile field and checked before taking the lock, so once the log is full
+ * ordinary requests are turned away without contention. Entries older than the window are dropped.
+ */
+public class SlowRequestLog {
+    private final int capacity;
+    private final long windowNanos;
+
+    private final PriorityQueue<Entry> slowest = new PriorityQueue<>(Comparator.comparingLong(Entry::totalNanos)); // guarded by this
+    private volatile long thresholdNanos;       // fastest retained total once full, else 0
+    private volatile long thresholdValidUntil;  // nanoTime at which the oldest retained entry expires
+
+    public SlowRequestLog(int capacity, Duration window) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Slow request log capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.windowNanos = window.toNanos();
+    }
+
+    public void record(String method, String path, int status, PhaseTimer timer) {
+        long total = timer.totalNanos();
+        long now = System.nanoTime();
+        if (total <= thresholdNanos && now - thresholdValidUntil < 0) {
+            return;
+        }
+        synchronized (this) {
+            expire(now);
+            if (slowest.size() >= capacity) {
+                if (total <= slowest.peek().totalNanos()) {
+                    return;
+                }
+                slowest.poll();
+            }
+            slowest.add(new Entry(now, total, new SlowRequest(
+                    Instant.now(), method, path, status, total / 1e6, timer.phasesMillis())));
+            updateThreshold();
+        }
+    }
+
+    /**
+     * @return the retained requests, slowest first
+     */
+    public synchronized List<SlowRequest> slowest() {
+        expire(System.nanoTime());
+        updateThreshold();
+        List<Entry> entries = new ArrayList<>(slowest);
+        entries.sort(Comparator.comparingLong(Entry::totalNanos).reversed());
+        return entries.stream().map(Entry::request).toList();
+    }
+
+    private void expire(long now) {
+        slowest.removeIf(entry -> now - entry.finishedNanos() >= windowNanos);
+    }
+
+    private void updateThreshold() {
+        if (slowest.size() < capacity) {
+            thresholdNanos = 0;
+            return;
+        }
+        long oldest = Long.MAX_VALUE;
+        for (Entry entry : slowest) {
+            oldest = Math.min(oldest, entry.finishedNanos());
+        }
+        thresholdValidUntil = oldest + windowNanos;
+        thresholdNanos = slowest.peek().totalNanos();
+    }
+
+    private record Entry(long finishedNanos, long totalNanos, SlowRequest request) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.admissions.timing;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint ({@code /actuator/slowrequests}) listing the slowest recent requests with their phase breakdown.
+ */
+@Endpoint(id = "slowrequests")
+public class SlowRequestsEndpoint {
+    private final SlowRequestLog slowRequestLog;
+
+    public SlowRequestsEndpoint(SlowRequestLog slowRequestLog) {
+        this.slowRequestLog = slowRequestLog;
+    }
+
+    @ReadOperation
+    public List<SlowRequest> slowRequests() {
+        return slowRequestLog.slowest();
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.admissions.warmup;
+
+import com.example.admissions.engine.dto.CompleteStepResponse;
+import com.example.admissions.engine.logging.EngineEventLog;
+import com.example.admissions.engine.model.CompiledFlow;
+import com.example.admissions.engine.model.Flow;
+import com.example.admissions.engine.model.Task;
+import com.example.admissions.engine.model.TaskAttemptHistory;
+import com.example.admissions.engine.service.FlowService;
+import com.example.admissions.engine.service.FlowService.CurrentPosition;
+import com.example.admissions.engine.service.UserService;
+import com.example.admissions.engine.storage.InMemoryUserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * Drives synthetic applicants through the loaded {@link Flow}, running on the configured {@link CompiledFlow}, so
+ * the JIT compiles the engine and the Jackson serializers before real traffic arrives.
+ * <p>
+ * Each iteration creates a user, then repeatedly reads the current position and status and completes the
+ * current task with a generated payload (every required field filled in; {@code score}-like fields get a random
+ * number, so both passing and failing branches are taken) until the user is accepted, rejected or out of
+ * attempts. Responses are serialized with the application's {@link ObjectMapper}.
+ * <p>
+ * Everything runs against a scratch {@link UserService} on its own {@link InMemoryUserRepository}, with events
+ * (user creations included) discarded and no progress notifications, so warmup users never reach the real store,
+ * log or event streams.
+ * <p>
+ * The run stops after {@code maxIterations}, after {@code maxDuration}, or once at least {@code minIterations}
+ * have run and the JIT compile queue has drained to {@code compileQueueThreshold} entries.
+ */
+@Slf4j
+public class FlowWarmup {
+    private static final int QUEUE_CHECK_INTERVAL = 50;
+
+    private final CompiledFlow flow;
+    private final ObjectMapper objectMapper;
+    private final int minIterations;
+    private final int maxIterations;
+    private final int compileQueueThreshold;
+    private final Duration maxDuration;
+
+    public FlowWarmup(CompiledFlow flow, ObjectMapper objectMapper, int minIterations, int maxIterations,
+                      int compileQueueThreshold, Duration maxDuration) {
+        if (minIterations < 0 || maxIterations < minIterations) {
+            throw new IllegalArgumentException("Warmup iterations must satisfy 0 <= min <= max");
+        }
+        this.flow = flow;
+        this.objectMapper = objectMapper;
+        this.minIterations = minIterations;
+        this.maxIterations = maxIterations;
+        this.compileQueueThreshold = compileQueueThreshold;
+        this.maxDuration = maxDuration;
+    }
+
+    public WarmupReport run() {
+        EngineEventLog discarded = EngineEventLog.discarding();
+        UserService scratchUsers = new UserService(
+                new InMemoryUserRepository(), TaskAttemptHistory.DEFAULT_LIMIT, flow.taskCount(), discarded);
+        FlowService scratchFlow = new FlowService(flow, scratchUsers, event -> { }, discarded);
+        int maxCompletionsPerUser = 2 * flow.taskCount();
+        SplittableRandom random = new SplittableRandom(42);
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+        long completions = 0;
+        int iteration = 0;
+        int queue = -1;
+        String stopReason = "max-iterations";
+        while (iteration < maxIterations) {
+            completions += driveUser(scratchFlow, scratchUsers, iteration, maxCompletionsPerUser, random);
+            iteration++;
+            if (System.nanoTime() - deadline >= 0) {
+                stopReason = "max-duration";
+                break;
+            }
+            if (iteration >= minIterations && iteration % QUEUE_CHECK_INTERVAL == 0) {
+                queue = compileQueueLength();
+                if (queue >= 0 && queue <= compileQueueThreshold) {
+                    stopReason = "compile-queue";
+                    break;
+                }
+            }
+        }
+        if (queue < 0 || !"compile-queue".equals(stopReason)) {
+            queue = compileQueueLength();
+        }
+        return new WarmupReport(iteration, completions, Duration.ofNanos(System.nanoTime() - start), queue, stopReason);
+    }
+
+    private long driveUser(FlowService flowService, UserService userService, int iteration, int maxCompletions,
+                           SplittableRandom random) {
+        String userId = userService.createUser("warmup-" + iteration + "@warmup.invalid").getId();
+        long completions = 0;
+        try {
+            while (completions < maxCompletions) {
+                serialize(flowService.getCurrentPositionResponse(userId));
+                String status = flowService.getUserStatusResponse(userId).status();
+                Optional<CurrentPosition> position = flowService.computeCurrentPosition(userId);
+                if (!"in_progress".equals(status) || position.isEmpty()) {
+                    break;
+                }
+                Task task = position.get().task();
+                CompleteStepResponse response = flowService.completeStep(userId, task.getId(), payload(userId, task, random));
+                serialize(response);
+                completions++;
+            }
+        } catch (RuntimeException e) {
+            // A generated payload the flow rejects is still useful warmup; move on to the next user
+            log.debug("Warmup user {} stopped: {}", userId, e.toString());
+        }
+        return completions;
+    }
+
+    private void serialize(Object response) {
+        try {
+            objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static Map<String, Object> payload(String userId, Task task, SplittableRandom random) {
+        Map<String, Object> payload = new HashMap<>();
+        if (task.getRequiredFields() != null) {
+            for (String field : task.getRequiredFields()) {
+                payload.put(field, value(field, userId, random));
+            }
+        }
+        return payload;
+    }
+
+    private static Object value(String field, String userId, SplittableRandom random) {
+        if (field.equals("user_id")) {
+            return userId;
+        }
+        if (field.contains("score")) {
+            return random.nextInt(101);
+        }
+        if (field.contains("timestamp") || field.contains("date")) {
+            return Instant.ofEpochSecond(1_700_000_000L + random.nextInt(10_000_000)).toString();
+        }
+        return "warmup-" + random.nextInt(1000);
+    }
+
+    /**
+     * @return methods waiting in the JIT compile queues, or -1 if the VM does not report them
+     */
+    static int compileQueueLength() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            String queues = (String) server.invoke(new ObjectName("com.sun.management:type=DiagnosticCommand"),
+                    "compilerQueue", new Object[]{null}, new String[]{String[].class.getName()});
+            return countQueued(queues);
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Counts entries in the output of {@code jcmd Compiler.queue}: the lines of each "... compile queue:"
+     * section other than "Empty", up to the blank line that ends it.
+     */
+    static int countQueued(String queues) {
+        int queued = 0;
+        boolean inQueue = false;
+        for (String line : queues.split("\\R")) {
+            if (line.endsWith("compile queue:")) {
+                inQueue = true;
+            } else if (line.isBlank()) {
+                inQueue = false;
+            } else if (inQueue && !line.trim().equals("Empty")) {
+                queued++;
+            }
+        }
+        return queued;
+    }
+}
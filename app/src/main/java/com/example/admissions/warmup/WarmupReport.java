@@ -0,0 +1,21 @@
+package com.example.admissions.warmup;
+
+import java.time.Duration;
+
+/**
+ * Outcome of a startup warmup run.
+ *
+ * @param iterations   synthetic users driven through the flow
+ * @param completions  task completions made
+ * @param elapsed      how long the warmup took
+ * @param compileQueue JIT compile queue length when it stopped, or -1 if it could not be read
+ * @param stopReason   why it stopped: {@code compile-queue}, {@code max-iterations} or {@code max-duration}
+ */
+public record WarmupReport(
+        int iterations,
+        long completions,
+        Duration elapsed,
+        int compileQueue,
+        String stopReason
+) {
+}
@@ -0,0 +1,101 @@
+package com.example.admissions.benchmark;
+
+import com.example.admissions.engine.model.TaskResult;
+import com.example.admissions.engine.model.User;
+import com.example.admissions.engine.storage.AppendOnlyFileUserRepository;
+import com.example.admissions.engine.storage.ColdUserTier;
+import com.example.admissions.engine.storage.JdbcUserRepository;
+import com.example.admissions.engine.storage.UserRepository;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop benchmark of durable task completions against the file and JDBC backends.
+ * <p>
+ * Completions are scheduled at a fixed rate and latency is measured from the scheduled start,
+ * so a backend that falls behind shows it in the percentiles instead of silently lowering the rate.
+ * Not part of the test suite; run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.admissions.benchmark.DurableWriteBenchmark -Dexec.args="10"
+ * </pre>
+ * The optional argument is the run length in seconds per backend and rate (default 10).
+ */
+public class DurableWriteBenchmark {
+    private static final int[] RATES = {1_000, 10_000};
+    private static final int USERS = 10_000;
+    private static final int CLIENT_THREADS = 256;
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        for (String backend : new String[]{"file", "jdbc"}) {
+            for (int rate : RATES) {
+                Path dir = Files.createTempDirectory("admissions-bench");
+                UserRepository repository = open(backend, dir);
+                try {
+                    run(backend, repository, rate, seconds);
+                } finally {
+                    ((AutoCloseable) repository).close();
+                }
+            }
+        }
+    }
+
+    private static UserRepository open(String backend, Path dir) {
+        if ("file".equals(backend)) {
+            return new AppendOnlyFileUserRepository(
+                    dir.resolve("users.log"), ColdUserTier.disabled(), true, 16, 512, Duration.ofMillis(2), 10_000);
+        }
+        return new JdbcUserRepository(
+                "jdbc:h2:file:" + dir.resolve("admissions"), "sa", "", 8, "CHECKPOINT SYNC", Duration.ZERO,
+                16, 512, Duration.ofMillis(2), 10_000);
+    }
+
+    private static void run(String backend, UserRepository repository, int rate, int seconds) throws InterruptedException {
+        for (int i = 1; i <= USERS; i++) {
+            repository.insert(new User(String.valueOf(i), i + "@bench.example.com"), i + "@bench.example.com");
+        }
+
+        int total = rate * seconds;
+        long[] latencies = new long[total];
+        AtomicInteger next = new AtomicInteger();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        Map<String, Object> payload = Map.of("user_id", "bench", "timestamp", "now");
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENT_THREADS);
+        for (int t = 0; t < CLIENT_THREADS; t++) {
+            clients.execute(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < total) {
+                    long scheduled = start + i * intervalNanos;
+                    long wait = scheduled - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    String userId = String.valueOf(i % USERS + 1);
+                    repository.appendTaskResult(userId, new TaskResult("task_" + (i % 8), true, Instant.now(), payload));
+                    latencies[i] = System.nanoTime() - scheduled;
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(seconds * 10L, TimeUnit.SECONDS);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        System.out.printf("%-5s target=%6d/s achieved=%8.0f/s p50=%6.2fms p99=%7.2fms max=%7.2fms%n",
+                backend, rate, total / elapsed,
+                latencies[total / 2] / 1e6, latencies[(int) (total * 0.99)] / 1e6, latencies[total - 1] / 1e6);
+    }
+}
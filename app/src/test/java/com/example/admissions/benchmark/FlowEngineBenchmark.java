@@ -0,0 +1,108 @@
+package com.example.admissions.benchmark;
+
+import com.example.admissions.engine.config.FlowConfigLoader;
+import com.example.admissions.engine.logging.EngineEventLog;
+import com.example.admissions.engine.model.CompiledFlow;
+import com.example.admissions.engine.model.InterpretedFlow;
+import com.example.admissions.engine.model.TaskResult;
+import com.example.admissions.engine.model.UserStateSnapshot;
+import com.example.admissions.engine.service.FlowService;
+import com.example.admissions.engine.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the interpreted flow with the class generated from flow.json
+ * ({@code admissions.flow.engine}): task lookup by name, pass-condition evaluation and the current-position
+ * scan on their own, and the current position through {@link FlowService} for a user halfway through the flow.
+ * Runs forked JVMs, so launch it with the test classpath on the command line:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath com.example.admissions.benchmark.FlowEngineBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlowEngineBenchmark {
+    private static final Instant WHEN = Instant.parse("2025-12-10T12:00:00Z");
+
+    @Param({"interpreted", "generated"})
+    public String engine;
+
+    private CompiledFlow flow;
+    private FlowService flowService;
+    private String userId;
+    private UserStateSnapshot midway;
+    private UserStateSnapshot retrying;
+    private Map<String, Object> iqPayload;
+    private int iqTest;
+
+    @Setup
+    public void setUp() {
+        FlowConfigLoader loader = new FlowConfigLoader();
+        flow = "generated".equals(engine) ? loader.loadGeneratedFlow() : new InterpretedFlow(loader.loadFlow());
+        UserService userService = new UserService();
+        flowService = new FlowService(flow, userService, event -> { }, EngineEventLog.discarding());
+        userId = userService.createUser("benchmark@example.com").getId();
+        userService.addTaskResult(userId, "personal_details", true, Map.of());
+        userService.addTaskResult(userId, "iq_test", true, Map.of("score", 90));
+        userService.addTaskResult(userId, "schedule_interview", true, Map.of());
+        midway = userService.snapshot(userId);
+        retrying = new UserStateSnapshot("retrying", Map.of(
+                "personal_details", new TaskResult("personal_details", true, WHEN, Map.of()),
+                "iq_test", new TaskResult("iq_test", true, WHEN, Map.of()),
+                "sign_contract", new TaskResult("sign_contract", false, WHEN, Map.of())));
+        iqTest = flow.findTask("iq_test", midway);
+        iqPayload = Map.of("score", "82.5", "test_id", "t1");
+    }
+
+    @Benchmark
+    public int findTaskByName() {
+        return flow.findTask("Perform Interview", midway);
+    }
+
+    @Benchmark
+    public boolean passedScoreCondition() {
+        return flow.passed(iqTest, iqPayload);
+    }
+
+    @Benchmark
+    public int currentTaskMidway() {
+        return flow.currentTask(midway);
+    }
+
+    @Benchmark
+    public int currentTaskRetrying() {
+        return flow.currentTask(retrying);
+    }
+
+    @Benchmark
+    public Optional<FlowService.CurrentPosition> serviceCurrentPosition() {
+        return flowService.computeCurrentPosition(userId);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FlowEngineBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.admissions.benchmark;
+
+import com.example.admissions.AdmissionsApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Open-loop overload test of the adaptive concurrency limiter.
+ * <p>
+ * The application runs on the durable file backend with a small Tomcat pool and is offered a fixed
+ * request rate (one completion of the redoable {@code personal_details} task for every four status
+ * polls), first with {@code admissions.limiter.enabled=false}, then with the limiter on. Latency is measured
+ * from each request's scheduled start, so queueing in Tomcat shows up in the percentiles. Choose a rate
+ * above what the machine sustains to see shedding; run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.admissions.benchmark.OverloadBenchmark -Dexec.args="10 4000"
+ * </pre>
+ * The optional arguments are the run length in seconds (default 10) and the offered requests/second (default 4000).
+ */
+public class OverloadBenchmark {
+    private static final int USERS = 1_000;
+    private static final int CLIENT_THREADS = 512;
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int rate = args.length > 1 ? Integer.parseInt(args[1]) : 4000;
+        for (boolean limiterEnabled : new boolean[]{false, true}) {
+            Path dir = Files.createTempDirectory("admissions-overload");
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(AdmissionsApplication.class)
+                    .run("--server.port=0",
+                            "--server.tomcat.threads.max=32",
+                            "--logging.level.com.example.admissions=WARN",
+                            "--admissions.storage.backend=file",
+                            "--admissions.storage.file.path=" + dir.resolve("users.log"),
+                            "--admissions.limiter.enabled=" + limiterEnabled);
+            ExecutorService clientExecutor = Executors.newFixedThreadPool(CLIENT_THREADS);
+            try {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                HttpClient client = HttpClient.newBuilder().executor(clientExecutor).connectTimeout(Duration.ofSeconds(5)).build();
+                run(client, port, createUsers(client, port), rate, seconds, limiterEnabled ? "limiter" : "no-limit");
+            } finally {
+                clientExecutor.shutdown();
+                context.close();
+            }
+        }
+    }
+
+    private static List<String> createUsers(HttpClient client, int port) throws Exception {
+        List<String> ids = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"overload" + i + "@example.com\"}"))
+                    .build();
+            Matcher matcher = ID.matcher(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+            if (!matcher.find()) {
+                throw new IllegalStateException("Unexpected create response");
+            }
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+
+    private static void run(HttpClient client, int port, List<String> userIds, int rate, int seconds, String label)
+            throws InterruptedException {
+        int total = rate * seconds;
+        long[] latencies = new long[total];
+        int[] statuses = new int[total];
+        AtomicInteger next = new AtomicInteger();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENT_THREADS);
+        for (int t = 0; t < CLIENT_THREADS; t++) {
+            clients.execute(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < total) {
+                    long scheduled = start + i * intervalNanos;
+                    long wait = scheduled - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    String userId = userIds.get(i % userIds.size());
+                    try {
+                        statuses[i] = client.send(request(port, userId, isCompletion(i)), HttpResponse.BodyHandlers.discarding())
+                                .statusCode();
+                    } catch (Exception e) {
+                        statuses[i] = -1;
+                    }
+                    latencies[i] = System.nanoTime() - scheduled;
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(seconds * 20L, TimeUnit.SECONDS);
+
+        report(label, "complete", latencies, statuses, true);
+        report(label, "poll", latencies, statuses, false);
+    }
+
+    private static boolean isCompletion(int i) {
+        return i % 5 == 0;
+    }
+
+    private static HttpRequest request(int port, String userId, boolean completion) {
+        if (completion) {
+            String body = "{\"user_id\":\"" + userId + "\",\"task_id\":\"personal_details\",\"task_payload\":{"
+                    + "\"user_id\":\"" + userId + "\",\"first_name\":\"Over\",\"last_name\":\"Load\","
+                    + "\"email\":\"overload@example.com\",\"timestamp\":\"2025-12-10T12:00:00Z\"}}";
+            return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/steps/complete"))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/" + userId + "/status")).build();
+    }
+
+    private static void report(String label, String kind, long[] latencies, int[] statuses, boolean completions) {
+        long[] ok = new long[latencies.length];
+        int count = 0;
+        int shed = 0;
+        int failed = 0;
+        for (int i = 0; i < latencies.length; i++) {
+            if (isCompletion(i) != completions) {
+                continue;
+            }
+            if (statuses[i] == 200) {
+                ok[count++] = latencies[i];
+            } else if (statuses[i] == 429) {
+                shed++;
+            } else {
+                failed++;
+            }
+        }
+        Arrays.sort(ok, 0, count);
+        System.out.printf("%-8s %-8s ok=%7d shed=%6d failed=%5d p50=%7.2fms p99=%8.2fms%n",
+                label, kind, count, shed, failed,
+                count == 0 ? 0 : ok[count / 2] / 1e6, count == 0 ? 0 : ok[(int) (count * 0.99)] / 1e6);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.admissions.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from process start to the first successful {@code POST /users}, for each startup mode that has been built.
+ * <p>
+ * Build the artifacts first: {@code mvn -Pcds package -DskipTests} produces the thin jar, the AOT-processed
+ * context and the CDS archive; {@code mvn -Pnative native:compile} (GraalVM) produces {@code target/admissions}.
+ * Modes whose artifacts are missing are skipped. Then run:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.admissions.benchmark.StartupBenchmark -Dexec.args="5"
+ * </pre>
+ * The optional argument is the number of starts per mode (default 5); min, median and max are reported.
+ * All JVM modes run the same thin jar, so they differ only in AOT and the class data archive.
+ */
+public class StartupBenchmark {
+    private static final Path TARGET = Path.of("target");
+    private static final String JAR = "admissions-0.0.1-SNAPSHOT.jar";
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private record Mode(String name, List<String> command, Path requires) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<Mode> modes = List.of(
+                new Mode("jvm", List.of(java, "-jar", JAR), TARGET.resolve("lib")),
+                new Mode("aot", List.of(java, "-Dspring.aot.enabled=true", "-jar", JAR), TARGET.resolve("lib")),
+                new Mode("aot+cds", List.of(java, "-XX:SharedArchiveFile=admissions.jsa", "-Xlog:cds=off",
+                        "-Dspring.aot.enabled=true", "-jar", JAR), TARGET.resolve("admissions.jsa")),
+                new Mode("native", List.of("./admissions"), TARGET.resolve("admissions")));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        for (Mode mode : modes) {
+            if (!Files.exists(mode.requires())) {
+                System.out.printf("%-8s skipped, %s not built%n", mode.name(), mode.requires());
+                continue;
+            }
+            long[] millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                millis[i] = timeToFirstRequest(client, mode);
+            }
+            Arrays.sort(millis);
+            System.out.printf("%-8s min=%6dms median=%6dms max=%6dms%n", mode.name(), millis[0], millis[runs / 2], millis[runs - 1]);
+        }
+    }
+
+    private static long timeToFirstRequest(HttpClient client, Mode mode) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(mode.command());
+        command.add("--server.port=" + port);
+        command.add("--logging.file.name=");
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"startup@example.com\"}"))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(TARGET.toFile())
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.name() + " exited with " + process.exitValue());
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException(mode.name() + " did not answer within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            process.waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.admissions.benchmark;
+
+import com.example.admissions.AdmissionsApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the servlet (MVC on Tomcat) and reactive (WebFlux on Netty) stacks in one JVM.
+ * <p>
+ * For each stack the application is started on a random port, then:
+ * <ul>
+ *     <li>a closed loop of concurrent clients polls {@code GET /users/{id}/current} and reports requests/second;</li>
+ *     <li>a batch of idle Server-Sent Events connections is opened on {@code GET /users/{id}/events} and the
+ *     retained heap after a full GC is divided by the number of connections.</li>
+ * </ul>
+ * Client and server share the heap, so the per-connection figure includes the client socket (a few hundred
+ * bytes, the same for both stacks). Not part of the test suite; run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.admissions.benchmark.WebStackBenchmark -Dexec.args="10 2000"
+ * </pre>
+ * The optional arguments are the throughput run length in seconds (default 10) and the number of
+ * open event streams (default 2000).
+ */
+public class WebStackBenchmark {
+    private static final int CLIENT_THREADS = 64;
+    private static final int USERS = 1_000;
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        for (String stack : new String[]{"servlet", "reactive"}) {
+            ConfigurableApplicationContext context = start(stack);
+            ExecutorService clientExecutor = Executors.newFixedThreadPool(CLIENT_THREADS);
+            try {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                HttpClient client = HttpClient.newBuilder().executor(clientExecutor).build();
+                List<String> userIds = createUsers(client, port);
+                double throughput = throughput(client, port, userIds, seconds);
+                long bytesPerConnection = heapPerConnection(port, userIds, connections);
+                System.out.printf("%-8s current=%9.0f req/s  sse=%6d bytes/connection (%d open)%n",
+                        stack, throughput, bytesPerConnection, connections);
+            } finally {
+                clientExecutor.shutdown();
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String stack) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(AdmissionsApplication.class);
+        if ("reactive".equals(stack)) {
+            builder.profiles("reactive");
+        }
+        return builder.run("--server.port=0", "--logging.level.com.example.admissions=WARN");
+    }
+
+    private static List<String> createUsers(HttpClient client, int port) throws Exception {
+        List<String> ids = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"bench" + i + "@example.com\"}"))
+                    .build();
+            Matcher matcher = ID.matcher(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+            if (!matcher.find()) {
+                throw new IllegalStateException("Unexpected create response");
+            }
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+
+    private static double throughput(HttpClient client, int port, List<String> userIds, int seconds) throws InterruptedException {
+        LongAdder completed = new LongAdder();
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENT_THREADS);
+        for (int t = 0; t < CLIENT_THREADS; t++) {
+            int offset = t;
+            clients.execute(() -> {
+                int i = offset;
+                long now;
+                while ((now = System.nanoTime()) < end) {
+                    String userId = userIds.get(i++ % userIds.size());
+                    HttpRequest request = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + "/users/" + userId + "/current")).build();
+                    try {
+                        client.send(request, HttpResponse.BodyHandlers.discarding());
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    if (now >= warmupEnd) {
+                        completed.increment();
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        return completed.sum() / (double) seconds;
+    }
+
+    /**
+     * Opens raw sockets so the client side of each idle stream costs the same on both stacks.
+     */
+    private static long heapPerConnection(int port, List<String> userIds, int connections) throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long before = retainedHeap(memory);
+        List<Socket> sockets = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; i++) {
+                Socket socket = new Socket("localhost", port);
+                OutputStream out = socket.getOutputStream();
+                out.write(("GET /users/" + userIds.get(i % userIds.size()) + "/events HTTP/1.1\r\n"
+                        + "Host: localhost\r\nAccept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+                awaitHeaders(socket.getInputStream());
+                sockets.add(socket);
+            }
+            return (retainedHeap(memory) - before) / connections;
+        } finally {
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+        }
+    }
+
+    private static void awaitHeaders(InputStream in) throws Exception {
+        int matched = 0;
+        byte[] terminator = {'\r', '\n', '\r', '\n'};
+        while (matched < terminator.length) {
+            int b = in.read();
+            if (b < 0) {
+                throw new IllegalStateException("Event stream closed before headers");
+            }
+            matched = b == terminator[matched] ? matched + 1 : (b == '\r' ? 1 : 0);
+        }
+    }
+
+    private static long retainedHeap(MemoryMXBean memory) throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.admissions.capture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrafficLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void reader_writtenRequests_readBackInOrder() throws IOException {
+        Path file = dir.resolve("nested/capture.admcap");
+        CapturedRequest create = new CapturedRequest(0, 1_500_000, "POST", "/users", null,
+                bytes("{\"email\":\"a@example.com\"}"), false, 201, bytes("{\"id\":\"1\"}"), false);
+        CapturedRequest complete = new CapturedRequest(3_000_000_000L, 250_000, "PUT", "/steps/complete", "key-1",
+                new byte[200_000], true, 200, new byte[0], false);
+        try (TrafficLog.Writer writer = new TrafficLog.Writer(file, 1_700_000_000_000L)) {
+            writer.append(create);
+            writer.append(complete);
+            writer.flush();
+            assertEquals(Files.size(file), writer.size());
+        }
+
+        try (TrafficLog.Reader reader = new TrafficLog.Reader(file)) {
+            assertEquals(1_700_000_000_000L, reader.startedAtEpochMillis());
+            assertRequest(create, reader.next());
+            assertRequest(complete, reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void reader_frameCutShort_endsBeforeIt() throws IOException {
+        Path file = dir.resolve("capture.admcap");
+        CapturedRequest status = new CapturedRequest(1_000, 2_000, "GET", "/users/1/status", null,
+                new byte[0], false, 200, bytes("{\"status\":\"in_progress\"}"), false);
+        try (TrafficLog.Writer writer = new TrafficLog.Writer(file, 0)) {
+            writer.append(status);
+            writer.append(status);
+        }
+        byte[] written = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(written, written.length - 5));
+
+        try (TrafficLog.Reader reader = new TrafficLog.Reader(file)) {
+            assertRequest(status, reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void reader_otherFile_rejected() throws IOException {
+        Path file = Files.writeString(dir.resolve("users.ndjson"), "{\"id\":\"1\"}\n");
+
+        assertThrows(IOException.class, () -> new TrafficLog.Reader(file));
+    }
+
+    private static void assertRequest(CapturedRequest expected, CapturedRequest actual) {
+        assertNotNull(actual);
+        assertEquals(expected.offsetNanos(), actual.offsetNanos());
+        assertEquals(expected.durationNanos(), actual.durationNanos());
+        assertEquals(expected.method(), actual.method());
+        assertEquals(expected.path(), actual.path());
+        assertEquals(expected.idempotencyKey(), actual.idempotencyKey());
+        assertArrayEquals(expected.body(), actual.body());
+        assertEquals(expected.bodyTruncated(), actual.bodyTruncated());
+        assertEquals(expected.status(), actual.status());
+        assertArrayEquals(expected.responseBody(), actual.responseBody());
+        assertEquals(expected.responseTruncated(), actual.responseTruncated());
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.admissions.config;
+
+import com.example.admissions.engine.config.FlowJsonDto;
+import com.example.admissions.engine.dto.TaskResultDto;
+import com.example.admissions.engine.model.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the native-image hints.
+ */
+class AdmissionsRuntimeHintsTest {
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void registerHints_coversFlowJsonResourceAndNestedDtos() {
+        new AdmissionsRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.resource().forResource("flow.json").test(hints));
+        // The nested flow.json DTOs are package-private to the engine, so they are named rather than referenced
+        String flowDtos = FlowJsonDto.class.getPackageName();
+        for (String type : List.of(FlowJsonDto.class.getName(), flowDtos + ".TaskJsonDto", flowDtos + ".ConditionJsonDto",
+                Task.class.getName(), TaskResultDto.class.getName())) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(type))
+                    .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints), type);
+        }
+    }
+}
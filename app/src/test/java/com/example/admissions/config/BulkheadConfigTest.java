@@ -0,0 +1,63 @@
+package com.example.admissions.config;
+
+import com.example.admissions.overload.Bulkhead;
+import com.example.admissions.overload.Bulkheads;
+import com.example.admissions.overload.TrafficClass;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the bulkhead sizes follow the Tomcat thread pool and never add up to all of it.
+ */
+class BulkheadConfigTest {
+    private final WebApplicationContextRunner runner = new WebApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withUserConfiguration(BulkheadConfig.class);
+
+    @Test
+    void defaults_derivedFromTomcatThreads() {
+        runner.withPropertyValues("server.tomcat.threads.max=100").run(context -> {
+            Bulkheads bulkheads = context.getBean(Bulkheads.class);
+            Bulkhead read = bulkheads.forClass(TrafficClass.READ);
+            Bulkhead write = bulkheads.forClass(TrafficClass.WRITE);
+            Bulkhead batch = bulkheads.forClass(TrafficClass.BATCH);
+            assertEquals(25, read.getMaxConcurrent());
+            assertEquals(12, read.getMaxQueued());
+            assertEquals(25, write.getMaxConcurrent());
+            assertEquals(12, write.getMaxQueued());
+            assertEquals(4, batch.getMaxConcurrent());
+            assertEquals(2, batch.getMaxQueued());
+        });
+    }
+
+    @Test
+    void defaults_leaveTomcatThreadsForUnclassifiedRequests() {
+        runner.run(context -> {
+            int held = 0;
+            for (Bulkhead bulkhead : context.getBean(Bulkheads.class).all()) {
+                held += bulkhead.getMaxConcurrent() + bulkhead.getMaxQueued();
+            }
+            assertTrue(held < 200, "bulkheads hold " + held);
+        });
+    }
+
+    @Test
+    void servletStack_bulkheadsLargerThanThreadPool_failsStartup() {
+        runner.withPropertyValues(
+                        "server.tomcat.threads.max=100",
+                        "admissions.bulkhead.write.max-concurrent=64",
+                        "admissions.bulkhead.write.max-queued=64")
+                .run(context -> {
+                    Throwable failure = context.getStartupFailure();
+                    while (failure.getCause() != null) {
+                        failure = failure.getCause();
+                    }
+                    assertInstanceOf(IllegalArgumentException.class, failure);
+                    assertTrue(failure.getMessage().contains("100 threads"));
+                });
+    }
+}
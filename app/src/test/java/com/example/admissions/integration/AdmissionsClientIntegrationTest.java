@@ -0,0 +1,155 @@
+package com.example.admissions.integration;
+
+import com.example.admissions.client.AdmissionsApiException;
+import com.example.admissions.client.AdmissionsClient;
+import com.example.admissions.client.CompleteStepRequest;
+import com.example.admissions.client.CompleteStepResponse;
+import com.example.admissions.client.UserStatusResponse;
+import com.example.admissions.engine.service.FlowService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test of the Java client against the application started on a local port: batched completions and
+ * status reads, per-call errors inside a batch, and idempotent retries.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class AdmissionsClientIntegrationTest {
+
+    @Autowired
+    private FlowService flowService;
+
+    @LocalServerPort
+    private int port;
+
+    private AdmissionsClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = AdmissionsClient.builder(URI.create("http://localhost:" + port))
+                .batchWindow(Duration.ofMillis(100))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+    }
+
+    @Test
+    void completeStep_concurrentCalls_coalescedIntoBatches() {
+        List<String> userIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            userIds.add(client.createUser("batch" + i + "-" + port + "@example.com"));
+        }
+        long before = client.getRequests();
+
+        List<CompletableFuture<CompleteStepResponse>> responses = new ArrayList<>();
+        for (String userId : userIds) {
+            responses.add(client.completeStepAsync(personalDetails(userId)));
+        }
+
+        for (int i = 0; i < userIds.size(); i++) {
+            CompleteStepResponse response = responses.get(i).join();
+            assertEquals(userIds.get(i), response.userId());
+            assertEquals("Personal Details Form", response.taskName());
+            assertTrue(response.results().get(0).passed());
+            assertEquals("in_progress", response.userStatus());
+        }
+        assertTrue(client.getBatches() >= 1);
+        assertTrue(client.getRequests() - before < userIds.size());
+    }
+
+    @Test
+    void getUserStatus_sameUserConcurrently_oneRequest() {
+        String userId = client.createUser("status-" + port + "@example.com");
+        long before = client.getRequests();
+
+        List<CompletableFuture<UserStatusResponse>> statuses = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            statuses.add(client.getUserStatusAsync(userId));
+        }
+
+        statuses.forEach(status -> assertEquals("in_progress", status.join().status()));
+        assertEquals(1, client.getRequests() - before);
+    }
+
+    @Test
+    void getUserStatus_unknownUserInBatch_failsOnlyThatCall() {
+        String userId = client.createUser("status-mixed-" + port + "@example.com");
+
+        CompletableFuture<UserStatusResponse> known = client.getUserStatusAsync(userId);
+        CompletableFuture<UserStatusResponse> unknown = client.getUserStatusAsync("no-such-user");
+
+        assertEquals("in_progress", known.join().status());
+        assertEquals(404, apiError(unknown).getStatus());
+        assertEquals(1, client.getBatches());
+    }
+
+    @Test
+    void completeStep_failingItemInBatch_failsOnlyThatCall() {
+        String userId = client.createUser("mixed-" + port + "@example.com");
+
+        CompletableFuture<CompleteStepResponse> valid = client.completeStepAsync(personalDetails(userId));
+        CompletableFuture<CompleteStepResponse> outOfOrder = client.completeStepAsync(new CompleteStepRequest(userId, "payment",
+                Map.of("user_id", userId)));
+        CompletableFuture<CompleteStepResponse> unknownUser = client.completeStepAsync(personalDetails("no-such-user"));
+
+        assertEquals("in_progress", valid.join().userStatus());
+        assertEquals(400, apiError(outOfOrder).getStatus());
+        assertEquals(404, apiError(unknownUser).getStatus());
+    }
+
+    @Test
+    void completeStep_sameIdempotencyKey_replaysFirstResponse() {
+        String userId = client.createUser("replay-" + port + "@example.com");
+        String key = "client-replay-" + userId;
+
+        CompleteStepResponse first = client.completeStep(personalDetails(userId), key);
+        CompleteStepResponse retried = client.completeStep(personalDetails(userId), key);
+
+        assertEquals(first, retried);
+        assertEquals(1, flowService.getTaskAttemptsResponse(userId, "personal_details").totalAttempts());
+    }
+
+    @Test
+    void completeStep_duplicateKeysInOneBatch_runOnce() {
+        String userId = client.createUser("collapse-" + port + "@example.com");
+        String key = "client-collapse-" + userId;
+
+        CompletableFuture<CompleteStepResponse> first = client.completeStepAsync(personalDetails(userId), key);
+        CompletableFuture<CompleteStepResponse> duplicate = client.completeStepAsync(personalDetails(userId), key);
+
+        assertEquals(first.join(), duplicate.join());
+        assertEquals(1, client.getBatches());
+        assertEquals(1, flowService.getTaskAttemptsResponse(userId, "personal_details").totalAttempts());
+    }
+
+    private static CompleteStepRequest personalDetails(String userId) {
+        return new CompleteStepRequest(userId, "personal_details", Map.of(
+                "user_id", userId,
+                "first_name", "Client",
+                "last_name", "User",
+                "email", "client@example.com",
+                "timestamp", "2025-12-10T12:00:00Z"));
+    }
+
+    private static AdmissionsApiException apiError(CompletableFuture<?> call) {
+        CompletionException e = assertThrows(CompletionException.class, call::join);
+        return assertInstanceOf(AdmissionsApiException.class, e.getCause());
+    }
+}
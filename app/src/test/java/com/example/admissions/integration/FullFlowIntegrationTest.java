@@ -3,11 +3,28 @@ package com.example.admissions.integration;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -15,12 +32,16 @@ import static org.junit.jupiter.api.Assertions.*;
  * Integration test: starts the full Spring context and runs a happy-path admissions flow
  * using TestRestTemplate against the running application.
  */
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.endpoints.web.exposure.include=health,slowrequests,jfr")
 public class FullFlowIntegrationTest {
 
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @LocalServerPort
+    private int port;
+
     private static final ParameterizedTypeReference<Map<String, Object>> MAP_TYPE =
             new ParameterizedTypeReference<>() {};
 
@@ -498,4 +519,220 @@ public class FullFlowIntegrationTest {
         );
         assertEquals(HttpStatus.OK, response2.getStatusCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    void completeStep_retryWithSameIdempotencyKey_replaysFirstResponse() {
+        String userId = (String) restTemplate.exchange("/users", HttpMethod.POST,
+                new HttpEntity<>(Map.of("email", "idempotent@example.com"), jsonHeaders()), MAP_TYPE).getBody().get("id");
+        restTemplate.exchange("/steps/complete", HttpMethod.PUT, makePut(Map.of(
+                "user_id", userId,
+                "task_id", "personal_details",
+                "task_payload", Map.of("user_id", userId, "first_name", "Idem", "last_name", "Potent",
+                        "email", "idempotent@example.com", "timestamp", "2025-12-10T12:00:00Z"))), MAP_TYPE);
+
+        // IQ test is not redoable, so without the key the retry would be rejected
+        Map<String, Object> iqBody = Map.of(
+                "user_id", userId,
+                "task_id", "iq_test",
+                "task_payload", Map.of("user_id", userId, "test_id", "iq-1", "score", 85, "timestamp", "2025-12-10T12:00:00Z")
+        );
+        HttpHeaders headers = jsonHeaders();
+        headers.set("Idempotency-Key", "iq-" + userId);
+        ResponseEntity<Map<String, Object>> first = restTemplate.exchange(
+                "/steps/complete", HttpMethod.PUT, new HttpEntity<>(iqBody, headers), MAP_TYPE);
+        ResponseEntity<Map<String, Object>> retry = restTemplate.exchange(
+                "/steps/complete", HttpMethod.PUT, new HttpEntity<>(iqBody, headers), MAP_TYPE);
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(HttpStatus.OK, retry.getStatusCode());
+        assertEquals(first.getBody(), retry.getBody());
+        ResponseEntity<Map<String, Object>> attempts = restTemplate.exchange(
+                "/users/" + userId + "/tasks/iq_test/attempts", HttpMethod.GET, null, MAP_TYPE);
+        assertEquals(1, attempts.getBody().get("totalAttempts"));
+    }
+
+    @Test
+    void completeStep_idempotencyKeyReusedForDifferentRequest_returnsUnprocessableEntity() {
+        String userId = (String) restTemplate.exchange("/users", HttpMethod.POST,
+                new HttpEntity<>(Map.of("email", "idemreuse@example.com"), jsonHeaders()), MAP_TYPE).getBody().get("id");
+        HttpHeaders headers = jsonHeaders();
+        headers.set("Idempotency-Key", "reuse-" + userId);
+        Map<String, Object> payload = Map.of("user_id", userId, "first_name", "Re", "last_name", "Use",
+                "email", "idemreuse@example.com", "timestamp", "2025-12-10T12:00:00Z");
+        restTemplate.exchange("/steps/complete", HttpMethod.PUT, new HttpEntity<>(Map.of(
+                "user_id", userId, "task_id", "personal_details", "task_payload", payload), headers), MAP_TYPE);
+
+        Map<String, Object> changed = new HashMap<>(payload);
+        changed.put("last_name", "Changed");
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange("/steps/complete", HttpMethod.PUT,
+                new HttpEntity<>(Map.of("user_id", userId, "task_id", "personal_details", "task_payload", changed), headers),
+                MAP_TYPE);
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+    }
+
+    @Test
+    void getFlow_ifNoneMatchCurrentEtag_returnsNotModified() {
+        ResponseEntity<byte[]> first = restTemplate.getForEntity("/flow", byte[].class);
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        String etag = first.getHeaders().getETag();
+        assertNotNull(etag);
+        assertFalse(etag.startsWith("W/"));
+        assertNotNull(first.getHeaders().getCacheControl());
+        assertTrue(new String(first.getBody(), StandardCharsets.UTF_8).contains("\"admissions_v1\""));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        ResponseEntity<byte[]> second = restTemplate.exchange("/flow", HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+        assertEquals(etag, second.getHeaders().getETag());
+        assertNull(second.getBody());
+    }
+
+    @Test
+    void getFlow_acceptsGzip_returnsCompressedVariant() throws Exception {
+        ResponseEntity<byte[]> plain = restTemplate.getForEntity("/flow", byte[].class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        ResponseEntity<byte[]> gzip = restTemplate.exchange("/flow", HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+        assertEquals(HttpStatus.OK, gzip.getStatusCode());
+        assertEquals("gzip", gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertNotEquals(plain.getHeaders().getETag(), gzip.getHeaders().getETag());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.getBody()))) {
+            assertArrayEquals(plain.getBody(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void getCurrentPosition_ifNoneMatchCurrentEtag_returnsNotModifiedUntilStateChanges() {
+        ResponseEntity<Map<String, Object>> createResp = restTemplate.exchange(
+                "/users", HttpMethod.POST, new HttpEntity<>(Map.of("email", "etag@example.com"), jsonHeaders()), MAP_TYPE);
+        String userId = (String) createResp.getBody().get("id");
+
+        ResponseEntity<Map<String, Object>> first = restTemplate.exchange(
+                "/users/" + userId + "/current", HttpMethod.GET, null, MAP_TYPE);
+        String etag = first.getHeaders().getETag();
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("W/"));
+        assertTrue(first.getHeaders().getCacheControl().contains("no-cache"));
+
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.setIfNoneMatch(etag);
+        ResponseEntity<Map<String, Object>> unchanged = restTemplate.exchange(
+                "/users/" + userId + "/current", HttpMethod.GET, new HttpEntity<>(conditional), MAP_TYPE);
+        assertEquals(HttpStatus.NOT_MODIFIED, unchanged.getStatusCode());
+
+        Map<String, Object> personalPayload = Map.of(
+                "user_id", userId, "first_name", "E", "last_name", "T", "email", "etag@example.com", "timestamp", "now");
+        restTemplate.exchange("/steps/complete", HttpMethod.PUT,
+                makePut(Map.of("user_id", userId, "task_id", "personal_details", "task_payload", personalPayload)), MAP_TYPE);
+
+        ResponseEntity<Map<String, Object>> changed = restTemplate.exchange(
+                "/users/" + userId + "/current", HttpMethod.GET, new HttpEntity<>(conditional), MAP_TYPE);
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertNotEquals(etag, changed.getHeaders().getETag());
+    }
+
+    @Test
+    void getUserStatus_finalizedUser_isRevalidatedOnEveryPoll() {
+        ResponseEntity<Map<String, Object>> createResp = restTemplate.exchange(
+                "/users", HttpMethod.POST, new HttpEntity<>(Map.of("email", "immutable@example.com"), jsonHeaders()), MAP_TYPE);
+        String userId = (String) createResp.getBody().get("id");
+        Map<String, Object> personalPayload = Map.of(
+                "user_id", userId, "first_name", "I", "last_name", "M", "email", "immutable@example.com", "timestamp", "now");
+        restTemplate.exchange("/steps/complete", HttpMethod.PUT,
+                makePut(Map.of("user_id", userId, "task_id", "personal_details", "task_payload", personalPayload)), MAP_TYPE);
+        Map<String, Object> iqPayload = Map.of("user_id", userId, "test_id", "iq-1", "score", 10, "timestamp", "now");
+        restTemplate.exchange("/steps/complete", HttpMethod.PUT,
+                makePut(Map.of("user_id", userId, "task_id", "iq_test", "task_payload", iqPayload)), MAP_TYPE);
+
+        ResponseEntity<Map<String, Object>> status = restTemplate.exchange(
+                "/users/" + userId + "/status", HttpMethod.GET, null, MAP_TYPE);
+        assertEquals("rejected", status.getBody().get("status"));
+        assertTrue(status.getHeaders().getCacheControl().contains("no-cache"));
+        assertFalse(status.getHeaders().getCacheControl().contains("immutable"));
+
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.setIfNoneMatch(status.getHeaders().getETag());
+        ResponseEntity<Map<String, Object>> revalidated = restTemplate.exchange(
+                "/users/" + userId + "/status", HttpMethod.GET, new HttpEntity<>(conditional), MAP_TYPE);
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+        assertTrue(revalidated.getHeaders().getCacheControl().contains("no-cache"));
+    }
+
+    @Test
+    void streamEvents_completeStep_pushesProgressEvent() throws Exception {
+        ResponseEntity<Map<String, Object>> createResp = restTemplate.exchange(
+                "/users", HttpMethod.POST, new HttpEntity<>(Map.of("email", "events@example.com"), jsonHeaders()), MAP_TYPE);
+        String userId = (String) createResp.getBody().get("id");
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/" + userId + "/events"))
+                .header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .build();
+        HttpResponse<InputStream> stream = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (BufferedReader events = new BufferedReader(new InputStreamReader(stream.body(), StandardCharsets.UTF_8))) {
+            assertEquals(200, stream.statusCode());
+            String initial = nextEventData(events);
+            assertTrue(initial.contains("\"currentTaskId\":\"personal_details\""), initial);
+
+            Map<String, Object> personalPayload = Map.of(
+                    "user_id", userId, "first_name", "S", "last_name", "E", "email", "events@example.com", "timestamp", "now");
+            restTemplate.exchange("/steps/complete", HttpMethod.PUT,
+                    makePut(Map.of("user_id", userId, "task_id", "personal_details", "task_payload", personalPayload)), MAP_TYPE);
+
+            String updated = nextEventData(events);
+            assertTrue(updated.contains("\"currentTaskId\":\"iq_test\""), updated);
+        }
+    }
+
+    @Test
+    void streamEvents_nonexistentUser_returnsNotFound() {
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                "/users/nonexistent/events", HttpMethod.GET, null, MAP_TYPE);
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void jfrEndpoint_startDownloadClose_returnsRecordingFile() {
+        ResponseEntity<Map<String, Object>> started = restTemplate.exchange("/actuator/jfr", HttpMethod.POST,
+                new HttpEntity<>(Map.of("name", "inttest", "duration", "1m"), jsonHeaders()), MAP_TYPE);
+        assertEquals(HttpStatus.OK, started.getStatusCode());
+        assertEquals("RUNNING", started.getBody().get("state"));
+        long id = ((Number) started.getBody().get("id")).longValue();
+        restTemplate.exchange("/users", HttpMethod.POST,
+                new HttpEntity<>(Map.of("email", "jfr-inttest@example.com"), jsonHeaders()), MAP_TYPE);
+
+        ResponseEntity<byte[]> download = restTemplate.getForEntity("/actuator/jfr/" + id, byte[].class);
+        assertEquals(HttpStatus.OK, download.getStatusCode());
+        assertArrayEquals("FLR".getBytes(StandardCharsets.US_ASCII), Arrays.copyOf(download.getBody(), 3));
+
+        restTemplate.delete("/actuator/jfr/" + id);
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.getForEntity("/actuator/jfr/" + id, byte[].class).getStatusCode());
+    }
+
+    /**
+     * Reads lines until the data line of the next {@code progress} event, skipping heartbeats.
+     */
+    private static String nextEventData(BufferedReader events) throws Exception {
+        CompletableFuture<String> data = CompletableFuture.supplyAsync(() -> {
+            try {
+                boolean progress = false;
+                String line;
+                while ((line = events.readLine()) != null) {
+                    if (line.equals("event:progress")) {
+                        progress = true;
+                    } else if (progress && line.startsWith("data:")) {
+                        return line.substring("data:".length());
+                    }
+                }
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return data.get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.admissions.integration;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Runs the full integration suite on the flow class generated from flow.json at build time.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"admissions.flow.engine=generated",
+                "management.endpoints.web.exposure.include=health,slowrequests,jfr"})
+public class GeneratedFlowIntegrationTest extends FullFlowIntegrationTest {
+}
@@ -0,0 +1,13 @@
+package com.example.admissions.integration;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the client integration suite against the reactive stack (WebFlux on Netty).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("reactive")
+public class ReactiveAdmissionsClientIntegrationTest extends AdmissionsClientIntegrationTest {
+}
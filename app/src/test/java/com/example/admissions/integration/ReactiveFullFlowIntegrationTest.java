@@ -0,0 +1,17 @@
+package com.example.admissions.integration;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the full integration suite against the reactive stack (WebFlux on Netty).
+ * <p>
+ * The web application type is also set inline because the test context loader picks the
+ * stack before profile-specific properties are read.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.main.web-application-type=reactive",
+                "management.endpoints.web.exposure.include=health,slowrequests,jfr"})
+@ActiveProfiles("reactive")
+public class ReactiveFullFlowIntegrationTest extends FullFlowIntegrationTest {
+}
@@ -0,0 +1,13 @@
+package com.example.admissions.integration;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the phase timing tests against the reactive stack, where the timer travels in the Reactor context.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.main.web-application-type=reactive", "admissions.timing.enabled=true"})
+@ActiveProfiles("reactive")
+public class ReactiveServerTimingIntegrationTest extends ServerTimingIntegrationTest {
+}
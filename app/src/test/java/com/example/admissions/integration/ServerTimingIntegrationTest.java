@@ -0,0 +1,59 @@
+package com.example.admissions.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test of per-request phase timing: the {@code Server-Timing} header and {@code /actuator/slowrequests}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "admissions.timing.enabled=true")
+public class ServerTimingIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void completeStep_timingEnabled_returnsServerTimingAndRecordsSlowRequest() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        ResponseEntity<Map<String, Object>> created = restTemplate.exchange("/users", HttpMethod.POST,
+                new HttpEntity<>(Map.of("email", "timing@example.com"), headers), new ParameterizedTypeReference<>() {});
+        String userId = (String) created.getBody().get("id");
+        Map<String, Object> body = Map.of("user_id", userId, "task_id", "personal_details", "task_payload", Map.of(
+                "user_id", userId, "first_name", "Tim", "last_name", "Ing",
+                "email", "timing@example.com", "timestamp", "2025-12-09T12:00:00Z"));
+
+        ResponseEntity<String> completed = restTemplate.exchange("/steps/complete", HttpMethod.PUT,
+                new HttpEntity<>(body, headers), String.class);
+
+        assertEquals(HttpStatus.OK, completed.getStatusCode());
+        String serverTiming = completed.getHeaders().getFirst("Server-Timing");
+        assertNotNull(serverTiming);
+        for (String phase : List.of("dispatch;", "lookup;", "validation;", "persistence;", "status;", "total;")) {
+            assertTrue(serverTiming.contains(phase), serverTiming);
+        }
+
+        ResponseEntity<List<Map<String, Object>>> slowest = restTemplate.exchange("/actuator/slowrequests",
+                HttpMethod.GET, null, new ParameterizedTypeReference<>() {});
+        assertEquals(HttpStatus.OK, slowest.getStatusCode());
+        assertTrue(slowest.getBody().stream().anyMatch(r -> "/steps/complete".equals(r.get("path"))), slowest.getBody().toString());
+    }
+
+    @Test
+    void getFlow_timingEnabled_isNotTimed() {
+        ResponseEntity<String> flow = restTemplate.getForEntity("/flow", String.class);
+
+        assertEquals(HttpStatus.OK, flow.getStatusCode());
+        assertNull(flow.getHeaders().getFirst("Server-Timing"));
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.admissions.integration;
+
+import com.example.admissions.capture.CapturedRequest;
+import com.example.admissions.capture.ReplayReport;
+import com.example.admissions.capture.TrafficCapture;
+import com.example.admissions.capture.TrafficLog;
+import com.example.admissions.capture.TrafficReplay;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test of API traffic capture and of replaying a capture against the running application.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"admissions.capture.enabled=true", "admissions.capture.directory=target/capture-test"})
+public class TrafficCaptureIntegrationTest {
+    private static final String PERSONAL_DETAILS = "{\"user_id\":\"%s\",\"task_id\":\"personal_details\",\"task_payload\":"
+            + "{\"user_id\":\"%s\",\"first_name\":\"Re\",\"last_name\":\"Play\",\"email\":\"%s\","
+            + "\"timestamp\":\"2025-12-09T12:00:00Z\"}}";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TrafficCapture trafficCapture;
+
+    @LocalServerPort
+    private int port;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void completeStep_captureEnabled_recordsApiRequestsOnly() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        ResponseEntity<Map<String, Object>> created = restTemplate.exchange("/users", HttpMethod.POST,
+                new HttpEntity<>(Map.of("email", "capture@example.com"), headers), new ParameterizedTypeReference<>() {});
+        String userId = (String) created.getBody().get("id");
+        headers.set("Idempotency-Key", "capture-" + userId);
+        String completion = PERSONAL_DETAILS.formatted(userId, userId, "capture@example.com");
+        restTemplate.exchange("/steps/complete", HttpMethod.PUT, new HttpEntity<>(completion, headers), String.class);
+        restTemplate.getForEntity("/users/" + userId + "/status", String.class);
+        restTemplate.getForEntity("/flow", String.class);
+
+        List<CapturedRequest> requests = awaitCaptured(userId, 3);
+
+        CapturedRequest create = requests.get(0);
+        assertEquals("POST", create.method());
+        assertEquals("/users", create.path());
+        assertEquals(200, create.status());
+        assertTrue(text(create.body()).contains("capture@example.com"));
+        assertTrue(text(create.responseBody()).contains("\"" + userId + "\""));
+
+        CapturedRequest complete = requests.get(1);
+        assertEquals("PUT", complete.method());
+        assertEquals("/steps/complete", complete.path());
+        assertEquals("capture-" + userId, complete.idempotencyKey());
+        assertEquals(completion, text(complete.body()));
+        assertFalse(complete.bodyTruncated());
+        assertTrue(text(complete.responseBody()).contains("\"userStatus\""));
+        assertTrue(complete.durationNanos() > 0);
+
+        CapturedRequest status = requests.get(2);
+        assertEquals("/users/" + userId + "/status", status.path());
+        assertEquals("{\"status\":\"in_progress\"}", text(status.responseBody()));
+        assertTrue(status.offsetNanos() >= complete.offsetNanos());
+        assertEquals(0, trafficCapture.getDropped());
+    }
+
+    @Test
+    void batches_captureEnabled_recordedAsItemRequestsAndReplayed() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        ResponseEntity<Map<String, Object>> created = restTemplate.exchange("/users", HttpMethod.POST,
+                new HttpEntity<>(Map.of("email", "batch-capture@example.com"), headers), new ParameterizedTypeReference<>() {});
+        String userId = (String) created.getBody().get("id");
+        String completion = PERSONAL_DETAILS.formatted(userId, userId, "batch-capture@example.com");
+        String completions = "{\"completions\":[" + completion.replaceFirst("\\{", "{\"idempotency_key\":\"batch-" + userId + "\",")
+                + "," + PERSONAL_DETAILS.formatted("no-such-user", "no-such-user", "batch-capture@example.com") + "]}";
+        restTemplate.exchange("/steps/complete/batch", HttpMethod.PUT, new HttpEntity<>(completions, headers), String.class);
+        restTemplate.exchange("/users/status/batch", HttpMethod.POST,
+                new HttpEntity<>("{\"user_ids\":[\"" + userId + "\"]}", headers), String.class);
+
+        List<CapturedRequest> requests = awaitCaptured(userId, 3);
+        CapturedRequest complete = requests.get(1);
+        assertEquals("PUT", complete.method());
+        assertEquals("/steps/complete", complete.path());
+        assertEquals("batch-" + userId, complete.idempotencyKey());
+        assertFalse(text(complete.body()).contains("idempotency_key"));
+        assertEquals(200, complete.status());
+        assertTrue(text(complete.responseBody()).contains("\"userStatus\""));
+        CapturedRequest status = requests.get(2);
+        assertEquals("GET", status.method());
+        assertEquals("/users/" + userId + "/status", status.path());
+        assertEquals("{\"status\":\"in_progress\"}", text(status.responseBody()));
+
+        CapturedRequest unknownUser = capturedRequests().stream()
+                .filter(request -> text(request.body()).contains("\"user_id\":\"no-such-user\""))
+                .findFirst().orElseThrow();
+        assertEquals("/steps/complete", unknownUser.path());
+        assertEquals(404, unknownUser.status());
+        assertTrue(text(unknownUser.responseBody()).startsWith("{\"error\":"));
+        assertFalse(capturedRequests().stream().anyMatch(request -> request.path().endsWith("/batch")));
+
+        // The user exists on this instance and the completion is keyed, so replaying the items answers the same
+        Path capture = dir.resolve("batch-items.admcap");
+        try (TrafficLog.Writer writer = new TrafficLog.Writer(capture, System.currentTimeMillis())) {
+            writer.append(complete);
+            writer.append(unknownUser);
+            writer.append(status);
+        }
+        ReplayReport report = new TrafficReplay(URI.create("http://localhost:" + port), 20, 8).replay(capture);
+        assertEquals(3, report.requests());
+        assertEquals(0, report.failed());
+        assertEquals(0, report.statusMismatches(), report.diffs().toString());
+        assertEquals(0, report.bodyMismatches(), report.diffs().toString());
+    }
+
+    @Test
+    void replay_capturedUserIds_mappedToNewUsers() throws Exception {
+        // Recorded against another instance where the applicant was user 41
+        Path capture = dir.resolve("recorded.admcap");
+        try (TrafficLog.Writer writer = new TrafficLog.Writer(capture, System.currentTimeMillis())) {
+            writer.append(request(0, "POST", "/users", null, "{\"email\":\"replay@example.com\"}",
+                    200, "{\"id\":\"41\"}"));
+            writer.append(request(1, "PUT", "/steps/complete", "replay-41",
+                    PERSONAL_DETAILS.formatted("41", "41", "replay@example.com"),
+                    200, "{\"userId\":\"41\",\"taskName\":\"Personal Details Form\",\"results\":[{\"taskId\":"
+                            + "\"personal_details\",\"taskName\":\"Personal Details Form\",\"passed\":true}],"
+                            + "\"userStatus\":\"in_progress\"}"));
+            writer.append(request(2, "GET", "/users/41/current", null, "", 200,
+                    "{\"userId\":\"41\",\"status\":\"in_progress\",\"currentStepIndex\":1,\"currentStepId\":\"step_iq\","
+                            + "\"currentStepName\":\"IQ Test\",\"currentTaskId\":\"iq_test\","
+                            + "\"currentTaskName\":\"IQ Test\",\"completedTasks\":1,\"totalTasks\":8}"));
+            writer.append(request(3, "GET", "/users/41/status", null, "", 200, "{\"status\":\"accepted\"}"));
+            writer.append(request(4, "GET", "/users/unknown-user/status", null, "", 200, "{\"status\":\"in_progress\"}"));
+        }
+
+        ReplayReport report = new TrafficReplay(URI.create("http://localhost:" + port), 20, 8).replay(capture);
+
+        assertEquals(5, report.requests());
+        assertEquals(0, report.failed());
+        assertEquals(1, report.statusMismatches(), report.diffs().toString());
+        assertEquals(1, report.bodyMismatches(), report.diffs().toString());
+        assertEquals(List.of("GET /users/41/status", "GET /users/unknown-user/status"),
+                report.diffs().stream().map(ReplayReport.Diff::request).sorted().toList());
+        assertTrue(report.replayed().max() > 0);
+        assertEquals(2.5, report.recorded().max());
+    }
+
+    private List<CapturedRequest> awaitCaptured(String userId, int count) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (true) {
+            List<CapturedRequest> requests = new ArrayList<>();
+            for (CapturedRequest request : capturedRequests()) {
+                if (request.path().startsWith("/users/" + userId + "/")
+                        || text(request.responseBody()).contains("\"id\":\"" + userId + "\"")
+                        || text(request.body()).contains("\"user_id\":\"" + userId + "\"")) {
+                    requests.add(request);
+                }
+                assertNotEquals("/flow", request.path());
+            }
+            if (requests.size() >= count || System.currentTimeMillis() > deadline) {
+                assertEquals(count, requests.size());
+                return requests;
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private List<CapturedRequest> capturedRequests() throws Exception {
+        List<CapturedRequest> requests = new ArrayList<>();
+        try (TrafficLog.Reader reader = new TrafficLog.Reader(trafficCapture.getFile())) {
+            CapturedRequest request;
+            while ((request = reader.next()) != null) {
+                requests.add(request);
+            }
+        }
+        return requests;
+    }
+
+    private static CapturedRequest request(int offsetMillis, String method, String path, String key, String body,
+                                           int status, String response) {
+        return new CapturedRequest(offsetMillis * 1_000_000L, (offsetMillis + 1) * 500_000L, method, path, key,
+                body.getBytes(StandardCharsets.UTF_8), false, status, response.getBytes(StandardCharsets.UTF_8), false);
+    }
+
+    private static String text(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
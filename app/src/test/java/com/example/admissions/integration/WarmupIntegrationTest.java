@@ -0,0 +1,72 @@
+package com.example.admissions.integration;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test of the startup warmup: the application becomes ready after it and none of its users leak
+ * into the real store or the log.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "admissions.warmup.enabled=true",
+        "admissions.warmup.min-iterations=20",
+        "admissions.warmup.max-iterations=20"})
+public class WarmupIntegrationTest {
+    private static final Path LOG_FILE = Path.of("logs/admissions.log"); // logging.file.name
+
+    private static long logOffset;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @BeforeAll
+    static void markLog() throws IOException {
+        logOffset = Files.exists(LOG_FILE) ? Files.size(LOG_FILE) : 0; // before the context (and its warmup) starts
+    }
+
+    @Test
+    void startup_warmupEnabled_readyWithEmptyUserStore() throws IOException {
+        ResponseEntity<String> readiness = restTemplate.getForEntity("/actuator/health/readiness", String.class);
+        assertEquals(HttpStatus.OK, readiness.getStatusCode());
+        String startupLog = logSince(logOffset);
+        assertFalse(startupLog.isEmpty(), "nothing logged at startup; is " + LOG_FILE + " still the log file?");
+        assertFalse(startupLog.contains("@warmup.invalid"), "warmup users reached the log");
+
+        // The first real user gets id 1 and a warmup email is still free
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        ResponseEntity<Map> created = restTemplate.exchange("/users", HttpMethod.POST,
+                new HttpEntity<>(Map.of("email", "warmup-0@warmup.invalid"), headers), Map.class);
+        assertEquals(HttpStatus.OK, created.getStatusCode());
+        assertEquals("1", created.getBody().get("id"));
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.getForEntity("/users/2/status", String.class).getStatusCode());
+    }
+
+    private static String logSince(long offset) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(LOG_FILE.toFile(), "r")) {
+            long start = file.length() >= offset ? offset : 0; // rolled over meanwhile
+            byte[] bytes = new byte[(int) (file.length() - start)];
+            file.seek(start);
+            file.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.admissions.jfr;
+
+import com.example.admissions.engine.config.FlowConfigLoader;
+import com.example.admissions.engine.exception.UserNotFoundException;
+import com.example.admissions.engine.model.User;
+import com.example.admissions.engine.service.FlowService;
+import com.example.admissions.engine.service.UserService;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the flow engine's Flight Recorder events and recording management.
+ */
+class FlightRecordingsTest {
+    private final FlightRecordings recordings = new FlightRecordings(Duration.ZERO, DataSize.ofMegabytes(50));
+
+    @Test
+    void dump_afterFlowOperations_containsEngineEvents() throws Exception {
+        UserService userService = new UserService();
+        FlowService flowService = new FlowService(new FlowConfigLoader().loadFlow(), userService);
+        Recording recording = recordings.start("test", null, null, null, null);
+        Path file = null;
+        try {
+            User user = userService.createUser("jfr@example.com");
+            flowService.completeStep(user.getId(), "personal_details", Map.of(
+                    "user_id", user.getId(), "first_name", "Jay", "last_name", "Effar",
+                    "email", "jfr@example.com", "timestamp", "2025-12-09T12:00:00Z"));
+            flowService.computeCurrentPosition(user.getId());
+            assertThrows(UserNotFoundException.class, () -> userService.snapshot("missing"));
+
+            assertSame(recording, recordings.stop(recording.getId()));
+            file = recordings.dump(recording.getId());
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            RecordedEvent completion = single(events, "com.example.admissions.CompleteStep");
+            assertEquals(user.getId(), completion.getString("userId"));
+            assertEquals("personal_details", completion.getString("taskId"));
+            assertEquals("passed", completion.getString("outcome"));
+            assertEquals(0, completion.getInt("snapshotSize"));
+
+            RecordedEvent position = single(events, "com.example.admissions.CurrentPosition");
+            assertEquals("in_progress", position.getString("outcome"));
+            assertEquals(1, position.getInt("snapshotSize"));
+
+            assertEquals("success", single(events, "com.example.admissions.CreateUser").getString("outcome"));
+            assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("com.example.admissions.Snapshot")
+                    && "UserNotFoundException".equals(e.getString("outcome"))));
+            assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("com.example.admissions.UserStatus")));
+            assertTrue(events.stream().noneMatch(e -> FlightRecordings.SECRET_EVENTS.contains(e.getEventType().getName())));
+        } finally {
+            recordings.close(recording.getId());
+            if (file != null) {
+                Files.deleteIfExists(file);
+            }
+        }
+        assertNull(recordings.find(recording.getId()));
+    }
+
+    @Test
+    void start_unknownSettings_throwsIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> recordings.start("test", "no-such-settings", null, null, null));
+    }
+
+    @Test
+    void dump_recordingStartedElsewhere_leavesOutPropertiesAndEnvironment() throws Exception {
+        try (Recording recording = new Recording(Configuration.getConfiguration("default"))) {
+            recording.start();
+            Path file = recordings.dump(recording.getId());
+            try {
+                assertTrue(RecordingFile.readAllEvents(file).stream()
+                        .noneMatch(e -> FlightRecordings.SECRET_EVENTS.contains(e.getEventType().getName())));
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Test
+    void start_maxSizeOverLimit_throwsIllegalArgument() {
+        assertThrows(IllegalArgumentException.class,
+                () -> recordings.start("test", null, null, null, DataSize.ofGigabytes(10)));
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+}
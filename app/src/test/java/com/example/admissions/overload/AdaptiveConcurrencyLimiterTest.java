@@ -0,0 +1,79 @@
+package com.example.admissions.overload;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the gradient-based concurrency limiter.
+ */
+class AdaptiveConcurrencyLimiterTest {
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    void tryAcquire_atLimit_rejectsUntilReleased() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 10, 10, 1.0, 0.2, 2.0);
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            permits.add(limiter.tryAcquire(TrafficClass.WRITE));
+        }
+        assertFalse(permits.contains(null));
+        assertNull(limiter.tryAcquire(TrafficClass.WRITE));
+        assertEquals(1, limiter.getRejected(TrafficClass.WRITE));
+
+        permits.get(0).release();
+        permits.get(0).release(); // releasing twice frees one slot only
+        assertEquals(9, limiter.getInFlight());
+        assertNotNull(limiter.tryAcquire(TrafficClass.WRITE));
+        assertNull(limiter.tryAcquire(TrafficClass.WRITE));
+    }
+
+    @Test
+    void tryAcquire_saturated_shedsReadsBeforeWrites() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 10, 10, 0.5, 0.2, 2.0);
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(limiter.tryAcquire(TrafficClass.READ));
+        }
+        assertNull(limiter.tryAcquire(TrafficClass.READ));
+        assertNotNull(limiter.tryAcquire(TrafficClass.WRITE));
+        assertEquals(1, limiter.getRejected(TrafficClass.READ));
+        assertEquals(0, limiter.getRejected(TrafficClass.WRITE));
+    }
+
+    @Test
+    void onSample_steadyLatencyWhileSaturated_growsLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 10, 1000, 0.8, 0.2, 2.0);
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(5 * MILLIS, limiter.getLimit());
+        }
+        assertTrue(limiter.getLimit() > 40, "limit=" + limiter.getLimit());
+    }
+
+    @Test
+    void onSample_latencyRises_shrinksLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(200, 10, 1000, 0.8, 0.2, 2.0);
+        for (int i = 0; i < 200; i++) {
+            limiter.onSample(5 * MILLIS, 200);
+        }
+        int before = limiter.getLimit();
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(50 * MILLIS, limiter.getLimit());
+        }
+        assertTrue(limiter.getLimit() < before / 2, "before=" + before + " after=" + limiter.getLimit());
+        assertTrue(limiter.getLimit() >= 10);
+    }
+
+    @Test
+    void onSample_fewRequestsInFlight_keepsLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 10, 1000, 0.8, 0.2, 2.0);
+        limiter.onSample(5 * MILLIS, 100);
+        int limit = limiter.getLimit();
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(500 * MILLIS, 1);
+        }
+        assertEquals(limit, limiter.getLimit());
+    }
+}
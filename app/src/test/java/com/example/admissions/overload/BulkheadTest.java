@@ -0,0 +1,80 @@
+package com.example.admissions.overload;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the per-class bulkhead.
+ */
+class BulkheadTest {
+
+    @Test
+    void acquire_overSlotsAndQueue_rejects() {
+        Bulkhead bulkhead = new Bulkhead("read", 2, 1, Duration.ofMillis(100));
+        Bulkhead.Acquisition first = bulkhead.acquire();
+        Bulkhead.Acquisition second = bulkhead.acquire();
+        Bulkhead.Acquisition queued = bulkhead.acquire();
+
+        assertTrue(first.granted().isDone());
+        assertTrue(second.granted().isDone());
+        assertFalse(queued.granted().isDone());
+        assertNull(bulkhead.acquire());
+        assertEquals(2, bulkhead.getActive());
+        assertEquals(1, bulkhead.getQueued());
+        assertEquals(1, bulkhead.getRejected());
+    }
+
+    @Test
+    void close_grantedAcquisition_handsSlotToOldestWaiter() {
+        Bulkhead bulkhead = new Bulkhead("write", 1, 2, Duration.ofSeconds(1));
+        Bulkhead.Acquisition running = bulkhead.acquire();
+        Bulkhead.Acquisition firstWaiter = bulkhead.acquire();
+        Bulkhead.Acquisition secondWaiter = bulkhead.acquire();
+
+        running.close();
+        running.close(); // closing twice releases once
+
+        assertTrue(firstWaiter.granted().isDone());
+        assertFalse(secondWaiter.granted().isDone());
+        assertEquals(1, bulkhead.getActive());
+        firstWaiter.close();
+        assertTrue(secondWaiter.granted().isDone());
+        secondWaiter.close();
+        assertEquals(0, bulkhead.getActive());
+        assertEquals(3, bulkhead.getAdmitted());
+    }
+
+    @Test
+    void close_queuedAcquisition_leavesQueueWithoutTakingSlot() {
+        Bulkhead bulkhead = new Bulkhead("admin", 1, 1, Duration.ofSeconds(5));
+        Bulkhead.Acquisition running = bulkhead.acquire();
+        Bulkhead.Acquisition waiter = bulkhead.acquire();
+
+        waiter.close();
+        assertEquals(0, bulkhead.getQueued());
+        assertEquals(1, bulkhead.getAbandoned());
+
+        running.close();
+        assertEquals(0, bulkhead.getActive());
+        assertNotNull(bulkhead.acquire());
+    }
+
+    @Test
+    void classify_adminAndHealth_separated() {
+        assertEquals(TrafficClass.ADMIN, TrafficClass.classify("POST", "/admin/reevaluate"));
+        assertEquals(TrafficClass.ADMIN, TrafficClass.classify("GET", "/actuator/metrics"));
+        assertNull(TrafficClass.classify("GET", "/actuator/health"));
+        assertEquals(TrafficClass.READ, TrafficClass.classify("GET", "/users/1/status"));
+        assertEquals(TrafficClass.WRITE, TrafficClass.classify("PUT", "/steps/complete"));
+        assertNull(TrafficClass.classify("GET", "/users/1/events"));
+    }
+
+    @Test
+    void classify_batches_ownClass() {
+        assertEquals(TrafficClass.BATCH, TrafficClass.classify("PUT", "/steps/complete/batch"));
+        assertEquals(TrafficClass.BATCH, TrafficClass.classify("POST", "/users/status/batch"));
+    }
+}
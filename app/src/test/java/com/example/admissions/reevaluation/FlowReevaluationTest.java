@@ -0,0 +1,234 @@
+package com.example.admissions.reevaluation;
+
+import com.example.admissions.engine.model.CompiledFlow;
+import com.example.admissions.engine.model.Flow;
+import com.example.admissions.engine.model.InterpretedFlow;
+import com.example.admissions.engine.model.Step;
+import com.example.admissions.engine.model.Task;
+import com.example.admissions.engine.model.TaskResult;
+import com.example.admissions.engine.service.UserService;
+import com.example.admissions.engine.storage.InMemoryUserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowReevaluationTest {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final CompiledFlow OLD_FLOW = flow("details", "iq_test");
+    private static final CompiledFlow NEW_FLOW = flow("details", "iq_test", "interview");
+
+    @TempDir
+    Path dir;
+
+    private final UserService userService = new UserService();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(dir.resolve("old-flow.json"), "{}");
+    }
+
+    @Test
+    void start_taskAdded_reportsAcceptedUsersAndReopensThem() throws Exception {
+        createUsers(45); // every third accepted under the old flow
+        FlowReevaluation reevaluation = reevaluation(ReevaluationThrottle.unlimited(), 10);
+
+        reevaluation.start("old-flow.json", true);
+        assertTrue(reevaluation.awaitTermination(Duration.ofSeconds(10)));
+
+        ReevaluationProgress progress = reevaluation.progress();
+        assertEquals("completed", progress.state());
+        assertEquals(5, progress.partitions());
+        assertEquals(5, progress.donePartitions());
+        assertEquals(45, progress.scannedUsers());
+        assertEquals(15, progress.changedUsers());
+        assertEquals(15, progress.appliedUsers());
+        assertEquals(0, progress.skippedUsers());
+        List<UserChange> changes = changes(Path.of(progress.diffFile()));
+        assertEquals(15, changes.size());
+        for (UserChange change : changes) {
+            assertEquals(new UserChange(change.userId(), "accepted", "in_progress", null, "interview", true, false), change);
+            assertNull(userService.getFinalStatus(change.userId()));
+        }
+    }
+
+    @Test
+    void start_withoutPreviousFlow_comparesCachedStatusesOnly() throws Exception {
+        createUsers(9);
+        FlowReevaluation reevaluation = reevaluation(ReevaluationThrottle.unlimited(), 4);
+
+        reevaluation.start(null, false);
+        assertTrue(reevaluation.awaitTermination(Duration.ofSeconds(10)));
+
+        List<UserChange> changes = changes(Path.of(reevaluation.progress().diffFile()));
+        assertEquals(3, changes.size());
+        for (UserChange change : changes) {
+            assertEquals(new UserChange(change.userId(), "accepted", "in_progress", "interview", "interview", false, false), change);
+            assertEquals("accepted", userService.getFinalStatus(change.userId()));
+        }
+    }
+
+    @Test
+    void start_userChangedAfterItWasRead_skipsCorrection() throws Exception {
+        // Every correction finds a result recorded between the scan's read and its write
+        UserService racing = new UserService(new InMemoryUserRepository() {
+            @Override
+            public boolean replaceFinalStatus(String userId, long expectedVersion, String status) {
+                appendTaskResult(userId, new TaskResult("iq_test", true, Instant.now(), Map.of()));
+                return super.replaceFinalStatus(userId, expectedVersion, status);
+            }
+        });
+        for (int i = 0; i < 3; i++) {
+            String userId = racing.createUser("racing" + i + "@example.com").getId();
+            racing.addTaskResult(userId, "details", true, Map.of());
+            racing.addTaskResult(userId, "iq_test", true, Map.of());
+            racing.finalizeUser(userId, "accepted");
+        }
+        FlowReevaluation reevaluation = new FlowReevaluation(racing, NEW_FLOW, path -> OLD_FLOW, dir,
+                ReevaluationThrottle.unlimited(), event -> { }, OBJECT_MAPPER, dir, 2, 10);
+
+        reevaluation.start("old-flow.json", true);
+        assertTrue(reevaluation.awaitTermination(Duration.ofSeconds(10)));
+
+        ReevaluationProgress progress = reevaluation.progress();
+        assertEquals(3, progress.changedUsers());
+        assertEquals(0, progress.appliedUsers());
+        assertEquals(3, progress.skippedUsers());
+        for (UserChange change : changes(Path.of(progress.diffFile()))) {
+            assertTrue(change.skipped());
+            assertEquals("accepted", racing.getFinalStatus(change.userId()));
+        }
+    }
+
+    @Test
+    void resume_afterCrash_runsOnlyUnfinishedPartitions() throws Exception {
+        createUsers(45);
+        FlowReevaluation reevaluation = reevaluation(ReevaluationThrottle.unlimited(), 10);
+        reevaluation.start("old-flow.json", false);
+        assertTrue(reevaluation.awaitTermination(Duration.ofSeconds(10)));
+        Path diff = Path.of(reevaluation.progress().diffFile());
+
+        // Keep the header and the first two partitions, then a partition torn mid-write
+        List<String> lines = Files.readAllLines(diff);
+        List<String> kept = new ArrayList<>();
+        int markers = 0;
+        for (String line : lines) {
+            if (markers == 2) {
+                break;
+            }
+            kept.add(line);
+            if (line.startsWith("{\"partition\"")) {
+                markers++;
+            }
+        }
+        Files.writeString(diff, String.join("\n", kept) + "\n{\"change\":{\"userId\":\"4");
+
+        FlowReevaluation restarted = reevaluation(ReevaluationThrottle.unlimited(), 1000);
+        restarted.resume();
+        assertTrue(restarted.awaitTermination(Duration.ofSeconds(10)));
+
+        ReevaluationProgress progress = restarted.progress();
+        assertEquals("completed", progress.state());
+        assertEquals(5, progress.partitions()); // the run keeps its own partitioning
+        assertEquals(45, progress.scannedUsers());
+        assertEquals(15, progress.changedUsers());
+        List<UserChange> changes = changes(diff);
+        assertEquals(15, changes.size());
+        assertEquals(15, new HashSet<>(changes.stream().map(UserChange::userId).toList()).size());
+    }
+
+    @Test
+    void pause_stopsAfterCurrentPartitions_resumeFinishes() throws Exception {
+        createUsers(45);
+        // 100 users per second: each partition of 10 takes a tenth of a second
+        ReevaluationThrottle slow = new ReevaluationThrottle(() -> Double.NaN, 100, 100, 100, Duration.ofDays(1));
+        FlowReevaluation reevaluation = reevaluation(slow, 10);
+
+        reevaluation.start("old-flow.json", false);
+        assertThrows(IllegalStateException.class, () -> reevaluation.start(null, false));
+        reevaluation.pause();
+        assertTrue(reevaluation.awaitTermination(Duration.ofSeconds(10)));
+        ReevaluationProgress paused = reevaluation.progress();
+        assertEquals("paused", paused.state());
+        assertTrue(paused.donePartitions() < 5, "done " + paused.donePartitions());
+
+        reevaluation.resume();
+        assertTrue(reevaluation.awaitTermination(Duration.ofSeconds(10)));
+        assertEquals("completed", reevaluation.progress().state());
+        assertEquals(45, reevaluation.progress().scannedUsers());
+    }
+
+    @Test
+    void start_previousFlowOutsideFlowsDirectory_rejected() throws Exception {
+        Path outside = Files.writeString(dir.getParent().resolve(dir.getFileName() + "-outside.json"), "{}");
+        FlowReevaluation reevaluation = reevaluation(ReevaluationThrottle.unlimited(), 10);
+
+        try {
+            assertThrows(IllegalArgumentException.class, () -> reevaluation.start("../" + outside.getFileName(), false));
+            assertThrows(IllegalArgumentException.class, () -> reevaluation.start(outside.toString(), false));
+            assertThrows(IllegalArgumentException.class, () -> reevaluation.start("missing.json", false));
+            assertEquals("idle", reevaluation.progress().state());
+        } finally {
+            Files.delete(outside);
+        }
+    }
+
+    @Test
+    void resume_nothingStarted_rejected() {
+        FlowReevaluation reevaluation = reevaluation(ReevaluationThrottle.unlimited(), 10);
+
+        assertEquals("idle", reevaluation.progress().state());
+        assertThrows(IllegalStateException.class, reevaluation::resume);
+    }
+
+    private FlowReevaluation reevaluation(ReevaluationThrottle throttle, int partitionSize) {
+        return new FlowReevaluation(userService, NEW_FLOW, path -> OLD_FLOW, dir, throttle, event -> { },
+                OBJECT_MAPPER, dir, 2, partitionSize);
+    }
+
+    /**
+     * Every third user passed both old tasks and was accepted; the rest only passed the first.
+     */
+    private void createUsers(int count) {
+        for (int i = 0; i < count; i++) {
+            String userId = userService.createUser("user" + i + "@example.com").getId();
+            userService.addTaskResult(userId, "details", true, Map.of());
+            if (i % 3 == 0) {
+                userService.addTaskResult(userId, "iq_test", true, Map.of());
+                userService.finalizeUser(userId, "accepted");
+            }
+        }
+    }
+
+    private static List<UserChange> changes(Path diff) throws Exception {
+        List<UserChange> changes = new ArrayList<>();
+        for (String line : Files.readAllLines(diff)) {
+            JsonNode node = OBJECT_MAPPER.readTree(line);
+            if (node.has("change")) {
+                changes.add(OBJECT_MAPPER.treeToValue(node.get("change"), UserChange.class));
+            }
+        }
+        return changes;
+    }
+
+    private static CompiledFlow flow(String... taskIds) {
+        List<Task> tasks = new ArrayList<>();
+        for (String taskId : taskIds) {
+            tasks.add(new Task(taskId, taskId, Set.of(), null, null, true));
+        }
+        return new InterpretedFlow(new Flow("flow", "Flow", List.of(new Step("step", "Step", tasks))));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.admissions.reevaluation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReevaluationThrottleTest {
+
+    @Test
+    void adjust_withinBudgetOrUnknown_raisesRateUpToMax() {
+        ReevaluationThrottle throttle = new ReevaluationThrottle(() -> Double.NaN, 100, 1_000, 21_000, Duration.ofSeconds(1));
+
+        throttle.adjust(Double.NaN);
+        assertEquals(2_000, throttle.getRate());
+        throttle.adjust(50);
+        assertEquals(3_000, throttle.getRate());
+        for (int i = 0; i < 30; i++) {
+            throttle.adjust(99);
+        }
+        assertEquals(21_000, throttle.getRate());
+    }
+
+    @Test
+    void adjust_overBudget_halvesRateDownToMin() {
+        ReevaluationThrottle throttle = new ReevaluationThrottle(() -> Double.NaN, 100, 1_000, 21_000, Duration.ofSeconds(1));
+        for (int i = 0; i < 20; i++) {
+            throttle.adjust(10);
+        }
+
+        throttle.adjust(150);
+        assertEquals(10_500, throttle.getRate());
+        assertEquals(150, throttle.getLastP99Millis());
+        for (int i = 0; i < 10; i++) {
+            throttle.adjust(150);
+        }
+        assertEquals(1_000, throttle.getRate());
+    }
+
+    @Test
+    void acquire_pacesPermitsAtRate() throws InterruptedException {
+        ReevaluationThrottle throttle = new ReevaluationThrottle(() -> Double.NaN, 100, 1_000, 1_000, Duration.ofDays(1));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            throttle.acquire(50);
+        }
+        // The first reservation starts immediately, the fourth 150ms later
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(140).toNanos());
+    }
+}
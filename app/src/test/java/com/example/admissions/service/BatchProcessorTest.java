@@ -0,0 +1,62 @@
+package com.example.admissions.service;
+
+import com.example.admissions.dto.BatchResponse;
+import com.example.admissions.engine.config.FlowConfigLoader;
+import com.example.admissions.engine.dto.UserStatusResponse;
+import com.example.admissions.engine.logging.EngineEventLog;
+import com.example.admissions.engine.service.FlowService;
+import com.example.admissions.engine.service.UserService;
+import com.example.admissions.overload.AdaptiveConcurrencyLimiter;
+import com.example.admissions.overload.TrafficClass;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the batch endpoints' item runner.
+ */
+class BatchProcessorTest {
+    private final UserService userService = new UserService();
+    private final FlowService flowService =
+            new FlowService(new FlowConfigLoader().loadFlow(), userService, event -> { }, EngineEventLog.discarding());
+    private final IdempotencyCache idempotencyCache = new IdempotencyCache(10, Duration.ofMinutes(1));
+
+    @Test
+    void statusAll_takesOneLimiterPermitPerItem() {
+        String userId = userService.createUser("batch@example.com").getId();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 10, 10, 1.0, 0.2, 2.0);
+        BatchProcessor processor = new BatchProcessor(flowService, idempotencyCache, limiter);
+
+        BatchResponse<UserStatusResponse> response = processor.statusAll(List.of(userId, userId, userId));
+
+        assertTrue(response.results().stream().allMatch(result -> result.status() == 200));
+        assertEquals(3, limiter.getAdmitted(TrafficClass.READ));
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void statusAll_limiterSaturated_itemsGet429() {
+        String userId = userService.createUser("shed@example.com").getId();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 1.0, 0.2, 2.0);
+        AdaptiveConcurrencyLimiter.Permit held = limiter.tryAcquire(TrafficClass.WRITE);
+        BatchProcessor processor = new BatchProcessor(flowService, idempotencyCache, limiter);
+
+        BatchResponse<UserStatusResponse> shed = processor.statusAll(List.of(userId, userId));
+
+        assertEquals(List.of(429, 429), shed.results().stream().map(BatchResponse.Result::status).toList());
+        assertEquals(2, limiter.getRejected(TrafficClass.READ));
+        held.release();
+        assertEquals(200, processor.statusAll(List.of(userId)).results().get(0).status());
+    }
+
+    @Test
+    void statusAll_withoutLimiter_runsEveryItem() {
+        String userId = userService.createUser("unlimited@example.com").getId();
+        BatchProcessor processor = new BatchProcessor(flowService, idempotencyCache, (AdaptiveConcurrencyLimiter) null);
+
+        assertEquals(200, processor.statusAll(List.of(userId)).results().get(0).status());
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.admissions.service;
+
+import com.example.admissions.dto.CompleteStepRequest;
+import com.example.admissions.engine.dto.CompleteStepResponse;
+import com.example.admissions.engine.exception.TaskAlreadyCompletedException;
+import com.example.admissions.exception.IdempotencyKeyReusedException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Idempotency-Key replay cache.
+ */
+class IdempotencyCacheTest {
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private static CompleteStepRequest request(String userId) {
+        return new CompleteStepRequest(userId, "iq_test", Map.of("score", 85));
+    }
+
+    private CompleteStepResponse complete() {
+        executions.incrementAndGet();
+        return new CompleteStepResponse("1", "IQ Test", List.of(), "in_progress");
+    }
+
+    @Test
+    void execute_sameKey_replaysStoredResponse() {
+        IdempotencyCache cache = new IdempotencyCache(10, Duration.ofMinutes(1), now::get);
+
+        CompleteStepResponse first = cache.execute("k1", request("1"), this::complete);
+        CompleteStepResponse retry = cache.execute("k1", request("1"), this::complete);
+
+        assertSame(first, retry);
+        assertEquals(1, executions.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5, cache.hitRatio());
+    }
+
+    @Test
+    void execute_sameKeyDifferentRequest_throwsReused() {
+        IdempotencyCache cache = new IdempotencyCache(10, Duration.ofMinutes(1), now::get);
+        cache.execute("k1", request("1"), this::complete);
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> cache.execute("k1", request("2"), this::complete));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void execute_failedCompletion_isNotCached() {
+        IdempotencyCache cache = new IdempotencyCache(10, Duration.ofMinutes(1), now::get);
+
+        assertThrows(TaskAlreadyCompletedException.class, () -> cache.execute("k1", request("1"), () -> {
+            throw new TaskAlreadyCompletedException("IQ Test");
+        }));
+        cache.execute("k1", request("1"), this::complete);
+
+        assertEquals(1, executions.get());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void execute_afterTtl_runsAgain() {
+        IdempotencyCache cache = new IdempotencyCache(10, Duration.ofMinutes(1), now::get);
+        cache.execute("k1", request("1"), this::complete);
+
+        now.addAndGet(Duration.ofMinutes(1).toNanos());
+        cache.execute("k1", request("1"), this::complete);
+
+        assertEquals(2, executions.get());
+        assertEquals(1, cache.size());
+        assertEquals(0, cache.getEvictions());
+    }
+
+    @Test
+    void execute_overMaxEntries_evictsOldest() {
+        IdempotencyCache cache = new IdempotencyCache(2, Duration.ofMinutes(1), now::get);
+        cache.execute("k1", request("1"), this::complete);
+        cache.execute("k2", request("2"), this::complete);
+        cache.execute("k3", request("3"), this::complete);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        cache.execute("k1", request("1"), this::complete);
+        assertEquals(4, executions.get());
+    }
+
+    @Test
+    void execute_failedCompletion_doesNotCountTowardsMaxEntries() {
+        IdempotencyCache cache = new IdempotencyCache(2, Duration.ofMinutes(1), now::get);
+        cache.execute("k1", request("1"), this::complete);
+        assertThrows(TaskAlreadyCompletedException.class, () -> cache.execute("k2", request("2"), () -> {
+            throw new TaskAlreadyCompletedException("IQ Test");
+        }));
+        cache.execute("k3", request("3"), this::complete);
+
+        assertEquals(2, cache.size());
+        assertEquals(0, cache.getEvictions());
+        cache.execute("k1", request("1"), this::complete);
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void submit_concurrentDuplicates_collapseIntoOneExecution() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(10, Duration.ofMinutes(1));
+        CompletableFuture<CompleteStepResponse> inFlight = new CompletableFuture<>();
+        CountDownLatch started = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            Future<CompleteStepResponse> owner = pool.submit(() -> cache.execute("k1", request("1"), () -> {
+                started.countDown();
+                executions.incrementAndGet();
+                return inFlight.join();
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<?>[] duplicates = new Future<?>[8];
+            for (int i = 0; i < duplicates.length; i++) {
+                duplicates[i] = pool.submit(() -> cache.submit("k1", request("1"), this::completeAsync).join());
+            }
+            CompleteStepResponse response = new CompleteStepResponse("1", "IQ Test", List.of(), "in_progress");
+            inFlight.complete(response);
+
+            assertSame(response, owner.get(5, TimeUnit.SECONDS));
+            for (Future<?> duplicate : duplicates) {
+                assertSame(response, duplicate.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, executions.get());
+            assertEquals(duplicates.length, cache.getHits() + cache.getCollapsed());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void execute_blankKey_throwsIllegalArgument() {
+        IdempotencyCache cache = new IdempotencyCache(10, Duration.ofMinutes(1));
+        assertThrows(IllegalArgumentException.class, () -> cache.execute(" ", request("1"), this::complete));
+    }
+
+    private CompletableFuture<CompleteStepResponse> completeAsync() {
+        return CompletableFuture.completedFuture(complete());
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.admissions.stream;
+
+import com.example.admissions.engine.dto.UserProgressEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the per-stream buffering of UserEventHub.
+ */
+class UserEventHubTest {
+    private UserEventHub hub;
+
+    @BeforeEach
+    void setUp() {
+        hub = new UserEventHub(id -> new UserProgressEvent(id, "in_progress", null), new ObjectMapper(),
+                Duration.ofMinutes(1), Duration.ofHours(1), Duration.ofHours(1), 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.close();
+    }
+
+    private static EventFrame frame(String data) {
+        return new EventFrame("progress", data);
+    }
+
+    @Test
+    void enqueue_drainsFramesInOrder() throws Exception {
+        List<EventFrame> received = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(6);
+        EventSubscriber subscriber = new EventSubscriber("1", f -> {
+            received.add(f);
+            done.countDown();
+        }, () -> { }, 16);
+        List<EventFrame> frames = List.of(frame("a"), frame("b"), frame("c"), frame("d"), frame("e"), frame("f"));
+
+        for (EventFrame f : frames) {
+            hub.enqueue(subscriber, f);
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(frames, received);
+        assertFalse(subscriber.isClosed());
+    }
+
+    @Test
+    void enqueue_fullBuffer_disconnectsSlowSubscriber() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean closed = new AtomicBoolean();
+        EventSubscriber subscriber = new EventSubscriber("1", f -> {
+            try {
+                release.await(5, TimeUnit.SECONDS); // a client that stopped reading
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, () -> closed.set(true), 2);
+
+        for (int i = 0; i < 10; i++) {
+            hub.enqueue(subscriber, frame(String.valueOf(i)));
+        }
+        release.countDown();
+
+        assertTrue(closed.get());
+        assertTrue(subscriber.isClosed());
+        assertEquals(1, hub.getSlowDisconnects());
+        assertFalse(subscriber.offer(frame("late")));
+    }
+
+    @Test
+    void enqueue_sinkNotReady_waitsWithoutAThreadUntilResumed() throws Exception {
+        List<EventFrame> received = new CopyOnWriteArrayList<>();
+        AtomicBoolean ready = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(2);
+        EventSubscriber subscriber = new EventSubscriber("1", new EventSubscriber.Sink() {
+            @Override
+            public void send(EventFrame frame) {
+                received.add(frame);
+                done.countDown();
+            }
+
+            @Override
+            public boolean ready() {
+                return ready.get();
+            }
+        }, () -> { }, 16);
+
+        hub.enqueue(subscriber, frame("a"));
+        hub.enqueue(subscriber, frame("b"));
+        Thread.sleep(50);
+        assertTrue(received.isEmpty());
+        assertFalse(subscriber.isIdle());
+
+        ready.set(true);
+        hub.resume(subscriber);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(frame("a"), frame("b")), received);
+    }
+
+    @Test
+    void sweep_framesUnreadPastWriteTimeout_disconnectsStream() throws Exception {
+        UserEventHub stalling = new UserEventHub(id -> new UserProgressEvent(id, "in_progress", null), new ObjectMapper(),
+                Duration.ofMinutes(1), Duration.ofHours(1), Duration.ofMillis(20), 16, 2);
+        CountDownLatch closed = new CountDownLatch(1);
+        try {
+            EventSubscriber subscriber = stalling.subscribe("1", new EventSubscriber.Sink() {
+                @Override
+                public void send(EventFrame frame) {
+                }
+
+                @Override
+                public boolean ready() {
+                    return false; // a client that stopped reading
+                }
+            }, closed::countDown);
+
+            assertTrue(closed.await(5, TimeUnit.SECONDS));
+            assertTrue(subscriber.isClosed());
+            assertEquals(1, stalling.getSlowDisconnects());
+            assertEquals(0, stalling.getSubscriberCount());
+        } finally {
+            stalling.close();
+        }
+    }
+
+    @Test
+    void subscribe_thenClose_unregistersStream() {
+        AtomicBoolean closed = new AtomicBoolean();
+        hub.subscribe("1", f -> { }, () -> closed.set(true));
+        assertEquals(1, hub.getSubscriberCount());
+
+        hub.close();
+
+        assertEquals(0, hub.getSubscriberCount());
+        assertTrue(closed.get());
+    }
+}
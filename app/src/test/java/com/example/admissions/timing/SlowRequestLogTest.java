@@ -0,0 +1,70 @@
+package com.example.admissions.timing;
+
+import com.example.admissions.engine.timing.PhaseTimer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for phase timing and the slowest-requests log.
+ */
+class SlowRequestLogTest {
+
+    private static PhaseTimer timed(long nanos) {
+        PhaseTimer timer = new PhaseTimer();
+        try (PhaseTimer.Scope ignored = timer.bind()) {
+            LockSupport.parkNanos(nanos);
+            PhaseTimer.mark("work");
+        }
+        timer.stop();
+        return timer;
+    }
+
+    @Test
+    void mark_withoutBoundTimer_isIgnored() {
+        PhaseTimer.mark("work");
+        assertNull(PhaseTimer.current());
+    }
+
+    @Test
+    void serverTiming_repeatedPhase_accumulatesAndEndsWithTotal() {
+        PhaseTimer timer = new PhaseTimer();
+        try (PhaseTimer.Scope ignored = timer.bind()) {
+            PhaseTimer.mark("lookup");
+            PhaseTimer.mark("status");
+            PhaseTimer.mark("lookup");
+        }
+        timer.stop();
+
+        assertNull(PhaseTimer.current());
+        assertEquals(List.of("lookup", "status"), List.copyOf(timer.phasesMillis().keySet()));
+        assertTrue(timer.serverTiming().matches("lookup;dur=\\d+\\.\\d{3}, status;dur=\\d+\\.\\d{3}, total;dur=\\d+\\.\\d{3}"),
+                timer.serverTiming());
+    }
+
+    @Test
+    void record_overCapacity_keepsSlowestFirst() {
+        SlowRequestLog log = new SlowRequestLog(2, Duration.ofMinutes(1));
+        log.record("GET", "/fast", 200, timed(1_000_000));
+        log.record("GET", "/slowest", 200, timed(30_000_000));
+        log.record("GET", "/slow", 200, timed(10_000_000));
+        log.record("GET", "/faster", 200, timed(0));
+
+        List<SlowRequest> slowest = log.slowest();
+        assertEquals(List.of("/slowest", "/slow"), slowest.stream().map(SlowRequest::path).toList());
+        assertTrue(slowest.get(0).phasesMillis().containsKey("work"));
+    }
+
+    @Test
+    void slowest_afterWindow_dropsEntries() {
+        SlowRequestLog log = new SlowRequestLog(2, Duration.ofMillis(1));
+        log.record("GET", "/old", 200, timed(0));
+        LockSupport.parkNanos(5_000_000);
+
+        assertTrue(log.slowest().isEmpty());
+    }
+}
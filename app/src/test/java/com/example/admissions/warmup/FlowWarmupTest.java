@@ -0,0 +1,70 @@
+package com.example.admissions.warmup;
+
+import com.example.admissions.engine.config.FlowConfigLoader;
+import com.example.admissions.engine.model.Flow;
+import com.example.admissions.engine.model.InterpretedFlow;
+import com.example.admissions.engine.model.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the startup warmup driver.
+ */
+class FlowWarmupTest {
+    private final Flow flow = new FlowConfigLoader().loadFlow();
+
+    @Test
+    void run_noCompileQueueThreshold_runsMaxIterations() {
+        FlowWarmup warmup = new FlowWarmup(new InterpretedFlow(flow), new ObjectMapper(), 10, 40, -1, Duration.ofMinutes(1));
+
+        WarmupReport report = warmup.run();
+
+        assertEquals(40, report.iterations());
+        assertEquals("max-iterations", report.stopReason());
+        assertTrue(report.completions() >= 40, "every user completes at least one task");
+    }
+
+    @Test
+    void run_zeroDuration_stopsAfterFirstIteration() {
+        FlowWarmup warmup = new FlowWarmup(new InterpretedFlow(flow), new ObjectMapper(), 0, 1000, -1, Duration.ZERO);
+
+        WarmupReport report = warmup.run();
+
+        assertEquals(1, report.iterations());
+        assertEquals("max-duration", report.stopReason());
+    }
+
+    @Test
+    void payload_fillsEveryRequiredField() {
+        Task iqTest = flow.steps().get(1).tasks().get(0);
+
+        Map<String, Object> payload = FlowWarmup.payload("9", iqTest, new SplittableRandom(1));
+
+        assertEquals(iqTest.getRequiredFields(), payload.keySet());
+        assertEquals("9", payload.get("user_id"));
+        assertInstanceOf(Integer.class, payload.get("score"));
+    }
+
+    @Test
+    void countQueued_jcmdOutput_countsQueuedMethodsOnly() {
+        String output = """
+                Current compiles:
+                C2 CompilerThread0  1234    4       java.lang.String::hashCode (60 bytes)
+
+                C1 compile queue:
+                Empty
+
+                C2 compile queue:
+                1240    4       java.util.HashMap::get (23 bytes)
+                1241    4       java.util.HashMap::put (13 bytes)
+                """;
+
+        assertEquals(2, FlowWarmup.countQueued(output));
+    }
+}
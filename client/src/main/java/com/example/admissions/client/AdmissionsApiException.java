@@ -0,0 +1,25 @@
+package com.example.admissions.client;
+
+/**
+ * A call the API answered with an error, or that could not reach it after all retries.
+ */
+public class AdmissionsApiException extends RuntimeException {
+    private final int status;
+
+    public AdmissionsApiException(int status, String error) {
+        super(status + ": " + error);
+        this.status = status;
+    }
+
+    public AdmissionsApiException(String error, Throwable cause) {
+        super(error, cause);
+        this.status = 0;
+    }
+
+    /**
+     * @return the HTTP status, or 0 if no response was received
+     */
+    public int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,430 @@
+package com.example.admissions.client;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Client for the admissions API's task completion and status calls.
+ * <pre>
+ * try (AdmissionsClient client = AdmissionsClient.builder(URI.create("http://admissions:8080")).build()) {
+ *     CompleteStepResponse response = client.completeStep(new CompleteStepRequest(userId, "personal_details", payload));
+ *     String status = client.getUserStatus(userId).status();
+ * }
+ * </pre>
+ * One {@link HttpClient} is shared by all calls. It negotiates HTTP/2 where the server offers it, multiplexing
+ * every call over one connection, and otherwise keeps a pool of HTTP/1.1 connections alive.
+ * <p>
+ * Calls made within {@code batchWindow} of each other are coalesced: completions into one
+ * {@code PUT /steps/complete/batch}, status reads into one {@code POST /users/status/batch}, and status reads of
+ * the same user into one item. A call that ends up alone in its window is sent to its single endpoint. Each call
+ * still gets its own response or {@link AdmissionsApiException}, as if it had been sent alone.
+ * <p>
+ * Every completion carries an {@code Idempotency-Key}, generated unless the caller gives one. Completions that fail
+ * with no response, {@code 429}, {@code 502}, {@code 503} or {@code 504} are retried with the same key and
+ * exponential backoff, honouring {@code Retry-After}. The server then replays a completion that already ran
+ * instead of running it twice. Status reads are retried the same way.
+ */
+public final class AdmissionsClient implements AutoCloseable {
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    /**
+     * Items the server accepts in one batch request.
+     */
+    public static final int MAX_BATCH_SIZE = 256;
+
+    private static final Set<Integer> RETRYABLE = Set.of(429, 502, 503, 504);
+
+    private final URI baseUri;
+    private final HttpClient http;
+    private final ObjectMapper objectMapper;
+    private final Duration requestTimeout;
+    private final int maxRetries;
+    private final long retryBackoffNanos;
+    private final ScheduledExecutorService scheduler;
+    private final MicroBatcher<Call<CompleteStepRequest, CompleteStepResponse>> completions;
+    private final MicroBatcher<Call<String, UserStatusResponse>> statuses;
+    private volatile boolean closed;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+
+    private AdmissionsClient(Builder builder) {
+        this.baseUri = builder.baseUri;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(builder.connectTimeout)
+                .build();
+        this.objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.requestTimeout = builder.requestTimeout;
+        this.maxRetries = builder.maxRetries;
+        this.retryBackoffNanos = builder.retryBackoff.toNanos();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "admissions-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long windowNanos = builder.batchWindow.toNanos();
+        this.completions = new MicroBatcher<>(windowNanos, builder.maxBatchSize, scheduler, this::sendCompletions);
+        this.statuses = new MicroBatcher<>(windowNanos, builder.maxBatchSize, scheduler, this::sendStatuses);
+    }
+
+    public static Builder builder(URI baseUri) {
+        return new Builder(baseUri);
+    }
+
+    /**
+     * Creates a user. Not batched, and not retried: a retry after a lost response would fail as a duplicate.
+     *
+     * @return the new user's id
+     */
+    public String createUser(String email) {
+        HttpRequest request = jsonRequest("/users", "POST", objectMapper.createObjectNode().put("email", email)).build();
+        requests.increment();
+        HttpResponse<byte[]> response;
+        try {
+            response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new AdmissionsApiException("POST /users failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AdmissionsApiException("POST /users interrupted", e);
+        }
+        JsonNode json = parse(response.body());
+        if (response.statusCode() / 100 != 2) {
+            throw new AdmissionsApiException(response.statusCode(), error(response.statusCode(), json));
+        }
+        return json.path("id").asText();
+    }
+
+    public CompleteStepResponse completeStep(CompleteStepRequest request) {
+        return join(completeStepAsync(request));
+    }
+
+    /**
+     * @param idempotencyKey identifies this completion across retries, including retries by the caller
+     */
+    public CompleteStepResponse completeStep(CompleteStepRequest request, String idempotencyKey) {
+        return join(completeStepAsync(request, idempotencyKey));
+    }
+
+    public CompletableFuture<CompleteStepResponse> completeStepAsync(CompleteStepRequest request) {
+        return completeStepAsync(request, UUID.randomUUID().toString());
+    }
+
+    public CompletableFuture<CompleteStepResponse> completeStepAsync(CompleteStepRequest request, String idempotencyKey) {
+        Call<CompleteStepRequest, CompleteStepResponse> call =
+                new Call<>(completions, Objects.requireNonNull(request), Objects.requireNonNull(idempotencyKey));
+        submit(call);
+        return call.response;
+    }
+
+    public UserStatusResponse getUserStatus(String userId) {
+        return join(getUserStatusAsync(userId));
+    }
+
+    public CompletableFuture<UserStatusResponse> getUserStatusAsync(String userId) {
+        Call<String, UserStatusResponse> call = new Call<>(statuses, Objects.requireNonNull(userId), null);
+        submit(call);
+        return call.response;
+    }
+
+    /**
+     * @return HTTP requests sent, batches and retries included
+     */
+    public long getRequests() { return requests.sum(); }
+
+    /**
+     * @return batch requests sent, each carrying two or more items
+     */
+    public long getBatches() { return batches.sum(); }
+
+    public long getRetries() { return retries.sum(); }
+
+    /**
+     * Sends the calls still waiting for their batch window. Calls made afterwards are rejected; retries already
+     * scheduled still run, so every call returned so far completes.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        completions.flush();
+        statuses.flush();
+        scheduler.shutdown();
+    }
+
+    private <T, R> void submit(Call<T, R> call) {
+        if (closed) {
+            throw new IllegalStateException("Client is closed");
+        }
+        call.batcher.submit(call);
+    }
+
+    private void sendCompletions(List<Call<CompleteStepRequest, CompleteStepResponse>> batch) {
+        if (batch.size() == 1) {
+            Call<CompleteStepRequest, CompleteStepResponse> call = batch.get(0);
+            HttpRequest request = jsonRequest("/steps/complete", "PUT", objectMapper.valueToTree(call.request))
+                    .header(IDEMPOTENCY_KEY, call.idempotencyKey)
+                    .build();
+            send(request, false, List.of(batch), CompleteStepResponse.class);
+            return;
+        }
+        ObjectNode body = objectMapper.createObjectNode();
+        ArrayNode items = body.putArray("completions");
+        for (Call<CompleteStepRequest, CompleteStepResponse> call : batch) {
+            ObjectNode item = objectMapper.valueToTree(call.request);
+            item.put("idempotency_key", call.idempotencyKey);
+            items.add(item);
+        }
+        send(jsonRequest("/steps/complete/batch", "PUT", body).build(), true, batch.stream().map(List::of).toList(),
+                CompleteStepResponse.class);
+    }
+
+    private void sendStatuses(List<Call<String, UserStatusResponse>> batch) {
+        Map<String, List<Call<String, UserStatusResponse>>> byUser = new LinkedHashMap<>();
+        for (Call<String, UserStatusResponse> call : batch) {
+            byUser.computeIfAbsent(call.request, userId -> new ArrayList<>()).add(call);
+        }
+        List<List<Call<String, UserStatusResponse>>> items = new ArrayList<>(byUser.values());
+        if (items.size() == 1) {
+            String path = "/users/" + URLEncoder.encode(batch.get(0).request, StandardCharsets.UTF_8).replace("+", "%20") + "/status";
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                    .timeout(requestTimeout)
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+            send(request, false, items, UserStatusResponse.class);
+            return;
+        }
+        ObjectNode body = objectMapper.createObjectNode();
+        ArrayNode userIds = body.putArray("user_ids");
+        byUser.keySet().forEach(userIds::add);
+        send(jsonRequest("/users/status/batch", "POST", body).build(), true, items, UserStatusResponse.class);
+    }
+
+    /**
+     * Sends one request answering {@code items}: each item is one request of a batch (or the whole request), shared
+     * by the calls in its list.
+     */
+    private <T, R> void send(HttpRequest request, boolean batched, List<List<Call<T, R>>> items, Class<R> type) {
+        requests.increment();
+        if (batched) {
+            batches.increment();
+        }
+        http.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, failure) -> {
+            if (failure != null) {
+                items.forEach(calls -> calls.forEach(call -> retryOrFail(call, 0, null, failure, 0)));
+                return;
+            }
+            try {
+                JsonNode json = parse(response.body());
+                if (batched && response.statusCode() == 200) {
+                    JsonNode results = json.path("results");
+                    for (int i = 0; i < items.size(); i++) {
+                        JsonNode result = results.path(i);
+                        int status = result.path("status").asInt();
+                        for (Call<T, R> call : items.get(i)) {
+                            settle(call, status, result.get("body"), error(status, result), type, 0);
+                        }
+                    }
+                } else {
+                    long retryAfterNanos = retryAfterNanos(response);
+                    for (List<Call<T, R>> calls : items) {
+                        for (Call<T, R> call : calls) {
+                            settle(call, response.statusCode(), json, error(response.statusCode(), json), type, retryAfterNanos);
+                        }
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                AdmissionsApiException unreadable = new AdmissionsApiException("Unreadable response to " + request.uri(), e);
+                items.forEach(calls -> calls.forEach(call -> call.response.completeExceptionally(unreadable)));
+            }
+        });
+    }
+
+    private <T, R> void settle(Call<T, R> call, int status, JsonNode body, String error, Class<R> type, long retryAfterNanos)
+            throws IOException {
+        if (status / 100 == 2) {
+            call.response.complete(objectMapper.treeToValue(body, type));
+        } else {
+            retryOrFail(call, status, error, null, retryAfterNanos);
+        }
+    }
+
+    /**
+     * @param status  the response status, or 0 if none was received
+     * @param failure why no response was received
+     */
+    private <T, R> void retryOrFail(Call<T, R> call, int status, String error, Throwable failure, long retryAfterNanos) {
+        boolean retryable = status == 0 || RETRYABLE.contains(status);
+        if (retryable && call.attempts < maxRetries) {
+            call.attempts++;
+            retries.increment();
+            long backoff = retryBackoffNanos << (call.attempts - 1);
+            long delay = Math.max(retryAfterNanos, ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1));
+            try {
+                scheduler.schedule(() -> call.batcher.submit(call), delay, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                call.batcher.submit(call); // closed: retry at once rather than never
+            }
+            return;
+        }
+        call.response.completeExceptionally(failure != null
+                ? new AdmissionsApiException("No response after " + (call.attempts + 1) + " attempts", failure)
+                : new AdmissionsApiException(status, error));
+    }
+
+    private HttpRequest.Builder jsonRequest(String path, String method, JsonNode body) {
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Request cannot be written as JSON", e);
+        }
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(bytes));
+    }
+
+    private JsonNode parse(byte[] body) {
+        if (body.length == 0) {
+            return objectMapper.nullNode();
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return objectMapper.nullNode(); // error pages of proxies and servlet containers
+        }
+    }
+
+    private static String error(int status, JsonNode json) {
+        JsonNode error = json.get("error");
+        return error != null && error.isTextual() ? error.asText() : "HTTP " + status;
+    }
+
+    private static long retryAfterNanos(HttpResponse<?> response) {
+        return response.headers().firstValue("Retry-After")
+                .filter(value -> value.chars().allMatch(Character::isDigit) && !value.isEmpty() && value.length() < 6)
+                .map(seconds -> TimeUnit.SECONDS.toNanos(Long.parseLong(seconds)))
+                .orElse(0L);
+    }
+
+    private static <T> T join(CompletableFuture<T> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * One caller's call. Completions carry their idempotency key; status reads have none.
+     */
+    private static final class Call<T, R> {
+        final MicroBatcher<Call<T, R>> batcher;
+        final T request;
+        final String idempotencyKey;
+        final CompletableFuture<R> response = new CompletableFuture<>();
+        int attempts; // retries so far; a call is only ever in one request at a time
+
+        Call(MicroBatcher<Call<T, R>> batcher, T request, String idempotencyKey) {
+            this.batcher = batcher;
+            this.request = request;
+            this.idempotencyKey = idempotencyKey;
+        }
+    }
+
+    public static final class Builder {
+        private final URI baseUri;
+        private Duration batchWindow = Duration.ofMillis(2);
+        private int maxBatchSize = 64;
+        private int maxRetries = 3;
+        private Duration retryBackoff = Duration.ofMillis(50);
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration requestTimeout = Duration.ofSeconds(10);
+
+        private Builder(URI baseUri) {
+            this.baseUri = Objects.requireNonNull(baseUri);
+        }
+
+        /**
+         * @param batchWindow how long the first call of a batch waits for others; zero sends every call alone
+         */
+        public Builder batchWindow(Duration batchWindow) {
+            this.batchWindow = batchWindow;
+            return this;
+        }
+
+        /**
+         * @param maxBatchSize calls per batch request, at most {@value #MAX_BATCH_SIZE}
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize < 1 || maxBatchSize > MAX_BATCH_SIZE) {
+                throw new IllegalArgumentException("Batch size must be 1-" + MAX_BATCH_SIZE);
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * @param maxRetries retries of a call after the first attempt; zero disables retries
+         */
+        public Builder maxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * @param retryBackoff delay before the first retry, doubled for each one after it
+         */
+        public Builder retryBackoff(Duration retryBackoff) {
+            this.retryBackoff = retryBackoff;
+            return this;
+        }
+
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        public AdmissionsClient build() {
+            return new AdmissionsClient(this);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.admissions.client;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Map;
+
+/**
+ * Body of {@code PUT /steps/complete}.
+ *
+ * @param userId      the user identifier
+ * @param taskId      the ID or name of the task to complete
+ * @param taskPayload the payload data for the task completion
+ */
+public record CompleteStepRequest(
+        @JsonProperty("user_id") String userId,
+        @JsonProperty("task_id") String taskId,
+        @JsonProperty("task_payload") Map<String, Object> taskPayload
+) {
+}
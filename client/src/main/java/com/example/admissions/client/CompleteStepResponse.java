@@ -0,0 +1,19 @@
+package com.example.admissions.client;
+
+import java.util.List;
+
+/**
+ * Response of {@code PUT /steps/complete}.
+ *
+ * @param userId     the user identifier
+ * @param taskName   the name of the completed task
+ * @param results    list containing the task result (single item)
+ * @param userStatus the overall user status after completion
+ */
+public record CompleteStepResponse(
+        String userId,
+        String taskName,
+        List<TaskResult> results,
+        String userStatus
+) {
+}
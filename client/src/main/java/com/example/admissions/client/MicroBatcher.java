@@ -0,0 +1,87 @@
+package com.example.admissions.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Collects calls into batches. The first call of a batch opens a window; the batch is sent when the window closes
+ * or as soon as it holds {@code maxBatchSize} calls, whichever comes first. With a zero window every call is sent
+ * on its own.
+ * <p>
+ * {@code send} runs on the thread that filled the batch or on the scheduler thread, so it must not block.
+ */
+final class MicroBatcher<C> {
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+    private final Consumer<List<C>> send;
+
+    private List<C> pending = new ArrayList<>();
+    private long generation; // bumped on every take, so a stale window timer does not cut a later batch short
+
+    MicroBatcher(long windowNanos, int maxBatchSize, ScheduledExecutorService scheduler, Consumer<List<C>> send) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.windowNanos = windowNanos;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = scheduler;
+        this.send = send;
+    }
+
+    void submit(C call) {
+        List<C> batch = null;
+        synchronized (this) {
+            pending.add(call);
+            if (windowNanos <= 0 || pending.size() >= maxBatchSize) {
+                batch = take();
+            } else if (pending.size() == 1) {
+                long window = generation;
+                try {
+                    scheduler.schedule(() -> flush(window), windowNanos, TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    batch = take(); // the scheduler is shut down: nothing would close the window
+                }
+            }
+        }
+        if (batch != null) {
+            send.accept(batch);
+        }
+    }
+
+    /**
+     * Sends the pending calls now, without waiting for the window.
+     */
+    void flush() {
+        List<C> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = take();
+        }
+        send.accept(batch);
+    }
+
+    private void flush(long window) {
+        List<C> batch;
+        synchronized (this) {
+            if (window != generation || pending.isEmpty()) {
+                return;
+            }
+            batch = take();
+        }
+        send.accept(batch);
+    }
+
+    private List<C> take() {
+        List<C> batch = pending;
+        pending = new ArrayList<>();
+        generation++;
+        return batch;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.admissions.client;
+
+/**
+ * Result of a completed task.
+ *
+ * @param taskId   the identifier of the task
+ * @param taskName the human-readable name of the task
+ * @param passed   whether the task was passed
+ */
+public record TaskResult(String taskId, String taskName, boolean passed) {
+}
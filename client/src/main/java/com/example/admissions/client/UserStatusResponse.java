@@ -0,0 +1,9 @@
+package com.example.admissions.client;
+
+/**
+ * Response of {@code GET /users/{id}/status}.
+ *
+ * @param status the user's status: "accepted", "rejected", or "in_progress"
+ */
+public record UserStatusResponse(String status) {
+}
@@ -0,0 +1,108 @@
+package com.example.admissions.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Retry behaviour against a stub server that answers from a script; the full API is exercised against the
+ * application in {@code AdmissionsClientIntegrationTest}.
+ */
+class AdmissionsClientTest {
+    private static final String COMPLETED = "{\"userId\":\"1\",\"taskName\":\"Personal Details Form\","
+            + "\"results\":[{\"taskId\":\"personal_details\",\"taskName\":\"Personal Details Form\",\"passed\":true}],"
+            + "\"userStatus\":\"in_progress\"}";
+    private static final CompleteStepRequest REQUEST = new CompleteStepRequest("1", "personal_details", Map.of("user_id", "1"));
+
+    private final Queue<Integer> statuses = new ConcurrentLinkedQueue<>();
+    private final List<String> idempotencyKeys = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private AdmissionsClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/steps/complete", this::answer);
+        server.start();
+        client = AdmissionsClient.builder(URI.create("http://localhost:" + server.getAddress().getPort()))
+                .batchWindow(Duration.ZERO)
+                .retryBackoff(Duration.ofMillis(1))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.stop(0);
+    }
+
+    @Test
+    void completeStep_serviceUnavailable_retriedWithSameKey() {
+        statuses.add(503);
+        statuses.add(200);
+
+        CompleteStepResponse response = client.completeStep(REQUEST);
+
+        assertEquals("Personal Details Form", response.taskName());
+        assertTrue(response.results().get(0).passed());
+        assertEquals(2, idempotencyKeys.size());
+        assertEquals(idempotencyKeys.get(0), idempotencyKeys.get(1));
+        assertEquals(1, client.getRetries());
+    }
+
+    @Test
+    void completeStep_badRequest_failsWithoutRetry() {
+        statuses.add(400);
+
+        AdmissionsApiException e = assertThrows(AdmissionsApiException.class, () -> client.completeStep(REQUEST, "key-1"));
+
+        assertEquals(400, e.getStatus());
+        assertTrue(e.getMessage().contains("Task already completed"));
+        assertEquals(List.of("key-1"), idempotencyKeys);
+    }
+
+    @Test
+    void completeStep_retriesExhausted_failsWithLastStatus() {
+        for (int i = 0; i < 4; i++) {
+            statuses.add(503);
+        }
+
+        AdmissionsApiException e = assertThrows(AdmissionsApiException.class, () -> client.completeStep(REQUEST));
+
+        assertEquals(503, e.getStatus());
+        assertEquals(4, idempotencyKeys.size());
+        assertEquals(3, client.getRetries());
+    }
+
+    private void answer(HttpExchange exchange) throws IOException {
+        idempotencyKeys.add(exchange.getRequestHeaders().getFirst(AdmissionsClient.IDEMPOTENCY_KEY));
+        exchange.getRequestBody().readAllBytes();
+        Integer status = statuses.poll();
+        int code = status != null ? status : 500;
+        String body = switch (code) {
+            case 200 -> COMPLETED;
+            case 400 -> "{\"error\":\"Task already completed: personal_details\"}";
+            default -> "{\"error\":\"Storage is temporarily unavailable\"}";
+        };
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(code, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
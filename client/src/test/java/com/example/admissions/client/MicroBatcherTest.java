@@ -0,0 +1,76 @@
+package com.example.admissions.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicroBatcherTest {
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final List<List<Integer>> sent = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void submit_withinWindow_sentAsOneBatch() throws Exception {
+        MicroBatcher<Integer> batcher = new MicroBatcher<>(Duration.ofMillis(50).toNanos(), 10, scheduler, sent::add);
+
+        batcher.submit(1);
+        batcher.submit(2);
+        batcher.submit(3);
+        assertTrue(sent.isEmpty());
+
+        awaitBatches(1);
+        assertEquals(List.of(List.of(1, 2, 3)), sent);
+    }
+
+    @Test
+    void submit_batchFull_sentWithoutWaitingForWindow() {
+        MicroBatcher<Integer> batcher = new MicroBatcher<>(Duration.ofHours(1).toNanos(), 2, scheduler, sent::add);
+
+        batcher.submit(1);
+        batcher.submit(2);
+        batcher.submit(3);
+
+        assertEquals(List.of(List.of(1, 2)), sent);
+        batcher.flush();
+        assertEquals(List.of(List.of(1, 2), List.of(3)), sent);
+    }
+
+    @Test
+    void submit_zeroWindow_sentAlone() {
+        MicroBatcher<Integer> batcher = new MicroBatcher<>(0, 10, scheduler, sent::add);
+
+        batcher.submit(1);
+        batcher.submit(2);
+
+        assertEquals(List.of(List.of(1), List.of(2)), sent);
+    }
+
+    @Test
+    void submit_schedulerShutDown_sentAtOnce() {
+        MicroBatcher<Integer> batcher = new MicroBatcher<>(Duration.ofHours(1).toNanos(), 10, scheduler, sent::add);
+        scheduler.shutdown();
+
+        batcher.submit(1);
+
+        assertEquals(List.of(List.of(1)), sent);
+    }
+
+    private void awaitBatches(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sent.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.admissions.engine;
+
+import com.example.admissions.engine.config.FlowConfigLoader;
+import com.example.admissions.engine.logging.EngineEventLog;
+import com.example.admissions.engine.model.CompiledFlow;
+import com.example.admissions.engine.model.FlowAnalysis;
+import com.example.admissions.engine.model.InterpretedFlow;
+import com.example.admissions.engine.model.TaskAttemptHistory;
+import com.example.admissions.engine.service.FlowService;
+import com.example.admissions.engine.service.UserProgressChanged;
+import com.example.admissions.engine.service.UserService;
+import com.example.admissions.engine.storage.InMemoryUserRepository;
+import com.example.admissions.engine.storage.UserRepository;
+
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * The admissions flow engine on its own, for batch jobs, stream processors and tests that have no use for a web
+ * application: a {@link FlowService} and a {@link UserService} over one flow and one user repository.
+ * <pre>
+ * try (AdmissionsEngine engine = AdmissionsEngine.builder()
+ *         .flow(Path.of("flow.json"))
+ *         .repository(fileRepository)
+ *         .build()) {
+ *     String userId = engine.userService().createUser("applicant@example.com").getId();
+ *     engine.flowService().completeStep(userId, "personal_details", payload);
+ * }
+ * </pre>
+ * Without a flow the bundled {@code flow.json} is loaded, and without a repository users are kept in memory;
+ * durable stores such as {@link com.example.admissions.engine.storage.AppendOnlyFileUserRepository} are passed in ready
+ * to use. Events are logged on the calling thread unless an asynchronous {@link EngineEventLog} is given.
+ * Building an engine reads and checks the flow and nothing else, so it takes milliseconds.
+ */
+public final class AdmissionsEngine implements AutoCloseable {
+    private final CompiledFlow flow;
+    private final UserService userService;
+    private final FlowService flowService;
+    private final UserRepository repository;
+    private final EngineEventLog eventLog;
+
+    private AdmissionsEngine(Builder builder, CompiledFlow flow, FlowAnalysis analysis) {
+        this.flow = flow;
+        this.repository = builder.repository != null ? builder.repository : new InMemoryUserRepository();
+        this.eventLog = builder.eventLog != null ? builder.eventLog : EngineEventLog.synchronous();
+        this.userService = analysis != null
+                ? new UserService(repository, builder.attemptHistoryLimit, analysis, eventLog)
+                : new UserService(repository, builder.attemptHistoryLimit, flow.taskCount(), eventLog);
+        this.flowService = new FlowService(flow, userService, builder.progressListener, eventLog);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public CompiledFlow flow() {
+        return flow;
+    }
+
+    public UserService userService() {
+        return userService;
+    }
+
+    public FlowService flowService() {
+        return flowService;
+    }
+
+    /**
+     * Stops the event log's writer thread and closes the repository, if it holds files or connections.
+     */
+    @Override
+    public void close() throws Exception {
+        eventLog.close();
+        if (repository instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    public static final class Builder {
+        private final FlowConfigLoader loader = new FlowConfigLoader();
+        private Path flowFile;
+        private boolean generated;
+        private CompiledFlow compiledFlow;
+        private FlowAnalysis analysis;
+        private UserRepository repository;
+        private int attemptHistoryLimit = TaskAttemptHistory.DEFAULT_LIMIT;
+        private EngineEventLog eventLog;
+        private Consumer<UserProgressChanged> progressListener = event -> { };
+
+        private Builder() {
+        }
+
+        /**
+         * Runs the flow defined in a {@code flow.json} file instead of the bundled one.
+         */
+        public Builder flow(Path flowFile) {
+            this.flowFile = flowFile;
+            return this;
+        }
+
+        /**
+         * Runs the bundled flow through the class generated from it at build time instead of interpreting it.
+         * The flow was checked when the class was generated, so {@code flow.json} is not parsed again and
+         * starting the engine loads no JSON library at all.
+         */
+        public Builder generatedFlow() {
+            this.generated = true;
+            return this;
+        }
+
+        /**
+         * Runs a flow that is already loaded, or built in code. Its {@link FlowAnalysis}, if known, sizes each
+         * user's task maps; without it they are sized for every task in the flow.
+         */
+        public Builder flow(CompiledFlow compiledFlow, FlowAnalysis analysis) {
+            this.compiledFlow = compiledFlow;
+            this.analysis = analysis;
+            return this;
+        }
+
+        public Builder repository(UserRepository repository) {
+            this.repository = repository;
+            return this;
+        }
+
+        /**
+         * @param attemptHistoryLimit how many attempts per task are retained for each user
+         */
+        public Builder attemptHistoryLimit(int attemptHistoryLimit) {
+            this.attemptHistoryLimit = attemptHistoryLimit;
+            return this;
+        }
+
+        public Builder eventLog(EngineEventLog eventLog) {
+            this.eventLog = eventLog;
+            return this;
+        }
+
+        /**
+         * @param progressListener told after each completion that changed a user's state, on the completing thread
+         */
+        public Builder progressListener(Consumer<UserProgressChanged> progressListener) {
+            this.progressListener = progressListener;
+            return this;
+        }
+
+        /**
+         * @throws com.example.admissions.engine.exception.InvalidFlowException if the flow cannot be run
+         * @throws IllegalStateException if more than one flow was given, or the generated flow is missing or stale
+         */
+        public AdmissionsEngine build() {
+            if ((flowFile != null ? 1 : 0) + (generated ? 1 : 0) + (compiledFlow != null ? 1 : 0) > 1) {
+                throw new IllegalStateException("Give at most one of flow(Path), generatedFlow() and flow(CompiledFlow, FlowAnalysis)");
+            }
+            if (compiledFlow != null) {
+                return new AdmissionsEngine(this, compiledFlow, analysis);
+            }
+            if (flowFile != null) {
+                FlowAnalysis fileAnalysis = loader.analyzeFlow(flowFile);
+                return new AdmissionsEngine(this, new InterpretedFlow(loader.loadFlow(flowFile)), fileAnalysis);
+            }
+            if (generated) {
+                return new AdmissionsEngine(this, loader.loadGeneratedFlow(), null);
+            }
+            FlowAnalysis bundledAnalysis = loader.analyzeFlow();
+            return new AdmissionsEngine(this, new InterpretedFlow(loader.loadFlow()), bundledAnalysis);
+        }
+    }
+}
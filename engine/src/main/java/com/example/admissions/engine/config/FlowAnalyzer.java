@@ -0,0 +1,253 @@
+package com.example.admissions.engine.config;
+
+import com.example.admissions.engine.exception.InvalidFlowException;
+import com.example.admissions.engine.model.CompiledFlow;
+import com.example.admissions.engine.model.FlowAnalysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Static analysis of a flow definition, run before the flow is built (and by {@link FlowCodeGenerator} at build time).
+ * <p>
+ * Rejects, with every problem listed in one {@link InvalidFlowException}:
+ * <ul>
+ *   <li>tasks without an id or name, and duplicate task ids</li>
+ *   <li>missing or unknown pass and visibility conditions, or conditions missing their parameters</li>
+ *   <li>pass conditions on a field that is not in the task's {@code requiredFields}, which would silently fail
+ *       every payload without it</li>
+ *   <li>visibility conditions referencing an unknown task, the task itself or a later task</li>
+ * </ul>
+ * Warns about labels (id or name) that several tasks answer to ignoring case, visibility conditions reading a
+ * field the referenced task does not require, and tasks that can never be shown.
+ * <p>
+ * Since visibility may only depend on earlier tasks, one pass in flow order computes every derived fact, and
+ * the whole analysis is linear apart from sorting condition ranges.
+ */
+final class FlowAnalyzer {
+    private static final Set<String> PASS_CONDITIONS = Set.of("always", "scoreGreaterThan", "equals");
+
+    private FlowAnalyzer() {
+    }
+
+    /**
+     * @throws InvalidFlowException if the flow cannot be run
+     */
+    static FlowAnalysis analyze(FlowJsonDto flow) {
+        List<String> errors = new ArrayList<>();
+        List<String> warnings = new ArrayList<>();
+        if (flow.steps() == null) {
+            throw new InvalidFlowException(List.of("flow " + flow.id() + " has no steps"));
+        }
+
+        List<TaskJsonDto> tasks = new ArrayList<>();
+        Map<String, Integer> ordinals = new HashMap<>();
+        for (StepJsonDto step : flow.steps()) {
+            if (step.tasks() == null) {
+                errors.add("step " + step.id() + " has no tasks");
+                continue;
+            }
+            for (TaskJsonDto task : step.tasks()) {
+                int ordinal = tasks.size();
+                tasks.add(task);
+                if (task.id() == null || task.id().isBlank()) {
+                    errors.add("task #" + (ordinal + 1) + " (step " + step.id() + ") has no id");
+                    continue;
+                }
+                if (task.name() == null || task.name().isBlank()) {
+                    errors.add("task " + task.id() + " has no name");
+                }
+                if (ordinals.putIfAbsent(task.id(), ordinal) != null) {
+                    errors.add("duplicate task id " + task.id());
+                }
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new InvalidFlowException(errors);
+        }
+
+        warnSharedLabels(tasks, warnings);
+        for (int ordinal = 0; ordinal < tasks.size(); ordinal++) {
+            checkPassCondition(tasks.get(ordinal), errors);
+            checkVisibilityCondition(tasks, ordinal, ordinals, errors, warnings);
+        }
+        if (!errors.isEmpty()) {
+            throw new InvalidFlowException(errors);
+        }
+        return derive(tasks, ordinals, warnings);
+    }
+
+    private static void warnSharedLabels(List<TaskJsonDto> tasks, List<String> warnings) {
+        Map<String, Integer> owners = new HashMap<>();
+        for (int ordinal = 0; ordinal < tasks.size(); ordinal++) {
+            for (String label : new String[]{tasks.get(ordinal).id(), tasks.get(ordinal).name()}) {
+                Integer owner = owners.putIfAbsent(CompiledFlow.foldCase(label), ordinal);
+                if (owner != null && owner != ordinal) {
+                    warnings.add("task " + tasks.get(ordinal).id() + " answers to \"" + label + "\" like task "
+                            + tasks.get(owner).id() + "; lookups by it resolve to the first visible of them");
+                }
+            }
+        }
+    }
+
+    private static void checkPassCondition(TaskJsonDto task, List<String> errors) {
+        ConditionJsonDto condition = task.passCondition();
+        if (condition == null || condition.type() == null || !PASS_CONDITIONS.contains(condition.type())) {
+            errors.add("task " + task.id() + " has " + (condition == null ? "no pass condition"
+                    : "an unknown pass condition type " + condition.type()));
+            return;
+        }
+        if (condition.type().equals("always")) {
+            return;
+        }
+        if (condition.field() == null) {
+            errors.add("task " + task.id() + ": " + condition.type() + " needs a field");
+        } else if (task.requiredFields() == null || !task.requiredFields().contains(condition.field())) {
+            errors.add("task " + task.id() + ": pass condition reads " + condition.field()
+                    + ", which is not in requiredFields");
+        }
+        if (condition.type().equals("scoreGreaterThan") && condition.threshold() == null) {
+            errors.add("task " + task.id() + ": scoreGreaterThan needs a threshold");
+        }
+        if (condition.type().equals("equals") && condition.value() == null) {
+            errors.add("task " + task.id() + ": equals needs a value");
+        }
+    }
+
+    private static void checkVisibilityCondition(List<TaskJsonDto> tasks, int ordinal, Map<String, Integer> ordinals,
+                                                 List<String> errors, List<String> warnings) {
+        TaskJsonDto task = tasks.get(ordinal);
+        ConditionJsonDto condition = task.visibilityCondition();
+        if (condition == null) {
+            errors.add("task " + task.id() + " has no visibility condition");
+            return;
+        }
+        switch (String.valueOf(condition.type())) {
+            case "always" -> { }
+            case "previousTaskScoreBetween" -> {
+                if (condition.min() == null || condition.max() == null) {
+                    errors.add("task " + task.id() + ": previousTaskScoreBetween needs min and max");
+                }
+                Integer reference = condition.taskId() == null ? null : ordinals.get(condition.taskId());
+                if (reference == null) {
+                    errors.add("task " + task.id() + " is visible depending on unknown task " + condition.taskId());
+                } else if (reference >= ordinal) {
+                    errors.add("task " + task.id() + " is visible depending on "
+                            + (reference == ordinal ? "itself" : "later task " + condition.taskId()));
+                } else {
+                    TaskJsonDto referenced = tasks.get(reference);
+                    if (referenced.requiredFields() == null || !referenced.requiredFields().contains(condition.scoreField())) {
+                        warnings.add("task " + task.id() + " is visible depending on " + condition.scoreField()
+                                + " of task " + referenced.id() + ", which does not require it");
+                    }
+                }
+            }
+            default -> errors.add("task " + task.id() + " has an unknown visibility condition type " + condition.type());
+        }
+    }
+
+    private static FlowAnalysis derive(List<TaskJsonDto> tasks, Map<String, Integer> ordinals, List<String> warnings) {
+        int count = tasks.size();
+        int[] depth = new int[count];
+        boolean[] reachable = new boolean[count];
+        int maxDepth = 0;
+        int alwaysVisible = 0;
+        // (referenced task, field) -> visibility ranges of the reachable tasks depending on it
+        Map<String, List<double[]>> ranges = new LinkedHashMap<>();
+
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            TaskJsonDto task = tasks.get(ordinal);
+            ConditionJsonDto visibility = task.visibilityCondition();
+            if (visibility.type().equals("always")) {
+                reachable[ordinal] = true;
+                alwaysVisible++;
+                continue;
+            }
+            int reference = ordinals.get(visibility.taskId());
+            depth[ordinal] = depth[reference] + 1;
+            maxDepth = Math.max(maxDepth, depth[ordinal]);
+            String reason = unreachableReason(tasks.get(reference), reachable[reference], visibility);
+            if (reason != null) {
+                warnings.add("task " + task.id() + " can never be shown: " + reason);
+                continue;
+            }
+            reachable[ordinal] = true;
+            ranges.computeIfAbsent(reference + ":" + visibility.scoreField(), k -> new ArrayList<>())
+                    .add(new double[]{visibility.min(), visibility.max()});
+        }
+
+        // Counting sort by depth keeps flow order within a depth
+        int[] starts = new int[maxDepth + 2];
+        for (int d : depth) {
+            starts[d + 1]++;
+        }
+        for (int d = 1; d < starts.length; d++) {
+            starts[d] += starts[d - 1];
+        }
+        String[] dependencyOrder = new String[count];
+        List<String> unreachable = new ArrayList<>();
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            dependencyOrder[starts[depth[ordinal]]++] = tasks.get(ordinal).id();
+            if (!reachable[ordinal]) {
+                unreachable.add(tasks.get(ordinal).id());
+            }
+        }
+
+        int maxPathLength = alwaysVisible;
+        for (List<double[]> group : ranges.values()) {
+            maxPathLength += maxOverlap(group);
+        }
+        return new FlowAnalysis(count, Arrays.asList(dependencyOrder), unreachable, maxPathLength, warnings);
+    }
+
+    /**
+     * @return why a task visible for a score range of {@code referenced} can never be shown, or null if it can
+     */
+    private static String unreachableReason(TaskJsonDto referenced, boolean referencedReachable, ConditionJsonDto visibility) {
+        if (!referencedReachable) {
+            return "it depends on " + referenced.id() + ", which can never be shown";
+        }
+        if (!(visibility.min() <= visibility.max())) {
+            return "its score range " + visibility.min() + "-" + visibility.max() + " is empty";
+        }
+        ConditionJsonDto pass = referenced.passCondition();
+        // Every score in range fails a task that cannot be redone, and a failed non-redoable task rejects the applicant
+        if (Boolean.FALSE.equals(referenced.redoable()) && pass.type().equals("scoreGreaterThan")
+                && pass.field().equals(visibility.scoreField()) && visibility.max() <= pass.threshold()) {
+            return "every " + visibility.scoreField() + " in " + visibility.min() + "-" + visibility.max()
+                    + " fails " + referenced.id() + ", which rejects the applicant";
+        }
+        return null;
+    }
+
+    /**
+     * @return the largest number of closed ranges sharing a point
+     */
+    private static int maxOverlap(List<double[]> group) {
+        double[] starts = new double[group.size()];
+        double[] ends = new double[group.size()];
+        for (int i = 0; i < group.size(); i++) {
+            starts[i] = group.get(i)[0];
+            ends[i] = group.get(i)[1];
+        }
+        Arrays.sort(starts);
+        Arrays.sort(ends);
+        int open = 0;
+        int max = 0;
+        for (int s = 0, e = 0; s < starts.length; ) {
+            if (starts[s] <= ends[e]) {
+                max = Math.max(max, ++open);
+                s++;
+            } else {
+                open--;
+                e++;
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,456 @@
+package com.example.admissions.engine.config;
+
+import com.example.admissions.engine.model.CompiledFlow;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Build-time compiler of {@code flow.json} into {@value CompiledFlow#GENERATED_CLASS}.
+ * <p>
+ * The generated class numbers the tasks with {@code public static final int} constants, looks tasks up by
+ * a switch over the case-insensitive hashes of their ids and names (labels shared by several tasks test
+ * visibility in flow order), inlines every pass condition into one switch on the ordinal and unrolls the current-position
+ * scan into straight-line code. It carries the SHA-256 of the {@code flow.json} it was generated from, so
+ * {@link FlowConfigLoader#loadGeneratedFlow()} refuses a class that no longer matches the resource.
+ * <p>
+ * Methods are split every {@value #CHUNK} tasks (and the lookup switch by label hash) so a flow of a few
+ * thousand tasks still yields methods small enough for the JIT to compile.
+ * <p>
+ * Maven runs it in {@code process-classes} and compiles the output into {@code target/classes}:
+ * <pre>
+ * FlowCodeGenerator &lt;flow.json&gt; &lt;source output directory&gt;
+ * </pre>
+ */
+public final class FlowCodeGenerator {
+    static final String DIGEST_FIELD = "SOURCE_SHA256";
+    static final int CHUNK = 200;
+
+    private static final Set<String> RESERVED = Set.of(DIGEST_FIELD, "TASK_COUNT", "STEP_OF", "STEP_IDS", "STEP_NAMES");
+
+    private FlowCodeGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: FlowCodeGenerator <flow.json> <source output directory>");
+        }
+        byte[] source = Files.readAllBytes(Path.of(args[0]));
+        String code = generate(FlowConfigLoader.parseDto(source), FlowConfigLoader.sha256(source));
+        Path target = Path.of(args[1]).resolve(CompiledFlow.GENERATED_CLASS.replace('.', '/') + ".java");
+        Files.createDirectories(target.getParent());
+        // Leave an unchanged file alone so the compiler does not rebuild it
+        if (!Files.exists(target) || !Files.readString(target).equals(code)) {
+            Files.writeString(target, code);
+        }
+    }
+
+    static String generate(FlowJsonDto flow, String sourceDigest) {
+        FlowAnalyzer.analyze(flow); // an invalid flow fails the build
+        List<GeneratedTask> tasks = new ArrayList<>();
+        Set<String> constants = new HashSet<>(RESERVED);
+        for (int stepIndex = 0; stepIndex < flow.steps().size(); stepIndex++) {
+            for (TaskJsonDto task : flow.steps().get(stepIndex).tasks()) {
+                int ordinal = tasks.size();
+                String constant = constantName(task.id());
+                if (!constants.add(constant)) {
+                    constant = constant + "_" + ordinal;
+                    constants.add(constant);
+                }
+                tasks.add(new GeneratedTask(ordinal, stepIndex, constant, task,
+                        passExpression(task.passCondition()), visibilityExpression(task.visibilityCondition())));
+            }
+        }
+
+        String className = CompiledFlow.GENERATED_CLASS.substring(CompiledFlow.GENERATED_CLASS.lastIndexOf('.') + 1);
+        StringBuilder out = new StringBuilder(16_384);
+        out.append("// Generated by ").append(FlowCodeGenerator.class.getName()).append(" from flow.json; do not edit.\n");
+        out.append("package ").append(CompiledFlow.GENERATED_CLASS, 0, CompiledFlow.GENERATED_CLASS.lastIndexOf('.')).append(";\n\n");
+        out.append("""
+                import com.example.admissions.engine.model.CompiledFlow;
+                import com.example.admissions.engine.model.Flow;
+                import com.example.admissions.engine.model.Step;
+                import com.example.admissions.engine.model.Task;
+                import com.example.admissions.engine.model.TaskResult;
+                import com.example.admissions.engine.model.UserStateSnapshot;
+
+                import java.util.ArrayList;
+                import java.util.Arrays;
+                import java.util.HashSet;
+                import java.util.List;
+                import java.util.Map;
+                import java.util.Set;
+
+                """);
+        out.append("/**\n * Flow ").append(javadocText(flow.name())).append(" (").append(javadocText(flow.id()))
+                .append(") compiled to Java.\n */\n");
+        out.append("public final class ").append(className).append(" implements CompiledFlow {\n");
+        out.append("    public static final String ").append(DIGEST_FIELD).append(" = ").append(literal(sourceDigest)).append(";\n");
+        out.append("    public static final int TASK_COUNT = ").append(tasks.size()).append(";\n\n");
+        for (GeneratedTask task : tasks) {
+            out.append("    public static final int ").append(task.constant).append(" = ").append(task.ordinal).append(";\n");
+        }
+        out.append("\n    private static final int[] STEP_OF = {")
+                .append(tasks.stream().map(t -> String.valueOf(t.stepIndex)).collect(Collectors.joining(", "))).append("};\n");
+        out.append("    private static final String[] STEP_IDS = {")
+                .append(flow.steps().stream().map(s -> literal(s.id())).collect(Collectors.joining(", "))).append("};\n");
+        out.append("    private static final String[] STEP_NAMES = {")
+                .append(flow.steps().stream().map(s -> literal(s.name())).collect(Collectors.joining(", "))).append("};\n\n");
+
+        writeConstructor(out, className, flow, tasks);
+        writeAccessors(out);
+        writeFindTask(out, tasks);
+        writePassed(out, tasks);
+        writeCurrentTask(out, tasks);
+        writeHelpers(out);
+        out.append("}\n");
+        return out.toString();
+    }
+
+    private static void writeConstructor(StringBuilder out, String className, FlowJsonDto flow, List<GeneratedTask> tasks) {
+        out.append("    private final Task[] tasks = new Task[TASK_COUNT];\n");
+        out.append("    private final Flow flow;\n\n");
+        out.append("    public ").append(className).append("() {\n");
+        for (int chunk = 0; chunk * CHUNK < tasks.size(); chunk++) {
+            out.append("        defineTasks").append(chunk).append("();\n");
+        }
+        out.append("""
+                        List<Step> steps = new ArrayList<>(STEP_IDS.length);
+                        int first = 0;
+                        for (int step = 0; step < STEP_IDS.length; step++) {
+                            int end = first;
+                            while (end < TASK_COUNT && STEP_OF[end] == step) {
+                                end++;
+                            }
+                            steps.add(new Step(STEP_IDS[step], STEP_NAMES[step], Arrays.asList(tasks).subList(first, end)));
+                            first = end;
+                        }
+                """);
+        out.append("        flow = new Flow(").append(literal(flow.id())).append(", ").append(literal(flow.name()))
+                .append(", steps);\n    }\n");
+        for (int chunk = 0; chunk * CHUNK < tasks.size(); chunk++) {
+            out.append("\n    private void defineTasks").append(chunk).append("() {\n");
+            for (GeneratedTask task : chunk(tasks, chunk)) {
+                TaskJsonDto dto = task.dto;
+                out.append("        tasks[").append(task.constant).append("] = new Task(")
+                        .append(literal(dto.id())).append(", ").append(literal(dto.name())).append(", ")
+                        .append(dto.requiredFields() == null ? "null" : "fields(" + dto.requiredFields().stream()
+                                .map(FlowCodeGenerator::literal).collect(Collectors.joining(", ")) + ")")
+                        .append(",\n                payload -> passed(").append(task.constant).append(", payload), snapshot -> ")
+                        .append(task.visibility == null ? "true" : task.visibility).append(", ")
+                        .append(dto.redoable() != null ? dto.redoable() : true).append(");\n");
+            }
+            out.append("    }\n");
+        }
+    }
+
+    private static void writeAccessors(StringBuilder out) {
+        out.append("""
+
+                    @Override
+                    public Flow flow() { return flow; }
+
+                    @Override
+                    public int taskCount() { return TASK_COUNT; }
+
+                    @Override
+                    public Task task(int ordinal) { return tasks[ordinal]; }
+
+                    @Override
+                    public int stepOf(int ordinal) { return STEP_OF[ordinal]; }
+                """);
+    }
+
+    private static void writeFindTask(StringBuilder out, List<GeneratedTask> tasks) {
+        // Label as written -> tasks carrying it as id or name, in flow order; one entry per label ignoring case
+        Map<String, String> spelling = new LinkedHashMap<>();
+        Map<String, List<GeneratedTask>> byLabel = new LinkedHashMap<>();
+        for (GeneratedTask task : tasks) {
+            for (String label : new String[]{task.dto.id(), task.dto.name()}) {
+                String written = spelling.computeIfAbsent(CompiledFlow.foldCase(label), folded -> label);
+                List<GeneratedTask> carriers = byLabel.computeIfAbsent(written, l -> new ArrayList<>());
+                if (!carriers.contains(task)) {
+                    carriers.add(task);
+                }
+            }
+        }
+        Map<Integer, Map<String, List<GeneratedTask>>> byHash = new LinkedHashMap<>();
+        byLabel.forEach((label, carriers) ->
+                byHash.computeIfAbsent(CompiledFlow.foldedHash(label), h -> new LinkedHashMap<>()).put(label, carriers));
+
+        int buckets = byHash.size() > CHUNK ? Integer.highestOneBit(byHash.size() / CHUNK) * 2 : 1;
+        List<Map<Integer, Map<String, List<GeneratedTask>>>> bucketed = new ArrayList<>();
+        for (int i = 0; i < buckets; i++) {
+            bucketed.add(new LinkedHashMap<>());
+        }
+        byHash.forEach((hash, labels) -> bucketed.get(hash & (buckets - 1)).put(hash, labels));
+
+        out.append("\n    @Override\n    public int findTask(String idOrName, UserStateSnapshot snapshot) {\n");
+        if (buckets == 1) {
+            writeLabelSwitch(out, bucketed.get(0), "CompiledFlow.foldedHash(idOrName)");
+            out.append("    }\n");
+            return;
+        }
+        out.append("        int hash = CompiledFlow.foldedHash(idOrName);\n");
+        out.append("        return switch (hash & ").append(buckets - 1).append(") {\n");
+        for (int i = 0; i < buckets; i++) {
+            out.append("            case ").append(i).append(" -> findTask").append(i).append("(hash, idOrName, snapshot);\n");
+        }
+        out.append("            default -> -1;\n        };\n    }\n");
+        for (int i = 0; i < buckets; i++) {
+            out.append("\n    private static int findTask").append(i)
+                    .append("(int hash, String idOrName, UserStateSnapshot snapshot) {\n");
+            writeLabelSwitch(out, bucketed.get(i), "hash");
+            out.append("    }\n");
+        }
+    }
+
+    /**
+     * Switches on the case-insensitive hash of {@code idOrName}, then confirms the label with
+     * {@link String#equalsIgnoreCase}; labels resolving the same way are tested together.
+     */
+    private static void writeLabelSwitch(StringBuilder out, Map<Integer, Map<String, List<GeneratedTask>>> byHash,
+                                         String hash) {
+        out.append("        return switch (").append(hash).append(") {\n");
+        byHash.forEach((value, labels) -> {
+            Map<String, List<String>> labelsByResult = new LinkedHashMap<>();
+            labels.forEach((label, carriers) -> labelsByResult.computeIfAbsent(resolution(carriers), r -> new ArrayList<>())
+                    .add("idOrName.equalsIgnoreCase(" + literal(label) + ")"));
+            StringBuilder expression = new StringBuilder();
+            labelsByResult.forEach((result, tests) -> expression
+                    .append(tests.size() == 1 ? tests.get(0) : "(" + String.join(" || ", tests) + ")")
+                    .append(" ? ").append(result.contains(" ") ? "(" + result + ")" : result).append(" : "));
+            out.append("            case ").append(value).append(" -> ").append(expression).append("-1;\n");
+        });
+        out.append("            default -> -1;\n        };\n");
+    }
+
+    /**
+     * @return the expression picking the first visible task among {@code carriers}
+     */
+    private static String resolution(List<GeneratedTask> carriers) {
+        StringBuilder expression = new StringBuilder();
+        for (GeneratedTask task : carriers) {
+            if (task.visibility == null) {
+                return expression.append(task.constant).toString();
+            }
+            expression.append(task.visibility).append(" ? ").append(task.constant).append(" : ");
+        }
+        return expression.append("-1").toString();
+    }
+
+    private static void writePassed(StringBuilder out, List<GeneratedTask> tasks) {
+        out.append("\n    @Override\n    public boolean passed(int ordinal, Map<String, Object> payload) {\n");
+        List<Integer> conditionalChunks = new ArrayList<>();
+        for (int chunk = 0; chunk * CHUNK < tasks.size(); chunk++) {
+            if (chunk(tasks, chunk).stream().anyMatch(t -> t.pass != null)) {
+                conditionalChunks.add(chunk);
+            }
+        }
+        if (conditionalChunks.isEmpty()) {
+            out.append("        return true;\n    }\n");
+        } else if (tasks.size() <= CHUNK) {
+            writePassSwitch(out, tasks);
+            out.append("    }\n");
+        } else {
+            out.append("        return switch (ordinal / ").append(CHUNK).append(") {\n");
+            for (int chunk : conditionalChunks) {
+                out.append("            case ").append(chunk).append(" -> passed").append(chunk).append("(ordinal, payload);\n");
+            }
+            out.append("            default -> true;\n        };\n    }\n");
+            for (int chunk : conditionalChunks) {
+                out.append("\n    private static boolean passed").append(chunk).append("(int ordinal, Map<String, Object> payload) {\n");
+                writePassSwitch(out, chunk(tasks, chunk));
+                out.append("    }\n");
+            }
+        }
+    }
+
+    private static void writePassSwitch(StringBuilder out, List<GeneratedTask> tasks) {
+        out.append("        return switch (ordinal) {\n");
+        for (GeneratedTask task : tasks) {
+            if (task.pass != null) {
+                out.append("            case ").append(task.constant).append(" -> ").append(task.pass).append(";\n");
+            }
+        }
+        out.append("            default -> true;\n        };\n");
+    }
+
+    private static void writeCurrentTask(StringBuilder out, List<GeneratedTask> tasks) {
+        int chunks = (tasks.size() + CHUNK - 1) / CHUNK;
+        out.append("""
+
+                    @Override
+                    public int currentTask(UserStateSnapshot snapshot) {
+                        Map<String, TaskResult> completed = snapshot.completedTasks();
+                """);
+        if (chunks > 0) {
+            out.append("        int ordinal;\n");
+        }
+        for (String pass : new String[]{"failed", "notAttempted"}) {
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                out.append("        if ((ordinal = ").append(pass).append(chunk).append("(completed, snapshot)) >= 0) {\n")
+                        .append("            return ordinal;\n        }\n");
+            }
+        }
+        out.append("        return -1;\n    }\n");
+
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            out.append("\n    private static int failed").append(chunk)
+                    .append("(Map<String, TaskResult> completed, UserStateSnapshot snapshot) {\n");
+            for (GeneratedTask task : chunk(tasks, chunk)) {
+                out.append("        if (").append(task.visibility == null ? "" : task.visibility + " && ")
+                        .append("failed(completed.get(").append(literal(task.dto.id())).append("))) {\n")
+                        .append("            return ").append(task.constant).append(";\n        }\n");
+            }
+            out.append("        return -1;\n    }\n");
+        }
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            out.append("\n    private static int notAttempted").append(chunk)
+                    .append("(Map<String, TaskResult> completed, UserStateSnapshot snapshot) {\n");
+            for (GeneratedTask task : chunk(tasks, chunk)) {
+                out.append("        if (").append(task.visibility == null ? "" : task.visibility + " && ")
+                        .append("!completed.containsKey(").append(literal(task.dto.id())).append(")) {\n")
+                        .append("            return ").append(task.constant).append(";\n        }\n");
+            }
+            out.append("        return -1;\n    }\n");
+        }
+    }
+
+    private static void writeHelpers(StringBuilder out) {
+        out.append("""
+
+                    private static boolean failed(TaskResult result) {
+                        return result != null && !result.passed();
+                    }
+
+                    private static double number(Object value) {
+                        if (value instanceof Number number) {
+                            return number.doubleValue();
+                        }
+                        try {
+                            return Double.parseDouble(String.valueOf(value));
+                        } catch (NumberFormatException e) {
+                            return Double.NaN; // compares false with every threshold
+                        }
+                    }
+
+                    private static boolean scoreBetween(UserStateSnapshot snapshot, String taskId, String field,
+                                                        double min, double max) {
+                        TaskResult result = snapshot.completedTasks().get(taskId);
+                        if (result == null) {
+                            return false;
+                        }
+                        double score = number(result.payload().get(field));
+                        return score >= min && score <= max;
+                    }
+
+                    private static boolean equalTo(Object value, String expected) {
+                        return value != null && expected.equals(String.valueOf(value));
+                    }
+
+                    private static Set<String> fields(String... names) {
+                        Set<String> fields = new HashSet<>();
+                        for (String name : names) {
+                            fields.add(name);
+                        }
+                        return fields;
+                    }
+                """);
+    }
+
+    /**
+     * The inlined form of a pass condition over {@code payload}, or {@code null} if the task always passes.
+     * Supports exactly the conditions {@link FlowConfigLoader} does.
+     */
+    private static String passExpression(ConditionJsonDto condition) {
+        return switch (condition.type()) {
+            case "always" -> null;
+            case "scoreGreaterThan" ->
+                    "number(payload.get(" + literal(condition.field()) + ")) > " + doubleLiteral(condition.threshold());
+            case "equals" ->
+                    "equalTo(payload.get(" + literal(condition.field()) + "), " + literal(condition.value()) + ")";
+            default -> throw new IllegalArgumentException("Unknown pass condition type: " + condition.type());
+        };
+    }
+
+    /**
+     * The inlined form of a visibility condition over {@code snapshot}, or {@code null} if the task is always visible.
+     */
+    private static String visibilityExpression(ConditionJsonDto condition) {
+        return switch (condition.type()) {
+            case "always" -> null;
+            case "previousTaskScoreBetween" -> "scoreBetween(snapshot, " + literal(condition.taskId()) + ", "
+                    + literal(condition.scoreField()) + ", " + doubleLiteral(condition.min()) + ", "
+                    + doubleLiteral(condition.max()) + ")";
+            default -> throw new IllegalArgumentException("Unknown visibility condition type: " + condition.type());
+        };
+    }
+
+    private static List<GeneratedTask> chunk(List<GeneratedTask> tasks, int chunk) {
+        return tasks.subList(chunk * CHUNK, Math.min(tasks.size(), (chunk + 1) * CHUNK));
+    }
+
+    static String constantName(String taskId) {
+        StringBuilder name = new StringBuilder();
+        for (char c : taskId.toUpperCase(Locale.ROOT).toCharArray()) {
+            name.append((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') ? c : '_');
+        }
+        if (name.isEmpty() || Character.isDigit(name.charAt(0))) {
+            name.insert(0, "TASK_");
+        }
+        return name.toString();
+    }
+
+    static String literal(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder literal = new StringBuilder(value.length() + 2).append('"');
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> literal.append("\\\"");
+                case '\\' -> literal.append("\\\\");
+                case '\n' -> literal.append("\\n");
+                case '\r' -> literal.append("\\r");
+                case '\t' -> literal.append("\\t");
+                default -> {
+                    if (c < 0x20 || c > 0x7e) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+                }
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    private static String doubleLiteral(double value) {
+        if (Double.isNaN(value)) {
+            return "Double.NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY";
+        }
+        return Double.toString(value);
+    }
+
+    private static String javadocText(String text) {
+        return text.replace("*/", "*&#47;").replace("\\u", "\\\\u").replace("@", "{@literal @}")
+                .replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private record GeneratedTask(int ordinal, int stepIndex, String constant, TaskJsonDto dto,
+                                 String pass, String visibility) {
+    }
+}
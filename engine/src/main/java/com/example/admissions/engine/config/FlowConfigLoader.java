@@ -0,0 +1,228 @@
+package com.example.admissions.engine.config;
+
+import com.example.admissions.engine.exception.InvalidFlowException;
+import com.example.admissions.engine.model.CompiledFlow;
+import com.example.admissions.engine.model.Flow;
+import com.example.admissions.engine.model.FlowAnalysis;
+import com.example.admissions.engine.model.Step;
+import com.example.admissions.engine.model.Task;
+import com.example.admissions.engine.model.TaskResult;
+import com.example.admissions.engine.model.UserStateSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Loads flow configuration from JSON file using Jackson.
+ * Enables non-developers (PMs) to modify the flow without code changes.
+ */
+@Slf4j
+public class FlowConfigLoader {
+    public static final String DEFAULT_RESOURCE = "flow.json";
+
+    /**
+     * Created on first parse, so loading only the generated flow never initializes Jackson.
+     */
+    private static final class Json {
+        static final ObjectMapper MAPPER = new ObjectMapper();
+    }
+
+    /**
+     * Loads the flow configuration from flow.json resource file.
+     *
+     * @throws InvalidFlowException if {@link FlowAnalyzer} rejects the flow
+     */
+    public Flow loadFlow() {
+        return parseFlow(readSource());
+    }
+
+    /**
+     * Loads a flow definition from a file instead of the classpath, e.g. an earlier version of flow.json.
+     *
+     * @throws InvalidFlowException if {@link FlowAnalyzer} rejects the flow
+     */
+    public Flow loadFlow(Path path) {
+        try {
+            return parseFlow(Files.readAllBytes(path));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load flow configuration from " + path, e);
+        }
+    }
+
+    /**
+     * Analyzes flow.json and logs the warnings found.
+     *
+     * @throws InvalidFlowException if the flow cannot be run
+     */
+    public FlowAnalysis analyzeFlow() {
+        return analyze(readSource());
+    }
+
+    /**
+     * Analyzes a flow definition file and logs the warnings found.
+     *
+     * @throws InvalidFlowException if the flow cannot be run
+     */
+    public FlowAnalysis analyzeFlow(Path path) {
+        try {
+            return analyze(Files.readAllBytes(path));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load flow configuration from " + path, e);
+        }
+    }
+
+    private FlowAnalysis analyze(byte[] source) {
+        try {
+            FlowAnalysis analysis = FlowAnalyzer.analyze(parseDto(source));
+            analysis.warnings().forEach(warning -> log.warn("Flow configuration: {}", warning));
+            return analysis;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load flow configuration from JSON", e);
+        }
+    }
+
+    /**
+     * Loads the class generated from flow.json at build time (see {@link FlowCodeGenerator}).
+     *
+     * @throws IllegalStateException if the class was not generated, or was generated from a different flow.json
+     */
+    public CompiledFlow loadGeneratedFlow() {
+        Class<?> generated;
+        try {
+            generated = Class.forName(CompiledFlow.GENERATED_CLASS);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Generated flow not found; build with Maven to generate "
+                    + CompiledFlow.GENERATED_CLASS, e);
+        }
+        try {
+            String digest = (String) generated.getField(FlowCodeGenerator.DIGEST_FIELD).get(null);
+            if (!digest.equals(sha256(readSource()))) {
+                throw new IllegalStateException(CompiledFlow.GENERATED_CLASS
+                        + " was generated from a different flow.json; rebuild to regenerate it");
+            }
+            return (CompiledFlow) generated.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instantiate " + CompiledFlow.GENERATED_CLASS, e);
+        }
+    }
+
+    static String sha256(byte[] source) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(source));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static FlowJsonDto parseDto(byte[] source) throws IOException {
+        return Json.MAPPER.readValue(source, FlowJsonDto.class);
+    }
+
+    private byte[] readSource() {
+        try (InputStream inputStream = FlowConfigLoader.class.getClassLoader().getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (inputStream == null) {
+                throw new IOException(DEFAULT_RESOURCE + " not found on the classpath");
+            }
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read flow configuration", e);
+        }
+    }
+
+    Flow parseFlow(byte[] source) {
+        try {
+            FlowJsonDto flowDto = parseDto(source);
+            FlowAnalyzer.analyze(flowDto);
+
+            List<Step> steps = flowDto.steps().stream()
+                    .map(stepDto -> {
+                        List<Task> tasks = stepDto.tasks().stream()
+                                .map(taskDto -> new Task(
+                                        taskDto.id(),
+                                        taskDto.name(),
+                                        taskDto.requiredFields(),
+                                        createPassPredicate(taskDto.passCondition()),
+                                        createVisibilityPredicate(taskDto.visibilityCondition()),
+                                        taskDto.redoable() != null ? taskDto.redoable() : true // Default to true if not specified
+                                ))
+                                .toList();
+                        return new Step(stepDto.id(), stepDto.name(), tasks);
+                    })
+                    .toList();
+
+            return new Flow(flowDto.id(), flowDto.name(), steps);
+        } catch (InvalidFlowException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load flow configuration from JSON", e);
+        }
+    }
+
+    private Predicate<Map<String, Object>> createPassPredicate(ConditionJsonDto condition) {
+        return switch (condition.type()) {
+            case "always" -> payload -> true;
+            case "scoreGreaterThan" -> {
+                String field = condition.field();
+                double threshold = condition.threshold();
+                yield payload -> number(payload.get(field)) > threshold;
+            }
+            case "equals" -> {
+                String field = condition.field();
+                String value = condition.value();
+                yield payload -> {
+                    Object fieldValue = payload.get(field);
+                    return fieldValue != null && value.equals(String.valueOf(fieldValue));
+                };
+            }
+            default -> throw new IllegalArgumentException("Unknown pass condition type: " + condition.type());
+        };
+    }
+
+    private Predicate<UserStateSnapshot> createVisibilityPredicate(ConditionJsonDto condition) {
+        return switch (condition.type()) {
+            case "always" -> snapshot -> true;
+            case "previousTaskScoreBetween" -> {
+                String taskId = condition.taskId();
+                String field = condition.scoreField();
+                double min = condition.min();
+                double max = condition.max();
+                yield snapshot -> {
+                    TaskResult result = snapshot.completedTasks().get(taskId);
+                    if (result == null) {
+                        return false;
+                    }
+                    double score = number(result.payload().get(field));
+                    return score >= min && score <= max;
+                };
+            }
+            default -> throw new IllegalArgumentException("Unknown visibility condition type: " + condition.type());
+        };
+    }
+
+    /**
+     * Reads a numeric payload value, or a string holding one.
+     *
+     * @return the value, or NaN (which compares false with everything) if it is not a number
+     */
+    private static double number(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        try {
+            return Double.parseDouble(String.valueOf(value));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
+
@@ -1,4 +1,4 @@
-package com.example.admissions.config;
+package com.example.admissions.engine.config;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
@@ -40,5 +40,12 @@ record ConditionJsonDto(
         String taskId,
         Double min,
         Double max
-) {}
+) {
+    /**
+     * The payload field a {@code previousTaskScoreBetween} condition reads from the referenced task's result.
+     */
+    String scoreField() {
+        return field != null ? field : "score";
+    }
+}
 
@@ -1,4 +1,4 @@
-package com.example.admissions.dto;
+package com.example.admissions.engine.dto;
 
 /**
  * Response DTO for current position in the flow.
@@ -0,0 +1,15 @@
+package com.example.admissions.engine.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * DTO representing one recorded attempt at a task.
+ *
+ * @param attempt 1-based attempt number across the user's whole history of the task
+ * @param passed  whether the attempt passed
+ * @param when    when the attempt was recorded
+ * @param payload the payload submitted with the attempt
+ */
+public record TaskAttemptDto(long attempt, boolean passed, Instant when, Map<String, Object> payload) {
+}
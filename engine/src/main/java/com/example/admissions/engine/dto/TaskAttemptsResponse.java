@@ -0,0 +1,21 @@
+package com.example.admissions.engine.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for a user's attempt history at one task.
+ *
+ * @param userId        the user identifier
+ * @param taskId        identifier of the task
+ * @param taskName      name of the task
+ * @param totalAttempts number of attempts ever made, including ones no longer retained
+ * @param attempts      the retained attempts, oldest first
+ */
+public record TaskAttemptsResponse(
+        String userId,
+        String taskId,
+        String taskName,
+        long totalAttempts,
+        List<TaskAttemptDto> attempts
+) {
+}
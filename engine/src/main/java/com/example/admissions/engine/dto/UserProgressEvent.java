@@ -0,0 +1,11 @@
+package com.example.admissions.engine.dto;
+
+/**
+ * Payload of a {@code progress} event on the per-user event stream.
+ *
+ * @param userId  the user identifier
+ * @param status  the user's status: "accepted", "rejected", or "in_progress"
+ * @param current the user's current position in the flow
+ */
+public record UserProgressEvent(String userId, String status, CurrentPositionResponse current) {
+}
@@ -1,4 +1,4 @@
-package com.example.admissions.exception;
+package com.example.admissions.engine.exception;
 
 /**
  * Exception thrown when attempting to create a user with an email that already exists.
@@ -0,0 +1,19 @@
+package com.example.admissions.engine.exception;
+
+import java.util.List;
+
+/**
+ * Exception thrown when flow.json describes a flow the engine cannot run, listing every problem found.
+ */
+public class InvalidFlowException extends RuntimeException {
+    private final List<String> problems;
+
+    public InvalidFlowException(List<String> problems) {
+        super("Invalid flow configuration: " + String.join("; ", problems));
+        this.problems = List.copyOf(problems);
+    }
+
+    public List<String> getProblems() {
+        return problems;
+    }
+}
@@ -1,4 +1,4 @@
-package com.example.admissions.exception;
+package com.example.admissions.engine.exception;
 
 import java.util.Set;
 
@@ -0,0 +1,14 @@
+package com.example.admissions.engine.exception;
+
+/**
+ * Exception thrown when the user storage backend fails to read or persist data.
+ */
+public class StorageException extends RuntimeException {
+    public StorageException(String message) {
+        super(message);
+    }
+
+    public StorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,4 +1,4 @@
-package com.example.admissions.exception;
+package com.example.admissions.engine.exception;
 
 /**
  * Exception thrown when attempting to complete a task before completing prerequisite tasks in the same step.
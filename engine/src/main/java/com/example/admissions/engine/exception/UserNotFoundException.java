@@ -1,4 +1,4 @@
-package com.example.admissions.exception;
+package com.example.admissions.engine.exception;
 
 /**
  * Exception thrown when a requested user is not found in the system.
@@ -0,0 +1,59 @@
+package com.example.admissions.engine.jfr;
+
+import com.example.admissions.engine.model.UserStateSnapshot;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Common fields of the flow engine's Flight Recorder events.
+ * <p>
+ * Call sites create the event, {@link #begin()} it, fill in what they know and {@link #commit()} it in a
+ * {@code finally} block. While no recording has the event enabled, {@code begin} and {@code commit} return
+ * immediately and the JIT can eliminate the allocation, so the instrumentation stays in production code.
+ * Stack traces are off by default to keep recordings cheap; a recording can turn them back on.
+ */
+@Category({"Admissions", "Flow Engine"})
+@StackTrace(false)
+public abstract class AdmissionsEvent extends Event {
+    public static final String SUCCESS = "success";
+
+    @Label("User Id")
+    String userId;
+
+    @Label("Task Id")
+    String taskId;
+
+    @Label("Outcome")
+    @Description("Result of the operation, or the simple name of the exception it threw")
+    String outcome;
+
+    @Label("Snapshot Size")
+    @Description("Completed tasks in the user state snapshot the operation worked on")
+    int snapshotSize;
+
+    public void userId(String userId) {
+        this.userId = userId;
+    }
+
+    public void taskId(String taskId) {
+        this.taskId = taskId;
+    }
+
+    public void outcome(String outcome) {
+        this.outcome = outcome;
+    }
+
+    public void snapshot(UserStateSnapshot snapshot) {
+        this.snapshotSize = snapshot.completedTasks().size();
+    }
+
+    /**
+     * Records the exception the operation ended with; an outcome set before it is overwritten.
+     */
+    public void failed(RuntimeException e) {
+        this.outcome = e.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.admissions.engine.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A task completion: validation, evaluation, persistence and the resulting status. The outcome is <code>passed</code> or <code>failed</code>.
+ */
+@Name("com.example.admissions.CompleteStep")
+@Label("Complete Step")
+public class CompleteStepEvent extends AdmissionsEvent {
+}
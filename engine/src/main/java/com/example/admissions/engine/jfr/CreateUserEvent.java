@@ -0,0 +1,12 @@
+package com.example.admissions.engine.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Registration of a new user.
+ */
+@Name("com.example.admissions.CreateUser")
+@Label("Create User")
+public class CreateUserEvent extends AdmissionsEvent {
+}
@@ -0,0 +1,12 @@
+package com.example.admissions.engine.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Computation of the task a user is on. The outcome is <code>in_progress</code> or <code>completed</code>.
+ */
+@Name("com.example.admissions.CurrentPosition")
+@Label("Compute Current Position")
+public class CurrentPositionEvent extends AdmissionsEvent {
+}
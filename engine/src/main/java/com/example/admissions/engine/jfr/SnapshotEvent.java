@@ -0,0 +1,12 @@
+package com.example.admissions.engine.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Load of a user's state snapshot from the repository (a cold-tier read shows up as a long one).
+ */
+@Name("com.example.admissions.Snapshot")
+@Label("User State Snapshot")
+public class SnapshotEvent extends AdmissionsEvent {
+}
@@ -0,0 +1,20 @@
+package com.example.admissions.engine.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evaluation of a user's status. The outcome is the status itself.
+ */
+@Name("com.example.admissions.UserStatus")
+@Label("User Status")
+public class UserStatusEvent extends AdmissionsEvent {
+    @Label("Final")
+    @Description("Answered from the stored final status without evaluating the flow")
+    boolean finalStatus;
+
+    public void finalStatus(boolean finalStatus) {
+        this.finalStatus = finalStatus;
+    }
+}
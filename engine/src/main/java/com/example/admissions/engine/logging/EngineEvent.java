@@ -0,0 +1,35 @@
+package com.example.admissions.engine.logging;
+
+/**
+ * Kinds of structured events the flow engine logs through {@link EngineEventLog}.
+ * Only the high-volume progress events may be sampled; user creations, failures and final statuses are always logged.
+ */
+public enum EngineEvent {
+    /** A user was created. */
+    USER_CREATED("user_created", false),
+    /** A task completion that passed. */
+    TASK_COMPLETED("task_completed", true),
+    /** A task completion that did not pass. */
+    TASK_FAILED("task_failed", false),
+    /** A current position read for a user still in progress. */
+    CURRENT_POSITION("current_position", true),
+    /** A current position read for a user who has completed every task. */
+    FLOW_COMPLETED("flow_completed", true),
+    /** A completion that left the user accepted or rejected, or a status read that found them so. */
+    FINAL_STATUS("final_status", false);
+
+    private final String key;
+    private final boolean sampleable;
+
+    EngineEvent(String key, boolean sampleable) {
+        this.key = key;
+        this.sampleable = sampleable;
+    }
+
+    /**
+     * @return the {@code event=} value in the log line
+     */
+    public String key() { return key; }
+
+    public boolean isSampleable() { return sampleable; }
+}
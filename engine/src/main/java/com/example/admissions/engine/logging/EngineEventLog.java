@@ -0,0 +1,203 @@
+package com.example.admissions.engine.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Structured, sampled and asynchronous log of the flow engine's progress events.
+ * <p>
+ * Request threads only capture the event's fields into a small record and offer it to a bounded queue;
+ * formatting the {@code key=value} line and writing it through the {@code com.example.admissions.events} logger
+ * happens on a single background thread. Nothing is captured while that logger is below INFO.
+ * <p>
+ * Sampleable events are kept with their configured probability and dropped (and counted) if the queue is full,
+ * so logging never blocks a request. User creations, task failures and final statuses are never sampled out:
+ * when the queue is full they are written on the calling thread instead.
+ */
+@Slf4j
+public final class EngineEventLog implements AutoCloseable {
+    public static final String LOGGER_NAME = "com.example.admissions.events";
+    private static final int MAX_BATCH = 256;
+
+    private record Entry(EngineEvent event, long epochMillis, String userId, String stepId, String taskId,
+                         String status, String email, boolean passed, int completed, int total) {
+    }
+
+    private final Logger events = LoggerFactory.getLogger(LOGGER_NAME);
+    private final Consumer<String> sink;
+    private final double[] sampleRates = new double[EngineEvent.values().length];
+    private final BlockingQueue<Entry> queue;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @param capacity    events queued for the writer thread before sampleable ones are dropped
+     * @param sampleRates probability (0-1) of keeping each sampleable event; missing events are always kept
+     */
+    public EngineEventLog(int capacity, Map<EngineEvent, Double> sampleRates) {
+        this(capacity, sampleRates, null);
+    }
+
+    EngineEventLog(int capacity, Map<EngineEvent, Double> sampleRates, Consumer<String> sink) {
+        this.sink = sink != null ? sink : events::info;
+        for (EngineEvent event : EngineEvent.values()) {
+            Double rate = sampleRates.get(event);
+            if (rate != null && (rate < 0 || rate > 1)) {
+                throw new IllegalArgumentException("Sample rate of " + event.key() + " must be between 0 and 1");
+            }
+            this.sampleRates[event.ordinal()] = rate != null && event.isSampleable() ? rate : 1.0;
+        }
+        if (capacity > 0) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.writerThread = new Thread(this::run, "engine-event-log");
+            this.writerThread.setDaemon(true);
+            this.writerThread.start();
+        } else {
+            this.queue = null;
+            this.writerThread = null;
+        }
+    }
+
+    /**
+     * Event log writing every event on the calling thread, for engines built outside the application context.
+     */
+    public static EngineEventLog synchronous() {
+        return new EngineEventLog(0, Map.of());
+    }
+
+    /**
+     * Event log that formats every event on the calling thread and throws the line away, for scratch engines
+     * (startup warmup) whose events must not reach the real log.
+     */
+    public static EngineEventLog discarding() {
+        return new EngineEventLog(0, Map.of(), line -> { });
+    }
+
+    public void userCreated(String userId, String email) {
+        record(EngineEvent.USER_CREATED, userId, null, null, null, email, false, 0, 0);
+    }
+
+    public void taskCompleted(String userId, String taskId, boolean passed, String status) {
+        record(passed ? EngineEvent.TASK_COMPLETED : EngineEvent.TASK_FAILED, userId, null, taskId, status, null, passed, 0, 0);
+    }
+
+    public void currentPosition(String userId, String stepId, String taskId, int completed, int total) {
+        record(EngineEvent.CURRENT_POSITION, userId, stepId, taskId, null, null, false, completed, total);
+    }
+
+    public void flowCompleted(String userId) {
+        record(EngineEvent.FLOW_COMPLETED, userId, null, null, "completed", null, false, 0, 0);
+    }
+
+    public void finalStatus(String userId, String status) {
+        record(EngineEvent.FINAL_STATUS, userId, null, null, status, null, false, 0, 0);
+    }
+
+    public long getWritten() { return written.sum(); }
+
+    public long getSampledOut() { return sampledOut.sum(); }
+
+    public long getDropped() { return dropped.sum(); }
+
+    public int getQueueDepth() { return queue != null ? queue.size() : 0; }
+
+    private void record(EngineEvent event, String userId, String stepId, String taskId, String status,
+                        String email, boolean passed, int completed, int total) {
+        if (!events.isInfoEnabled()) {
+            return;
+        }
+        double rate = sampleRates[event.ordinal()];
+        if (rate < 1 && ThreadLocalRandom.current().nextDouble() >= rate) {
+            sampledOut.increment();
+            return;
+        }
+        Entry entry = new Entry(event, System.currentTimeMillis(), userId, stepId, taskId, status, email, passed,
+                completed, total);
+        if (queue != null && running && queue.offer(entry)) {
+            return;
+        }
+        if (event.isSampleable() && queue != null) {
+            dropped.increment();
+        } else {
+            write(entry);
+        }
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                for (Entry entry : batch) {
+                    write(entry);
+                }
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+            } catch (RuntimeException e) {
+                log.error("Writing engine events failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(Entry entry) {
+        StringBuilder line = new StringBuilder(128)
+                .append("event=").append(entry.event().key())
+                .append(" at=").append(Instant.ofEpochMilli(entry.epochMillis()))
+                .append(" userId=").append(entry.userId());
+        switch (entry.event()) {
+            case USER_CREATED -> line.append(" email=").append(entry.email());
+            case TASK_COMPLETED, TASK_FAILED -> line.append(" taskId=").append(entry.taskId())
+                    .append(" passed=").append(entry.passed())
+                    .append(" status=").append(entry.status());
+            case CURRENT_POSITION -> line.append(" step=").append(entry.stepId())
+                    .append(" task=").append(entry.taskId())
+                    .append(" completed=").append(entry.completed())
+                    .append(" total=").append(entry.total());
+            case FLOW_COMPLETED, FINAL_STATUS -> line.append(" status=").append(entry.status());
+        }
+        sink.accept(line.toString());
+        written.increment();
+    }
+
+    /**
+     * Stops the writer thread after it has written the queued events; later events are written synchronously
+     * (failures and final statuses) or dropped.
+     */
+    @Override
+    public void close() {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
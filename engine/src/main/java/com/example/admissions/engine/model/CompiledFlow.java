@@ -0,0 +1,109 @@
+package com.example.admissions.engine.model;
+
+import java.util.Map;
+
+/**
+ * The operations the engine runs on every request, over a flow whose tasks are numbered by ordinal:
+ * their position when the steps' task lists are concatenated in flow order.
+ * <p>
+ * {@link InterpretedFlow} walks the {@link Flow} model; the build also generates
+ * {@value #GENERATED_CLASS} from {@code flow.json}, with the task ordinals as constants, task lookup as a
+ * string switch, the pass conditions inlined and the current-position scan unrolled. Both must answer
+ * every call identically.
+ */
+public interface CompiledFlow {
+    String GENERATED_CLASS = "com.example.admissions.engine.generated.GeneratedFlow";
+
+    /**
+     * @return the flow model; its tasks delegate their pass and visibility conditions to this instance
+     */
+    Flow flow();
+
+    int taskCount();
+
+    Task task(int ordinal);
+
+    /**
+     * @return the index of the step containing the task
+     */
+    int stepOf(int ordinal);
+
+    /**
+     * Finds the first task, in flow order, whose id or name equals {@code idOrName} ignoring case and
+     * which is visible for the user.
+     *
+     * @return the task's ordinal, or -1 if there is none
+     */
+    int findTask(String idOrName, UserStateSnapshot snapshot);
+
+    boolean passed(int ordinal, Map<String, Object> payload);
+
+    /**
+     * Finds the task the user should work on next: the first visible task that was attempted and failed,
+     * otherwise the first visible task not attempted yet.
+     *
+     * @return the task's ordinal, or -1 if every visible task has passed
+     */
+    int currentTask(UserStateSnapshot snapshot);
+
+    /**
+     * Evaluates the user's status from the snapshot alone, ignoring any cached final status:
+     * "rejected" if a non-redoable task failed, "accepted" if every visible task passed, else "in_progress".
+     */
+    default String status(UserStateSnapshot snapshot) {
+        Map<String, TaskResult> completed = snapshot.completedTasks();
+        for (int ordinal = 0; ordinal < taskCount(); ordinal++) {
+            Task task = task(ordinal);
+            TaskResult result = completed.get(task.getId());
+            if (result != null && !result.passed() && !task.isRedoable()) {
+                return "rejected";
+            }
+        }
+        return currentTask(snapshot) < 0 ? "accepted" : "in_progress";
+    }
+
+    /**
+     * Folds a task label so that two labels fold to the same string exactly when they are
+     * {@link String#equalsIgnoreCase equal ignoring case}. Returns {@code label} itself if it is already folded.
+     */
+    static String foldCase(String label) {
+        for (int i = 0; i < label.length(); ) {
+            int codePoint = label.codePointAt(i);
+            if (fold(codePoint) != codePoint) {
+                StringBuilder folded = new StringBuilder(label.length()).append(label, 0, i);
+                for (int j = i; j < label.length(); ) {
+                    int c = label.codePointAt(j);
+                    folded.appendCodePoint(fold(c));
+                    j += Character.charCount(c);
+                }
+                return folded.toString();
+            }
+            i += Character.charCount(codePoint);
+        }
+        return label;
+    }
+
+    /**
+     * Case-insensitive hash of a task label: labels that are {@link String#equalsIgnoreCase equal ignoring case}
+     * hash alike. Unlike folding the label first, it allocates nothing.
+     */
+    static int foldedHash(String label) {
+        int hash = 0;
+        for (int i = 0; i < label.length(); ) {
+            char c = label.charAt(i);
+            if (c < 0x80) {
+                hash = 31 * hash + (c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c);
+                i++;
+            } else {
+                int codePoint = label.codePointAt(i);
+                hash = 31 * hash + fold(codePoint);
+                i += Character.charCount(codePoint);
+            }
+        }
+        return hash;
+    }
+
+    private static int fold(int codePoint) {
+        return Character.toLowerCase(Character.toUpperCase(codePoint));
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.admissions.engine.model;
+
+import java.util.List;
+
+/**
+ * Facts derived from a flow definition when it is loaded.
+ *
+ * @param taskCount        number of tasks in the flow
+ * @param dependencyOrder  task ids ordered so that every task comes after the tasks its visibility depends on
+ *                         (flow order among tasks at the same depth)
+ * @param unreachableTasks ids of tasks no applicant can ever be shown while still in the running
+ * @param maxPathLength    upper bound on the number of tasks a single applicant can be shown
+ * @param warnings         problems that do not stop the flow from running
+ */
+public record FlowAnalysis(
+        int taskCount,
+        List<String> dependencyOrder,
+        List<String> unreachableTasks,
+        int maxPathLength,
+        List<String> warnings
+) {
+    public FlowAnalysis {
+        dependencyOrder = List.copyOf(dependencyOrder);
+        unreachableTasks = List.copyOf(unreachableTasks);
+        warnings = List.copyOf(warnings);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.admissions.engine.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link CompiledFlow} that walks the {@link Flow} model, evaluating each task's predicates as it goes.
+ * Works for any flow, including ones built in code.
+ */
+public class InterpretedFlow implements CompiledFlow {
+    private final Flow flow;
+    private final Task[] tasks;
+    private final int[] stepOf;
+
+    public InterpretedFlow(Flow flow) {
+        this.flow = flow;
+        List<Task> all = new ArrayList<>();
+        List<Integer> steps = new ArrayList<>();
+        for (int stepIndex = 0; stepIndex < flow.steps().size(); stepIndex++) {
+            for (Task task : flow.steps().get(stepIndex).tasks()) {
+                all.add(task);
+                steps.add(stepIndex);
+            }
+        }
+        this.tasks = all.toArray(Task[]::new);
+        this.stepOf = steps.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Override
+    public Flow flow() { return flow; }
+
+    @Override
+    public int taskCount() { return tasks.length; }
+
+    @Override
+    public Task task(int ordinal) { return tasks[ordinal]; }
+
+    @Override
+    public int stepOf(int ordinal) { return stepOf[ordinal]; }
+
+    @Override
+    public int findTask(String idOrName, UserStateSnapshot snapshot) {
+        for (int ordinal = 0; ordinal < tasks.length; ordinal++) {
+            Task task = tasks[ordinal];
+            if ((task.getId().equalsIgnoreCase(idOrName) || task.getName().equalsIgnoreCase(idOrName))
+                    && task.isVisible(snapshot)) {
+                return ordinal;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean passed(int ordinal, Map<String, Object> payload) {
+        return tasks[ordinal].evaluatePassed(payload);
+    }
+
+    @Override
+    public int currentTask(UserStateSnapshot snapshot) {
+        Map<String, TaskResult> completedTasks = snapshot.completedTasks();
+
+        // First pass: failed tasks come first so they can be retried
+        for (int ordinal = 0; ordinal < tasks.length; ordinal++) {
+            TaskResult result = completedTasks.get(tasks[ordinal].getId());
+            if (result != null && !result.passed() && tasks[ordinal].isVisible(snapshot)) {
+                return ordinal;
+            }
+        }
+
+        // Second pass: first task not attempted yet (normal progression)
+        for (int ordinal = 0; ordinal < tasks.length; ordinal++) {
+            if (!completedTasks.containsKey(tasks[ordinal].getId()) && tasks[ordinal].isVisible(snapshot)) {
+                return ordinal;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,4 +1,4 @@
-package com.example.admissions.model;
+package com.example.admissions.engine.model;
 
 import java.util.Map;
 import java.util.Set;
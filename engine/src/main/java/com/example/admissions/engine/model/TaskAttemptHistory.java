@@ -0,0 +1,120 @@
+package com.example.admissions.engine.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded ring of every attempt a user made at one task.
+ * <p>
+ * Timestamps and pass flags are kept in primitive arrays (pass flags as a bit set) and payload
+ * references in a separate array, so retaining history costs a few bytes per attempt plus the
+ * payload the latest {@link TaskResult} already shares. Storage starts small and doubles up to
+ * {@code limit}; past that the oldest attempt is overwritten while {@link #getTotalAttempts()}
+ * keeps counting.
+ */
+public final class TaskAttemptHistory {
+    public static final int DEFAULT_LIMIT = 16;
+    private static final int INITIAL_CAPACITY = 2;
+
+    private final String taskId;
+    private final int limit;
+    private long[] whenSeconds;
+    private int[] whenNanos;
+    private long[] passedBits;
+    private Object[] payloads;
+    private int start;  // index of the oldest retained attempt
+    private int size;
+    private long totalAttempts;
+
+    public TaskAttemptHistory(String taskId, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Attempt history limit must be positive");
+        }
+        this.taskId = taskId;
+        this.limit = limit;
+        allocate(Math.min(INITIAL_CAPACITY, limit));
+    }
+
+    public String getTaskId() { return taskId; }
+
+    public synchronized long getTotalAttempts() { return totalAttempts; }
+
+    public synchronized int size() { return size; }
+
+    public synchronized void record(TaskResult result) {
+        if (size == whenSeconds.length && size < limit) {
+            grow();
+        }
+        int index;
+        if (size < whenSeconds.length) {
+            index = (start + size) % whenSeconds.length;
+            size++;
+        } else {
+            index = start; // full at the limit: overwrite the oldest
+            start = (start + 1) % whenSeconds.length;
+        }
+        whenSeconds[index] = result.when().getEpochSecond();
+        whenNanos[index] = result.when().getNano();
+        if (result.passed()) {
+            passedBits[index >>> 6] |= 1L << index;
+        } else {
+            passedBits[index >>> 6] &= ~(1L << index);
+        }
+        payloads[index] = result.payload();
+        totalAttempts++;
+    }
+
+    /**
+     * Accounts for attempts that were evicted before this history was rebuilt from storage.
+     */
+    public synchronized void addDroppedAttempts(long count) {
+        totalAttempts += count;
+    }
+
+    /**
+     * Materializes the retained attempts, oldest first.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized List<TaskResult> getAttempts() {
+        List<TaskResult> attempts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % whenSeconds.length;
+            attempts.add(new TaskResult(
+                    taskId,
+                    (passedBits[index >>> 6] & (1L << index)) != 0,
+                    Instant.ofEpochSecond(whenSeconds[index], whenNanos[index]),
+                    (Map<String, Object>) payloads[index]));
+        }
+        return attempts;
+    }
+
+    private void allocate(int capacity) {
+        whenSeconds = new long[capacity];
+        whenNanos = new int[capacity];
+        passedBits = new long[(capacity + 63) >>> 6];
+        payloads = new Object[capacity];
+    }
+
+    /**
+     * Doubles capacity (up to the limit), unrolling the ring so the oldest attempt lands at index 0.
+     */
+    private void grow() {
+        long[] oldSeconds = whenSeconds;
+        int[] oldNanos = whenNanos;
+        long[] oldBits = passedBits;
+        Object[] oldPayloads = payloads;
+        allocate(Math.min(limit, oldSeconds.length * 2));
+        for (int i = 0; i < size; i++) {
+            int from = (start + i) % oldSeconds.length;
+            whenSeconds[i] = oldSeconds[from];
+            whenNanos[i] = oldNanos[from];
+            if ((oldBits[from >>> 6] & (1L << from)) != 0) {
+                passedBits[i >>> 6] |= 1L << i;
+            }
+            payloads[i] = oldPayloads[from];
+        }
+        start = 0;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.admissions.engine.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory user record: id, email, completed tasks map, per-task attempt history, and cached final status.
+ */
+public class User {
+    private final String id;
+    private final String email;
+    // taskId -> TaskResult (latest attempt)
+    private final Map<String, TaskResult> completedTasks;
+    // taskId -> every attempt, bounded per task; kept apart so snapshots only copy latest results
+    private final Map<String, TaskAttemptHistory> attemptHistory;
+    private final int attemptHistoryLimit;
+    // Cached final status: "accepted" or "rejected" (null if still in_progress)
+    private volatile String finalStatus;
+    // Number of mutations (attempts recorded + finalization); derived from state, so rebuilt users match
+    private final AtomicLong version = new AtomicLong();
+
+    public User(String id, String email) {
+        this(id, email, TaskAttemptHistory.DEFAULT_LIMIT);
+    }
+
+    public User(String id, String email, int attemptHistoryLimit) {
+        this(id, email, attemptHistoryLimit, 0);
+    }
+
+    /**
+     * @param expectedTasks how many tasks the user is expected to attempt at most; sizes the per-task maps
+     */
+    public User(String id, String email, int attemptHistoryLimit, int expectedTasks) {
+        this.id = id;
+        this.email = email;
+        this.attemptHistoryLimit = attemptHistoryLimit;
+        this.completedTasks = expectedTasks > 0 ? new ConcurrentHashMap<>(expectedTasks) : new ConcurrentHashMap<>();
+        this.attemptHistory = expectedTasks > 0 ? new ConcurrentHashMap<>(expectedTasks) : new ConcurrentHashMap<>();
+        this.finalStatus = null;
+    }
+
+    public String getId() { return id; }
+    public String getEmail() { return email; }
+    public Map<String, TaskResult> getCompletedTasks() { return completedTasks; }
+    public String getFinalStatus() { return finalStatus; }
+    public int getAttemptHistoryLimit() { return attemptHistoryLimit; }
+
+    /**
+     * @return a counter that changes whenever a result is recorded or the user is finalized
+     */
+    public long getVersion() { return version.get(); }
+
+    /**
+     * @return the attempt history of a task, or null if the user never attempted it
+     */
+    public TaskAttemptHistory getAttemptHistory(String taskId) { return attemptHistory.get(taskId); }
+    public Map<String, TaskAttemptHistory> getAttemptHistories() { return attemptHistory; }
+
+    public void addTaskResult(TaskResult result) {
+        completedTasks.put(result.taskId(), result);
+        attemptHistory.computeIfAbsent(result.taskId(), taskId -> new TaskAttemptHistory(taskId, attemptHistoryLimit))
+                .record(result);
+        version.incrementAndGet();
+    }
+
+    /**
+     * Accounts for attempts at a task that were evicted from its history before this user was
+     * rebuilt from storage, keeping the attempt count and version equal to the original's.
+     */
+    public void addDroppedAttempts(String taskId, long count) {
+        TaskAttemptHistory history = attemptHistory.get(taskId);
+        if (history == null || count <= 0) {
+            return;
+        }
+        history.addDroppedAttempts(count);
+        version.addAndGet(count);
+    }
+
+    /**
+     * Accounts for status changes a user rebuilt from storage did not replay (a final status that was
+     * cleared and set again), keeping its version equal to the original's.
+     */
+    public void addDroppedStatusChanges(long count) {
+        if (count > 0) {
+            version.addAndGet(count);
+        }
+    }
+
+    /**
+     * Sets the final status if it's "accepted" or "rejected".
+     * Once set, the status only changes through another final status or {@link #reopen()}.
+     */
+    public void setFinalStatus(String status) {
+        if (("accepted".equals(status) || "rejected".equals(status)) && !status.equals(finalStatus)) {
+            this.finalStatus = status;
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Clears the final status, e.g. after a flow change gave an accepted user a new task to do.
+     *
+     * @return true if the user had a final status
+     */
+    public boolean reopen() {
+        if (finalStatus == null) {
+            return false;
+        }
+        this.finalStatus = null;
+        version.incrementAndGet();
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,505 @@
+package com.example.admissions.engine.service;
+
+import com.example.admissions.engine.dto.CompleteStepResponse;
+import com.example.admissions.engine.dto.CurrentPositionResponse;
+import com.example.admissions.engine.dto.TaskAttemptDto;
+import com.example.admissions.engine.dto.TaskAttemptsResponse;
+import com.example.admissions.engine.dto.TaskResultDto;
+import com.example.admissions.engine.dto.UserProgressEvent;
+import com.example.admissions.engine.dto.UserStatusResponse;
+import com.example.admissions.engine.exception.MissingRequiredFieldsException;
+import com.example.admissions.engine.exception.TaskAlreadyCompletedException;
+import com.example.admissions.engine.exception.TaskNotFoundException;
+import com.example.admissions.engine.exception.TaskOrderViolationException;
+import com.example.admissions.engine.exception.UserNotFoundException;
+import com.example.admissions.engine.jfr.CompleteStepEvent;
+import com.example.admissions.engine.jfr.CurrentPositionEvent;
+import com.example.admissions.engine.jfr.UserStatusEvent;
+import com.example.admissions.engine.logging.EngineEventLog;
+import com.example.admissions.engine.model.CompiledFlow;
+import com.example.admissions.engine.model.Flow;
+import com.example.admissions.engine.model.InterpretedFlow;
+import com.example.admissions.engine.model.Step;
+import com.example.admissions.engine.model.Task;
+import com.example.admissions.engine.model.TaskAttemptHistory;
+import com.example.admissions.engine.model.TaskResult;
+import com.example.admissions.engine.model.User;
+import com.example.admissions.engine.model.UserStateSnapshot;
+import com.example.admissions.engine.timing.PhaseTimer;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Service for managing flow-related operations.
+ * Handles computation of current position, visibility, and user status in the admissions flow.
+ */
+public class FlowService {
+    private final Flow flow;
+    private final CompiledFlow compiledFlow;
+    private final UserService userService;
+    private final Consumer<UserProgressChanged> progressListener;
+    private final EngineEventLog eventLog;
+
+    public FlowService(Flow flow, UserService userService) {
+        this(flow, userService, event -> { });
+    }
+
+    public FlowService(Flow flow, UserService userService, Consumer<UserProgressChanged> progressListener) {
+        this(new InterpretedFlow(flow), userService, progressListener, EngineEventLog.synchronous());
+    }
+
+    public FlowService(Flow flow, UserService userService, Consumer<UserProgressChanged> progressListener,
+                       EngineEventLog eventLog) {
+        this(new InterpretedFlow(flow), userService, progressListener, eventLog);
+    }
+
+    /**
+     * @param progressListener told after each completion that changed a user's state, on the completing thread
+     */
+    public FlowService(CompiledFlow compiledFlow, UserService userService, Consumer<UserProgressChanged> progressListener,
+                       EngineEventLog eventLog) {
+        this.flow = compiledFlow.flow();
+        this.compiledFlow = compiledFlow;
+        this.userService = userService;
+        this.progressListener = progressListener;
+        this.eventLog = eventLog;
+    }
+
+    /**
+     * Returns the complete flow structure.
+     *
+     * @return the flow configuration
+     */
+    public Flow getFlow() {
+        return flow;
+    }
+
+    /**
+     * Returns the ordered list of steps in the flow.
+     *
+     * @return list of steps in order
+     */
+    public List<Step> getOrderedSteps() {
+        return flow.steps();
+    }
+
+    /**
+     * Computes which steps and tasks are visible for a given user.
+     * Takes into account conditional tasks that may appear based on user state.
+     *
+     * @param userId the user identifier
+     * @return list of steps with only visible tasks included
+     */
+    public List<Step> getVisibleStepsForUser(String userId) {
+        UserStateSnapshot snapshot = userService.snapshot(userId);
+        return flow.steps().stream()
+                .map(step -> {
+                    List<Task> visibleTasks = step.tasks().stream()
+                            .filter(task -> task.isVisible(snapshot))
+                            .toList();
+                    return new Step(step.id(), step.name(), visibleTasks);
+                })
+                .toList();
+    }
+
+    /**
+     * Computes the current step index (0-based) and current task for a user.
+     * Prioritizes failed tasks (attempted but not passed) over incomplete tasks.
+     * This allows users to retry failed tasks before moving to new ones.
+     *
+     * @param userId the user identifier
+     * @return Optional containing the current position, or empty if all steps are completed
+     */
+    public Optional<CurrentPosition> computeCurrentPosition(String userId) {
+        CurrentPositionEvent event = new CurrentPositionEvent();
+        event.begin();
+        event.userId(userId);
+        try {
+            UserStateSnapshot snapshot = userService.snapshot(userId);
+            event.snapshot(snapshot);
+            Optional<CurrentPosition> position = computeCurrentPosition(snapshot);
+            if (position.isPresent()) {
+                event.taskId(position.get().task().getId());
+                event.outcome("in_progress");
+            } else {
+                event.outcome("completed");
+            }
+            return position;
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private Optional<CurrentPosition> computeCurrentPosition(UserStateSnapshot snapshot) {
+        int ordinal = compiledFlow.currentTask(snapshot);
+        if (ordinal < 0) {
+            return Optional.empty(); // All steps completed
+        }
+        int stepIndex = compiledFlow.stepOf(ordinal);
+        return Optional.of(new CurrentPosition(stepIndex, flow.steps().get(stepIndex), compiledFlow.task(ordinal)));
+    }
+
+    /**
+     * Determines the user's acceptance status in the flow.
+     * <ul>
+     *   <li><b>rejected</b>: any non-redoable task explicitly failed</li>
+     *   <li><b>accepted</b>: all visible steps have all their tasks completed and passed</li>
+     *   <li><b>in_progress</b>: otherwise (including failed redoable tasks that can be retried)</li>
+     * </ul>
+     * 
+     * Optimized: Returns cached final status if user is already accepted/rejected.
+     *
+     * @param userId the user identifier
+     * @return the status string: "accepted", "rejected", or "in_progress"
+     */
+    public String userStatus(String userId) {
+        UserStatusEvent event = new UserStatusEvent();
+        event.begin();
+        event.userId(userId);
+        try {
+            // Return cached final status if available (optimization for accepted/rejected users).
+            // Answered from the on-heap stub for users already moved to the cold tier.
+            String cachedStatus = userService.getFinalStatus(userId);
+            if (cachedStatus != null) {
+                event.finalStatus(true);
+                event.outcome(cachedStatus);
+                return cachedStatus;
+            }
+
+            // Calculate status for in_progress users
+            UserStateSnapshot snapshot = userService.snapshot(userId);
+            event.snapshot(snapshot);
+            String status = evaluateUserStatus(userId, snapshot);
+            event.outcome(status);
+            return status;
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private String evaluateUserStatus(String userId, UserStateSnapshot snapshot) {
+        List<Step> visibleSteps = getVisibleStepsForUser(userId);
+        Map<String, TaskResult> completedTasks = snapshot.completedTasks();
+
+        // Check if any non-redoable task failed
+        for (Step step : flow.steps()) {
+            for (Task task : step.tasks()) {
+                TaskResult result = completedTasks.get(task.getId());
+                if (result != null && !result.passed() && !task.isRedoable()) {
+                    String status = "rejected";
+                    userService.finalizeUser(userId, status);
+                    return status;
+                }
+            }
+        }
+
+        // Check if all visible tasks are completed and passed
+        boolean allCompleted = visibleSteps.stream()
+                .flatMap(step -> step.tasks().stream())
+                .allMatch(task -> {
+                    TaskResult result = completedTasks.get(task.getId());
+                    return result != null && result.passed();
+                });
+
+        if (allCompleted) {
+            String status = "accepted";
+            userService.finalizeUser(userId, status);
+            return status;
+        }
+        
+        return "in_progress";
+    }
+
+    /**
+     * Gets the user status response.
+     * Validates that the user exists before returning status.
+     *
+     * @param userId the user identifier
+     * @return response containing the user's status
+     * @throws UserNotFoundException if the user does not exist
+     */
+    public UserStatusResponse getUserStatusResponse(String userId) {
+        PhaseTimer.mark("dispatch");
+        if (!userService.exists(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+        String status = userStatus(userId);
+        PhaseTimer.mark("status");
+        if ("accepted".equals(status) || "rejected".equals(status)) {
+            eventLog.finalStatus(userId, status);
+        }
+        return new UserStatusResponse(status);
+    }
+
+    /**
+     * Completes a task for a user by validating required fields and evaluating pass condition.
+     *
+     * @param userId     the user identifier
+     * @param taskId     the ID or name of the task to complete
+     * @param taskPayload the payload data for the task completion
+     * @return response containing task result and updated user status
+     * @throws TaskNotFoundException if the task is not found
+     * @throws MissingRequiredFieldsException if required fields are missing
+     * @throws TaskOrderViolationException if prerequisite tasks in the same step are not completed
+     * @throws TaskAlreadyCompletedException if the task has already been completed
+     */
+    public CompleteStepResponse completeStep(String userId, String taskId, Map<String, Object> taskPayload) {
+        CompleteStepEvent event = new CompleteStepEvent();
+        event.begin();
+        event.userId(userId);
+        event.taskId(taskId);
+        try {
+            PhaseTimer.mark("dispatch");
+            int ordinal = findTask(taskId, userId);
+            Task task = compiledFlow.task(ordinal);
+            Step step = flow.steps().get(compiledFlow.stepOf(ordinal));
+            event.taskId(task.getId());
+            PhaseTimer.mark("lookup");
+
+            // Check if task is already completed and not redoable
+            UserStateSnapshot snapshot = userService.snapshot(userId);
+            event.snapshot(snapshot);
+            if (!task.isRedoable() && snapshot.completedTasks().containsKey(task.getId())) {
+                throw new TaskAlreadyCompletedException(task.getName());
+            }
+            PhaseTimer.mark("snapshot");
+
+            // Validate task order - ensure all previous tasks in the same step are completed
+            validateTaskOrder(step, task, userId);
+
+            // Validate that all required fields are present
+            validateRequiredFields(task, taskPayload);
+            PhaseTimer.mark("validation");
+
+            // Evaluate if task passed
+            boolean passed = compiledFlow.passed(ordinal, taskPayload);
+            event.outcome(passed ? "passed" : "failed");
+            PhaseTimer.mark("evaluation");
+            userService.addTaskResult(userId, task.getId(), passed, taskPayload);
+            PhaseTimer.mark("persistence");
+
+            String userStatus = userStatus(userId);
+            PhaseTimer.mark("status");
+            eventLog.taskCompleted(userId, task.getId(), passed, userStatus);
+            if (!"in_progress".equals(userStatus)) {
+                // Completion events may be sampled out; the outcome is always logged
+                eventLog.finalStatus(userId, userStatus);
+            }
+            progressListener.accept(new UserProgressChanged(userId));
+            return new CompleteStepResponse(
+                    userId, 
+                    task.getName(), 
+                    List.of(new TaskResultDto(task.getId(), task.getName(), passed)), 
+                    userStatus
+            );
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Validates that all previous tasks in the same step have been completed.
+     *
+     * @param step the step containing the task
+     * @param task the task to validate
+     * @param userId the user identifier
+     * @throws TaskOrderViolationException if a prerequisite task is not completed
+     */
+    private void validateTaskOrder(Step step, Task task, String userId) {
+        UserStateSnapshot snapshot = userService.snapshot(userId);
+        Map<String, TaskResult> completedTasks = snapshot.completedTasks();
+        
+        // Find the index of the current task in the step
+        List<Task> visibleTasks = step.tasks().stream()
+                .filter(t -> t.isVisible(snapshot))
+                .toList();
+        
+        int taskIndex = -1;
+        for (int i = 0; i < visibleTasks.size(); i++) {
+            if (visibleTasks.get(i).getId().equals(task.getId())) {
+                taskIndex = i;
+                break;
+            }
+        }
+        
+        if (taskIndex == -1) {
+            throw new IllegalStateException("Task not found in visible tasks of step: " + step.name());
+        }
+        
+        // Check that all previous tasks in the step are completed
+        for (int i = 0; i < taskIndex; i++) {
+            Task previousTask = visibleTasks.get(i);
+            TaskResult result = completedTasks.get(previousTask.getId());
+            if (result == null || !result.passed()) {
+                throw new TaskOrderViolationException(task.getName(), previousTask.getName());
+            }
+        }
+    }
+
+    /**
+     * Finds a task by ID or name (case-insensitive) and validates it's visible for the user.
+     *
+     * @param taskId the task identifier or name
+     * @param userId the user identifier
+     * @return the ordinal of the found task
+     * @throws TaskNotFoundException if the task is not found or not visible
+     */
+    private int findTask(String taskId, String userId) {
+        int ordinal = compiledFlow.findTask(taskId, userService.snapshot(userId));
+        if (ordinal < 0) {
+            throw new TaskNotFoundException(taskId);
+        }
+        return ordinal;
+    }
+
+    /**
+     * Validates that all required fields are present in the payload for a task.
+     *
+     * @param task the task to validate
+     * @param payload the payload to validate
+     * @throws MissingRequiredFieldsException if any required fields are missing
+     */
+    private void validateRequiredFields(Task task, Map<String, Object> payload) {
+        if (task.getRequiredFields() == null || task.getRequiredFields().isEmpty()) {
+            return; // No required fields to validate
+        }
+        
+        if (payload == null) {
+            throw new MissingRequiredFieldsException(task.getName(), task.getRequiredFields());
+        }
+        
+        Set<String> missingFields = task.getRequiredFields().stream()
+                .filter(field -> !payload.containsKey(field))
+                .collect(java.util.stream.Collectors.toSet());
+        
+        if (!missingFields.isEmpty()) {
+            throw new MissingRequiredFieldsException(task.getName(), missingFields);
+        }
+    }
+
+
+    /**
+     * Gets the current position response for a user, including progress information.
+     *
+     * @param userId the user identifier
+     * @return response containing current position and progress information
+     */
+    public CurrentPositionResponse getCurrentPositionResponse(String userId) {
+        PhaseTimer.mark("dispatch");
+        Optional<CurrentPosition> positionOpt = computeCurrentPosition(userId);
+        PhaseTimer.mark("position");
+        
+        if (positionOpt.isEmpty()) {
+            eventLog.flowCompleted(userId);
+            return CurrentPositionResponse.completed(userId);
+        }
+
+        CurrentPosition position = positionOpt.get();
+        List<Step> visibleSteps = getVisibleStepsForUser(userId);
+        int totalTasks = visibleSteps.stream()
+                .mapToInt(step -> step.tasks().size())
+                .sum();
+        
+        // User is guaranteed to exist here since computeCurrentPosition() calls snapshot()
+        // which throws UserNotFoundException for non-existent users
+        User user = userService.getUser(userId);
+        int completedTasks = user.getCompletedTasks().size();
+        PhaseTimer.mark("progress");
+
+        eventLog.currentPosition(userId, position.step().id(), position.task().getId(), completedTasks, totalTasks);
+        
+        return new CurrentPositionResponse(
+                userId,
+                "in_progress",
+                position.stepIndex(),
+                position.step().id(),
+                position.step().name(),
+                position.task().getId(),
+                position.task().getName(),
+                completedTasks,
+                totalTasks
+        );
+    }
+
+    /**
+     * Gets the user's status and current position together, as pushed on the event stream.
+     * Status is evaluated first since it may finalize the user.
+     *
+     * @param userId the user identifier
+     * @return the progress event payload
+     * @throws UserNotFoundException if the user does not exist
+     */
+    public UserProgressEvent getUserProgressEvent(String userId) {
+        String status = userStatus(userId);
+        return new UserProgressEvent(userId, status, getCurrentPositionResponse(userId));
+    }
+
+    /**
+     * Gets the retained attempt history of a user at one task.
+     * The task is resolved by ID or name (case-insensitive) regardless of visibility,
+     * so history stays readable after a branch hides the task.
+     *
+     * @param userId the user identifier
+     * @param taskId the ID or name of the task
+     * @return response containing the attempts, oldest first (empty if never attempted)
+     * @throws UserNotFoundException if the user does not exist
+     * @throws TaskNotFoundException if the task is not part of the flow
+     */
+    public TaskAttemptsResponse getTaskAttemptsResponse(String userId, String taskId) {
+        Task task = flow.steps().stream()
+                .flatMap(step -> step.tasks().stream())
+                .filter(t -> t.getId().equalsIgnoreCase(taskId) || t.getName().equalsIgnoreCase(taskId))
+                .findFirst()
+                .orElseThrow(() -> new TaskNotFoundException(taskId));
+
+        TaskAttemptHistory history = userService.attemptHistory(userId, task.getId());
+        if (history == null) {
+            return new TaskAttemptsResponse(userId, task.getId(), task.getName(), 0, List.of());
+        }
+
+        // Read both under the history's monitor so a concurrent attempt cannot skew the numbering
+        List<TaskResult> attempts;
+        long totalAttempts;
+        synchronized (history) {
+            attempts = history.getAttempts();
+            totalAttempts = history.getTotalAttempts();
+        }
+        long firstAttempt = totalAttempts - attempts.size() + 1;
+        List<TaskAttemptDto> dtos = new ArrayList<>(attempts.size());
+        for (int i = 0; i < attempts.size(); i++) {
+            TaskResult attempt = attempts.get(i);
+            dtos.add(new TaskAttemptDto(firstAttempt + i, attempt.passed(), attempt.when(), attempt.payload()));
+        }
+        return new TaskAttemptsResponse(userId, task.getId(), task.getName(), totalAttempts, dtos);
+    }
+
+    /**
+     * Represents the current position of a user in the flow.
+     *
+     * @param stepIndex 0-based index of the current step
+     * @param step      the current step, with all of its tasks
+     * @param task      the current task within the step
+     */
+    public record CurrentPosition(int stepIndex, Step step, Task task) {
+        public CurrentPosition {
+            if (stepIndex < 0) {
+                throw new IllegalArgumentException("Step index cannot be negative");
+            }
+            if (step == null) {
+                throw new IllegalArgumentException("Step cannot be null");
+            }
+            if (task == null) {
+                throw new IllegalArgumentException("Task cannot be null");
+            }
+        }
+    }
+}
\ No newline at end of file
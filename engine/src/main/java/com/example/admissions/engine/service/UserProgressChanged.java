@@ -0,0 +1,10 @@
+package com.example.admissions.engine.service;
+
+/**
+ * Notification that a task completion, or a re-evaluation correcting a cached status, changed a user's state.
+ * The Spring application publishes it as an application event.
+ *
+ * @param userId the user whose position or status may have changed
+ */
+public record UserProgressChanged(String userId) {
+}
@@ -0,0 +1,308 @@
+package com.example.admissions.engine.service;
+
+import com.example.admissions.engine.exception.DuplicateUserException;
+import com.example.admissions.engine.exception.UserNotFoundException;
+import com.example.admissions.engine.jfr.AdmissionsEvent;
+import com.example.admissions.engine.jfr.CreateUserEvent;
+import com.example.admissions.engine.jfr.SnapshotEvent;
+import com.example.admissions.engine.logging.EngineEventLog;
+import com.example.admissions.engine.model.FlowAnalysis;
+import com.example.admissions.engine.model.TaskAttemptHistory;
+import com.example.admissions.engine.model.TaskResult;
+import com.example.admissions.engine.model.User;
+import com.example.admissions.engine.model.UserStateSnapshot;
+import com.example.admissions.engine.storage.InMemoryUserRepository;
+import com.example.admissions.engine.storage.UserRepository;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * User management on top of a pluggable {@link UserRepository} and helper methods.
+ * Defaults to the heap-backed {@link InMemoryUserRepository}.
+ */
+public class UserService {
+    private final UserRepository repository;
+    private final AtomicLong idCounter;
+    private final int attemptHistoryLimit;
+    private final int expectedTasksPerUser;
+    private final EngineEventLog eventLog;
+
+    public UserService() {
+        this(new InMemoryUserRepository());
+    }
+
+    public UserService(UserRepository repository) {
+        this(repository, TaskAttemptHistory.DEFAULT_LIMIT);
+    }
+
+    /**
+     * @param attemptHistoryLimit how many attempts per task are retained for each user
+     */
+    public UserService(UserRepository repository, int attemptHistoryLimit) {
+        this(repository, attemptHistoryLimit, 0);
+    }
+
+    /**
+     * @param attemptHistoryLimit  how many attempts per task are retained for each user
+     * @param expectedTasksPerUser initial capacity of each new user's task maps (0 for the default)
+     */
+    public UserService(UserRepository repository, int attemptHistoryLimit, int expectedTasksPerUser) {
+        this(repository, attemptHistoryLimit, expectedTasksPerUser, EngineEventLog.synchronous());
+    }
+
+    /**
+     * @param attemptHistoryLimit  how many attempts per task are retained for each user
+     * @param expectedTasksPerUser initial capacity of each new user's task maps (0 for the default)
+     * @param eventLog             where user creations are logged
+     */
+    public UserService(UserRepository repository, int attemptHistoryLimit, int expectedTasksPerUser,
+                       EngineEventLog eventLog) {
+        this.repository = repository;
+        this.attemptHistoryLimit = attemptHistoryLimit;
+        this.expectedTasksPerUser = expectedTasksPerUser;
+        this.eventLog = eventLog;
+        this.idCounter = new AtomicLong(repository.lastAssignedId() + 1); // Start from 1
+    }
+
+    /**
+     * New users' task maps are sized for the longest path through the flow, so they never rehash.
+     */
+    public UserService(UserRepository repository, int attemptHistoryLimit, FlowAnalysis flowAnalysis,
+                       EngineEventLog eventLog) {
+        this(repository, attemptHistoryLimit, flowAnalysis.maxPathLength(), eventLog);
+    }
+
+    /**
+     * Creates a new user with an incrementing numeric ID.
+     * Email is normalized to lowercase to ensure uniqueness.
+     *
+     * @param email the user's email address
+     * @return the created user
+     * @throws DuplicateUserException if a user with this email already exists
+     */
+    public User createUser(String email) {
+        CreateUserEvent event = new CreateUserEvent();
+        event.begin();
+        try {
+            String normalizedEmail = email.toLowerCase().trim();
+            if (repository.findIdByEmail(normalizedEmail) != null) {
+                throw new DuplicateUserException(email);
+            }
+
+            String userId = String.valueOf(idCounter.getAndIncrement());
+            event.userId(userId);
+            User u = new User(userId, email, attemptHistoryLimit, expectedTasksPerUser);
+            if (!repository.insert(u, normalizedEmail)) {
+                throw new DuplicateUserException(email); // lost a race for the same email
+            }
+            event.outcome(AdmissionsEvent.SUCCESS);
+            eventLog.userCreated(userId, email);
+            return u;
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns the user from the repository.
+     * The instance may be a detached copy (e.g. rehydrated from the cold tier);
+     * mutate users only through this service.
+     *
+     * @return the user, or null if no such user exists
+     */
+    public User getUser(String id) {
+        return repository.findById(id);
+    }
+
+    /**
+     * Checks whether a user exists without loading it.
+     */
+    public boolean exists(String id) {
+        return repository.existsById(id);
+    }
+
+    /**
+     * Returns the cached final status without loading the full user where the backend allows it.
+     *
+     * @return "accepted", "rejected", or null while the user is still in progress
+     * @throws UserNotFoundException if the user does not exist
+     */
+    public String getFinalStatus(String userId) {
+        String status = repository.findFinalStatus(userId);
+        if (status == null && !repository.existsById(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+        return status;
+    }
+
+    /**
+     * Returns the user's state version without loading the full user where the backend allows it.
+     *
+     * @throws UserNotFoundException if the user does not exist
+     */
+    public long getVersion(String userId) {
+        long version = repository.findVersion(userId);
+        if (version < 0) {
+            throw new UserNotFoundException(userId);
+        }
+        return version;
+    }
+
+    /**
+     * Records the user's final status. The in-memory backend moves the user to its cold tier.
+     *
+     * @param userId the user identifier
+     * @param status "accepted" or "rejected"
+     */
+    public void finalizeUser(String userId, String status) {
+        if (!repository.markFinal(userId, status)) {
+            throw new UserNotFoundException(userId);
+        }
+    }
+
+    /**
+     * Clears the user's final status so the next status check evaluates it again, e.g. after a flow change.
+     *
+     * @throws UserNotFoundException if the user does not exist
+     */
+    public void reopenUser(String userId) {
+        if (!repository.reopen(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+    }
+
+    /**
+     * Replaces the final status of a user re-evaluated against a changed flow, unless the user changed after
+     * {@code expectedVersion} was read: the version check and the write are one atomic repository operation.
+     *
+     * @param status "accepted", "rejected", or null to reopen the user
+     * @return false if the user's version is no longer {@code expectedVersion}; nothing was changed
+     * @throws UserNotFoundException if the user does not exist
+     */
+    public boolean replaceFinalStatus(String userId, long expectedVersion, String status) {
+        if (repository.replaceFinalStatus(userId, expectedVersion, status)) {
+            return true;
+        }
+        if (!repository.existsById(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+        return false;
+    }
+
+    /**
+     * @return the highest user id handed out so far; ids are assigned from 1 upwards, so every user's id
+     *         lies in {@code [1, lastAssignedId()]} (some ids in that range may be unused)
+     */
+    public long lastAssignedId() {
+        return idCounter.get() - 1;
+    }
+
+    /**
+     * Adds a task result for a user. Uses timestamp from payload if provided, otherwise uses current time.
+     *
+     * @param userId the user identifier
+     * @param taskId the task identifier
+     * @param passed whether the task passed
+     * @param payload the payload containing task data, may include "timestamp" field
+     */
+    public void addTaskResult(String userId, String taskId, boolean passed, Map<String,Object> payload) {
+        Instant timestamp = parseTimestampFromPayload(payload);
+        TaskResult tr = new TaskResult(taskId, passed, timestamp, payload);
+        if (!repository.appendTaskResult(userId, tr)) {
+            throw new UserNotFoundException(userId);
+        }
+    }
+
+    /**
+     * Parses timestamp from payload if present, otherwise returns current time.
+     * Supports ISO-8601 strings and epoch seconds/milliseconds.
+     */
+    private Instant parseTimestampFromPayload(Map<String, Object> payload) {
+        if (payload == null) {
+            return Instant.now();
+        }
+        
+        Object timestampObj = payload.get("timestamp");
+        if (timestampObj == null) {
+            return Instant.now();
+        }
+        
+        // Try parsing as ISO-8601 string
+        if (timestampObj instanceof String timestampStr) {
+            // Handle common formats
+            if ("now".equalsIgnoreCase(timestampStr.trim())) {
+                return Instant.now();
+            }
+            
+            try {
+                // Try ISO-8601 format (e.g., "2025-12-10T15:00:00Z")
+                return Instant.parse(timestampStr);
+            } catch (DateTimeParseException e) {
+                // Try other common formats if needed
+                try {
+                    // Try RFC-1123 format
+                    return Instant.from(DateTimeFormatter.RFC_1123_DATE_TIME.parse(timestampStr));
+                } catch (DateTimeParseException e2) {
+                    // If parsing fails, fall back to current time
+                    return Instant.now();
+                }
+            }
+        }
+        
+        // Try parsing as number (epoch seconds or milliseconds)
+        if (timestampObj instanceof Number number) {
+            long epochMillis = number.longValue();
+            // If less than year 2000 in milliseconds, assume it's in seconds
+            if (epochMillis < 946684800000L) { // Jan 1, 2000 in milliseconds
+                return Instant.ofEpochSecond(epochMillis);
+            } else {
+                return Instant.ofEpochMilli(epochMillis);
+            }
+        }
+        
+        // If we can't parse it, use current time
+        return Instant.now();
+    }
+
+    public UserStateSnapshot snapshot(String userId) {
+        SnapshotEvent event = new SnapshotEvent();
+        event.begin();
+        event.userId(userId);
+        try {
+            User u = getUser(userId);
+            if (u == null) {
+                throw new UserNotFoundException(userId);
+            }
+            UserStateSnapshot snapshot = new UserStateSnapshot(userId, u.getCompletedTasks());
+            event.snapshot(snapshot);
+            event.outcome(AdmissionsEvent.SUCCESS);
+            return snapshot;
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns the retained attempts a user made at a task, oldest first.
+     *
+     * @return the history, or null if the user never attempted the task
+     * @throws UserNotFoundException if the user does not exist
+     */
+    public TaskAttemptHistory attemptHistory(String userId, String taskId) {
+        User u = getUser(userId);
+        if (u == null) {
+            throw new UserNotFoundException(userId);
+        }
+        return u.getAttemptHistory(taskId);
+    }
+}
\ No newline at end of file
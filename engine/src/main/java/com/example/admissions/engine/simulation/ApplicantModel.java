@@ -0,0 +1,336 @@
+package com.example.admissions.engine.simulation;
+
+import com.example.admissions.engine.model.CompiledFlow;
+import com.example.admissions.engine.model.Task;
+import com.example.admissions.engine.model.TaskResult;
+import com.example.admissions.engine.model.UserStateSnapshot;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * How synthetic applicants behave in a flow, shared by {@link FlowSimulator} and {@link PopulationGenerator}: the
+ * flow's tasks with their {@link SimulationProfile} settings, and a {@link Walker} that takes one applicant at a
+ * time through the flow with the engine's own {@link CompiledFlow} operations.
+ * <p>
+ * Each applicant starts with no results and, until the flow accepts or rejects them, takes their current task:
+ * they may drop off when it first comes up, then submit a payload drawn from the profile, which the task's pass
+ * condition grades. A failed redoable task is retried with the profile's retry chance, up to its attempt limit;
+ * a failed non-redoable task rejects the applicant.
+ * <p>
+ * Every random draw is derived from the seed, the applicant's number, the task id and the attempt rather than
+ * from a shared stream. An applicant therefore behaves the same at any parallelism and in either tool, and two
+ * flow versions walked with the same seed meet each applicant with the same scores and the same choices on the
+ * tasks they share.
+ */
+final class ApplicantModel {
+    /** Sign-ups of timed walks are spread over the 30 days from here. */
+    static final Instant SIGN_UP_START = Instant.parse("2025-01-01T00:00:00Z");
+
+    private static final long SIGN_UP_WINDOW_SECONDS = 30L * 24 * 3600;
+    private static final long MAX_GAP_SECONDS = 3L * 24 * 3600;
+    private static final String PLACEHOLDER = "simulated";
+    private static final long GOLDEN = 0x9e3779b97f4a7c15L;
+    private static final long TIMING = 0x5851f42d4c957f2dL;
+
+    final CompiledFlow flow;
+    final String[] taskIds;
+    private final boolean[] redoable;
+    private final long[] keys;
+    private final double[] dropOff;
+    private final double[] retry;
+    private final int[] maxAttempts;
+    private final String[][] fieldNames;
+    private final FieldGenerator[][] fieldGenerators;
+
+    ApplicantModel(CompiledFlow flow, SimulationProfile profile) {
+        this.flow = flow;
+        int count = flow.taskCount();
+        taskIds = new String[count];
+        redoable = new boolean[count];
+        keys = new long[count];
+        dropOff = new double[count];
+        retry = new double[count];
+        maxAttempts = new int[count];
+        fieldNames = new String[count][];
+        fieldGenerators = new FieldGenerator[count][];
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            Task task = flow.task(ordinal);
+            SimulationProfile.TaskProfile settings = profile.forTask(task.getId());
+            taskIds[ordinal] = task.getId();
+            redoable[ordinal] = task.isRedoable();
+            keys[ordinal] = mix(task.getId().hashCode());
+            dropOff[ordinal] = probability(settings.dropOff(), task, "dropOff");
+            retry[ordinal] = probability(settings.retry(), task, "retry");
+            maxAttempts[ordinal] = settings.maxAttempts() != null ? settings.maxAttempts() : 3;
+            if (maxAttempts[ordinal] < 1) {
+                throw new IllegalArgumentException("maxAttempts of " + task.getId() + " must be at least 1");
+            }
+
+            // Sorted, so that every run draws the fields in the same order
+            Map<String, FieldGenerator> generators = new TreeMap<>();
+            if (task.getRequiredFields() != null) {
+                for (String field : task.getRequiredFields()) {
+                    generators.put(field, placeholder(field));
+                }
+            }
+            if (settings.fields() != null) {
+                settings.fields().forEach((field, distribution) -> generators.put(field, generator(task, field, distribution)));
+            }
+            fieldNames[ordinal] = generators.keySet().toArray(String[]::new);
+            fieldGenerators[ordinal] = generators.values().toArray(FieldGenerator[]::new);
+        }
+    }
+
+    int taskCount() {
+        return taskIds.length;
+    }
+
+    /**
+     * @return the payload fields submitted for the task, sorted
+     */
+    String[] fieldNames(int ordinal) {
+        return fieldNames[ordinal];
+    }
+
+    /**
+     * What happens to an applicant during {@link Walker#walk}, in order.
+     */
+    interface Listener {
+        default void reached(int ordinal) {
+        }
+
+        default void droppedOff(int ordinal) {
+        }
+
+        default void submitted(int ordinal, TaskResult result) {
+        }
+
+        default void gaveUp(int ordinal) {
+        }
+
+        default void rejected(int ordinal) {
+        }
+    }
+
+    /**
+     * Walks applicants through the flow one at a time, reusing its maps between them; one per thread.
+     */
+    final class Walker {
+        private final long seed;
+        private final boolean timed;
+        private final Map<String, TaskResult> results = new HashMap<>();
+        private final Map<String, Object> payload = new HashMap<>();
+        private final int[] attempted = new int[taskIds.length];
+        private final Draws draws = new Draws();
+        private String userId = PLACEHOLDER;
+        private String email = PLACEHOLDER;
+        private Instant when = Instant.EPOCH;
+        private String timestamp = Instant.EPOCH.toString();
+
+        /**
+         * @param timed whether submissions get realistic, increasing times; otherwise they are all at the epoch
+         *              and the walk allocates less
+         */
+        Walker(long seed, boolean timed) {
+            this.seed = seed;
+            this.timed = timed;
+        }
+
+        /**
+         * @param userId sent as {@code user_id} in payloads
+         * @param email  sent as {@code email} in payloads
+         * @return the applicant's final status as {@link CompiledFlow#status} evaluates it
+         */
+        String walk(long applicant, String userId, String email, Listener listener) {
+            this.userId = userId;
+            this.email = email;
+            results.clear();
+            Arrays.fill(attempted, 0);
+            if (timed) {
+                draws.reset(seed, applicant, TIMING, 0);
+                when = SIGN_UP_START.plusSeconds((long) (draws.nextDouble() * SIGN_UP_WINDOW_SECONDS));
+            }
+            UserStateSnapshot snapshot = new UserStateSnapshot(PLACEHOLDER, results);
+            int ordinal;
+            while ((ordinal = flow.currentTask(snapshot)) >= 0) {
+                int attempt = attempted[ordinal];
+                if (attempt == 0) {
+                    listener.reached(ordinal);
+                    draws.reset(seed, applicant, keys[ordinal], 0);
+                    if (draws.nextDouble() < dropOff[ordinal]) {
+                        listener.droppedOff(ordinal);
+                        break;
+                    }
+                }
+                if (timed) {
+                    draws.reset(seed, applicant, keys[ordinal] ^ TIMING, attempt + 1);
+                    when = when.plusSeconds(1 + (long) (draws.nextDouble() * MAX_GAP_SECONDS));
+                    timestamp = timestamp(when);
+                }
+                draws.reset(seed, applicant, keys[ordinal], attempt + 1);
+                payload.clear();
+                String[] names = fieldNames[ordinal];
+                FieldGenerator[] generators = fieldGenerators[ordinal];
+                for (int i = 0; i < names.length; i++) {
+                    payload.put(names[i], generators[i].next(draws, this));
+                }
+                boolean passed = flow.passed(ordinal, payload);
+                attempted[ordinal]++;
+                TaskResult result = new TaskResult(taskIds[ordinal], passed, when, payload);
+                results.put(taskIds[ordinal], result);
+                listener.submitted(ordinal, result);
+                snapshot = new UserStateSnapshot(PLACEHOLDER, results);
+                if (passed) {
+                    continue;
+                }
+                if (!redoable[ordinal]) {
+                    listener.rejected(ordinal);
+                    break;
+                }
+                if (attempted[ordinal] >= maxAttempts[ordinal] || draws.nextDouble() >= retry[ordinal]) {
+                    listener.gaveUp(ordinal);
+                    break;
+                }
+            }
+            return flow.status(snapshot);
+        }
+    }
+
+    /**
+     * Formats a whole-second instant after 1970 as {@link Instant#toString} would, several times faster.
+     */
+    static String timestamp(Instant instant) {
+        long seconds = instant.getEpochSecond();
+        // Civil date from days since the epoch (Howard Hinnant's days_from_civil, inverted)
+        long days = Math.floorDiv(seconds, 86_400) + 719_468;
+        int secondOfDay = (int) Math.floorMod(seconds, 86_400);
+        long era = days / 146_097;
+        long dayOfEra = days - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+        char[] text = {'0', '0', '0', '0', '-', '0', '0', '-', '0', '0', 'T', '0', '0', ':', '0', '0', ':', '0', '0', 'Z'};
+        digits(text, 0, year, 4);
+        digits(text, 5, month, 2);
+        digits(text, 8, day, 2);
+        digits(text, 11, secondOfDay / 3600, 2);
+        digits(text, 14, secondOfDay / 60 % 60, 2);
+        digits(text, 17, secondOfDay % 60, 2);
+        return new String(text);
+    }
+
+    private static void digits(char[] text, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            text[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    /**
+     * Value of a required field the profile has no distribution for.
+     */
+    private static FieldGenerator placeholder(String field) {
+        if (field.equals("user_id")) {
+            return (draws, walker) -> walker.userId;
+        }
+        if (field.equals("email")) {
+            return (draws, walker) -> walker.email;
+        }
+        if (field.contains("timestamp") || field.contains("date")) {
+            return (draws, walker) -> walker.timestamp;
+        }
+        return (draws, walker) -> PLACEHOLDER;
+    }
+
+    private static double probability(Double value, Task task, String setting) {
+        double probability = value != null ? value : 0;
+        if (!(probability >= 0 && probability <= 1)) {
+            throw new IllegalArgumentException(setting + " of " + task.getId() + " must be between 0 and 1");
+        }
+        return probability;
+    }
+
+    private static FieldGenerator generator(Task task, String field, SimulationProfile.FieldProfile distribution) {
+        double min = distribution.min() != null ? distribution.min() : Double.NEGATIVE_INFINITY;
+        double max = distribution.max() != null ? distribution.max() : Double.POSITIVE_INFINITY;
+        if (distribution.values() != null && !distribution.values().isEmpty()) {
+            Map<String, Double> weights = new TreeMap<>(distribution.values());
+            String[] values = weights.keySet().toArray(String[]::new);
+            double[] cumulative = new double[values.length];
+            double total = 0;
+            for (int i = 0; i < values.length; i++) {
+                double weight = weights.get(values[i]);
+                if (!(weight >= 0)) {
+                    throw new IllegalArgumentException("Weights of " + task.getId() + "." + field + " must not be negative");
+                }
+                total += weight;
+                cumulative[i] = total;
+            }
+            if (total <= 0) {
+                throw new IllegalArgumentException("Weights of " + task.getId() + "." + field + " must not all be 0");
+            }
+            double sum = total;
+            return (draws, walker) -> {
+                double point = draws.nextDouble() * sum;
+                for (int i = 0; i < cumulative.length - 1; i++) {
+                    if (point < cumulative[i]) {
+                        return values[i];
+                    }
+                }
+                return values[values.length - 1];
+            };
+        }
+        if (distribution.mean() != null) {
+            double mean = distribution.mean();
+            double stddev = distribution.stddev() != null ? distribution.stddev() : 0;
+            return (draws, walker) -> Math.min(max, Math.max(min, mean + stddev * draws.nextGaussian()));
+        }
+        if (distribution.min() != null && distribution.max() != null) {
+            return (draws, walker) -> min + (max - min) * draws.nextDouble();
+        }
+        throw new IllegalArgumentException(task.getId() + "." + field + " needs values, a mean, or a min and max");
+    }
+
+    /**
+     * Stafford's variant 13 of the MurmurHash3 finalizer, as used by {@link java.util.SplittableRandom}.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    @FunctionalInterface
+    private interface FieldGenerator {
+        Object next(Draws draws, Walker walker);
+    }
+
+    /**
+     * Counter-based random numbers: {@link #reset} positions the sequence on one applicant, task and attempt.
+     */
+    static final class Draws {
+        private long state;
+
+        void reset(long seed, long applicant, long taskKey, int attempt) {
+            state = mix(mix(mix(seed) + applicant * GOLDEN) ^ taskKey) + attempt * GOLDEN;
+        }
+
+        double nextDouble() {
+            state += GOLDEN;
+            return (mix(state) >>> 11) * 0x1.0p-53;
+        }
+
+        double nextGaussian() {
+            double u = 1 - nextDouble(); // (0, 1], so the logarithm is finite
+            return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * nextDouble());
+        }
+    }
+}
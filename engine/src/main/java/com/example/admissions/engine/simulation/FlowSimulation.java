@@ -0,0 +1,127 @@
+package com.example.admissions.engine.simulation;
+
+import com.example.admissions.engine.config.FlowConfigLoader;
+import com.example.admissions.engine.model.Flow;
+import com.example.admissions.engine.model.InterpretedFlow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command line for {@link FlowSimulator}: simulates a flow, or two versions of it side by side, and prints the
+ * funnels.
+ * <pre>
+ * FlowSimulation [--flow &lt;flow.json&gt;] [--compare &lt;flow.json&gt;] [--profile &lt;profile.json&gt;]
+ *                [--applicants &lt;n&gt;] [--seed &lt;n&gt;] [--parallelism &lt;n&gt;] [--json]
+ * </pre>
+ * Without {@code --flow} the bundled {@code flow.json} is simulated, and without {@code --profile} the bundled
+ * {@value SimulationProfile#DEFAULT_RESOURCE}. {@code --compare} runs a second flow with the same applicants.
+ */
+public final class FlowSimulation {
+    private FlowSimulation() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        FlowConfigLoader loader = new FlowConfigLoader();
+        Flow baseline = options.containsKey("flow") ? loader.loadFlow(Path.of(options.get("flow"))) : loader.loadFlow();
+        SimulationProfile profile = options.containsKey("profile")
+                ? SimulationProfile.load(Path.of(options.get("profile")))
+                : SimulationProfile.load();
+        long applicants = Long.parseLong(options.getOrDefault("applicants", "1000000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        int parallelism = Integer.parseInt(options.getOrDefault("parallelism",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        FunnelReport report = new FlowSimulator(new InterpretedFlow(baseline), profile).run(applicants, seed, parallelism);
+        FunnelReport candidate = null;
+        if (options.containsKey("compare")) {
+            Flow compared = loader.loadFlow(Path.of(options.get("compare")));
+            candidate = new FlowSimulator(new InterpretedFlow(compared), profile).run(applicants, seed, parallelism);
+        }
+
+        PrintStream out = System.out;
+        if (options.containsKey("json")) {
+            Object result = candidate == null ? report : Map.of("baseline", report, "candidate", candidate);
+            out.println(new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(result));
+            return;
+        }
+        print(out, report);
+        if (candidate != null) {
+            out.println();
+            print(out, candidate);
+            out.println();
+            printDifference(out, report, candidate);
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            if (!name.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument " + name);
+            }
+            if (name.equals("--json")) {
+                options.put("json", "true");
+            } else if (i + 1 < args.length) {
+                options.put(name.substring(2), args[++i]);
+            } else {
+                throw new IllegalArgumentException(name + " needs a value");
+            }
+        }
+        return options;
+    }
+
+    static void print(PrintStream out, FunnelReport report) {
+        out.printf(Locale.ROOT, "Flow %s: %,d applicants in %,d ms (seed %d)%n",
+                report.flowId(), report.applicants(), report.elapsedMillis(), report.seed());
+        out.printf(Locale.ROOT, "accepted %s  rejected %s  in progress %s%n%n",
+                percent(report.accepted(), report.applicants()), percent(report.rejected(), report.applicants()),
+                percent(report.inProgress(), report.applicants()));
+        out.printf(Locale.ROOT, "%-32s %-18s %8s %8s %9s %8s %8s%n",
+                "task", "step", "reached", "dropped", "pass rate", "gave up", "rejected");
+        for (FunnelReport.TaskFunnel task : report.tasks()) {
+            out.printf(Locale.ROOT, "%-32s %-18s %8s %8s %9s %8s %8s%n", task.taskId(), task.stepId(),
+                    percent(task.reached(), report.applicants()), percent(task.droppedOff(), report.applicants()),
+                    percent(task.passed(), task.attempts()), percent(task.gaveUp(), report.applicants()),
+                    percent(task.rejected(), report.applicants()));
+        }
+    }
+
+    static void printDifference(PrintStream out, FunnelReport baseline, FunnelReport candidate) {
+        out.printf(Locale.ROOT, "%s -> %s: accepted %s  rejected %s  in progress %s%n%n",
+                baseline.flowId(), candidate.flowId(),
+                points(baseline.accepted(), candidate.accepted(), baseline.applicants()),
+                points(baseline.rejected(), candidate.rejected(), baseline.applicants()),
+                points(baseline.inProgress(), candidate.inProgress(), baseline.applicants()));
+        Map<String, FunnelReport.TaskFunnel> before = new LinkedHashMap<>();
+        baseline.tasks().forEach(task -> before.put(task.taskId(), task));
+        out.printf(Locale.ROOT, "%-32s %16s %16s %9s%n", "task reached", baseline.flowId(), candidate.flowId(), "change");
+        for (FunnelReport.TaskFunnel task : candidate.tasks()) {
+            FunnelReport.TaskFunnel previous = before.remove(task.taskId());
+            long reachedBefore = previous != null ? previous.reached() : 0;
+            out.printf(Locale.ROOT, "%-32s %16s %16s %9s%n", task.taskId(),
+                    previous != null ? percent(reachedBefore, baseline.applicants()) : "-",
+                    percent(task.reached(), candidate.applicants()),
+                    points(reachedBefore, task.reached(), baseline.applicants()));
+        }
+        for (FunnelReport.TaskFunnel removed : before.values()) {
+            out.printf(Locale.ROOT, "%-32s %16s %16s %9s%n", removed.taskId(),
+                    percent(removed.reached(), baseline.applicants()), "-",
+                    points(removed.reached(), 0, baseline.applicants()));
+        }
+    }
+
+    private static String percent(long count, long total) {
+        return total == 0 ? "-" : String.format(Locale.ROOT, "%.1f%%", 100.0 * count / total);
+    }
+
+    private static String points(long before, long after, long total) {
+        return total == 0 ? "-" : String.format(Locale.ROOT, "%+.1f pp", 100.0 * (after - before) / total);
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.admissions.engine.simulation;
+
+import com.example.admissions.engine.model.CompiledFlow;
+import com.example.admissions.engine.model.TaskResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs synthetic applicants through a flow with the engine's own {@link CompiledFlow} operations, to predict
+ * acceptance rates and drop-off before a flow change ships. There is no HTTP, storage or logging on the way.
+ * <p>
+ * Applicants behave as {@link ApplicantModel} describes. Their draws do not depend on the parallelism or on the
+ * order they are simulated in, so a run is reproducible from its seed, and two flow versions simulated with the
+ * same seed differ because of the flows rather than because of sampling.
+ */
+public final class FlowSimulator {
+    static final int CHUNK = 16_384;
+
+    private static final String APPLICANT = "simulated";
+
+    private final ApplicantModel model;
+
+    public FlowSimulator(CompiledFlow flow, SimulationProfile profile) {
+        this.model = new ApplicantModel(flow, profile);
+    }
+
+    /**
+     * Simulates applicants {@code 0} to {@code applicants - 1}.
+     *
+     * @param parallelism threads to spread the applicants over; it does not change the report
+     */
+    public FunnelReport run(long applicants, long seed, int parallelism) {
+        if (applicants < 0) {
+            throw new IllegalArgumentException("applicants must not be negative");
+        }
+        long started = System.nanoTime();
+        int chunks = Math.toIntExact((applicants + CHUNK - 1) / CHUNK);
+        ForkJoinPool pool = new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("flow-simulation-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        Tally tally;
+        try {
+            tally = pool.invoke(new Chunks(applicants, seed, 0, chunks));
+        } finally {
+            pool.shutdown();
+        }
+
+        CompiledFlow flow = model.flow;
+        List<FunnelReport.TaskFunnel> tasks = new ArrayList<>(model.taskCount());
+        for (int ordinal = 0; ordinal < model.taskCount(); ordinal++) {
+            tasks.add(new FunnelReport.TaskFunnel(model.taskIds[ordinal], flow.flow().steps().get(flow.stepOf(ordinal)).id(),
+                    tally.reached[ordinal], tally.droppedOff[ordinal], tally.attempts[ordinal], tally.passed[ordinal],
+                    tally.failed[ordinal], tally.gaveUp[ordinal], tally.rejected[ordinal]));
+        }
+        return new FunnelReport(flow.flow().id(), applicants, seed, tally.acceptedUsers, tally.rejectedUsers,
+                tally.inProgressUsers, List.copyOf(tasks), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private Tally simulate(long from, long to, long seed) {
+        Tally tally = new Tally(model.taskCount());
+        ApplicantModel.Walker walker = model.new Walker(seed, false);
+        for (long applicant = from; applicant < to; applicant++) {
+            switch (walker.walk(applicant, APPLICANT, APPLICANT, tally)) {
+                case "accepted" -> tally.acceptedUsers++;
+                case "rejected" -> tally.rejectedUsers++;
+                default -> tally.inProgressUsers++;
+            }
+        }
+        return tally;
+    }
+
+    private static final class Tally implements ApplicantModel.Listener {
+        final long[] reached;
+        final long[] droppedOff;
+        final long[] attempts;
+        final long[] passed;
+        final long[] failed;
+        final long[] gaveUp;
+        final long[] rejected;
+        long acceptedUsers;
+        long rejectedUsers;
+        long inProgressUsers;
+
+        Tally(int tasks) {
+            reached = new long[tasks];
+            droppedOff = new long[tasks];
+            attempts = new long[tasks];
+            passed = new long[tasks];
+            failed = new long[tasks];
+            gaveUp = new long[tasks];
+            rejected = new long[tasks];
+        }
+
+        @Override
+        public void reached(int ordinal) {
+            reached[ordinal]++;
+        }
+
+        @Override
+        public void droppedOff(int ordinal) {
+            droppedOff[ordinal]++;
+        }
+
+        @Override
+        public void submitted(int ordinal, TaskResult result) {
+            attempts[ordinal]++;
+            if (result.passed()) {
+                passed[ordinal]++;
+            } else {
+                failed[ordinal]++;
+            }
+        }
+
+        @Override
+        public void gaveUp(int ordinal) {
+            gaveUp[ordinal]++;
+        }
+
+        @Override
+        public void rejected(int ordinal) {
+            rejected[ordinal]++;
+        }
+
+        Tally add(Tally other) {
+            for (int i = 0; i < reached.length; i++) {
+                reached[i] += other.reached[i];
+                droppedOff[i] += other.droppedOff[i];
+                attempts[i] += other.attempts[i];
+                passed[i] += other.passed[i];
+                failed[i] += other.failed[i];
+                gaveUp[i] += other.gaveUp[i];
+                rejected[i] += other.rejected[i];
+            }
+            acceptedUsers += other.acceptedUsers;
+            rejectedUsers += other.rejectedUsers;
+            inProgressUsers += other.inProgressUsers;
+            return this;
+        }
+    }
+
+    private final class Chunks extends RecursiveTask<Tally> {
+        private final long applicants;
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        Chunks(long applicants, long seed, int from, int to) {
+            this.applicants = applicants;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                Chunks right = new Chunks(applicants, seed, middle, to);
+                right.fork();
+                Tally left = new Chunks(applicants, seed, from, middle).compute();
+                return left.add(right.join());
+            }
+            if (to == from) {
+                return new Tally(model.taskCount());
+            }
+            long first = (long) from * CHUNK;
+            return simulate(first, Math.min(applicants, first + CHUNK), seed);
+        }
+    }
+}
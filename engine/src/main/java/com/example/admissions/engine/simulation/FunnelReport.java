@@ -0,0 +1,50 @@
+package com.example.admissions.engine.simulation;
+
+import java.util.List;
+
+/**
+ * Outcome of a simulation run.
+ *
+ * @param flowId        id of the simulated flow
+ * @param applicants    applicants simulated
+ * @param seed          seed the run was drawn from; the same seed gives the same report
+ * @param accepted      applicants the flow accepted
+ * @param rejected      applicants who failed a non-redoable task
+ * @param inProgress    applicants who dropped off or gave up on a failed task
+ * @param tasks         per task, in flow order
+ * @param elapsedMillis wall time of the run
+ */
+public record FunnelReport(
+        String flowId,
+        long applicants,
+        long seed,
+        long accepted,
+        long rejected,
+        long inProgress,
+        List<TaskFunnel> tasks,
+        long elapsedMillis
+) {
+    /**
+     * @param taskId     Identifier of the task
+     * @param stepId     Identifier of the step containing it
+     * @param reached    applicants for whom it became the current task
+     * @param droppedOff applicants who abandoned the flow on reaching it
+     * @param attempts   submissions, retries included
+     * @param passed     submissions that passed
+     * @param failed     submissions that failed
+     * @param gaveUp     applicants who stopped after failing it although it is redoable
+     * @param rejected   applicants rejected by failing it
+     */
+    public record TaskFunnel(
+            String taskId,
+            String stepId,
+            long reached,
+            long droppedOff,
+            long attempts,
+            long passed,
+            long failed,
+            long gaveUp,
+            long rejected
+    ) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.admissions.engine.simulation;
+
+import com.example.admissions.engine.model.TaskResult;
+
+import java.util.List;
+
+/**
+ * A synthetic applicant from {@link PopulationGenerator}.
+ *
+ * @param id     Identifier of the user: the applicant's number, as a fresh {@code UserService} would assign it
+ * @param email  Unique email derived from the number
+ * @param status "accepted", "rejected" or "in_progress", as the flow evaluates the history
+ * @param tasks  every submission in the order it was made, retries included
+ */
+public record GeneratedUser(
+        String id,
+        String email,
+        String status,
+        List<TaskResult> tasks
+) {
+    public GeneratedUser {
+        tasks = List.copyOf(tasks);
+    }
+}
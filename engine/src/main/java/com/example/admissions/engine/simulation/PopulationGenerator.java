@@ -0,0 +1,266 @@
+package com.example.admissions.engine.simulation;
+
+import com.example.admissions.engine.config.FlowConfigLoader;
+import com.example.admissions.engine.logging.EngineEventLog;
+import com.example.admissions.engine.model.CompiledFlow;
+import com.example.admissions.engine.model.InterpretedFlow;
+import com.example.admissions.engine.model.TaskResult;
+import com.example.admissions.engine.service.UserService;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+
+/**
+ * Deterministic synthetic applicants for any flow, for loading tests and benchmarks with a realistic population.
+ * <p>
+ * Applicant {@code n} (from 1) always has the email {@link #email(long) applicant&lt;n&gt;@example.test} and, for
+ * a given flow, profile and seed, the same task history: the walk {@link ApplicantModel} describes, with
+ * submissions spread over the weeks after a sign-up in January 2025. The profile decides the mix of accepted,
+ * rejected and in-progress applicants, the latter including those who stopped after failing a redoable task.
+ * Payloads carry every required field: {@code user_id}, {@code email} and timestamp or date fields hold the
+ * applicant's own values, fields the profile has a distribution for are drawn from it, and the rest hold a
+ * placeholder.
+ * <pre>
+ * PopulationGenerator &lt;users&gt; &lt;output.ndjson&gt; [&lt;seed&gt; [&lt;flow.json&gt; [&lt;profile.json&gt;]]]
+ * </pre>
+ */
+public final class PopulationGenerator {
+    static final int CHUNK = 256; // applicants per parallel chunk; keeps the buffers in flight small
+
+    private final ApplicantModel model;
+    private final long seed;
+
+    public PopulationGenerator(CompiledFlow flow, SimulationProfile profile, long seed) {
+        this.model = new ApplicantModel(flow, profile);
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 5) {
+            throw new IllegalArgumentException(
+                    "Usage: PopulationGenerator <users> <output.ndjson> [<seed> [<flow.json> [<profile.json>]]]");
+        }
+        FlowConfigLoader loader = new FlowConfigLoader();
+        CompiledFlow flow = new InterpretedFlow(args.length > 3 ? loader.loadFlow(Path.of(args[3])) : loader.loadFlow());
+        SimulationProfile profile = args.length > 4 ? SimulationProfile.load(Path.of(args[4])) : SimulationProfile.load();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        long started = System.nanoTime();
+        long users = Long.parseLong(args[0]);
+        new PopulationGenerator(flow, profile, seed)
+                .writeNdjson(Path.of(args[1]), users, Runtime.getRuntime().availableProcessors());
+        System.out.printf("Wrote %,d users to %s in %,d ms%n", users, args[1], (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public static String email(long number) {
+        return "applicant" + number + "@example.test";
+    }
+
+    /**
+     * @param number the applicant's number, from 1
+     */
+    public GeneratedUser user(long number) {
+        String id = String.valueOf(number);
+        History history = new History();
+        String status = model.new Walker(seed, true).walk(number, id, email(number), history);
+        return new GeneratedUser(id, email(number), status, history.results);
+    }
+
+    /**
+     * Creates applicants 1 to {@code count} through the service, adds their task results in order and records
+     * the final status of those the flow accepted or rejected, as {@code FlowService} would. Payloads carry the id
+     * the service assigns, which is the applicant's number only on a service that has no users yet.
+     * <p>
+     * Users are created in order on the calling thread, a chunk at a time, so applicant {@code n} gets the
+     * {@code n}-th id the service hands out; the chunk's histories are then generated and added in parallel.
+     * Every creation goes through the service's event log, so a bulk load should use a service built with
+     * {@link EngineEventLog#discarding()}.
+     */
+    public void populate(UserService userService, long count) {
+        populate(userService, count, Runtime.getRuntime().availableProcessors());
+    }
+
+    public void populate(UserService userService, long count, int parallelism) {
+        ForkJoinPool pool = newPool(parallelism);
+        try {
+            // Bounded lag: creation runs ahead of the workers by at most a few chunks per thread
+            Deque<Future<?>> pending = new ArrayDeque<>();
+            for (long first = 1; first <= count; first += CHUNK) {
+                long from = first;
+                String[] ids = new String[(int) Math.min(CHUNK, count - first + 1)];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = userService.createUser(email(from + i)).getId();
+                }
+                pending.add(pool.submit(() -> addHistories(userService, from, ids)));
+                if (pending.size() >= 2 * parallelism) {
+                    pending.removeFirst().get();
+                }
+            }
+            while (!pending.isEmpty()) {
+                pending.removeFirst().get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while populating", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to populate", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Writes applicants 1 to {@code count} to {@code file}, one {@link GeneratedUser} per line. Chunks of applicants
+     * are generated in parallel and written in order, so the file is the same at any parallelism.
+     */
+    public void writeNdjson(Path file, long count, int parallelism) throws IOException {
+        ForkJoinPool pool = newPool(parallelism);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+            // Bounded read-ahead: workers stay busy while memory holds only a few chunks per thread
+            Deque<Future<byte[]>> pending = new ArrayDeque<>();
+            for (long first = 1; first <= count; first += CHUNK) {
+                long from = first;
+                long to = Math.min(count, first + CHUNK - 1);
+                pending.add(pool.submit(() -> encode(from, to)));
+                if (pending.size() >= 2 * parallelism) {
+                    out.write(pending.removeFirst().get());
+                }
+            }
+            while (!pending.isEmpty()) {
+                out.write(pending.removeFirst().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating " + file, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to generate " + file, e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static ForkJoinPool newPool(int parallelism) {
+        return new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("population-generator-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Walks applicants {@code from} onwards, already created with the given ids, and adds their histories.
+     */
+    private void addHistories(UserService userService, long from, String[] ids) {
+        ApplicantModel.Walker walker = model.new Walker(seed, true);
+        History history = new History();
+        for (int i = 0; i < ids.length; i++) {
+            long number = from + i;
+            history.clear();
+            String status = walker.walk(number, ids[i], email(number), history);
+            for (TaskResult result : history.results) {
+                userService.addTaskResult(ids[i], result.taskId(), result.passed(), result.payload());
+            }
+            if (!status.equals("in_progress")) {
+                userService.finalizeUser(ids[i], status);
+            }
+        }
+    }
+
+    private byte[] encode(long from, long to) {
+        ApplicantModel.Walker walker = model.new Walker(seed, true);
+        History history = new History();
+        StringBuilder out = new StringBuilder((int) (to - from + 1) * 1024);
+        for (long number = from; number <= to; number++) {
+            String id = String.valueOf(number);
+            String email = email(number);
+            history.clear();
+            String status = walker.walk(number, id, email, history);
+            out.append("{\"id\":");
+            appendString(out, id);
+            out.append(",\"email\":");
+            appendString(out, email);
+            out.append(",\"status\":");
+            appendString(out, status);
+            out.append(",\"tasks\":[");
+            for (int i = 0; i < history.results.size(); i++) {
+                TaskResult result = history.results.get(i);
+                out.append(i == 0 ? "{\"taskId\":" : ",{\"taskId\":");
+                appendString(out, result.taskId());
+                out.append(",\"passed\":").append(result.passed()).append(",\"when\":\"").append(ApplicantModel.timestamp(result.when()));
+                out.append("\",\"payload\":{");
+                // In the model's sorted field order: the payload map's own order changes from run to run
+                String[] fields = model.fieldNames(history.ordinals.get(i));
+                Map<String, Object> payload = result.payload();
+                for (int f = 0; f < fields.length; f++) {
+                    if (f > 0) {
+                        out.append(',');
+                    }
+                    appendString(out, fields[f]);
+                    out.append(':');
+                    Object value = payload.get(fields[f]);
+                    if (value instanceof Number || value instanceof Boolean) {
+                        out.append(value);
+                    } else {
+                        appendString(out, String.valueOf(value));
+                    }
+                }
+                out.append("}}");
+            }
+            out.append("]}\n");
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * Collects one applicant's submissions.
+     */
+    private static final class History implements ApplicantModel.Listener {
+        final List<TaskResult> results = new ArrayList<>();
+        final List<Integer> ordinals = new ArrayList<>();
+
+        void clear() {
+            results.clear();
+            ordinals.clear();
+        }
+
+        @Override
+        public void submitted(int ordinal, TaskResult result) {
+            results.add(result);
+            ordinals.add(ordinal);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.admissions.engine.simulation;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * How simulated applicants behave, per task id. A task without an entry, and any setting an entry leaves out,
+ * falls back to {@code defaults}.
+ * <pre>
+ * {
+ *   "defaults": { "dropOff": 0.02, "retry": 0.6, "maxAttempts": 3 },
+ *   "tasks": {
+ *     "iq_test": { "fields": { "score": { "mean": 82, "stddev": 12, "min": 0, "max": 150 } } },
+ *     "perform_interview": { "fields": { "decision": { "values": { "passed_interview": 0.7, "failed_interview": 0.3 } } } }
+ *   }
+ * }
+ * </pre>
+ * Whether an attempt passes is always decided by the flow's own pass condition on the generated payload, so a
+ * task's pass rate is set through the distribution of the fields its condition reads.
+ *
+ * @param defaults settings for tasks and fields without their own
+ * @param tasks    task id to its settings
+ */
+public record SimulationProfile(TaskProfile defaults, Map<String, TaskProfile> tasks) {
+    public static final String DEFAULT_RESOURCE = "simulation-profile.json";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final TaskProfile NONE = new TaskProfile(null, null, null, null);
+
+    public SimulationProfile {
+        defaults = defaults != null ? defaults : NONE;
+        tasks = tasks != null ? Map.copyOf(tasks) : Map.of();
+    }
+
+    /**
+     * Reads the profile bundled for {@code flow.json}.
+     */
+    public static SimulationProfile load() {
+        try (InputStream in = SimulationProfile.class.getClassLoader().getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException(DEFAULT_RESOURCE + " not found on the classpath");
+            }
+            return OBJECT_MAPPER.readValue(in, SimulationProfile.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + DEFAULT_RESOURCE, e);
+        }
+    }
+
+    public static SimulationProfile load(Path path) {
+        try {
+            return OBJECT_MAPPER.readValue(Files.readAllBytes(path), SimulationProfile.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read simulation profile " + path, e);
+        }
+    }
+
+    /**
+     * @return the task's settings with every missing one taken from the defaults
+     */
+    public TaskProfile forTask(String taskId) {
+        TaskProfile task = tasks.getOrDefault(taskId, NONE);
+        return new TaskProfile(
+                task.dropOff() != null ? task.dropOff() : defaults.dropOff(),
+                task.retry() != null ? task.retry() : defaults.retry(),
+                task.maxAttempts() != null ? task.maxAttempts() : defaults.maxAttempts(),
+                task.fields() != null ? task.fields() : defaults.fields());
+    }
+
+    /**
+     * @param dropOff     chance an applicant abandons the flow when the task first becomes their current task
+     *                    (default 0)
+     * @param retry       chance an applicant tries a failed redoable task again (default 0)
+     * @param maxAttempts attempts after which an applicant gives up on a redoable task (default 3)
+     * @param fields      payload field to the distribution of its values; required fields without one are sent
+     *                    as a placeholder string
+     */
+    public record TaskProfile(Double dropOff, Double retry, Integer maxAttempts, Map<String, FieldProfile> fields) {
+    }
+
+    /**
+     * Distribution of a payload field's values: {@code values} picks one of the given strings with the given
+     * relative weights; otherwise {@code mean} draws a normal value with {@code stddev}, and {@code min} and
+     * {@code max} clamp it, or bound a uniform value when there is no mean.
+     */
+    public record FieldProfile(Double mean, Double stddev, Double min, Double max, Map<String, Double> values) {
+    }
+}
@@ -0,0 +1,339 @@
+package com.example.admissions.engine.storage;
+
+import com.example.admissions.engine.exception.StorageException;
+import com.example.admissions.engine.model.TaskResult;
+import com.example.admissions.engine.model.User;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Durable user store backed by an append-only log file.
+ * <p>
+ * Reads are served from an {@link InMemoryUserRepository} rebuilt by replaying the log at startup.
+ * Every mutation is appended to the log as a length-prefixed record; concurrent appends are
+ * group-committed (one write and optional fsync per batch). A mutation is applied to the state only
+ * once its record is on disk, so readers never see a write that could still be lost, and a failed
+ * append leaves the state as it was. Mutations of one user hold a striped lock from validation to
+ * apply, so the log order matches the state; mutations of different users still share batches.
+ * A torn record at the end of the log (crash mid-write) is truncated during replay. Every attempt is
+ * logged, so replay also rebuilds each user's bounded attempt history.
+ */
+@Slf4j
+public class AppendOnlyFileUserRepository implements UserRepository, AutoCloseable {
+    private static final byte USER_INSERTED = 1;
+    private static final byte TASK_RESULT_APPENDED = 2;
+    private static final byte FINAL_STATUS_MARKED = 3;
+    private static final byte FINAL_STATUS_CLEARED = 4;
+    private static final int STRIPES = 1024;
+
+    private final InMemoryUserRepository state;
+    private final FileChannel channel;
+    private final boolean fsync;
+    private final GroupCommitWriter<StorageWrite> writer;
+    private final Object[] stripes = new Object[STRIPES];
+    private final Set<String> pendingEmails = ConcurrentHashMap.newKeySet(); // inserts waiting for the disk
+    private final int attemptHistoryLimit;
+    private final long lastAssignedId;
+
+    public AppendOnlyFileUserRepository(Path path, ColdUserTier coldTier, boolean fsync, int attemptHistoryLimit,
+                                        int maxBatchSize, Duration maxDelay, int queueCapacity) {
+        this.state = new InMemoryUserRepository(coldTier);
+        this.fsync = fsync;
+        this.attemptHistoryLimit = attemptHistoryLimit;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.lastAssignedId = replay(path);
+        } catch (IOException e) {
+            throw new StorageException("Failed to open user log " + path, e);
+        }
+        this.writer = new GroupCommitWriter<>("user-log-writer", this::appendBatch, maxBatchSize, maxDelay, queueCapacity);
+    }
+
+    @Override
+    public User findById(String userId) {
+        return state.findById(userId);
+    }
+
+    @Override
+    public boolean existsById(String userId) {
+        return state.existsById(userId);
+    }
+
+    @Override
+    public String findFinalStatus(String userId) {
+        return state.findFinalStatus(userId);
+    }
+
+    @Override
+    public long findVersion(String userId) {
+        return state.findVersion(userId);
+    }
+
+    @Override
+    public String findIdByEmail(String normalizedEmail) {
+        return state.findIdByEmail(normalizedEmail);
+    }
+
+    /**
+     * The email is reserved while the record is written, so a concurrent insert of the same email
+     * (under another user's stripe) is refused before either is visible.
+     */
+    @Override
+    public boolean insert(User user, String normalizedEmail) {
+        synchronized (stripeFor(user.getId())) {
+            if (!pendingEmails.add(normalizedEmail)) {
+                return false;
+            }
+            try {
+                if (state.findIdByEmail(normalizedEmail) != null) {
+                    return false;
+                }
+                GroupCommitWriter.await(writer.submit(
+                        new StorageWrite.UserInserted(user.getId(), user.getEmail(), normalizedEmail)));
+                return state.insert(user, normalizedEmail);
+            } finally {
+                pendingEmails.remove(normalizedEmail);
+            }
+        }
+    }
+
+    @Override
+    public boolean appendTaskResult(String userId, TaskResult result) {
+        synchronized (stripeFor(userId)) {
+            if (!state.existsById(userId)) {
+                return false;
+            }
+            GroupCommitWriter.await(writer.submit(new StorageWrite.TaskResultAppended(userId, result)));
+            return state.appendTaskResult(userId, result);
+        }
+    }
+
+    @Override
+    public boolean markFinal(String userId, String status) {
+        synchronized (stripeFor(userId)) {
+            if (!state.existsById(userId)) {
+                return false;
+            }
+            GroupCommitWriter.await(writer.submit(new StorageWrite.FinalStatusMarked(userId, status)));
+            return state.markFinal(userId, status);
+        }
+    }
+
+    @Override
+    public boolean reopen(String userId) {
+        synchronized (stripeFor(userId)) {
+            if (!state.existsById(userId)) {
+                return false;
+            }
+            GroupCommitWriter.await(writer.submit(new StorageWrite.FinalStatusCleared(userId)));
+            return state.reopen(userId);
+        }
+    }
+
+    /**
+     * Logged as a clear followed by the new status, the records replay already understands.
+     * The version cannot move while the stripe is held, so the check made before writing still
+     * holds when the state is updated.
+     */
+    @Override
+    public boolean replaceFinalStatus(String userId, long expectedVersion, String status) {
+        synchronized (stripeFor(userId)) {
+            if (state.findVersion(userId) != expectedVersion) {
+                return false;
+            }
+            CompletableFuture<Boolean> cleared = writer.submit(new StorageWrite.FinalStatusCleared(userId));
+            CompletableFuture<Boolean> marked = status != null
+                    ? writer.submit(new StorageWrite.FinalStatusMarked(userId, status))
+                    : null;
+            GroupCommitWriter.await(cleared);
+            if (marked != null) {
+                GroupCommitWriter.await(marked);
+            }
+            return state.replaceFinalStatus(userId, expectedVersion, status);
+        }
+    }
+
+    @Override
+    public long lastAssignedId() {
+        return lastAssignedId;
+    }
+
+    @Override
+    public boolean isHeapResident() {
+        return true;
+    }
+
+    public GroupCommitWriter<StorageWrite> getWriter() {
+        return writer;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+        channel.close();
+    }
+
+    private Object stripeFor(String userId) {
+        return stripes[(userId.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    /**
+     * A failed batch is cut back off the log, so a restart does not replay writes whose callers
+     * were told they failed.
+     */
+    private boolean[] appendBatch(List<StorageWrite> batch) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(batch.size() * 128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (StorageWrite write : batch) {
+            byte[] record = encode(write);
+            out.writeInt(record.length);
+            out.write(record);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        long start = channel.size();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, channel.size());
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            try {
+                channel.truncate(start);
+            } catch (IOException truncateFailure) {
+                e.addSuppressed(truncateFailure);
+            }
+            throw e;
+        }
+        boolean[] applied = new boolean[batch.size()];
+        Arrays.fill(applied, true); // validated against the state before queueing
+        return applied;
+    }
+
+    private static byte[] encode(StorageWrite write) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        if (write instanceof StorageWrite.UserInserted inserted) {
+            out.writeByte(USER_INSERTED);
+            out.writeUTF(inserted.userId());
+            out.writeUTF(inserted.email());
+            out.writeUTF(inserted.normalizedEmail());
+        } else if (write instanceof StorageWrite.TaskResultAppended appended) {
+            TaskResult result = appended.result();
+            out.writeByte(TASK_RESULT_APPENDED);
+            out.writeUTF(appended.userId());
+            out.writeUTF(result.taskId());
+            out.writeBoolean(result.passed());
+            out.writeLong(result.when().getEpochSecond());
+            out.writeInt(result.when().getNano());
+            byte[] payload = PayloadCodec.encode(result.payload());
+            out.writeInt(payload.length);
+            out.write(payload);
+        } else if (write instanceof StorageWrite.FinalStatusMarked marked) {
+            out.writeByte(FINAL_STATUS_MARKED);
+            out.writeUTF(marked.userId());
+            out.writeUTF(marked.status());
+        } else if (write instanceof StorageWrite.FinalStatusCleared cleared) {
+            out.writeByte(FINAL_STATUS_CLEARED);
+            out.writeUTF(cleared.userId());
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Rebuilds the state from the log and truncates a torn trailing record. A length prefix is
+     * trusted only up to the bytes left in the file, so a torn prefix cannot trigger a huge allocation.
+     *
+     * @return the highest numeric user id found
+     */
+    private long replay(Path path) throws IOException {
+        long maxId = 0;
+        long validLength = 0;
+        long records = 0;
+        long fileLength = channel.size();
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(path));
+             DataInputStream in = new DataInputStream(file)) {
+            while (true) {
+                byte[] record;
+                try {
+                    int length = in.readInt();
+                    if (length <= 0 || length > fileLength - validLength - Integer.BYTES) {
+                        break; // torn or garbled length prefix
+                    }
+                    record = new byte[length];
+                    in.readFully(record);
+                } catch (EOFException e) {
+                    break;
+                }
+                maxId = Math.max(maxId, apply(record));
+                validLength += Integer.BYTES + record.length;
+                records++;
+            }
+        }
+        if (channel.size() > validLength) {
+            log.warn("Truncating torn record at the end of user log: {} bytes", channel.size() - validLength);
+            channel.truncate(validLength);
+        }
+        log.info("User log replayed: path={}, records={}", path, records);
+        return maxId;
+    }
+
+    private long apply(byte[] record) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        byte type = in.readByte();
+        String userId = in.readUTF();
+        switch (type) {
+            case USER_INSERTED -> {
+                String email = in.readUTF();
+                state.insert(new User(userId, email, attemptHistoryLimit), in.readUTF());
+            }
+            case TASK_RESULT_APPENDED -> {
+                String taskId = in.readUTF();
+                boolean passed = in.readBoolean();
+                Instant when = Instant.ofEpochSecond(in.readLong(), in.readInt());
+                int length = in.readInt();
+                if (length < 0 || length > in.available()) {
+                    throw new IOException("Corrupt user log record: payload of " + length + " bytes for user " + userId);
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                state.appendTaskResult(userId, new TaskResult(taskId, passed, when, PayloadCodec.decode(payload)));
+            }
+            case FINAL_STATUS_MARKED -> state.markFinal(userId, in.readUTF());
+            case FINAL_STATUS_CLEARED -> state.reopen(userId);
+            default -> throw new IOException("Unknown user log record type: " + type);
+        }
+        try {
+            return Long.parseLong(userId);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,460 @@
+package com.example.admissions.engine.storage;
+
+import com.example.admissions.engine.model.TaskResult;
+import com.example.admissions.engine.model.User;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Size-bounded, admission-aware cache of hot users in front of a slower {@link UserRepository}.
+ * <p>
+ * Eviction follows W-TinyLFU: new users enter a small LRU window (1% of capacity); users leaving
+ * the window compete with the main region's LRU victim, and the one the {@link FrequencySketch}
+ * has seen more often stays. The main region is a segmented LRU whose protected segment
+ * (80%) holds users accessed at least twice while in probation.
+ * <p>
+ * Writes go through to the delegate first. A delegate handing out detached {@link User} instances
+ * has the write applied to the cached instance as well. A {@link UserRepository#isHeapResident()
+ * heap-resident} delegate updates its own instances instead, and hands out detached copies only for
+ * users rehydrated from the cold tier, so in front of it the entry is re-read from the delegate after
+ * a write; there the cache saves repeated rehydration of finalized users. Per-user writes are serialized with
+ * {@code data.compute} on the user's key. Misses load from the delegate outside the map, so a slow delegate
+ * read never holds a map bin; a load is cached only if no write to that key stripe completed while it ran.
+ * <p>
+ * Ids the delegate does not know are remembered for a short TTL so that lookups of unknown users
+ * stay off the delegate; once the negative cache is full, each new id replaces the oldest one.
+ * Policy bookkeeping after a hit is skipped if the policy lock is contended.
+ * <p>
+ * Closing the cache closes the delegate, if it holds files or connections.
+ */
+public class CachingUserRepository implements UserRepository, AutoCloseable {
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+    private static final int EVICTED = 3;
+    private static final int WRITE_STRIPES = 64;
+
+    private final UserRepository delegate;
+    private final boolean delegateOnHeap;
+    private final int maximumSize;
+    private final int windowMaximum;
+    private final int protectedMaximum;
+    private final ConcurrentHashMap<String, Node> data = new ConcurrentHashMap<>();
+    private final AtomicLongArray writeStamps = new AtomicLongArray(WRITE_STRIPES); // bumped after each stored write
+
+    private final ConcurrentHashMap<String, Long> missingIds = new ConcurrentHashMap<>(); // id -> expiry (nanoTime)
+    private final String[] missingIdOrder;   // ring of remembered ids, oldest at missingIdCursor; guarded by itself
+    private final long[] missingIdExpiries;  // expiry each ring slot was remembered with
+    private int missingIdCursor;
+    private final long missingIdTtlNanos;
+
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final Node window = Node.sentinel();
+    private final Node probation = Node.sentinel();
+    private final Node protectedSegment = Node.sentinel();
+    private int windowSize;     // guarded by policyLock
+    private int probationSize;  // guarded by policyLock
+    private int protectedSize;  // guarded by policyLock
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachingUserRepository(UserRepository delegate, int maximumSize, Duration missingIdTtl) {
+        if (maximumSize < 2) {
+            throw new IllegalArgumentException("Cache maximum size must be at least 2");
+        }
+        this.delegate = delegate;
+        this.delegateOnHeap = delegate.isHeapResident();
+        this.maximumSize = maximumSize;
+        this.windowMaximum = Math.max(1, maximumSize / 100);
+        this.protectedMaximum = (int) ((maximumSize - windowMaximum) * 0.8);
+        this.missingIdOrder = new String[Math.max(1024, maximumSize)];
+        this.missingIdExpiries = new long[missingIdOrder.length];
+        this.missingIdTtlNanos = missingIdTtl.toNanos();
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    @Override
+    public User findById(String userId) {
+        Node node = data.get(userId);
+        if (node != null) {
+            hits.increment();
+            afterRead(node);
+            return node.user;
+        }
+        if (isKnownMissing(userId)) {
+            negativeHits.increment();
+            return null;
+        }
+        misses.increment();
+
+        int stripe = writeStripe(userId);
+        long stamp = writeStamps.get(stripe);
+        User user = delegate.findById(userId);
+        if (user == null) {
+            rememberMissing(userId);
+            return null;
+        }
+        Node loaded = new Node(userId, user);
+        // Checked under the key's bin: a write to this key either bumped the stamp already or runs after the entry is in
+        node = data.compute(userId, (id, existing) ->
+                existing != null || writeStamps.get(stripe) != stamp ? existing : loaded);
+        if (node == loaded) {
+            afterAdd(node);
+            return user;
+        }
+        if (node != null) {
+            afterRead(node);
+            return node.user;
+        }
+        return user; // raced with a write; not cached, the next lookup loads again
+    }
+
+    @Override
+    public boolean existsById(String userId) {
+        if (data.containsKey(userId)) {
+            return true;
+        }
+        if (isKnownMissing(userId)) {
+            negativeHits.increment();
+            return false;
+        }
+        boolean exists = delegate.existsById(userId);
+        if (!exists) {
+            rememberMissing(userId);
+        }
+        return exists;
+    }
+
+    @Override
+    public String findFinalStatus(String userId) {
+        Node node = data.get(userId);
+        if (node != null) {
+            hits.increment();
+            afterRead(node);
+            return node.user.getFinalStatus();
+        }
+        if (isKnownMissing(userId)) {
+            negativeHits.increment();
+            return null;
+        }
+        return delegate.findFinalStatus(userId);
+    }
+
+    @Override
+    public String findIdByEmail(String normalizedEmail) {
+        return delegate.findIdByEmail(normalizedEmail);
+    }
+
+    /**
+     * New users are likely to be read right away, so they are admitted into the window.
+     */
+    @Override
+    public boolean insert(User user, String normalizedEmail) {
+        if (!delegate.insert(user, normalizedEmail)) {
+            return false;
+        }
+        missingIds.remove(user.getId());
+        Node node = new Node(user.getId(), user);
+        if (data.putIfAbsent(user.getId(), node) == null) {
+            afterAdd(node);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean appendTaskResult(String userId, TaskResult result) {
+        boolean[] stored = new boolean[1];
+        data.compute(userId, (id, node) -> {
+            stored[0] = delegate.appendTaskResult(id, result);
+            afterStore(id, stored[0]);
+            if (stored[0] && node != null) {
+                afterWrite(node, user -> user.addTaskResult(result));
+            }
+            return node;
+        });
+        return stored[0];
+    }
+
+    @Override
+    public boolean markFinal(String userId, String status) {
+        boolean[] stored = new boolean[1];
+        data.compute(userId, (id, node) -> {
+            stored[0] = delegate.markFinal(id, status);
+            afterStore(id, stored[0]);
+            if (stored[0] && node != null) {
+                afterWrite(node, user -> user.setFinalStatus(status));
+            }
+            return node;
+        });
+        return stored[0];
+    }
+
+    @Override
+    public boolean reopen(String userId) {
+        boolean[] stored = new boolean[1];
+        data.compute(userId, (id, node) -> {
+            stored[0] = delegate.reopen(id);
+            afterStore(id, stored[0]);
+            if (stored[0] && node != null) {
+                afterWrite(node, User::reopen);
+            }
+            return node;
+        });
+        return stored[0];
+    }
+
+    @Override
+    public boolean replaceFinalStatus(String userId, long expectedVersion, String status) {
+        boolean[] stored = new boolean[1];
+        data.compute(userId, (id, node) -> {
+            stored[0] = delegate.replaceFinalStatus(id, expectedVersion, status);
+            afterStore(id, stored[0]);
+            if (stored[0] && node != null) {
+                afterWrite(node, user -> {
+                    user.reopen();
+                    if (status != null) {
+                        user.setFinalStatus(status);
+                    }
+                });
+            }
+            return node;
+        });
+        return stored[0];
+    }
+
+    @Override
+    public long lastAssignedId() {
+        return delegate.lastAssignedId();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    public UserRepository getDelegate() { return delegate; }
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getNegativeHitCount() { return negativeHits.sum(); }
+    public long getEvictionCount() { return evictions.sum(); }
+    public int getMaximumSize() { return maximumSize; }
+    public long getSize() { return data.size(); }
+
+    /**
+     * @return share of lookups answered without the delegate, counting cached unknown ids
+     */
+    public double getHitRatio() {
+        long answered = hits.sum() + negativeHits.sum();
+        long total = answered + misses.sum();
+        return total == 0 ? 1.0 : (double) answered / total;
+    }
+
+    private boolean isKnownMissing(String userId) {
+        Long expiry = missingIds.get(userId);
+        if (expiry == null) {
+            return false;
+        }
+        if (expiry - System.nanoTime() > 0) {
+            return true;
+        }
+        missingIds.remove(userId, expiry);
+        return false;
+    }
+
+    /**
+     * Every id takes a ring slot, so the negative cache stays bounded under a flood of distinct ids.
+     * All ids share one TTL, so the slot being reused holds the entry closest to expiry.
+     */
+    private void rememberMissing(String userId) {
+        long expiry = System.nanoTime() + missingIdTtlNanos;
+        synchronized (missingIdOrder) {
+            int slot = missingIdCursor;
+            missingIdCursor = (slot + 1) % missingIdOrder.length;
+            String oldest = missingIdOrder[slot];
+            if (oldest != null) {
+                missingIds.remove(oldest, missingIdExpiries[slot]); // kept if the id was remembered again since
+            }
+            missingIdOrder[slot] = userId;
+            missingIdExpiries[slot] = expiry;
+            missingIds.put(userId, expiry);
+        }
+    }
+
+    private static int writeStripe(String userId) {
+        return (userId.hashCode() & 0x7fffffff) % WRITE_STRIPES;
+    }
+
+    /**
+     * Invalidates loads of the key that started before the write; called inside {@code data.compute}.
+     */
+    private void afterStore(String userId, boolean stored) {
+        if (stored) {
+            writeStamps.incrementAndGet(writeStripe(userId));
+        }
+    }
+
+    /**
+     * Brings a cached entry up to date after the delegate stored a write. Called inside
+     * {@code data.compute} for the entry's key.
+     */
+    private void afterWrite(Node node, Consumer<User> write) {
+        if (!delegateOnHeap) {
+            write.accept(node.user);
+            return;
+        }
+        User current = delegate.findById(node.key);
+        if (current != null) {
+            node.user = current;
+        }
+    }
+
+    private void afterRead(Node node) {
+        if (!policyLock.tryLock()) {
+            return; // lossy under contention; the entry is still served
+        }
+        try {
+            sketch.increment(node.key);
+            onAccess(node);
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private void afterAdd(Node node) {
+        List<Node> evicted = new ArrayList<>(1);
+        policyLock.lock();
+        try {
+            sketch.increment(node.key);
+            if (node.queue != WINDOW || node.prev != null) {
+                return; // already linked or evicted by a racing load
+            }
+            node.linkBefore(window);
+            windowSize++;
+            evictFromWindow(evicted);
+        } finally {
+            policyLock.unlock();
+        }
+        // Outside the policy lock: removal may wait for an in-flight write on the same key
+        for (Node victim : evicted) {
+            data.remove(victim.key, victim);
+            evictions.increment();
+        }
+    }
+
+    private void onAccess(Node node) {
+        switch (node.queue) {
+            case WINDOW, PROTECTED -> {
+                if (node.prev != null) {
+                    node.unlink();
+                    node.linkBefore(node.queue == WINDOW ? window : protectedSegment);
+                }
+            }
+            case PROBATION -> {
+                node.unlink();
+                probationSize--;
+                node.queue = PROTECTED;
+                node.linkBefore(protectedSegment);
+                protectedSize++;
+                if (protectedSize > protectedMaximum) {
+                    Node demoted = protectedSegment.next;
+                    demoted.unlink();
+                    protectedSize--;
+                    demoted.queue = PROBATION;
+                    demoted.linkBefore(probation);
+                    probationSize++;
+                }
+            }
+            default -> {
+                // evicted while the read was in flight
+            }
+        }
+    }
+
+    /**
+     * Moves window overflow into probation and lets each candidate compete with the main region's
+     * LRU victim; the less frequently used of the two is evicted.
+     */
+    private void evictFromWindow(List<Node> evicted) {
+        while (windowSize > windowMaximum) {
+            Node candidate = window.next;
+            candidate.unlink();
+            windowSize--;
+            candidate.queue = PROBATION;
+            candidate.linkBefore(probation);
+            probationSize++;
+
+            if (windowSize + probationSize + protectedSize <= maximumSize) {
+                continue;
+            }
+            Node victim = probation.next != candidate ? probation.next : protectedSegment.next;
+            if (victim == protectedSegment || victim == candidate) {
+                evicted.add(evict(candidate));
+            } else if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                evicted.add(evict(victim));
+            } else {
+                evicted.add(evict(candidate));
+            }
+        }
+    }
+
+    private Node evict(Node node) {
+        node.unlink();
+        if (node.queue == PROBATION) {
+            probationSize--;
+        } else if (node.queue == PROTECTED) {
+            protectedSize--;
+        }
+        node.queue = EVICTED;
+        return node;
+    }
+
+    /**
+     * Cache entry, linked into one of three circular LRU lists (head = least recently used).
+     */
+    private static final class Node {
+        final String key;
+        volatile User user;
+        int queue = WINDOW;
+        Node prev;
+        Node next;
+
+        Node(String key, User user) {
+            this.key = key;
+            this.user = user;
+        }
+
+        static Node sentinel() {
+            Node sentinel = new Node(null, null);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            return sentinel;
+        }
+
+        void linkBefore(Node sentinel) {
+            prev = sentinel.prev;
+            next = sentinel;
+            sentinel.prev.next = this;
+            sentinel.prev = this;
+        }
+
+        void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+    }
+}
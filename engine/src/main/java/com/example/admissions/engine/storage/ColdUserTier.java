@@ -0,0 +1,204 @@
+package com.example.admissions.engine.storage;
+
+import com.example.admissions.engine.model.TaskAttemptHistory;
+import com.example.admissions.engine.model.TaskResult;
+import com.example.admissions.engine.model.User;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compressed, append-only store for finalized (accepted/rejected) users.
+ * <p>
+ * Records are deflated and appended to fixed-size direct {@link ByteBuffer} segments, so their
+ * bytes live off-heap. Written ranges are never modified; a record superseded by a newer one or by
+ * a promotion back to the hot tier is only counted as released, the space is not reclaimed.
+ * Only absolute reads/writes are used, so segments are safe to read concurrently without locking.
+ */
+public class ColdUserTier {
+    public static final int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+
+    private final boolean enabled;
+    private final int segmentSize;
+    private final List<ByteBuffer> segments = new CopyOnWriteArrayList<>();
+    private int writeOffset; // guarded by this
+
+    private final AtomicLong storedUsers = new AtomicLong();
+    private final AtomicLong storedBytes = new AtomicLong();
+    private final AtomicLong releasedBytes = new AtomicLong();
+    private final AtomicLong rehydrations = new AtomicLong();
+
+    public ColdUserTier() {
+        this(true, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public ColdUserTier(boolean enabled, int segmentSize) {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("Segment size must be positive");
+        }
+        this.enabled = enabled;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Returns a tier that never accepts users; finalized users stay on the heap.
+     */
+    public static ColdUserTier disabled() {
+        return new ColdUserTier(false, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Compresses the user's state into the tier.
+     *
+     * @param user a user with a final status set
+     * @return the on-heap stub pointing at the stored record
+     */
+    public FinalizedUserStub store(User user) {
+        if (user.getFinalStatus() == null) {
+            throw new IllegalArgumentException("Only finalized users can be moved to the cold tier: " + user.getId());
+        }
+        byte[] record = encode(user);
+        long location = append(record);
+
+        storedUsers.incrementAndGet();
+        storedBytes.addAndGet(record.length);
+        return new FinalizedUserStub(
+                user.getId(),
+                user.getEmail(),
+                user.getFinalStatus(),
+                user.getCompletedTasks().size(),
+                user.getVersion(),
+                (int) (location >>> 32),
+                (int) location,
+                record.length
+        );
+    }
+
+    /**
+     * Rebuilds a detached {@link User} from its stored record.
+     */
+    public User load(FinalizedUserStub stub) {
+        byte[] record = new byte[stub.length()];
+        segments.get(stub.segment()).get(stub.offset(), record);
+        rehydrations.incrementAndGet();
+        User user = decode(record);
+        user.addDroppedStatusChanges(stub.version() - user.getVersion());
+        return user;
+    }
+
+    /**
+     * Marks a stored record as superseded (the user was stored again or promoted back to the hot tier).
+     */
+    public void release(FinalizedUserStub stub) {
+        storedUsers.decrementAndGet();
+        releasedBytes.addAndGet(stub.length());
+    }
+
+    public long getStoredUsers() { return storedUsers.get(); }
+    public long getStoredBytes() { return storedBytes.get(); }
+    public long getReleasedBytes() { return releasedBytes.get(); }
+    public long getRehydrations() { return rehydrations.get(); }
+
+    public long getReservedBytes() {
+        long total = 0;
+        for (ByteBuffer segment : segments) {
+            total += segment.capacity();
+        }
+        return total;
+    }
+
+    /**
+     * Appends a record and returns its location packed as (segment << 32 | offset).
+     * Oversized records get a dedicated segment of their own.
+     */
+    private synchronized long append(byte[] record) {
+        if (segments.isEmpty() || writeOffset + record.length > segments.get(segments.size() - 1).capacity()) {
+            segments.add(ByteBuffer.allocateDirect(Math.max(segmentSize, record.length)));
+            writeOffset = 0;
+        }
+        int segment = segments.size() - 1;
+        int offset = writeOffset;
+        segments.get(segment).put(offset, record);
+        writeOffset += record.length;
+        return ((long) segment << 32) | offset;
+    }
+
+    /**
+     * Record layout: user fields, then per task its attempt count and the retained attempts
+     * (oldest first). The latest attempt of each task is its completed result.
+     */
+    private static byte[] encode(User user) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            out.writeUTF(user.getId());
+            out.writeUTF(user.getEmail());
+            out.writeUTF(user.getFinalStatus());
+            out.writeInt(user.getAttemptHistoryLimit());
+            List<TaskAttemptHistory> histories = List.copyOf(user.getAttemptHistories().values());
+            out.writeInt(histories.size());
+            for (TaskAttemptHistory history : histories) {
+                List<TaskResult> attempts = history.getAttempts();
+                out.writeUTF(history.getTaskId());
+                out.writeLong(history.getTotalAttempts());
+                out.writeInt(attempts.size());
+                for (TaskResult result : attempts) {
+                    out.writeBoolean(result.passed());
+                    out.writeLong(result.when().getEpochSecond());
+                    out.writeInt(result.when().getNano());
+                    byte[] payload = PayloadCodec.encode(result.payload());
+                    out.writeInt(payload.length);
+                    out.write(payload);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode user " + user.getId(), e);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static User decode(byte[] record) {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(record)))) {
+            String id = in.readUTF();
+            String email = in.readUTF();
+            String finalStatus = in.readUTF();
+            User user = new User(id, email, in.readInt());
+            int tasks = in.readInt();
+            for (int t = 0; t < tasks; t++) {
+                String taskId = in.readUTF();
+                long totalAttempts = in.readLong();
+                int retained = in.readInt();
+                for (int i = 0; i < retained; i++) {
+                    boolean passed = in.readBoolean();
+                    Instant when = Instant.ofEpochSecond(in.readLong(), in.readInt());
+                    byte[] payload = new byte[in.readInt()];
+                    in.readFully(payload);
+                    user.addTaskResult(new TaskResult(taskId, passed, when, PayloadCodec.decode(payload)));
+                }
+                user.addDroppedAttempts(taskId, totalAttempts - retained);
+            }
+            user.setFinalStatus(finalStatus);
+            return user;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt cold-tier record", e);
+        }
+    }
+}
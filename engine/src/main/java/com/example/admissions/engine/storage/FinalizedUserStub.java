@@ -0,0 +1,26 @@
+package com.example.admissions.engine.storage;
+
+/**
+ * Tiny on-heap handle for a user whose state lives in the cold tier.
+ * Carries just enough to answer status checks without touching the compressed record.
+ *
+ * @param userId             Identifier of the user
+ * @param email              Email the user registered with
+ * @param finalStatus        Final status: "accepted" or "rejected"
+ * @param completedTaskCount Number of distinct tasks the user completed
+ * @param version            The user's state version when it was stored
+ * @param segment            Index of the cold-tier segment holding the record
+ * @param offset             Byte offset of the record inside the segment
+ * @param length             Compressed length of the record in bytes
+ */
+public record FinalizedUserStub(
+        String userId,
+        String email,
+        String finalStatus,
+        int completedTaskCount,
+        long version,
+        int segment,
+        int offset,
+        int length
+) {
+}
@@ -0,0 +1,207 @@
+package com.example.admissions.engine.storage;
+
+import com.example.admissions.engine.exception.StorageException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces concurrent writes into batches applied by a single writer thread.
+ * <p>
+ * Callers block in {@link #write} until the sink has applied their batch. The writer takes the first
+ * queued write, then keeps collecting for at most {@code maxDelay} or until {@code maxBatchSize}
+ * writes are gathered, so a write waits at most {@code maxDelay} plus one batch commit. The queue is
+ * bounded; when it is full, callers block, which pushes back on request threads.
+ * <p>
+ * After {@link #close()}, every write submitted before it is applied, and later ones are rejected;
+ * no caller is left waiting on a write the writer will never take.
+ *
+ * @param <T> the type of write
+ */
+@Slf4j
+public final class GroupCommitWriter<T> implements AutoCloseable {
+
+    /**
+     * Applies a batch of writes durably.
+     */
+    @FunctionalInterface
+    public interface BatchSink<T> {
+        /**
+         * @return for each write, in order, whether it was applied (false e.g. for an unknown user)
+         */
+        boolean[] write(List<T> batch) throws Exception;
+
+        /**
+         * Called on the writer thread whenever the queue has stayed empty for 100ms, e.g. to sync
+         * writes the sink deferred.
+         */
+        default void idle() throws Exception {
+        }
+    }
+
+    private static final Duration IDLE_POLL = Duration.ofMillis(100);
+
+    private record Pending<T>(T write, CompletableFuture<Boolean> done) {
+    }
+
+    private final BatchSink<T> sink;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<Pending<T>> queue;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+
+    public GroupCommitWriter(String name, BatchSink<T> sink, int maxBatchSize, Duration maxDelay, int queueCapacity) {
+        this.sink = sink;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writerThread = new Thread(this::run, name);
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Queues a write and waits until its batch has been applied.
+     *
+     * @return whether the sink applied the write
+     * @throws StorageException if the batch failed or the writer is shut down
+     */
+    public boolean write(T write) {
+        return await(submit(write));
+    }
+
+    /**
+     * Queues a write without waiting; blocks only while the queue is full.
+     * Writes submitted by one thread are applied in submission order.
+     */
+    public CompletableFuture<Boolean> submit(T write) {
+        if (!running) {
+            throw new StorageException("Storage writer is closed");
+        }
+        Pending<T> pending = new Pending<>(write, new CompletableFuture<>());
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException("Interrupted while queueing a storage write", e);
+        }
+        // Raced with close(): the writer may have drained the queue and stopped before the put.
+        // If it has not taken the write, take it back; otherwise the writer applies it.
+        if (!running && queue.remove(pending)) {
+            throw new StorageException("Storage writer is closed");
+        }
+        return pending.done();
+    }
+
+    /**
+     * Waits for a submitted write.
+     *
+     * @throws StorageException if the batch failed
+     */
+    public static boolean await(CompletableFuture<Boolean> done) {
+        try {
+            return done.join();
+        } catch (CompletionException e) {
+            throw new StorageException("Storage write failed", e.getCause());
+        }
+    }
+
+    public long getBatchCount() { return batches.sum(); }
+    public long getWriteCount() { return writes.sum(); }
+    public int getQueueDepth() { return queue.size(); }
+
+    private void run() {
+        List<Pending<T>> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending<T> first = queue.poll(IDLE_POLL.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    idle();
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    Pending<T> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void idle() {
+        try {
+            sink.idle();
+        } catch (Exception e) {
+            log.error("Storage writer idle task failed", e);
+        }
+    }
+
+    private void flush(List<Pending<T>> batch) {
+        List<T> items = new ArrayList<>(batch.size());
+        for (Pending<T> pending : batch) {
+            items.add(pending.write());
+        }
+        try {
+            boolean[] applied = sink.write(items);
+            // Count before completing so callers that observed their write also observe the counters
+            batches.increment();
+            writes.add(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).done().complete(applied[i]);
+            }
+        } catch (Exception e) {
+            log.error("Storage batch of {} writes failed", batch.size(), e);
+            for (Pending<T> pending : batch) {
+                pending.done().completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Stops accepting writes and waits for the queued ones to be applied.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!writerThread.isAlive()) {
+            // Only left behind if the writer thread died; fail them rather than leave callers waiting
+            StorageException closed = new StorageException("Storage writer is closed");
+            for (Pending<T> pending; (pending = queue.poll()) != null; ) {
+                pending.done().completeExceptionally(closed);
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.admissions.engine.storage;
+
+import com.example.admissions.engine.model.TaskResult;
+import com.example.admissions.engine.model.User;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Heap-backed user store.
+ * <p>
+ * Users live in a hot map while in progress. Once finalized (accepted/rejected) they are moved
+ * to the {@link ColdUserTier} and only a small {@link FinalizedUserStub} stays on the heap;
+ * detail reads rehydrate them transparently. A write to a cold user rehydrates it, and it stays
+ * in the hot map only if the write left it in progress (a reopen); otherwise it is stored again,
+ * so the hot map only ever holds in-progress users.
+ * Tier transitions for a user are serialized through {@code users.compute} on that user's key.
+ */
+public class InMemoryUserRepository implements UserRepository {
+    private final Map<String, User> users = new ConcurrentHashMap<>();
+    private final Map<String, FinalizedUserStub> finalizedUsers = new ConcurrentHashMap<>();
+    private final Map<String, String> emailToId = new ConcurrentHashMap<>(); // email -> userId for duplicate checking
+    private final ColdUserTier coldTier;
+
+    public InMemoryUserRepository() {
+        this(new ColdUserTier());
+    }
+
+    public InMemoryUserRepository(ColdUserTier coldTier) {
+        this.coldTier = coldTier;
+    }
+
+    /**
+     * Returns the user, rehydrating a detached copy from the cold tier if it has been finalized.
+     */
+    @Override
+    public User findById(String userId) {
+        User u = users.get(userId);
+        if (u != null) {
+            return u;
+        }
+        FinalizedUserStub stub = finalizedUsers.get(userId);
+        if (stub != null) {
+            return coldTier.load(stub);
+        }
+        return users.get(userId); // may have been promoted back between the two lookups
+    }
+
+    @Override
+    public boolean existsById(String userId) {
+        return users.containsKey(userId) || finalizedUsers.containsKey(userId);
+    }
+
+    /**
+     * Answered from the on-heap stub for cold users, without rehydrating them.
+     */
+    @Override
+    public String findFinalStatus(String userId) {
+        FinalizedUserStub stub = finalizedUsers.get(userId);
+        if (stub != null) {
+            return stub.finalStatus();
+        }
+        User u = findById(userId);
+        return u != null ? u.getFinalStatus() : null;
+    }
+
+    /**
+     * Answered from the on-heap stub for cold users, without rehydrating them.
+     */
+    @Override
+    public long findVersion(String userId) {
+        User u = users.get(userId);
+        if (u != null) {
+            return u.getVersion();
+        }
+        FinalizedUserStub stub = finalizedUsers.get(userId);
+        if (stub != null) {
+            return stub.version();
+        }
+        u = users.get(userId); // may have been promoted back between the two lookups
+        return u != null ? u.getVersion() : -1;
+    }
+
+    @Override
+    public String findIdByEmail(String normalizedEmail) {
+        return emailToId.get(normalizedEmail);
+    }
+
+    @Override
+    public boolean insert(User user, String normalizedEmail) {
+        if (emailToId.putIfAbsent(normalizedEmail, user.getId()) != null) {
+            return false;
+        }
+        users.put(user.getId(), user);
+        return true;
+    }
+
+    /**
+     * A finalized user receiving a new result (e.g. a redo) keeps its final status, so it is
+     * written back to the cold tier with the new result.
+     */
+    @Override
+    public boolean appendTaskResult(String userId, TaskResult result) {
+        return updateUser(userId, u -> {
+            u.addTaskResult(result);
+            return true;
+        });
+    }
+
+    /**
+     * A reopened user is promoted back to the hot tier.
+     */
+    @Override
+    public boolean reopen(String userId) {
+        return updateUser(userId, u -> {
+            u.reopen();
+            return true;
+        });
+    }
+
+    /**
+     * Decided under the same {@code users.compute} as the write, on the user's current version. A user left
+     * finalized goes (back) to the cold tier; a cold user whose version has changed is not promoted.
+     */
+    @Override
+    public boolean replaceFinalStatus(String userId, long expectedVersion, String status) {
+        return updateUser(userId, u -> {
+            if (u.getVersion() != expectedVersion) {
+                return false;
+            }
+            u.reopen();
+            if (status != null) {
+                u.setFinalStatus(status);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * @param update applies the write and returns true, or returns false without changing the user
+     * @return false if the user does not exist or the update declined
+     */
+    private boolean updateUser(String userId, Predicate<User> update) {
+        FinalizedUserStub[] promoted = new FinalizedUserStub[1];
+        boolean[] updated = new boolean[1];
+        users.compute(userId, (id, existing) -> {
+            User target = existing;
+            FinalizedUserStub stub = null;
+            if (target == null) {
+                stub = finalizedUsers.get(id);
+                if (stub == null) {
+                    return null;
+                }
+                target = coldTier.load(stub);
+            }
+            if (!update.test(target)) {
+                return existing; // unchanged: a cold user stays cold
+            }
+            updated[0] = true;
+            promoted[0] = stub;
+            if (coldTier.isEnabled() && target.getFinalStatus() != null) {
+                finalizedUsers.put(id, coldTier.store(target)); // still or newly finalized: stored cold right away
+                return null;
+            }
+            return target;
+        });
+        if (!updated[0]) {
+            return false;
+        }
+        if (promoted[0] != null) {
+            finalizedUsers.remove(userId, promoted[0]);
+            coldTier.release(promoted[0]);
+        }
+        return true;
+    }
+
+    /**
+     * Sets the final status and, when the cold tier is enabled, moves the user out of the hot map.
+     */
+    @Override
+    public boolean markFinal(String userId, String status) {
+        User hot = users.computeIfPresent(userId, (id, u) -> {
+            u.setFinalStatus(status);
+            if (!coldTier.isEnabled() || u.getFinalStatus() == null) {
+                return u;
+            }
+            finalizedUsers.put(id, coldTier.store(u));
+            return null;
+        });
+        return hot != null || finalizedUsers.containsKey(userId);
+    }
+
+    @Override
+    public long lastAssignedId() {
+        return 0; // nothing survives a restart
+    }
+
+    @Override
+    public boolean isHeapResident() {
+        return true;
+    }
+}
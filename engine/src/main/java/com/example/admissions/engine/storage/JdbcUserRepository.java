@@ -0,0 +1,442 @@
+package com.example.admissions.engine.storage;
+
+import com.example.admissions.engine.exception.StorageException;
+import com.example.admissions.engine.model.TaskResult;
+import com.example.admissions.engine.model.User;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * User store on an embedded JDBC database (H2 by default).
+ * <p>
+ * Reads run on a small fixed pool of connections and return detached {@link User} instances,
+ * so this backend can sit behind {@link CachingUserRepository}. All writes go through one
+ * {@link GroupCommitWriter}: concurrent {@code insert}/{@code appendTaskResult}/{@code markFinal}/{@code reopen}/{@code replaceFinalStatus}
+ * calls are coalesced into JDBC batches committed in a single transaction on the writer thread.
+ * If a batch hits a constraint violation (duplicate email, unknown user) it is rolled back and
+ * replayed one write per transaction so only the offending writes report {@code false}.
+ * <p>
+ * Each batch is forced to disk with the sync statement before its callers return, so an acknowledged
+ * write survives a crash. Setting a {@code deferredSync} interval trades that away for throughput:
+ * the sync then runs at most once per interval, when the writer goes idle and on close, and a crash
+ * can lose writes acknowledged within the last interval. That mode is not durable.
+ * <p>
+ * Task results are insert-only, so every attempt is kept; loading a user replays them in order,
+ * which also rebuilds the user's bounded attempt history. Final-status changes are counted in
+ * {@code status_changes}, so a user's version only grows even when its status is cleared.
+ */
+@Slf4j
+public class JdbcUserRepository implements UserRepository, AutoCloseable {
+    private static final String[] SCHEMA = {
+            """
+            CREATE TABLE IF NOT EXISTS users (
+                id VARCHAR(64) PRIMARY KEY,
+                email VARCHAR(320) NOT NULL,
+                normalized_email VARCHAR(320) NOT NULL UNIQUE,
+                final_status VARCHAR(16),
+                status_changes BIGINT DEFAULT 0 NOT NULL
+            )""",
+            // Databases created before final statuses could change or be cleared
+            "ALTER TABLE users ADD COLUMN IF NOT EXISTS status_changes BIGINT DEFAULT 0 NOT NULL",
+            "UPDATE users SET status_changes = 1 WHERE final_status IS NOT NULL AND status_changes = 0",
+            """
+            CREATE TABLE IF NOT EXISTS task_results (
+                seq BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                user_id VARCHAR(64) NOT NULL REFERENCES users(id),
+                task_id VARCHAR(128) NOT NULL,
+                passed BOOLEAN NOT NULL,
+                when_seconds BIGINT NOT NULL,
+                when_nanos INT NOT NULL,
+                payload CHARACTER VARYING NOT NULL
+            )""",
+            "CREATE INDEX IF NOT EXISTS task_results_by_user ON task_results(user_id, seq)"
+    };
+    private static final String INSERT_USER = "INSERT INTO users (id, email, normalized_email) VALUES (?, ?, ?)";
+    private static final String INSERT_RESULT =
+            "INSERT INTO task_results (user_id, task_id, passed, when_seconds, when_nanos, payload) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_STATUS = "UPDATE users SET status_changes = status_changes"
+            + " + CASE WHEN final_status IS NULL OR final_status <> ? THEN 1 ELSE 0 END, final_status = ? WHERE id = ?";
+    private static final String CLEAR_STATUS = "UPDATE users SET status_changes = status_changes"
+            + " + CASE WHEN final_status IS NULL THEN 0 ELSE 1 END, final_status = NULL WHERE id = ?";
+    // Clear (counted if a status was set) plus the new status; the version is computed as in findVersion
+    private static final String REPLACE_STATUS = "UPDATE users SET status_changes = status_changes"
+            + " + CASE WHEN final_status IS NULL THEN 0 ELSE 1 END + ?, final_status = ?"
+            + " WHERE id = ? AND (SELECT COUNT(*) FROM task_results WHERE user_id = users.id) + status_changes = ?";
+
+    private final Connection writeConnection;
+    private final BlockingQueue<Connection> readConnections;
+    private final String syncStatement;
+    private final long deferredSyncNanos;
+    private int unsyncedWrites;   // writer thread only
+    private long lastSyncNanos;   // writer thread only
+    private final int attemptHistoryLimit;
+    private final GroupCommitWriter<StorageWrite> writer;
+
+    /**
+     * @param syncStatement statement forcing committed data to disk (e.g. {@code CHECKPOINT SYNC} for H2),
+     *                      or blank to rely on the database's own policy
+     * @param deferredSync  zero to sync every batch before acknowledging it (durable); otherwise the longest
+     *                      time acknowledged writes may wait for the sync statement (not durable)
+     */
+    public JdbcUserRepository(String url, String username, String password, int readPoolSize, String syncStatement,
+                              Duration deferredSync,
+                              int attemptHistoryLimit, int maxBatchSize, Duration maxDelay, int queueCapacity) {
+        this.syncStatement = syncStatement == null || syncStatement.isBlank() ? null : syncStatement;
+        this.deferredSyncNanos = deferredSync.toNanos();
+        this.lastSyncNanos = System.nanoTime();
+        this.attemptHistoryLimit = attemptHistoryLimit;
+        try {
+            this.writeConnection = DriverManager.getConnection(url, username, password);
+            try (Statement statement = writeConnection.createStatement()) {
+                for (String ddl : SCHEMA) {
+                    statement.execute(ddl);
+                }
+            }
+            writeConnection.setAutoCommit(false);
+            this.readConnections = new ArrayBlockingQueue<>(readPoolSize);
+            for (int i = 0; i < readPoolSize; i++) {
+                readConnections.add(DriverManager.getConnection(url, username, password));
+            }
+        } catch (SQLException e) {
+            throw new StorageException("Failed to open user database " + url, e);
+        }
+        this.writer = new GroupCommitWriter<>("user-db-writer", new GroupCommitWriter.BatchSink<>() {
+            @Override
+            public boolean[] write(List<StorageWrite> batch) throws SQLException {
+                return writeBatch(batch);
+            }
+
+            @Override
+            public void idle() throws SQLException {
+                if (unsyncedWrites > 0) {
+                    sync();
+                }
+            }
+        }, maxBatchSize, maxDelay, queueCapacity);
+    }
+
+    @Override
+    public User findById(String userId) {
+        return read(connection -> {
+            User user;
+            String finalStatus;
+            long statusChanges;
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "SELECT email, final_status, status_changes FROM users WHERE id = ?")) {
+                ps.setString(1, userId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    user = new User(userId, rs.getString(1), attemptHistoryLimit);
+                    finalStatus = rs.getString(2);
+                    statusChanges = rs.getLong(3);
+                }
+            }
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "SELECT task_id, passed, when_seconds, when_nanos, payload FROM task_results WHERE user_id = ? ORDER BY seq")) {
+                ps.setString(1, userId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        user.addTaskResult(new TaskResult(
+                                rs.getString(1),
+                                rs.getBoolean(2),
+                                Instant.ofEpochSecond(rs.getLong(3), rs.getInt(4)),
+                                PayloadCodec.decode(rs.getString(5).getBytes(StandardCharsets.UTF_8))));
+                    }
+                }
+            }
+            user.setFinalStatus(finalStatus);
+            user.addDroppedStatusChanges(statusChanges - (finalStatus != null ? 1 : 0));
+            return user;
+        });
+    }
+
+    @Override
+    public boolean existsById(String userId) {
+        return Boolean.TRUE.equals(read(connection -> queryString(connection, "SELECT id FROM users WHERE id = ?", userId) != null));
+    }
+
+    @Override
+    public String findFinalStatus(String userId) {
+        return read(connection -> queryString(connection, "SELECT final_status FROM users WHERE id = ?", userId));
+    }
+
+    /**
+     * Counts the user's rows instead of loading them; matches the version of a user rebuilt by {@link #findById}.
+     */
+    @Override
+    public long findVersion(String userId) {
+        Long version = read(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "SELECT (SELECT COUNT(*) FROM task_results WHERE user_id = u.id) + u.status_changes"
+                            + " FROM users u WHERE u.id = ?")) {
+                ps.setString(1, userId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    return rs.next() ? rs.getLong(1) : -1L;
+                }
+            }
+        });
+        return version != null ? version : -1;
+    }
+
+    @Override
+    public String findIdByEmail(String normalizedEmail) {
+        return read(connection -> queryString(connection, "SELECT id FROM users WHERE normalized_email = ?", normalizedEmail));
+    }
+
+    @Override
+    public boolean insert(User user, String normalizedEmail) {
+        return writer.write(new StorageWrite.UserInserted(user.getId(), user.getEmail(), normalizedEmail));
+    }
+
+    @Override
+    public boolean appendTaskResult(String userId, TaskResult result) {
+        return writer.write(new StorageWrite.TaskResultAppended(userId, result));
+    }
+
+    @Override
+    public boolean markFinal(String userId, String status) {
+        return writer.write(new StorageWrite.FinalStatusMarked(userId, status));
+    }
+
+    @Override
+    public boolean reopen(String userId) {
+        return writer.write(new StorageWrite.FinalStatusCleared(userId));
+    }
+
+    @Override
+    public boolean replaceFinalStatus(String userId, long expectedVersion, String status) {
+        return writer.write(new StorageWrite.FinalStatusReplaced(userId, expectedVersion, status));
+    }
+
+    @Override
+    public long lastAssignedId() {
+        Long max = read(connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(CAST(id AS BIGINT)), 0) FROM users")) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        });
+        return max != null ? max : 0;
+    }
+
+    public GroupCommitWriter<StorageWrite> getWriter() {
+        return writer;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        writer.close();
+        if (unsyncedWrites > 0) {
+            sync();
+        }
+        writeConnection.close();
+        for (Connection connection : readConnections) {
+            connection.close();
+        }
+    }
+
+    private boolean[] writeBatch(List<StorageWrite> batch) throws SQLException {
+        boolean[] applied = commitBatch(batch);
+        unsyncedWrites += batch.size();
+        if (deferredSyncNanos == 0 || System.nanoTime() - lastSyncNanos >= deferredSyncNanos) {
+            sync();
+        }
+        return applied;
+    }
+
+    private boolean[] commitBatch(List<StorageWrite> batch) throws SQLException {
+        try {
+            boolean[] applied = applyBatch(batch);
+            writeConnection.commit();
+            return applied;
+        } catch (SQLException e) {
+            writeConnection.rollback();
+            if (!isConstraintViolation(e)) {
+                throw e;
+            }
+        }
+        // Replay one write per transaction so that only the conflicting writes fail
+        boolean[] applied = new boolean[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                applied[i] = applyBatch(List.of(batch.get(i)))[0];
+                writeConnection.commit();
+            } catch (SQLException e) {
+                writeConnection.rollback();
+                if (!isConstraintViolation(e)) {
+                    throw e;
+                }
+                applied[i] = false;
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Executes the batch as one JDBC batch per statement type. Grouping by type must not reorder a
+     * user's writes (a reopen followed by a new final status, say), so the batch is split into rounds
+     * holding at most one write per user: a user's n-th write in the batch runs in round n, and the
+     * rounds run in order. When every write is for a different user, there is a single round.
+     */
+    private boolean[] applyBatch(List<StorageWrite> batch) throws SQLException {
+        boolean[] applied = new boolean[batch.size()];
+        int[] roundOf = new int[batch.size()];
+        int rounds = 1;
+        Map<String, Integer> writesPerUser = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            roundOf[i] = writesPerUser.merge(batch.get(i).userId(), 1, Integer::sum) - 1;
+            rounds = Math.max(rounds, roundOf[i] + 1);
+        }
+        List<Integer> statusWrites = new ArrayList<>();
+        List<Integer> clearWrites = new ArrayList<>();
+        List<Integer> replaceWrites = new ArrayList<>();
+        try (PreparedStatement insertUser = writeConnection.prepareStatement(INSERT_USER);
+             PreparedStatement insertResult = writeConnection.prepareStatement(INSERT_RESULT);
+             PreparedStatement updateStatus = writeConnection.prepareStatement(UPDATE_STATUS);
+             PreparedStatement clearStatus = writeConnection.prepareStatement(CLEAR_STATUS);
+             PreparedStatement replaceStatus = writeConnection.prepareStatement(REPLACE_STATUS)) {
+            for (int round = 0; round < rounds; round++) {
+                boolean users = false;
+                boolean results = false;
+                statusWrites.clear();
+                clearWrites.clear();
+                replaceWrites.clear();
+                for (int i = 0; i < batch.size(); i++) {
+                    if (roundOf[i] != round) {
+                        continue;
+                    }
+                    StorageWrite write = batch.get(i);
+                    if (write instanceof StorageWrite.UserInserted inserted) {
+                        insertUser.setString(1, inserted.userId());
+                        insertUser.setString(2, inserted.email());
+                        insertUser.setString(3, inserted.normalizedEmail());
+                        insertUser.addBatch();
+                        users = true;
+                        applied[i] = true;
+                    } else if (write instanceof StorageWrite.TaskResultAppended appended) {
+                        TaskResult result = appended.result();
+                        insertResult.setString(1, appended.userId());
+                        insertResult.setString(2, result.taskId());
+                        insertResult.setBoolean(3, result.passed());
+                        insertResult.setLong(4, result.when().getEpochSecond());
+                        insertResult.setInt(5, result.when().getNano());
+                        insertResult.setString(6, new String(PayloadCodec.encode(result.payload()), StandardCharsets.UTF_8));
+                        insertResult.addBatch();
+                        results = true;
+                        applied[i] = true;
+                    } else if (write instanceof StorageWrite.FinalStatusMarked marked) {
+                        updateStatus.setString(1, marked.status());
+                        updateStatus.setString(2, marked.status());
+                        updateStatus.setString(3, marked.userId());
+                        updateStatus.addBatch();
+                        statusWrites.add(i);
+                    } else if (write instanceof StorageWrite.FinalStatusCleared cleared) {
+                        clearStatus.setString(1, cleared.userId());
+                        clearStatus.addBatch();
+                        clearWrites.add(i);
+                    } else if (write instanceof StorageWrite.FinalStatusReplaced replaced) {
+                        replaceStatus.setInt(1, replaced.status() != null ? 1 : 0);
+                        replaceStatus.setString(2, replaced.status());
+                        replaceStatus.setString(3, replaced.userId());
+                        replaceStatus.setLong(4, replaced.expectedVersion());
+                        replaceStatus.addBatch();
+                        replaceWrites.add(i);
+                    }
+                }
+                if (users) {
+                    insertUser.executeBatch();
+                }
+                if (results) {
+                    insertResult.executeBatch();
+                }
+                if (!statusWrites.isEmpty()) {
+                    int[] counts = updateStatus.executeBatch();
+                    for (int j = 0; j < counts.length; j++) {
+                        applied[statusWrites.get(j)] = counts[j] != 0;
+                    }
+                }
+                if (!clearWrites.isEmpty()) {
+                    int[] counts = clearStatus.executeBatch();
+                    for (int j = 0; j < counts.length; j++) {
+                        applied[clearWrites.get(j)] = counts[j] != 0;
+                    }
+                }
+                if (!replaceWrites.isEmpty()) {
+                    int[] counts = replaceStatus.executeBatch();
+                    for (int j = 0; j < counts.length; j++) {
+                        applied[replaceWrites.get(j)] = counts[j] != 0;
+                    }
+                }
+            }
+        }
+        return applied;
+    }
+
+    private void sync() throws SQLException {
+        if (syncStatement != null) {
+            try (Statement statement = writeConnection.createStatement()) {
+                statement.execute(syncStatement);
+            }
+        }
+        unsyncedWrites = 0;
+        lastSyncNanos = System.nanoTime();
+    }
+
+    private static boolean isConstraintViolation(SQLException e) {
+        for (SQLException current = e; current != null; current = current.getNextException()) {
+            if (current.getSQLState() != null && current.getSQLState().startsWith("23")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String queryString(Connection connection, String sql, String parameter) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, parameter);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ReadOperation<R> {
+        R run(Connection connection) throws SQLException;
+    }
+
+    private <R> R read(ReadOperation<R> operation) {
+        Connection connection;
+        try {
+            connection = readConnections.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException("Interrupted while waiting for a database connection", e);
+        }
+        try {
+            return operation.run(connection);
+        } catch (SQLException e) {
+            throw new StorageException("User database read failed", e);
+        } finally {
+            readConnections.add(connection);
+        }
+    }
+}
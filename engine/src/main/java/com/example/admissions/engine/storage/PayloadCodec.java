@@ -0,0 +1,35 @@
+package com.example.admissions.engine.storage;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * JSON encoding of task payloads shared by the storage backends.
+ */
+final class PayloadCodec {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {};
+
+    private PayloadCodec() {
+    }
+
+    static byte[] encode(Map<String, Object> payload) {
+        try {
+            return MAPPER.writeValueAsBytes(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode task payload", e);
+        }
+    }
+
+    static Map<String, Object> decode(byte[] json) {
+        try {
+            return MAPPER.readValue(json, PAYLOAD_TYPE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode task payload", e);
+        }
+    }
+}
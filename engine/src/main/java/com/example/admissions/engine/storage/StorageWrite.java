@@ -0,0 +1,47 @@
+package com.example.admissions.engine.storage;
+
+import com.example.admissions.engine.model.TaskResult;
+
+/**
+ * A single durable mutation, as queued to a {@link GroupCommitWriter} and written to persistent backends.
+ */
+public sealed interface StorageWrite {
+
+    String userId();
+
+    /**
+     * @param userId          Identifier of the new user
+     * @param email           Email as registered
+     * @param normalizedEmail Lowercased, trimmed email used for uniqueness
+     */
+    record UserInserted(String userId, String email, String normalizedEmail) implements StorageWrite {
+    }
+
+    /**
+     * @param userId Identifier of the user
+     * @param result The recorded task result
+     */
+    record TaskResultAppended(String userId, TaskResult result) implements StorageWrite {
+    }
+
+    /**
+     * @param userId Identifier of the user
+     * @param status Final status: "accepted" or "rejected"
+     */
+    record FinalStatusMarked(String userId, String status) implements StorageWrite {
+    }
+
+    /**
+     * @param userId Identifier of the user whose final status was cleared
+     */
+    record FinalStatusCleared(String userId) implements StorageWrite {
+    }
+
+    /**
+     * @param userId          Identifier of the user
+     * @param expectedVersion Version the user must still have for the write to apply
+     * @param status          Final status replacing the current one: "accepted", "rejected", or null to clear it
+     */
+    record FinalStatusReplaced(String userId, long expectedVersion, String status) implements StorageWrite {
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.admissions.engine.storage;
+
+import com.example.admissions.engine.model.TaskResult;
+import com.example.admissions.engine.model.User;
+
+/**
+ * Storage backend for users and their task results.
+ * <p>
+ * Implementations must be thread-safe. Lookups return null rather than throwing;
+ * translating a missing user into {@code UserNotFoundException} is left to the service layer.
+ */
+public interface UserRepository {
+
+    /**
+     * @return the user, or null if no such user exists
+     */
+    User findById(String userId);
+
+    boolean existsById(String userId);
+
+    /**
+     * @return the cached final status ("accepted"/"rejected"), or null if in progress or unknown
+     */
+    String findFinalStatus(String userId);
+
+    /**
+     * Returns the user's state version (see {@link User#getVersion()}) for cache validation.
+     * Backends that can answer without loading the whole user should override this.
+     *
+     * @return the version, or -1 if no such user exists
+     */
+    default long findVersion(String userId) {
+        User user = findById(userId);
+        return user != null ? user.getVersion() : -1;
+    }
+
+    /**
+     * @param normalizedEmail lowercased, trimmed email
+     * @return the id of the user registered with this email, or null
+     */
+    String findIdByEmail(String normalizedEmail);
+
+    /**
+     * Stores a new user, atomically claiming its email.
+     *
+     * @return false if the email is already taken (nothing is stored)
+     */
+    boolean insert(User user, String normalizedEmail);
+
+    /**
+     * Records a task result for an existing user.
+     *
+     * @return false if the user does not exist
+     */
+    boolean appendTaskResult(String userId, TaskResult result);
+
+    /**
+     * Records the user's final status ("accepted" or "rejected").
+     *
+     * @return false if the user does not exist
+     */
+    boolean markFinal(String userId, String status);
+
+    /**
+     * Clears the user's final status, so it is evaluated again on the next status check.
+     *
+     * @return false if the user does not exist
+     */
+    boolean reopen(String userId);
+
+    /**
+     * Clears the user's final status and then records {@code status} unless it is null, but only if the user's
+     * version is still {@code expectedVersion}; checking and writing is one atomic step, so a result or status
+     * recorded since the user was read is never overwritten.
+     *
+     * @param status "accepted", "rejected", or null to leave the user in progress
+     * @return false if the user does not exist or its version is no longer {@code expectedVersion}
+     */
+    boolean replaceFinalStatus(String userId, long expectedVersion, String status);
+
+    /**
+     * @return the highest numeric user id stored, or 0 if none; used to resume id assignment
+     */
+    long lastAssignedId();
+
+    /**
+     * @return true if reads are served from heap-resident state and return the backend's own instances,
+     *         so a cache in front only saves rehydrating users from the cold tier
+     */
+    default boolean isHeapResident() {
+        return false;
+    }
+}
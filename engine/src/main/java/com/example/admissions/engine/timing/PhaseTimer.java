@@ -0,0 +1,133 @@
+package com.example.admissions.engine.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Per-request breakdown of where the time went, recorded by {@link #mark(String)} calls in the service layer.
+ * <p>
+ * A timer is bound to the thread handling the request only when timing is enabled; {@link #mark} ends the
+ * named phase at the current instant (the phase started at the previous mark, or at the start of the request)
+ * and is a single {@code ThreadLocal} lookup when no timer is bound. Repeated phase names accumulate.
+ * A timer is used by one thread at a time.
+ */
+public final class PhaseTimer {
+    private static final ThreadLocal<PhaseTimer> CURRENT = new ThreadLocal<>();
+    private static final int MAX_PHASES = 16;
+
+    private final long startNanos = System.nanoTime();
+    private final String[] phases = new String[MAX_PHASES];
+    private final long[] durations = new long[MAX_PHASES];
+    private int count;
+    private long lastMarkNanos = startNanos;
+    private long endNanos;
+
+    /**
+     * Ends the named phase of the request bound to this thread, if any.
+     */
+    public static void mark(String phase) {
+        PhaseTimer timer = CURRENT.get();
+        if (timer != null) {
+            timer.record(phase);
+        }
+    }
+
+    /**
+     * @return the timer bound to this thread, or {@code null}
+     */
+    public static PhaseTimer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds this timer to the calling thread until the returned scope is closed.
+     */
+    public Scope bind() {
+        PhaseTimer previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Wraps {@code call} so it runs with {@code timer} bound, for work that hops threads (reactive stack).
+     */
+    public static <T> Callable<T> bound(PhaseTimer timer, Callable<T> call) {
+        if (timer == null) {
+            return call;
+        }
+        return () -> {
+            try (Scope ignored = timer.bind()) {
+                return call.call();
+            }
+        };
+    }
+
+    public void stop() {
+        if (endNanos == 0) {
+            endNanos = System.nanoTime();
+        }
+    }
+
+    public long totalNanos() {
+        return (endNanos != 0 ? endNanos : System.nanoTime()) - startNanos;
+    }
+
+    /**
+     * @return phase durations in milliseconds, in the order the phases first ended
+     */
+    public Map<String, Double> phasesMillis() {
+        Map<String, Double> millis = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            millis.put(phases[i], durations[i] / 1e6);
+        }
+        return millis;
+    }
+
+    /**
+     * @return the value of a {@code Server-Timing} header: each phase plus {@code total}, durations in milliseconds
+     */
+    public String serverTiming() {
+        StringBuilder header = new StringBuilder(32 * (count + 1));
+        for (int i = 0; i < count; i++) {
+            appendMetric(header, phases[i], durations[i]).append(", ");
+        }
+        return appendMetric(header, "total", totalNanos()).toString();
+    }
+
+    private static StringBuilder appendMetric(StringBuilder header, String name, long nanos) {
+        return header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1e6));
+    }
+
+    private void record(String phase) {
+        long now = System.nanoTime();
+        long elapsed = now - lastMarkNanos;
+        lastMarkNanos = now;
+        for (int i = 0; i < count; i++) {
+            if (phases[i].equals(phase)) {
+                durations[i] += elapsed;
+                return;
+            }
+        }
+        if (count < MAX_PHASES) {
+            phases[count] = phase;
+            durations[count++] = elapsed;
+        }
+    }
+
+    /**
+     * Binding of a timer to a thread; closing it restores the previous binding.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
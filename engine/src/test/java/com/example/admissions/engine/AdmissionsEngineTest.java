@@ -0,0 +1,80 @@
+package com.example.admissions.engine;
+
+import com.example.admissions.engine.config.FlowConfigLoader;
+import com.example.admissions.engine.dto.CompleteStepResponse;
+import com.example.admissions.engine.model.User;
+import com.example.admissions.engine.service.UserProgressChanged;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionsEngineTest {
+
+    @Test
+    void build_noFlowGiven_runsBundledFlow() throws Exception {
+        try (AdmissionsEngine engine = AdmissionsEngine.builder().build()) {
+            assertEquals("admissions_v1", engine.flow().flow().id());
+
+            User user = engine.userService().createUser("engine@example.com");
+            CompleteStepResponse response = engine.flowService().completeStep(user.getId(), "personal_details", personalDetails(user));
+
+            assertEquals("Personal Details Form", response.taskName());
+            assertEquals("step_iq", engine.flowService().getCurrentPositionResponse(user.getId()).currentStepId());
+        }
+    }
+
+    @Test
+    void build_flowFile_runsThatFlow(@TempDir Path dir) throws Exception {
+        Path flowFile = dir.resolve("flow.json");
+        try (InputStream in = FlowConfigLoader.class.getClassLoader().getResourceAsStream(FlowConfigLoader.DEFAULT_RESOURCE)) {
+            String json = new String(in.readAllBytes()).replace("\"admissions_v1\"", "\"admissions_file\"");
+            Files.writeString(flowFile, json);
+        }
+
+        try (AdmissionsEngine engine = AdmissionsEngine.builder().flow(flowFile).build()) {
+            assertEquals("admissions_file", engine.flow().flow().id());
+        }
+    }
+
+    @Test
+    void build_generatedFlow_matchesBundledFlow() throws Exception {
+        try (AdmissionsEngine engine = AdmissionsEngine.builder().generatedFlow().build()) {
+            assertEquals("admissions_v1", engine.flow().flow().id());
+        }
+    }
+
+    @Test
+    void completeStep_progressListener_toldOfEachCompletion() throws Exception {
+        List<UserProgressChanged> events = new ArrayList<>();
+        try (AdmissionsEngine engine = AdmissionsEngine.builder().progressListener(events::add).build()) {
+            User user = engine.userService().createUser("listener@example.com");
+            engine.flowService().completeStep(user.getId(), "personal_details", personalDetails(user));
+
+            assertEquals(List.of(new UserProgressChanged(user.getId())), events);
+        }
+    }
+
+    @Test
+    void build_twoFlows_throwsIllegalStateException(@TempDir Path dir) {
+        AdmissionsEngine.Builder builder = AdmissionsEngine.builder().flow(dir.resolve("flow.json")).generatedFlow();
+
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    private static Map<String, Object> personalDetails(User user) {
+        return Map.of(
+                "user_id", user.getId(),
+                "first_name", "Engine",
+                "last_name", "User",
+                "email", "engine@example.com",
+                "timestamp", "2025-12-10T12:00:00Z");
+    }
+}
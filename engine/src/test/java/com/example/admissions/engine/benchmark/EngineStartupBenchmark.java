@@ -0,0 +1,109 @@
+package com.example.admissions.engine.benchmark;
+
+import com.example.admissions.engine.AdmissionsEngine;
+import com.example.admissions.engine.model.User;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Startup of the bare engine, each run in a fresh JVM so that class loading and the flow's JSON parsing are paid
+ * in full. Run from the {@code engine} directory:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.admissions.engine.benchmark.EngineStartupBenchmark -Dexec.args="10"
+ * </pre>
+ * The optional argument is the number of starts per mode (default 10). Two figures are reported per mode, as
+ * min, median and max: {@code build}, from calling the builder to the first completed step, timed inside the
+ * child JVM; and {@code process}, from spawning the child to that point, which adds JVM boot.
+ */
+public class EngineStartupBenchmark {
+    private static final String PROBE = "--probe";
+    private static final String RESULT = "engine-startup-ms=";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals(PROBE)) {
+            probe(args[1]);
+            return;
+        }
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String classpath = classpath();
+        for (String mode : List.of("interpreted", "generated")) {
+            long[] build = new long[runs];
+            long[] process = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                long start = System.nanoTime();
+                Process child = new ProcessBuilder(java, "-cp", classpath, EngineStartupBenchmark.class.getName(), PROBE, mode)
+                        .redirectError(ProcessBuilder.Redirect.DISCARD)
+                        .start();
+                try (BufferedReader out = new BufferedReader(new InputStreamReader(child.getInputStream()))) {
+                    String line;
+                    while ((line = out.readLine()) != null && !line.startsWith(RESULT)) {
+                        // engine log lines share stdout with the result
+                    }
+                    if (line == null) {
+                        throw new IllegalStateException(mode + " probe printed no result");
+                    }
+                    build[i] = Long.parseLong(line.substring(RESULT.length()));
+                    process[i] = (System.nanoTime() - start) / 1_000_000;
+                }
+                if (child.waitFor() != 0) {
+                    throw new IllegalStateException(mode + " probe exited with " + child.exitValue());
+                }
+            }
+            Arrays.sort(build);
+            Arrays.sort(process);
+            System.out.printf("%-12s build   min=%5dms median=%5dms max=%5dms%n", mode, build[0], build[runs / 2], build[runs - 1]);
+            System.out.printf("%-12s process min=%5dms median=%5dms max=%5dms%n", mode, process[0], process[runs / 2], process[runs - 1]);
+        }
+    }
+
+    /**
+     * Builds an engine, takes one user through the first task and prints the elapsed milliseconds.
+     */
+    private static void probe(String mode) throws Exception {
+        long start = System.nanoTime();
+        AdmissionsEngine.Builder builder = AdmissionsEngine.builder();
+        if (mode.equals("generated")) {
+            builder.generatedFlow();
+        }
+        try (AdmissionsEngine engine = builder.build()) {
+            User user = engine.userService().createUser("startup@example.com");
+            engine.flowService().completeStep(user.getId(), "personal_details", Map.of(
+                    "user_id", user.getId(),
+                    "first_name", "Startup",
+                    "last_name", "Probe",
+                    "email", "startup@example.com",
+                    "timestamp", "2025-12-10T12:00:00Z"));
+        }
+        System.out.println(RESULT + (System.nanoTime() - start) / 1_000_000);
+        System.out.flush();
+    }
+
+    /**
+     * exec:java runs this class in an isolated class loader, so the child's classpath is taken from that loader
+     * rather than from {@code java.class.path}, which only holds Maven's own launcher.
+     */
+    private static String classpath() throws URISyntaxException {
+        if (EngineStartupBenchmark.class.getClassLoader() instanceof URLClassLoader loader) {
+            StringBuilder path = new StringBuilder();
+            for (URL url : loader.getURLs()) {
+                if (!path.isEmpty()) {
+                    path.append(File.pathSeparatorChar);
+                }
+                path.append(Path.of(url.toURI()));
+            }
+            return path.toString();
+        }
+        return System.getProperty("java.class.path");
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.admissions.engine.config;
+
+import com.example.admissions.engine.exception.InvalidFlowException;
+import com.example.admissions.engine.model.FlowAnalysis;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowAnalyzerTest {
+    private static final ConditionJsonDto ALWAYS = new ConditionJsonDto("always", null, null, null, null, null, null);
+
+    @Test
+    void analyzeFlow_bundledFlow_allTasksReachableInFlowOrder() {
+        FlowAnalysis analysis = new FlowConfigLoader().analyzeFlow();
+
+        assertEquals(8, analysis.taskCount());
+        assertEquals(8, analysis.maxPathLength());
+        assertEquals(List.of(), analysis.unreachableTasks());
+        assertEquals(List.of(), analysis.warnings());
+        assertEquals("personal_details", analysis.dependencyOrder().get(0));
+        assertEquals("iq_test", analysis.dependencyOrder().get(1));
+    }
+
+    @Test
+    void analyze_duplicateTaskIds_rejected() {
+        InvalidFlowException e = assertThrows(InvalidFlowException.class, () -> FlowAnalyzer.analyze(flow(
+                task("a", ALWAYS, ALWAYS), task("b", ALWAYS, ALWAYS), task("a", ALWAYS, ALWAYS))));
+
+        assertEquals(List.of("duplicate task id a"), e.getProblems());
+    }
+
+    @Test
+    void analyze_passFieldNotRequired_rejected() {
+        ConditionJsonDto pass = new ConditionJsonDto("scoreGreaterThan", "grade", null, 50.0, null, null, null);
+
+        InvalidFlowException e = assertThrows(InvalidFlowException.class,
+                () -> FlowAnalyzer.analyze(flow(task("a", pass, ALWAYS))));
+
+        assertEquals(List.of("task a: pass condition reads grade, which is not in requiredFields"), e.getProblems());
+    }
+
+    @Test
+    void analyze_visibilityOnUnknownSelfOrLaterTask_rejectedTogether() {
+        InvalidFlowException e = assertThrows(InvalidFlowException.class, () -> FlowAnalyzer.analyze(flow(
+                task("a", ALWAYS, between("missing", 0, 10)),
+                task("b", ALWAYS, between("b", 0, 10)),
+                task("c", ALWAYS, between("d", 0, 10)),
+                task("d", ALWAYS, ALWAYS))));
+
+        assertEquals(List.of(
+                "task a is visible depending on unknown task missing",
+                "task b is visible depending on itself",
+                "task c is visible depending on later task d"), e.getProblems());
+    }
+
+    @Test
+    void analyze_unknownConditionTypes_rejected() {
+        ConditionJsonDto unknown = new ConditionJsonDto("scoreBelow", "score", null, 1.0, null, null, null);
+
+        InvalidFlowException e = assertThrows(InvalidFlowException.class,
+                () -> FlowAnalyzer.analyze(flow(task("a", unknown, unknown))));
+
+        assertEquals(2, e.getProblems().size());
+    }
+
+    @Test
+    void analyze_overlappingRanges_pathCountsOnlyTasksShownTogether() {
+        FlowAnalysis analysis = FlowAnalyzer.analyze(flow(
+                task("iq", ALWAYS, ALWAYS),
+                task("low", ALWAYS, between("iq", 0, 50)),
+                task("mid", ALWAYS, between("iq", 40, 70)),
+                task("high", ALWAYS, between("iq", 71, 100)),
+                task("boundary", ALWAYS, between("iq", 70, 70))));
+
+        // At most mid and boundary (score 70), or low and mid (score 40-50), show at once
+        assertEquals(3, analysis.maxPathLength());
+        assertEquals(List.of(), analysis.unreachableTasks());
+    }
+
+    @Test
+    void analyze_unsatisfiableVisibility_reportedUnreachable() {
+        ConditionJsonDto iqPass = new ConditionJsonDto("scoreGreaterThan", "score", null, 75.0, null, null, null);
+        FlowAnalysis analysis = FlowAnalyzer.analyze(flow(
+                new TaskJsonDto("iq", "iq", Set.of("score"), iqPass, ALWAYS, false),
+                task("empty", ALWAYS, between("iq", 80, 60)),
+                task("failed_only", ALWAYS, between("iq", 60, 75)),
+                task("after_empty", ALWAYS, between("empty", 0, 100)),
+                task("passed_only", ALWAYS, between("iq", 76, 100))));
+
+        assertEquals(List.of("empty", "failed_only", "after_empty"), analysis.unreachableTasks());
+        assertEquals(2, analysis.maxPathLength());
+        assertEquals(3, analysis.warnings().size());
+    }
+
+    @Test
+    void analyze_chainedVisibility_dependencyOrderByDepth() {
+        FlowAnalysis analysis = FlowAnalyzer.analyze(flow(
+                task("a", ALWAYS, ALWAYS),
+                task("b", ALWAYS, between("a", 0, 100)),
+                task("c", ALWAYS, between("b", 0, 100)),
+                task("d", ALWAYS, ALWAYS),
+                task("e", ALWAYS, between("a", 0, 100))));
+
+        assertEquals(List.of("a", "d", "b", "e", "c"), analysis.dependencyOrder());
+    }
+
+    @Test
+    void analyze_labelsSharedIgnoringCase_warned() {
+        FlowAnalysis analysis = FlowAnalyzer.analyze(flow(
+                new TaskJsonDto("review", "Review", Set.of("score"), ALWAYS, ALWAYS, null),
+                new TaskJsonDto("final", "REVIEW", Set.of("score"), ALWAYS, ALWAYS, null)));
+
+        assertEquals(1, analysis.warnings().size());
+        assertTrue(analysis.warnings().get(0).startsWith("task final answers to \"REVIEW\" like task review"));
+    }
+
+    @Test
+    void analyze_thousandTaskFlow_runsInMilliseconds() {
+        List<TaskJsonDto> tasks = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            tasks.add(task("task-" + i, ALWAYS, i % 4 == 0 ? ALWAYS : between("task-" + (i - i % 4), i % 4 * 10, 100)));
+        }
+        FlowJsonDto flow = flow(tasks.toArray(TaskJsonDto[]::new));
+
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < 20; run++) {
+            long start = System.nanoTime();
+            FlowAnalysis analysis = FlowAnalyzer.analyze(flow);
+            best = Math.min(best, System.nanoTime() - start);
+            assertEquals(1_000, analysis.maxPathLength());
+        }
+        assertTrue(best < 50_000_000L, "best run took " + best / 1_000 + " us");
+    }
+
+    private static FlowJsonDto flow(TaskJsonDto... tasks) {
+        return new FlowJsonDto("test", "Test", List.of(new StepJsonDto("step", "Step", List.of(tasks))));
+    }
+
+    private static TaskJsonDto task(String id, ConditionJsonDto pass, ConditionJsonDto visibility) {
+        return new TaskJsonDto(id, "Task " + id, Set.of("score"), pass, visibility, null);
+    }
+
+    private static ConditionJsonDto between(String taskId, double min, double max) {
+        return new ConditionJsonDto("previousTaskScoreBetween", null, null, null, taskId, min, max);
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.admissions.engine.config;
+
+import com.example.admissions.engine.model.CompiledFlow;
+import com.example.admissions.engine.model.InterpretedFlow;
+import com.example.admissions.engine.model.Step;
+import com.example.admissions.engine.model.Task;
+import com.example.admissions.engine.model.TaskResult;
+import com.example.admissions.engine.model.UserStateSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the class generated from a flow answers exactly like {@link InterpretedFlow} over the same flow.
+ */
+class FlowCodeGeneratorTest {
+    private static final Instant WHEN = Instant.parse("2025-12-10T12:00:00Z");
+
+    private final FlowConfigLoader loader = new FlowConfigLoader();
+
+    @Test
+    void loadGeneratedFlow_bundledFlow_matchesInterpreted() {
+        CompiledFlow generated = loader.loadGeneratedFlow();
+        CompiledFlow interpreted = new InterpretedFlow(loader.loadFlow());
+
+        assertSameModel(interpreted, generated);
+        assertSameLookups(interpreted, generated, List.of("IQ_TEST", "\u0130Q_TEST", "Perform interview", "PAYMENT", "step_iq", "", "iq test "));
+
+        // Every combination of not attempted / passed / failed over the eight tasks
+        int combinations = (int) Math.pow(3, interpreted.taskCount());
+        for (int combination = 0; combination < combinations; combination++) {
+            Map<String, TaskResult> completed = new HashMap<>();
+            for (int ordinal = 0, rest = combination; ordinal < interpreted.taskCount(); ordinal++, rest /= 3) {
+                if (rest % 3 > 0) {
+                    String taskId = interpreted.task(ordinal).getId();
+                    completed.put(taskId, new TaskResult(taskId, rest % 3 == 1, WHEN, Map.of()));
+                }
+            }
+            UserStateSnapshot snapshot = new UserStateSnapshot("u", completed);
+            assertEquals(interpreted.currentTask(snapshot), generated.currentTask(snapshot), completed::toString);
+        }
+
+        int iqTest = interpreted.findTask("iq_test", new UserStateSnapshot("u", Map.of()));
+        int interview = interpreted.findTask("perform_interview", new UserStateSnapshot("u", Map.of()));
+        List<Object> values = new ArrayList<>(List.of(75, 75.0001, 76L, "80", " 80", "abc", "NaN", "passed_interview",
+                "Passed_Interview", Double.NaN, true));
+        values.add(null);
+        for (Object value : values) {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("score", value);
+            payload.put("decision", value);
+            assertEquals(interpreted.passed(iqTest, payload), generated.passed(iqTest, payload), String.valueOf(value));
+            assertEquals(interpreted.passed(interview, payload), generated.passed(interview, payload), String.valueOf(value));
+        }
+        assertTrue(generated.passed(0, null));
+    }
+
+    @Test
+    void generate_largeFlowWithSharedLabels_matchesInterpreted(@TempDir Path dir) throws Exception {
+        // Enough tasks to split every generated method, with names that collide with other tasks' ids and
+        // every fifth task shown only for a score range of an earlier one
+        int taskCount = FlowCodeGenerator.CHUNK * 2 + 50;
+        List<StepJsonDto> steps = new ArrayList<>();
+        List<TaskJsonDto> tasks = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            String name = i % 10 == 9 ? "task-" + (i - 9) : "Task \"" + i + "\" é";
+            ConditionJsonDto pass = switch (i % 3) {
+                case 0 -> new ConditionJsonDto("always", null, null, null, null, null, null);
+                case 1 -> new ConditionJsonDto("scoreGreaterThan", "score", null, (double) i, null, null, null);
+                default -> new ConditionJsonDto("equals", "decision", "ok-" + i, null, null, null, null);
+            };
+            ConditionJsonDto visibility = i % 5 == 4
+                    ? new ConditionJsonDto("previousTaskScoreBetween", null, null, null, "task-" + (i - 3), (double) i / 2, (double) i)
+                    : new ConditionJsonDto("always", null, null, null, null, null, null);
+            tasks.add(new TaskJsonDto("task-" + i, name, Set.of("score", "decision"), pass, visibility,
+                    i % 2 == 0 ? null : false));
+            if (i % 7 == 6 || i == taskCount - 1) {
+                steps.add(new StepJsonDto("step-" + steps.size(), "Step " + steps.size(), tasks));
+                tasks = new ArrayList<>();
+            }
+        }
+        byte[] source = new ObjectMapper().writeValueAsBytes(new FlowJsonDto("big", "Big Flow", steps));
+        CompiledFlow interpreted = new InterpretedFlow(loader.parseFlow(source));
+        CompiledFlow generated = compile(dir, FlowCodeGenerator.generate(FlowConfigLoader.parseDto(source),
+                FlowConfigLoader.sha256(source)));
+
+        assertSameModel(interpreted, generated);
+        List<String> labels = new ArrayList<>();
+        for (int i = 0; i < taskCount; i += 13) {
+            labels.add("TASK-" + i);
+            labels.add(interpreted.task(i).getName().toUpperCase(Locale.ROOT));
+        }
+        labels.add("task-" + taskCount);
+        assertSameLookups(interpreted, generated, labels);
+
+        SplittableRandom random = new SplittableRandom(43);
+        for (int run = 0; run < 2_000; run++) {
+            Map<String, TaskResult> completed = new HashMap<>();
+            int progress = random.nextInt(taskCount + 1);
+            for (int ordinal = 0; ordinal < progress; ordinal++) {
+                String taskId = interpreted.task(ordinal).getId();
+                completed.put(taskId, new TaskResult(taskId, random.nextInt(50) > 0, WHEN,
+                        Map.of("score", random.nextInt(taskCount + 2))));
+            }
+            UserStateSnapshot snapshot = new UserStateSnapshot("u", completed);
+            assertEquals(interpreted.currentTask(snapshot), generated.currentTask(snapshot));
+
+            int ordinal = random.nextInt(taskCount);
+            Map<String, Object> payload = Map.of("score", random.nextInt(taskCount + 2), "decision", "ok-" + random.nextInt(taskCount));
+            assertEquals(interpreted.passed(ordinal, payload), generated.passed(ordinal, payload));
+        }
+    }
+
+    private static CompiledFlow compile(Path dir, String code) throws Exception {
+        Path file = dir.resolve(CompiledFlow.GENERATED_CLASS.replace('.', '/') + ".java");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, code);
+        String classpath = Path.of(CompiledFlow.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        assertEquals(0, javac.run(null, null, null, "-classpath", classpath, "-d", dir.toString(), file.toString()));
+        // Child-first for the generated class only, so the build's own GeneratedFlow does not shadow it
+        ClassLoader classLoader = new URLClassLoader(new URL[]{dir.toUri().toURL()}, FlowCodeGeneratorTest.class.getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                if (!name.startsWith(CompiledFlow.GENERATED_CLASS)) {
+                    return super.loadClass(name, resolve);
+                }
+                synchronized (getClassLoadingLock(name)) {
+                    Class<?> loaded = findLoadedClass(name);
+                    return loaded != null ? loaded : findClass(name);
+                }
+            }
+        };
+        return (CompiledFlow) classLoader.loadClass(CompiledFlow.GENERATED_CLASS).getConstructor().newInstance();
+    }
+
+    private static void assertSameModel(CompiledFlow expected, CompiledFlow actual) {
+        assertEquals(expected.flow().id(), actual.flow().id());
+        assertEquals(expected.flow().name(), actual.flow().name());
+        assertEquals(expected.flow().steps().size(), actual.flow().steps().size());
+        for (int i = 0; i < expected.flow().steps().size(); i++) {
+            Step step = expected.flow().steps().get(i);
+            assertEquals(step.id(), actual.flow().steps().get(i).id());
+            assertEquals(step.name(), actual.flow().steps().get(i).name());
+            assertEquals(step.tasks().size(), actual.flow().steps().get(i).tasks().size());
+        }
+        assertEquals(expected.taskCount(), actual.taskCount());
+        for (int ordinal = 0; ordinal < expected.taskCount(); ordinal++) {
+            Task task = expected.task(ordinal);
+            assertEquals(task.getId(), actual.task(ordinal).getId());
+            assertEquals(task.getName(), actual.task(ordinal).getName());
+            assertEquals(List.copyOf(task.getRequiredFields()), List.copyOf(actual.task(ordinal).getRequiredFields()));
+            assertEquals(task.isRedoable(), actual.task(ordinal).isRedoable());
+            assertEquals(expected.stepOf(ordinal), actual.stepOf(ordinal));
+            assertSame(actual.flow().steps().get(actual.stepOf(ordinal)).tasks().get(
+                    ordinal - firstOrdinal(actual, actual.stepOf(ordinal))), actual.task(ordinal));
+        }
+    }
+
+    private static int firstOrdinal(CompiledFlow flow, int stepIndex) {
+        int ordinal = 0;
+        while (flow.stepOf(ordinal) < stepIndex) {
+            ordinal++;
+        }
+        return ordinal;
+    }
+
+    private static void assertSameLookups(CompiledFlow expected, CompiledFlow actual, List<String> extraLabels) {
+        UserStateSnapshot snapshot = new UserStateSnapshot("u", Map.of());
+        List<String> labels = new ArrayList<>(extraLabels);
+        for (int ordinal = 0; ordinal < expected.taskCount(); ordinal++) {
+            labels.add(expected.task(ordinal).getId());
+            labels.add(expected.task(ordinal).getName());
+        }
+        for (String label : labels) {
+            assertEquals(expected.findTask(label, snapshot), actual.findTask(label, snapshot), label);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.admissions.engine.logging;
+
+import com.example.admissions.engine.config.FlowConfigLoader;
+import com.example.admissions.engine.model.TaskAttemptHistory;
+import com.example.admissions.engine.service.FlowService;
+import com.example.admissions.engine.service.UserService;
+import com.example.admissions.engine.storage.InMemoryUserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the asynchronous, sampled engine event log.
+ */
+class EngineEventLogTest {
+    private final List<String> lines = new CopyOnWriteArrayList<>();
+
+    @Test
+    void taskCompleted_async_writesKeyValueLineOnWriterThread() {
+        List<String> threads = new CopyOnWriteArrayList<>();
+        EngineEventLog eventLog = new EngineEventLog(16, Map.of(), line -> {
+            threads.add(Thread.currentThread().getName());
+            lines.add(line);
+        });
+
+        eventLog.taskCompleted("7", "iq_test", true, "in_progress");
+        eventLog.close();
+
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).matches("event=task_completed at=\\S+ userId=7 taskId=iq_test passed=true status=in_progress"),
+                lines.get(0));
+        assertEquals(List.of("engine-event-log"), threads);
+        assertEquals(1, eventLog.getWritten());
+    }
+
+    @Test
+    void record_zeroSampleRate_keepsFailuresAndFinalStatuses() {
+        EngineEventLog eventLog = new EngineEventLog(16, Map.of(
+                EngineEvent.TASK_COMPLETED, 0.0, EngineEvent.CURRENT_POSITION, 0.0), lines::add);
+
+        eventLog.currentPosition("7", "step_2", "iq_test", 1, 4);
+        eventLog.taskCompleted("7", "iq_test", true, "in_progress");
+        eventLog.taskCompleted("7", "iq_test", false, "in_progress");
+        eventLog.finalStatus("7", "rejected");
+        eventLog.close();
+
+        assertEquals(2, eventLog.getSampledOut());
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("event=task_failed"));
+        assertTrue(lines.get(1).startsWith("event=final_status"));
+    }
+
+    @Test
+    void record_queueFull_dropsSampleableAndWritesFinalStatusInline() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        EngineEventLog eventLog = new EngineEventLog(1, Map.of(), line -> {
+            lines.add(line);
+            if (writing.getCount() > 0) {
+                writing.countDown();
+                await(release);
+            }
+        });
+
+        eventLog.currentPosition("1", "step_1", "personal_details", 0, 4); // taken by the writer, which blocks
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        eventLog.currentPosition("2", "step_1", "personal_details", 0, 4); // fills the queue
+        eventLog.currentPosition("3", "step_1", "personal_details", 0, 4);
+        eventLog.finalStatus("4", "accepted");
+
+        assertEquals(1, eventLog.getDropped());
+        assertTrue(lines.get(lines.size() - 1).contains("userId=4 status=accepted"));
+        release.countDown();
+        eventLog.close();
+        assertEquals(3, lines.size());
+    }
+
+    @Test
+    void completeStep_finalizingCompletion_logsFinalStatusDespiteSampling() {
+        EngineEventLog eventLog = new EngineEventLog(16, Map.of(EngineEvent.TASK_COMPLETED, 0.0), lines::add);
+        UserService userService = new UserService();
+        FlowService flowService = new FlowService(new FlowConfigLoader().loadFlow(), userService, event -> { }, eventLog);
+        String userId = userService.createUser("final@example.com").getId();
+
+        flowService.completeStep(userId, "personal_details", Map.of(
+                "user_id", userId, "first_name", "F", "last_name", "S", "email", "final@example.com", "timestamp", "now"));
+        flowService.completeStep(userId, "iq_test", Map.of(
+                "user_id", userId, "test_id", "iq-1", "score", 10, "timestamp", "now"));
+        eventLog.close();
+
+        assertEquals(2, lines.size(), lines::toString);
+        assertTrue(lines.get(0).startsWith("event=task_failed"));
+        assertTrue(lines.get(1).matches("event=final_status at=\\S+ userId=" + userId + " status=rejected"), lines.get(1));
+    }
+
+    @Test
+    void createUser_logsUserCreatedThroughEventLog() {
+        EngineEventLog eventLog = new EngineEventLog(16, Map.of(), lines::add);
+        UserService userService = new UserService(new InMemoryUserRepository(), TaskAttemptHistory.DEFAULT_LIMIT, 0, eventLog);
+
+        String userId = userService.createUser("Created@example.com").getId();
+        eventLog.close();
+
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).matches("event=user_created at=\\S+ userId=" + userId + " email=Created@example.com"),
+                lines.get(0));
+    }
+
+    @Test
+    void constructor_sampleRateOutOfRange_throwsIllegalArgument() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new EngineEventLog(0, Map.of(EngineEvent.CURRENT_POSITION, 1.5)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
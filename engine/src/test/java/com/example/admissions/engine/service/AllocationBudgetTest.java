@@ -0,0 +1,140 @@
+package com.example.admissions.engine.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.example.admissions.engine.model.Flow;
+import com.example.admissions.engine.model.Task;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allocation-budget regression tests for the engine's hot paths.
+ * <p>
+ * Each operation is run until the JIT has compiled it, then its bytes allocated per call are measured on the
+ * calling thread with {@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()} and compared with the
+ * budget in {@code allocation-budgets.properties} (key {@code <operation>.<flow>}). Flows are generated in two
+ * shapes, so cost that grows with the flow shows up as well. The user under test is half way through the flow.
+ * <p>
+ * Logging is raised to WARN while measuring: what an appender allocates depends on its configuration, not on the
+ * engine. When a budget fails after an intended change, the message has the new figure to record.
+ * <p>
+ * Allocation per call depends on the JDK (escape analysis, string concatenation, collection internals), so the
+ * budgets record the feature version they were measured on ({@code measured.jdk}) and a failure on another JDK says
+ * so. To re-measure, run with {@code -Dallocation.budgets.record=true}: every operation is measured without checking
+ * its budget, and the figures are printed as properties lines ready to paste.
+ */
+class AllocationBudgetTest {
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 5_000;
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final boolean RECORD = Boolean.getBoolean("allocation.budgets.record");
+
+    private static final Logger ENGINE_LOGGER = (Logger) LoggerFactory.getLogger("com.example.admissions");
+    private static Level engineLevel;
+    private static Properties budgets;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        budgets = new Properties();
+        try (InputStream in = AllocationBudgetTest.class.getResourceAsStream("/allocation-budgets.properties")) {
+            budgets.load(in);
+        }
+        engineLevel = ENGINE_LOGGER.getLevel();
+        ENGINE_LOGGER.setLevel(Level.WARN);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        ENGINE_LOGGER.setLevel(engineLevel);
+    }
+
+    @ParameterizedTest(name = "{0} on {1}")
+    @CsvSource({
+            "completeStep, small", "completeStep, large",
+            "getCurrentPositionResponse, small", "getCurrentPositionResponse, large",
+            "userStatus, small", "userStatus, large",
+            "snapshot, small", "snapshot, large",
+            "createUser, small", "createUser, large"
+    })
+    void operation_bytesPerCall_withinBudget(String operation, String shape) {
+        Flow flow = "small".equals(shape) ? GeneratedFlows.flow(4, 3) : GeneratedFlows.flow(20, 10);
+        UserService userService = new UserService();
+        FlowService flowService = new FlowService(flow, userService);
+        String userId = halfwayUser(flow, userService, flowService);
+        Task next = flowService.computeCurrentPosition(userId).orElseThrow().task();
+        Map<String, Object> payload = GeneratedFlows.passingPayload(userId);
+        String[] emails = new String[WARMUP + ITERATIONS];
+        for (int i = 0; i < emails.length; i++) {
+            emails[i] = "alloc" + i + "@example.com";
+        }
+
+        IntConsumer call = switch (operation) {
+            case "completeStep" -> i -> flowService.completeStep(userId, next.getId(), payload);
+            case "getCurrentPositionResponse" -> i -> flowService.getCurrentPositionResponse(userId);
+            case "userStatus" -> i -> flowService.userStatus(userId);
+            case "snapshot" -> i -> userService.snapshot(userId);
+            case "createUser" -> i -> userService.createUser(emails[i]);
+            default -> throw new IllegalArgumentException(operation);
+        };
+        long measured = bytesPerCall(call);
+
+        String key = operation + "." + shape;
+        if (RECORD) {
+            System.out.printf("# measured %d%n%s=%d%n", measured, key, headroom(measured));
+            return;
+        }
+        long budget = Long.parseLong(budgets.getProperty(key));
+        String measuredOn = budgets.getProperty("measured.jdk");
+        String runningOn = String.valueOf(Runtime.version().feature());
+        assertTrue(measured <= budget, () -> key + " allocated " + measured + " bytes per call, budget is " + budget
+                + (runningOn.equals(measuredOn) ? "" : " (budgets were measured on JDK " + measuredOn
+                + ", this is JDK " + runningOn + "; re-record with -Dallocation.budgets.record=true)"));
+    }
+
+    /**
+     * Creates a user who has passed the first half of the visible tasks, so the next task is redoable and
+     * completing it repeatedly keeps the user in the same state.
+     */
+    private static String halfwayUser(Flow flow, UserService userService, FlowService flowService) {
+        String userId = userService.createUser("halfway@example.com").getId();
+        int tasks = flow.steps().stream().mapToInt(step -> step.tasks().size()).sum();
+        for (int i = 0; i < tasks / 2; i++) {
+            Task next = flowService.computeCurrentPosition(userId).orElseThrow().task();
+            flowService.completeStep(userId, next.getId(), GeneratedFlows.passingPayload(userId));
+        }
+        assertEquals("in_progress", flowService.userStatus(userId));
+        return userId;
+    }
+
+    /**
+     * About 50% over the measured figure, rounded up to the next ten bytes.
+     */
+    private static long headroom(long measured) {
+        return (measured * 3 / 2 + 9) / 10 * 10;
+    }
+
+    private static long bytesPerCall(IntConsumer call) {
+        for (int i = 0; i < WARMUP; i++) {
+            call.accept(i);
+        }
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = WARMUP; i < WARMUP + ITERATIONS; i++) {
+            call.accept(i);
+        }
+        return (THREADS.getCurrentThreadAllocatedBytes() - before) / ITERATIONS;
+    }
+}
@@ -1,17 +1,18 @@
-package com.example.admissions.service;
-
-import com.example.admissions.config.FlowConfigLoader;
-import com.example.admissions.dto.CompleteStepResponse;
-import com.example.admissions.dto.CurrentPositionResponse;
-import com.example.admissions.dto.UserStatusResponse;
-import com.example.admissions.exception.MissingRequiredFieldsException;
-import com.example.admissions.exception.TaskAlreadyCompletedException;
-import com.example.admissions.exception.TaskNotFoundException;
-import com.example.admissions.exception.TaskOrderViolationException;
-import com.example.admissions.exception.UserNotFoundException;
-import com.example.admissions.model.Flow;
-import com.example.admissions.model.Step;
-import com.example.admissions.model.User;
+package com.example.admissions.engine.service;
+
+import com.example.admissions.engine.config.FlowConfigLoader;
+import com.example.admissions.engine.dto.CompleteStepResponse;
+import com.example.admissions.engine.dto.CurrentPositionResponse;
+import com.example.admissions.engine.dto.TaskAttemptsResponse;
+import com.example.admissions.engine.dto.UserStatusResponse;
+import com.example.admissions.engine.exception.MissingRequiredFieldsException;
+import com.example.admissions.engine.exception.TaskAlreadyCompletedException;
+import com.example.admissions.engine.exception.TaskNotFoundException;
+import com.example.admissions.engine.exception.TaskOrderViolationException;
+import com.example.admissions.engine.exception.UserNotFoundException;
+import com.example.admissions.engine.model.Flow;
+import com.example.admissions.engine.model.Step;
+import com.example.admissions.engine.model.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -387,4 +388,41 @@ class FlowServiceUnitTest {
         assertTrue(response.completedTasks() > 0);
         assertTrue(response.totalTasks() > 0);
     }
+
+    @Test
+    void getTaskAttemptsResponse_redoneTask_listsAttemptsOldestFirst() {
+        User user = userService.createUser("attempts@example.com");
+        Map<String, Object> first = Map.of("user_id", user.getId(), "first_name", "A", "last_name", "B", "email", "a@b.c", "timestamp", "t1");
+        Map<String, Object> second = Map.of("user_id", user.getId(), "first_name", "C", "last_name", "D", "email", "c@d.e", "timestamp", "t2");
+        flowService.completeStep(user.getId(), "personal_details", first);
+        flowService.completeStep(user.getId(), "personal_details", second);
+
+        TaskAttemptsResponse response = flowService.getTaskAttemptsResponse(user.getId(), "PERSONAL_DETAILS");
+
+        assertEquals("personal_details", response.taskId());
+        assertEquals(2, response.totalAttempts());
+        assertEquals(2, response.attempts().size());
+        assertEquals(1, response.attempts().get(0).attempt());
+        assertEquals("A", response.attempts().get(0).payload().get("first_name"));
+        assertEquals(2, response.attempts().get(1).attempt());
+        assertEquals("C", response.attempts().get(1).payload().get("first_name"));
+    }
+
+    @Test
+    void getTaskAttemptsResponse_notAttempted_returnsEmptyList() {
+        User user = userService.createUser("noattempts@example.com");
+
+        TaskAttemptsResponse response = flowService.getTaskAttemptsResponse(user.getId(), "iq_test");
+
+        assertEquals(0, response.totalAttempts());
+        assertTrue(response.attempts().isEmpty());
+    }
+
+    @Test
+    void getTaskAttemptsResponse_unknownTaskOrUser_throwsException() {
+        User user = userService.createUser("badattempts@example.com");
+
+        assertThrows(TaskNotFoundException.class, () -> flowService.getTaskAttemptsResponse(user.getId(), "nope"));
+        assertThrows(UserNotFoundException.class, () -> flowService.getTaskAttemptsResponse("999", "iq_test"));
+    }
 }
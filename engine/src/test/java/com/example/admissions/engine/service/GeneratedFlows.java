@@ -0,0 +1,53 @@
+package com.example.admissions.engine.service;
+
+import com.example.admissions.engine.model.Flow;
+import com.example.admissions.engine.model.Step;
+import com.example.admissions.engine.model.Task;
+import com.example.admissions.engine.model.TaskResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Synthetic flows of a given shape for tests that need more than {@code flow.json}.
+ * <p>
+ * Task {@code j} of step {@code i} has id {@code s<i>_t<j>}, requires {@code user_id} and {@code score}, passes
+ * with a score of at least 50 and is redoable. Every third task is conditional: it is only visible once the
+ * task before it in the same step has passed, like the conditional tasks of the real flow.
+ */
+final class GeneratedFlows {
+    static final int PASSING_SCORE = 50;
+
+    private GeneratedFlows() {
+    }
+
+    static Flow flow(int steps, int tasksPerStep) {
+        List<Step> generated = new ArrayList<>(steps);
+        for (int i = 0; i < steps; i++) {
+            List<Task> tasks = new ArrayList<>(tasksPerStep);
+            for (int j = 0; j < tasksPerStep; j++) {
+                String previous = taskId(i, j - 1);
+                tasks.add(new Task(taskId(i, j), "Step " + i + " Task " + j, Set.of("user_id", "score"),
+                        payload -> payload.get("score") instanceof Number score && score.intValue() >= PASSING_SCORE,
+                        j > 0 && j % 3 == 0 ? snapshot -> passed(snapshot.completedTasks().get(previous)) : null,
+                        true));
+            }
+            generated.add(new Step("step_" + i, "Step " + i, tasks));
+        }
+        return new Flow("generated_" + steps + "x" + tasksPerStep, "Generated " + steps + "x" + tasksPerStep, generated);
+    }
+
+    static String taskId(int step, int task) {
+        return "s" + step + "_t" + task;
+    }
+
+    static Map<String, Object> passingPayload(String userId) {
+        return Map.of("user_id", userId, "score", 80);
+    }
+
+    private static boolean passed(TaskResult result) {
+        return result != null && result.passed();
+    }
+}
@@ -0,0 +1,374 @@
+package com.example.admissions.engine.service;
+
+import com.example.admissions.engine.exception.DuplicateUserException;
+import com.example.admissions.engine.exception.UserNotFoundException;
+import com.example.admissions.engine.model.TaskAttemptHistory;
+import com.example.admissions.engine.model.TaskResult;
+import com.example.admissions.engine.model.User;
+import com.example.admissions.engine.model.UserStateSnapshot;
+import com.example.admissions.engine.storage.ColdUserTier;
+import com.example.admissions.engine.storage.InMemoryUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UserService covering all methods and edge cases.
+ */
+class UserServiceUnitTest {
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        userService = new UserService();
+    }
+
+    @Test
+    void createUser_validEmail_createsUserWithIncrementingId() {
+        User user1 = userService.createUser("test1@example.com");
+        User user2 = userService.createUser("test2@example.com");
+        User user3 = userService.createUser("test3@example.com");
+
+        assertEquals("1", user1.getId());
+        assertEquals("2", user2.getId());
+        assertEquals("3", user3.getId());
+        assertEquals("test1@example.com", user1.getEmail());
+        assertEquals("test2@example.com", user2.getEmail());
+        assertEquals("test3@example.com", user3.getEmail());
+    }
+
+    @Test
+    void createUser_duplicateEmail_throwsDuplicateUserException() {
+        userService.createUser("duplicate@example.com");
+        
+        assertThrows(DuplicateUserException.class, () -> {
+            userService.createUser("duplicate@example.com");
+        });
+    }
+
+    @Test
+    void createUser_emailCaseInsensitive_throwsDuplicateUserException() {
+        userService.createUser("case@example.com");
+        
+        assertThrows(DuplicateUserException.class, () -> {
+            userService.createUser("CASE@example.com");
+        });
+    }
+
+    @Test
+    void createUser_emailWithWhitespace_normalizesForDuplicateCheck() {
+        User user1 = userService.createUser("  whitespace@example.com  ");
+        
+        // User stores original email (with whitespace preserved)
+        assertNotNull(user1);
+        assertEquals("  whitespace@example.com  ", user1.getEmail());
+        
+        // But duplicate check uses normalized email, so this should fail
+        assertThrows(DuplicateUserException.class, () -> {
+            userService.createUser("whitespace@example.com");
+        });
+        
+        // Different case/whitespace but same normalized email should also fail
+        assertThrows(DuplicateUserException.class, () -> {
+            userService.createUser("  WHITESPACE@example.com  ");
+        });
+    }
+
+    @Test
+    void getUser_existingUser_returnsUser() {
+        User created = userService.createUser("get@example.com");
+        User retrieved = userService.getUser(created.getId());
+        
+        assertNotNull(retrieved);
+        assertEquals(created.getId(), retrieved.getId());
+        assertEquals(created.getEmail(), retrieved.getEmail());
+    }
+
+    @Test
+    void getUser_nonexistentUser_returnsNull() {
+        User retrieved = userService.getUser("99999");
+        assertNull(retrieved);
+    }
+
+    @Test
+    void addTaskResult_existingUser_addsTaskResult() {
+        User user = userService.createUser("task@example.com");
+        Map<String, Object> payload = Map.of("score", 85, "timestamp", "2025-12-10");
+        
+        userService.addTaskResult(user.getId(), "task1", true, payload);
+        
+        Map<String, TaskResult> completedTasks = user.getCompletedTasks();
+        assertEquals(1, completedTasks.size());
+        assertTrue(completedTasks.containsKey("task1"));
+        assertTrue(completedTasks.get("task1").passed());
+    }
+
+    @Test
+    void addTaskResult_nonexistentUser_throwsException() {
+        // Should throw exception for non-existent users
+        assertThrows(UserNotFoundException.class, () -> {
+            userService.addTaskResult("99999", "task1", true, Map.of());
+        });
+    }
+
+    @Test
+    void addTaskResult_multipleTasks_addsAllTasks() {
+        User user = userService.createUser("multitask@example.com");
+        
+        userService.addTaskResult(user.getId(), "task1", true, Map.of());
+        userService.addTaskResult(user.getId(), "task2", false, Map.of());
+        userService.addTaskResult(user.getId(), "task3", true, Map.of());
+        
+        Map<String, TaskResult> completedTasks = user.getCompletedTasks();
+        assertEquals(3, completedTasks.size());
+        assertTrue(completedTasks.get("task1").passed());
+        assertFalse(completedTasks.get("task2").passed());
+        assertTrue(completedTasks.get("task3").passed());
+    }
+
+    @Test
+    void addTaskResult_overwritesExistingTask() {
+        User user = userService.createUser("overwrite@example.com");
+        
+        userService.addTaskResult(user.getId(), "task1", false, Map.of("score", 50));
+        userService.addTaskResult(user.getId(), "task1", true, Map.of("score", 90));
+        
+        Map<String, TaskResult> completedTasks = user.getCompletedTasks();
+        assertEquals(1, completedTasks.size());
+        assertTrue(completedTasks.get("task1").passed());
+    }
+
+    @Test
+    void snapshot_existingUser_returnsUserStateSnapshot() {
+        User user = userService.createUser("snapshot@example.com");
+        userService.addTaskResult(user.getId(), "task1", true, Map.of("score", 85));
+        userService.addTaskResult(user.getId(), "task2", false, Map.of("score", 60));
+        
+        UserStateSnapshot snapshot = userService.snapshot(user.getId());
+        
+        assertNotNull(snapshot);
+        assertEquals(user.getId(), snapshot.userId());
+        assertEquals(2, snapshot.completedTasks().size());
+        assertTrue(snapshot.completedTasks().containsKey("task1"));
+        assertTrue(snapshot.completedTasks().containsKey("task2"));
+    }
+
+    @Test
+    void snapshot_nonexistentUser_throwsException() {
+        // Should throw exception for non-existent users
+        assertThrows(UserNotFoundException.class, () -> {
+            userService.snapshot("99999");
+        });
+    }
+
+    @Test
+    void snapshot_userWithNoTasks_returnsEmptyCompletedTasks() {
+        User user = userService.createUser("notasks@example.com");
+        UserStateSnapshot snapshot = userService.snapshot(user.getId());
+        
+        assertNotNull(snapshot);
+        assertEquals(user.getId(), snapshot.userId());
+        assertTrue(snapshot.completedTasks().isEmpty());
+    }
+
+    @Test
+    void addTaskResult_withTimestampInPayload_usesProvidedTimestamp() {
+        User user = userService.createUser("timestamp@example.com");
+        String isoTimestamp = "2025-12-10T15:00:00Z";
+        Map<String, Object> payload = Map.of("score", 85, "timestamp", isoTimestamp);
+        
+        userService.addTaskResult(user.getId(), "task1", true, payload);
+        
+        var taskResult = user.getCompletedTasks().get("task1");
+        assertNotNull(taskResult);
+        assertEquals(isoTimestamp, taskResult.when().toString());
+    }
+
+    @Test
+    void addTaskResult_withoutTimestamp_usesCurrentTime() {
+        User user = userService.createUser("notimestamp@example.com");
+        Map<String, Object> payload = Map.of("score", 85);
+        
+        long before = System.currentTimeMillis();
+        userService.addTaskResult(user.getId(), "task1", true, payload);
+        long after = System.currentTimeMillis();
+        
+        var taskResult = user.getCompletedTasks().get("task1");
+        assertNotNull(taskResult);
+        long taskTime = taskResult.when().toEpochMilli();
+        assertTrue(taskTime >= before && taskTime <= after);
+    }
+
+    @Test
+    void addTaskResult_withNowTimestamp_usesCurrentTime() {
+        User user = userService.createUser("now@example.com");
+        Map<String, Object> payload = Map.of("score", 85, "timestamp", "now");
+        
+        long before = System.currentTimeMillis();
+        userService.addTaskResult(user.getId(), "task1", true, payload);
+        long after = System.currentTimeMillis();
+        
+        var taskResult = user.getCompletedTasks().get("task1");
+        assertNotNull(taskResult);
+        long taskTime = taskResult.when().toEpochMilli();
+        assertTrue(taskTime >= before && taskTime <= after);
+    }
+
+    @Test
+    void finalizeUser_movesUserToColdTierAndKeepsStatus() {
+        ColdUserTier coldTier = new ColdUserTier(true, 1024);
+        UserService tiered = new UserService(new InMemoryUserRepository(coldTier));
+        User user = tiered.createUser("cold@example.com");
+        tiered.addTaskResult(user.getId(), "task1", true, Map.of("score", 85, "timestamp", "2025-12-10T15:00:00Z"));
+
+        tiered.finalizeUser(user.getId(), "accepted");
+
+        assertEquals(1, coldTier.getStoredUsers());
+        assertEquals("accepted", tiered.getFinalStatus(user.getId()));
+        assertTrue(tiered.exists(user.getId()));
+        assertEquals(0, coldTier.getRehydrations());
+    }
+
+    @Test
+    void getUser_coldUser_rehydratesTaskResults() {
+        UserService tiered = new UserService(new InMemoryUserRepository(new ColdUserTier(true, 1024)));
+        User user = tiered.createUser("rehydrate@example.com");
+        tiered.addTaskResult(user.getId(), "task1", false, Map.of("score", 50, "timestamp", "2025-12-10T15:00:00Z"));
+        tiered.finalizeUser(user.getId(), "rejected");
+
+        User rehydrated = tiered.getUser(user.getId());
+
+        assertEquals("rehydrate@example.com", rehydrated.getEmail());
+        assertEquals("rejected", rehydrated.getFinalStatus());
+        TaskResult result = rehydrated.getCompletedTasks().get("task1");
+        assertFalse(result.passed());
+        assertEquals(50, result.payload().get("score"));
+        assertEquals("2025-12-10T15:00:00Z", result.when().toString());
+        assertEquals(1, tiered.snapshot(user.getId()).completedTasks().size());
+    }
+
+    @Test
+    void addTaskResult_coldUser_isStoredBackInColdTier() {
+        ColdUserTier coldTier = new ColdUserTier(true, 1024);
+        UserService tiered = new UserService(new InMemoryUserRepository(coldTier));
+        User user = tiered.createUser("promote@example.com");
+        tiered.addTaskResult(user.getId(), "task1", true, Map.of());
+        tiered.finalizeUser(user.getId(), "accepted");
+        long storedBytes = coldTier.getStoredBytes();
+
+        tiered.addTaskResult(user.getId(), "task2", true, Map.of());
+
+        assertEquals(1, coldTier.getStoredUsers());
+        assertEquals(storedBytes, coldTier.getReleasedBytes());
+        User rehydrated = tiered.getUser(user.getId());
+        assertNotSame(rehydrated, tiered.getUser(user.getId()));
+        assertEquals(2, rehydrated.getCompletedTasks().size());
+        assertEquals("accepted", rehydrated.getFinalStatus());
+    }
+
+    @Test
+    void reopenUser_coldUser_promotesBackToHotTier() {
+        ColdUserTier coldTier = new ColdUserTier(true, 1024);
+        UserService tiered = new UserService(new InMemoryUserRepository(coldTier));
+        User user = tiered.createUser("reopen@example.com");
+        tiered.finalizeUser(user.getId(), "accepted");
+
+        tiered.reopenUser(user.getId());
+
+        assertEquals(0, coldTier.getStoredUsers());
+        User promoted = tiered.getUser(user.getId());
+        assertSame(promoted, tiered.getUser(user.getId()));
+        assertNull(promoted.getFinalStatus());
+    }
+
+    @Test
+    void finalizeUser_tierDisabled_keepsUserOnHeap() {
+        ColdUserTier coldTier = ColdUserTier.disabled();
+        UserService untiered = new UserService(new InMemoryUserRepository(coldTier));
+        User user = untiered.createUser("heap@example.com");
+
+        untiered.finalizeUser(user.getId(), "accepted");
+
+        assertSame(user, untiered.getUser(user.getId()));
+        assertEquals("accepted", user.getFinalStatus());
+        assertEquals(0, coldTier.getStoredUsers());
+    }
+
+    @Test
+    void addTaskResult_beyondHistoryLimit_keepsMostRecentAttempts() {
+        UserService bounded = new UserService(new InMemoryUserRepository(), 3);
+        User user = bounded.createUser("ring@example.com");
+        for (int score = 1; score <= 5; score++) {
+            bounded.addTaskResult(user.getId(), "task1", score > 4, Map.of("score", score));
+        }
+
+        TaskAttemptHistory history = bounded.attemptHistory(user.getId(), "task1");
+
+        assertEquals(5, history.getTotalAttempts());
+        List<TaskResult> attempts = history.getAttempts();
+        assertEquals(3, attempts.size());
+        assertEquals(List.of(3, 4, 5), attempts.stream().map(a -> a.payload().get("score")).toList());
+        assertFalse(attempts.get(1).passed());
+        assertTrue(attempts.get(2).passed());
+        assertEquals(5, bounded.snapshot(user.getId()).completedTasks().get("task1").payload().get("score"));
+    }
+
+    @Test
+    void attemptHistory_unknownTaskOrUser_returnsNullOrThrows() {
+        User user = userService.createUser("nohistory@example.com");
+
+        assertNull(userService.attemptHistory(user.getId(), "task1"));
+        assertThrows(UserNotFoundException.class, () -> userService.attemptHistory("999", "task1"));
+    }
+
+    @Test
+    void getUser_coldUser_rehydratesAttemptHistory() {
+        UserService tiered = new UserService(new InMemoryUserRepository(new ColdUserTier(true, 1024)), 2);
+        User user = tiered.createUser("history@example.com");
+        tiered.addTaskResult(user.getId(), "task1", false, Map.of("score", 10));
+        tiered.addTaskResult(user.getId(), "task1", false, Map.of("score", 20));
+        tiered.addTaskResult(user.getId(), "task1", true, Map.of("score", 30));
+        tiered.finalizeUser(user.getId(), "accepted");
+
+        TaskAttemptHistory history = tiered.attemptHistory(user.getId(), "task1");
+
+        assertEquals(3, history.getTotalAttempts());
+        assertEquals(List.of(20, 30), history.getAttempts().stream().map(a -> a.payload().get("score")).toList());
+        assertEquals(2, tiered.getUser(user.getId()).getAttemptHistoryLimit());
+    }
+
+    @Test
+    void getVersion_changesOnEveryMutation() {
+        User user = userService.createUser("version@example.com");
+        long created = userService.getVersion(user.getId());
+
+        userService.addTaskResult(user.getId(), "task1", true, Map.of());
+        long afterResult = userService.getVersion(user.getId());
+        userService.finalizeUser(user.getId(), "accepted");
+        long afterFinal = userService.getVersion(user.getId());
+
+        assertTrue(afterResult > created);
+        assertTrue(afterFinal > afterResult);
+        assertThrows(UserNotFoundException.class, () -> userService.getVersion("999"));
+    }
+
+    @Test
+    void getVersion_coldUser_matchesVersionBeforeFinalization() {
+        ColdUserTier coldTier = new ColdUserTier(true, 1024);
+        UserService tiered = new UserService(new InMemoryUserRepository(coldTier), 2);
+        User user = tiered.createUser("coldversion@example.com");
+        for (int i = 0; i < 5; i++) {
+            tiered.addTaskResult(user.getId(), "task1", i == 4, Map.of());
+        }
+        tiered.finalizeUser(user.getId(), "accepted");
+        long expected = user.getVersion();
+
+        assertEquals(expected, tiered.getVersion(user.getId()));
+        assertEquals(0, coldTier.getRehydrations());
+        assertEquals(expected, tiered.getUser(user.getId()).getVersion());
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.admissions.engine.simulation;
+
+import com.example.admissions.engine.config.FlowConfigLoader;
+import com.example.admissions.engine.model.CompiledFlow;
+import com.example.admissions.engine.model.Flow;
+import com.example.admissions.engine.model.InterpretedFlow;
+import com.example.admissions.engine.model.Step;
+import com.example.admissions.engine.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowSimulatorTest {
+    private static final Task DETAILS = new Task("details", "Details", Set.of("user_id"), null, null, true);
+    private static final Task EXAM = new Task("exam", "Exam", Set.of("user_id", "score"),
+            payload -> payload.get("score") instanceof Number score && score.doubleValue() > 75, null, false);
+    private static final Task QUIZ = new Task("quiz", "Quiz", Set.of("user_id", "score"),
+            payload -> payload.get("score") instanceof Number score && score.doubleValue() > 50, null, true);
+    private static final Task SLACK = new Task("slack", "Slack", Set.of("user_id"), null, null, true);
+
+    private static final SimulationProfile.FieldProfile UNIFORM_SCORE =
+            new SimulationProfile.FieldProfile(null, null, 0.0, 100.0, null);
+
+    @Test
+    void run_sameSeed_sameReportAtAnyParallelism() {
+        FlowSimulator simulator = new FlowSimulator(new InterpretedFlow(new FlowConfigLoader().loadFlow()),
+                SimulationProfile.load());
+
+        FunnelReport sequential = simulator.run(3 * FlowSimulator.CHUNK + 17, 42, 1);
+        FunnelReport parallel = simulator.run(3 * FlowSimulator.CHUNK + 17, 42, 3);
+        FunnelReport otherSeed = simulator.run(3 * FlowSimulator.CHUNK + 17, 43, 1);
+
+        assertEquals(withoutTiming(sequential), withoutTiming(parallel));
+        assertNotEquals(withoutTiming(sequential), withoutTiming(otherSeed));
+        assertEquals(sequential.applicants(), sequential.accepted() + sequential.rejected() + sequential.inProgress());
+        assertEquals("admissions_v1", sequential.flowId());
+        assertEquals(8, sequential.tasks().size());
+    }
+
+    @Test
+    void run_scoreDistribution_passRateFollowsPassCondition() {
+        SimulationProfile profile = profile(Map.of("exam", fields(UNIFORM_SCORE)));
+        FlowSimulator simulator = new FlowSimulator(flow(DETAILS, EXAM), profile);
+
+        FunnelReport report = simulator.run(100_000, 1, 2);
+
+        // Uniform scores over [0, 100) pass "> 75" a quarter of the time; the rest are rejected
+        assertEquals(0.25, report.accepted() / 100_000.0, 0.01);
+        assertEquals(report.applicants() - report.accepted(), report.rejected());
+        FunnelReport.TaskFunnel exam = report.tasks().get(1);
+        assertEquals(100_000, exam.reached());
+        assertEquals(100_000, exam.attempts());
+        assertEquals(report.rejected(), exam.rejected());
+        assertEquals("step", exam.stepId());
+    }
+
+    @Test
+    void run_redoableTaskFailed_retriedUpToMaxAttempts() {
+        SimulationProfile profile = profile(Map.of("quiz",
+                new SimulationProfile.TaskProfile(0.0, 1.0, 2, Map.of("score", UNIFORM_SCORE))));
+        FlowSimulator simulator = new FlowSimulator(flow(QUIZ), profile);
+
+        FunnelReport report = simulator.run(100_000, 1, 1);
+
+        // Half pass on the first attempt, half of the rest on the second; the others give up
+        FunnelReport.TaskFunnel quiz = report.tasks().get(0);
+        assertEquals(0.75, report.accepted() / 100_000.0, 0.01);
+        assertEquals(report.inProgress(), quiz.gaveUp());
+        assertEquals(0, report.rejected());
+        assertEquals(100_000 + quiz.failed() - quiz.gaveUp(), quiz.attempts());
+    }
+
+    @Test
+    void run_dropOff_leavesApplicantsInProgress() {
+        SimulationProfile profile = profile(Map.of("exam", new SimulationProfile.TaskProfile(1.0, null, null, null)));
+        FlowSimulator simulator = new FlowSimulator(flow(DETAILS, EXAM, SLACK), profile);
+
+        FunnelReport report = simulator.run(1_000, 1, 1);
+
+        assertEquals(1_000, report.inProgress());
+        assertEquals(1_000, report.tasks().get(1).droppedOff());
+        assertEquals(0, report.tasks().get(1).attempts());
+        assertEquals(0, report.tasks().get(2).reached());
+    }
+
+    @Test
+    void run_twoVersionsSameSeed_sameApplicantsOnSharedTasks() {
+        SimulationProfile profile = profile(Map.of("exam", fields(UNIFORM_SCORE)));
+        FunnelReport before = new FlowSimulator(flow(DETAILS, EXAM), profile).run(50_000, 7, 2);
+        FunnelReport after = new FlowSimulator(flow(DETAILS, EXAM, SLACK), profile).run(50_000, 7, 2);
+
+        // Exactly the applicants accepted before reach the added task, not just about as many
+        assertEquals(before.accepted(), after.tasks().get(2).reached());
+        assertEquals(before.rejected(), after.rejected());
+    }
+
+    @Test
+    void profile_missingSettings_fallBackToDefaults() {
+        SimulationProfile profile = SimulationProfile.load();
+
+        SimulationProfile.TaskProfile iqTest = profile.forTask("iq_test");
+        SimulationProfile.TaskProfile signContract = profile.forTask("sign_contract");
+
+        assertEquals(0.08, iqTest.dropOff());
+        assertEquals(0.6, iqTest.retry());
+        assertNotNull(iqTest.fields().get("score"));
+        assertEquals(0.02, signContract.dropOff());
+        assertNull(signContract.fields());
+    }
+
+    @Test
+    void constructor_invalidProbability_rejected() {
+        SimulationProfile profile = profile(Map.of("exam", new SimulationProfile.TaskProfile(1.5, null, null, null)));
+
+        assertThrows(IllegalArgumentException.class, () -> new FlowSimulator(flow(DETAILS, EXAM), profile));
+    }
+
+    private static SimulationProfile profile(Map<String, SimulationProfile.TaskProfile> tasks) {
+        return new SimulationProfile(null, tasks);
+    }
+
+    private static SimulationProfile.TaskProfile fields(SimulationProfile.FieldProfile score) {
+        return new SimulationProfile.TaskProfile(null, null, null, Map.of("score", score));
+    }
+
+    private static CompiledFlow flow(Task... tasks) {
+        return new InterpretedFlow(new Flow("flow", "Flow", List.of(new Step("step", "Step", List.of(tasks)))));
+    }
+
+    private static FunnelReport withoutTiming(FunnelReport report) {
+        return new FunnelReport(report.flowId(), report.applicants(), report.seed(), report.accepted(),
+                report.rejected(), report.inProgress(), report.tasks(), 0);
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.admissions.engine.simulation;
+
+import com.example.admissions.engine.config.FlowConfigLoader;
+import com.example.admissions.engine.model.CompiledFlow;
+import com.example.admissions.engine.model.Flow;
+import com.example.admissions.engine.model.InterpretedFlow;
+import com.example.admissions.engine.model.Step;
+import com.example.admissions.engine.model.Task;
+import com.example.admissions.engine.model.TaskResult;
+import com.example.admissions.engine.model.UserStateSnapshot;
+import com.example.admissions.engine.service.FlowService;
+import com.example.admissions.engine.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PopulationGeneratorTest {
+    private static final CompiledFlow FLOW = new InterpretedFlow(new FlowConfigLoader().loadFlow());
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void user_sameSeed_sameHistory() {
+        PopulationGenerator generator = new PopulationGenerator(FLOW, SimulationProfile.load(), 7);
+        PopulationGenerator again = new PopulationGenerator(FLOW, SimulationProfile.load(), 7);
+        PopulationGenerator otherSeed = new PopulationGenerator(FLOW, SimulationProfile.load(), 8);
+
+        boolean differs = false;
+        for (long number = 1; number <= 20; number++) {
+            assertEquals(generator.user(number), again.user(number));
+            differs |= !generator.user(number).equals(otherSeed.user(number));
+        }
+        assertTrue(differs);
+        assertEquals("applicant3@example.test", generator.user(3).email());
+        assertEquals("3", generator.user(3).id());
+    }
+
+    @Test
+    void user_payloads_carryEveryRequiredField() {
+        PopulationGenerator generator = new PopulationGenerator(FLOW, SimulationProfile.load(), 1);
+
+        for (long number = 1; number <= 200; number++) {
+            GeneratedUser user = generator.user(number);
+            TaskResult previous = null;
+            for (TaskResult result : user.tasks()) {
+                Task task = FLOW.task(FLOW.findTask(result.taskId(), new UserStateSnapshot(user.id(), Map.of())));
+                assertTrue(result.payload().keySet().containsAll(task.getRequiredFields()), result.toString());
+                assertEquals(user.id(), result.payload().get("user_id"));
+                assertEquals(task.evaluatePassed(result.payload()), result.passed());
+                if (previous != null) {
+                    assertTrue(result.when().isAfter(previous.when()));
+                }
+                previous = result;
+            }
+        }
+    }
+
+    @Test
+    void populate_userService_flowEvaluatesGeneratedStatus() {
+        UserService userService = new UserService();
+        FlowService flowService = new FlowService(FLOW.flow(), userService);
+        PopulationGenerator generator = new PopulationGenerator(FLOW, SimulationProfile.load(), 3);
+
+        generator.populate(userService, 1_000);
+
+        Map<String, Integer> statuses = new HashMap<>();
+        for (long number = 1; number <= 1_000; number++) {
+            GeneratedUser user = generator.user(number);
+            String id = String.valueOf(number);
+            assertEquals(user.status(), flowService.userStatus(id));
+            assertEquals(user.status(), FLOW.status(userService.snapshot(id)));
+            assertEquals(user.tasks().size(), userService.snapshot(id).completedTasks().size());
+            statuses.merge(user.status(), 1, Integer::sum);
+        }
+        assertEquals(Set.of("accepted", "rejected", "in_progress"), statuses.keySet());
+    }
+
+    @Test
+    void populate_inParallel_createsApplicantsInIdOrder() {
+        UserService userService = new UserService();
+        String existing = userService.createUser("existing@example.com").getId();
+        PopulationGenerator generator = new PopulationGenerator(FLOW, SimulationProfile.load(), 5);
+
+        generator.populate(userService, 3 * PopulationGenerator.CHUNK + 7, 4);
+
+        for (long number = 1; number <= 3 * PopulationGenerator.CHUNK + 7; number++) {
+            GeneratedUser user = generator.user(number);
+            String id = String.valueOf(number + Long.parseLong(existing));
+            assertEquals(PopulationGenerator.email(number), userService.getUser(id).getEmail());
+            assertEquals(user.tasks().size(), userService.snapshot(id).completedTasks().size());
+            assertEquals(user.status(), FLOW.status(userService.snapshot(id)));
+            for (TaskResult result : userService.snapshot(id).completedTasks().values()) {
+                assertEquals(id, result.payload().get("user_id"));
+            }
+        }
+    }
+
+    @Test
+    void populate_failingRedoableTask_leavesRetryingApplicants() {
+        Task quiz = new Task("quiz", "Quiz", Set.of("user_id", "score"),
+                payload -> payload.get("score") instanceof Number score && score.doubleValue() > 50, null, true);
+        Task slack = new Task("slack", "Slack", Set.of("user_id", "timestamp"), null, null, true);
+        CompiledFlow flow = new InterpretedFlow(new Flow("flow", "Flow", List.of(new Step("step", "Step", List.of(quiz, slack)))));
+        SimulationProfile profile = new SimulationProfile(new SimulationProfile.TaskProfile(0.0, 0.5, 3, null),
+                Map.of("quiz", new SimulationProfile.TaskProfile(null, null, null,
+                        Map.of("score", new SimulationProfile.FieldProfile(null, null, 0.0, 100.0, null)))));
+        UserService userService = new UserService();
+
+        new PopulationGenerator(flow, profile, 1).populate(userService, 200);
+
+        int retried = 0;
+        int stuck = 0;
+        for (long number = 1; number <= 200; number++) {
+            String id = String.valueOf(number);
+            long attempts = userService.attemptHistory(id, "quiz").getTotalAttempts();
+            retried += attempts > 1 ? 1 : 0;
+            TaskResult latest = userService.snapshot(id).completedTasks().get("quiz");
+            if (!latest.passed()) {
+                stuck++;
+                assertEquals("in_progress", flow.status(userService.snapshot(id)));
+                assertNull(userService.getFinalStatus(id));
+            }
+        }
+        assertTrue(retried > 0);
+        assertTrue(stuck > 0);
+    }
+
+    @Test
+    void writeNdjson_anyParallelism_sameLinesAsUser() throws Exception {
+        PopulationGenerator generator = new PopulationGenerator(FLOW, SimulationProfile.load(), 5);
+        long count = 2 * PopulationGenerator.CHUNK + 3;
+        Path sequential = dir.resolve("sequential.ndjson");
+        Path parallel = dir.resolve("parallel.ndjson");
+
+        generator.writeNdjson(sequential, count, 1);
+        generator.writeNdjson(parallel, count, 3);
+
+        assertArrayEquals(Files.readAllBytes(sequential), Files.readAllBytes(parallel));
+        List<String> lines = Files.readAllLines(sequential);
+        assertEquals(count, lines.size());
+        Set<String> emails = new HashSet<>();
+        for (int i = 0; i < lines.size(); i++) {
+            JsonNode line = OBJECT_MAPPER.readTree(lines.get(i));
+            GeneratedUser user = generator.user(i + 1);
+            assertEquals(user.id(), line.get("id").asText());
+            assertTrue(emails.add(line.get("email").asText()));
+            assertEquals(user.status(), line.get("status").asText());
+            assertEquals(user.tasks().size(), line.get("tasks").size());
+            for (int t = 0; t < user.tasks().size(); t++) {
+                TaskResult result = user.tasks().get(t);
+                JsonNode task = line.get("tasks").get(t);
+                assertEquals(result.taskId(), task.get("taskId").asText());
+                assertEquals(result.passed(), task.get("passed").asBoolean());
+                assertEquals(result.when().toString(), task.get("when").asText());
+                assertEquals(result.payload(), OBJECT_MAPPER.convertValue(task.get("payload"), Map.class));
+            }
+        }
+    }
+
+    @Test
+    void timestamp_matchesInstantToString() {
+        for (long seconds = 0; seconds < 5_000_000_000L; seconds += 7_777_777) {
+            Instant instant = Instant.ofEpochSecond(seconds);
+            assertEquals(instant.toString(), ApplicantModel.timestamp(instant));
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.example.admissions.engine.storage;
+
+import com.example.admissions.engine.model.TaskResult;
+import com.example.admissions.engine.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CachingUserRepository in front of a fake persistent backend.
+ */
+class CachingUserRepositoryTest {
+    private CountingBackend backend;
+
+    @BeforeEach
+    void setUp() {
+        backend = new CountingBackend();
+    }
+
+    @Test
+    void findById_secondLookup_isServedFromCache() {
+        backend.insert(new User("1", "a@example.com"), "a@example.com");
+        CachingUserRepository cache = new CachingUserRepository(backend, 10, Duration.ofSeconds(30));
+
+        User first = cache.findById("1");
+        User second = cache.findById("1");
+
+        assertSame(first, second);
+        assertEquals(1, backend.loads.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void findById_unknownId_isNegativelyCached() {
+        CachingUserRepository cache = new CachingUserRepository(backend, 10, Duration.ofSeconds(30));
+
+        for (int i = 0; i < 100; i++) {
+            assertNull(cache.findById("99999"));
+            assertFalse(cache.existsById("99999"));
+        }
+
+        assertEquals(1, backend.loads.get());
+        assertEquals(199, cache.getNegativeHitCount());
+    }
+
+    @Test
+    void insert_previouslyMissingId_invalidatesNegativeEntry() {
+        CachingUserRepository cache = new CachingUserRepository(backend, 10, Duration.ofSeconds(30));
+        assertNull(cache.findById("1"));
+
+        cache.insert(new User("1", "late@example.com"), "late@example.com");
+
+        assertNotNull(cache.findById("1"));
+        assertTrue(cache.existsById("1"));
+    }
+
+    @Test
+    void appendTaskResult_cachedUser_writesThroughToBackendAndCache() {
+        backend.insert(new User("1", "w@example.com"), "w@example.com");
+        CachingUserRepository cache = new CachingUserRepository(backend, 10, Duration.ofSeconds(30));
+        User cached = cache.findById("1");
+
+        assertTrue(cache.appendTaskResult("1", new TaskResult("iq_test", true, Instant.now(), Map.of())));
+        assertTrue(cache.markFinal("1", "accepted"));
+
+        assertTrue(cached.getCompletedTasks().containsKey("iq_test"));
+        assertEquals("accepted", cache.findFinalStatus("1"));
+        User stored = backend.findById("1");
+        assertTrue(stored.getCompletedTasks().containsKey("iq_test"));
+        assertEquals("accepted", stored.getFinalStatus());
+    }
+
+    @Test
+    void findById_floodOfUnknownIds_evictsOnlyTheOldest() {
+        CachingUserRepository cache = new CachingUserRepository(backend, 10, Duration.ofSeconds(30));
+        int capacity = 1024; // negative cache floor for small caches
+        for (int i = 0; i <= capacity; i++) {
+            assertNull(cache.findById("missing-" + i));
+        }
+        long loads = backend.loads.get();
+
+        assertNull(cache.findById("missing-1"));
+        assertEquals(loads, backend.loads.get());
+        assertNull(cache.findById("missing-0"));
+        assertEquals(loads + 1, backend.loads.get());
+    }
+
+    @Test
+    void heapBackend_writesReachCacheAndColdUsersAreRehydratedOnce() {
+        ColdUserTier coldTier = new ColdUserTier();
+        CachingUserRepository cache = new CachingUserRepository(
+                new InMemoryUserRepository(coldTier), 10, Duration.ofSeconds(30));
+        cache.insert(new User("1", "heap@example.com"), "heap@example.com");
+
+        assertTrue(cache.appendTaskResult("1", new TaskResult("iq_test", true, Instant.now(), Map.of())));
+        assertTrue(cache.markFinal("1", "accepted"));
+        User finalized = cache.findById("1");
+        cache.findById("1");
+
+        assertEquals("accepted", finalized.getFinalStatus());
+        assertTrue(finalized.getCompletedTasks().containsKey("iq_test"));
+        assertEquals(1, coldTier.getStoredUsers());
+        assertEquals(1, coldTier.getRehydrations());
+
+        assertTrue(cache.appendTaskResult("1", new TaskResult("personal_details", true, Instant.now(), Map.of())));
+        assertEquals(2, cache.findById("1").getCompletedTasks().size());
+    }
+
+    @Test
+    void findById_writeDuringLoad_loadIsNotCached() {
+        backend.insert(new User("1", "race@example.com"), "race@example.com");
+        CachingUserRepository cache = new CachingUserRepository(backend, 10, Duration.ofSeconds(30));
+        backend.onLoad = () -> {
+            backend.onLoad = null;
+            assertTrue(cache.appendTaskResult("1", new TaskResult("iq_test", true, Instant.now(), Map.of())));
+        };
+
+        assertNotNull(cache.findById("1"));
+
+        assertEquals(0, cache.getSize());
+        assertTrue(cache.findById("1").getCompletedTasks().containsKey("iq_test"));
+    }
+
+    @Test
+    void close_closesDelegate() throws Exception {
+        CachingUserRepository cache = new CachingUserRepository(backend, 10, Duration.ofSeconds(30));
+        cache.close();
+        assertTrue(backend.closed);
+    }
+
+    @Test
+    void appendTaskResult_unknownUser_returnsFalse() {
+        CachingUserRepository cache = new CachingUserRepository(backend, 10, Duration.ofSeconds(30));
+        assertFalse(cache.appendTaskResult("42", new TaskResult("iq_test", true, Instant.now(), Map.of())));
+    }
+
+    @Test
+    void size_neverExceedsMaximum() {
+        int users = 1_000;
+        for (int i = 1; i <= users; i++) {
+            backend.insert(new User(String.valueOf(i), i + "@example.com"), i + "@example.com");
+        }
+        CachingUserRepository cache = new CachingUserRepository(backend, 50, Duration.ofSeconds(30));
+
+        for (int i = 1; i <= users; i++) {
+            cache.findById(String.valueOf(i));
+            assertTrue(cache.getSize() <= 50);
+        }
+        assertEquals(users - 50, cache.getEvictionCount());
+    }
+
+    /**
+     * Zipf(s=1.0), the skew usually reported for web and key-value workloads. At this skew even an
+     * ideal cache holding the 5% most popular users answers only about 71% of lookups, so the cache
+     * is held to 95% of that bound rather than to a fixed hit ratio.
+     */
+    @Test
+    void hitRatio_zipfTrace_within5PercentOfIdealWithCacheAtFivePercentOfUsers() {
+        int users = 20_000;
+        for (int i = 1; i <= users; i++) {
+            backend.insert(new User(String.valueOf(i), i + "@example.com"), i + "@example.com");
+        }
+        int cacheSize = users / 20;
+        CachingUserRepository cache = new CachingUserRepository(backend, cacheSize, Duration.ofSeconds(30));
+        ZipfTrace trace = new ZipfTrace(users, 1.0, new Random(42));
+
+        for (int i = 0; i < 100_000; i++) {
+            cache.findById(trace.next()); // warm up
+        }
+        long hitsBefore = cache.getHitCount();
+        long missesBefore = cache.getMissCount();
+        for (int i = 0; i < 500_000; i++) {
+            assertNotNull(cache.findById(trace.next()));
+        }
+
+        long hits = cache.getHitCount() - hitsBefore;
+        long misses = cache.getMissCount() - missesBefore;
+        double hitRatio = (double) hits / (hits + misses);
+        double ideal = trace.share(cacheSize);
+        assertTrue(hitRatio > 0.95 * ideal, "hit ratio was " + hitRatio + ", ideal " + ideal);
+    }
+
+    /**
+     * Zipf-distributed user ids over a shuffled popularity ranking.
+     */
+    private static final class ZipfTrace {
+        private final double[] cumulative;
+        private final String[] idsByRank;
+        private final Random random;
+
+        ZipfTrace(int size, double exponent, Random random) {
+            this.random = random;
+            this.cumulative = new double[size];
+            double sum = 0;
+            for (int rank = 0; rank < size; rank++) {
+                sum += 1.0 / Math.pow(rank + 1, exponent);
+                cumulative[rank] = sum;
+            }
+            for (int rank = 0; rank < size; rank++) {
+                cumulative[rank] /= sum;
+            }
+            List<String> ids = new ArrayList<>(size);
+            for (int i = 1; i <= size; i++) {
+                ids.add(String.valueOf(i));
+            }
+            Collections.shuffle(ids, random);
+            this.idsByRank = ids.toArray(new String[0]);
+        }
+
+        /**
+         * @return probability that a lookup goes to one of the {@code ranks} most popular ids
+         */
+        double share(int ranks) {
+            return cumulative[ranks - 1];
+        }
+
+        String next() {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+            return idsByRank[rank >= 0 ? rank : Math.min(-rank - 1, idsByRank.length - 1)];
+        }
+    }
+
+    /**
+     * Persistent-style backend: hands out detached copies and counts loads.
+     */
+    private static final class CountingBackend implements UserRepository, AutoCloseable {
+        private final Map<String, User> users = new ConcurrentHashMap<>();
+        private final Map<String, String> emails = new ConcurrentHashMap<>();
+        final AtomicLong loads = new AtomicLong();
+        volatile Runnable onLoad;
+        volatile boolean closed;
+
+        @Override
+        public User findById(String userId) {
+            loads.incrementAndGet();
+            Runnable hook = onLoad;
+            if (hook != null) {
+                hook.run();
+            }
+            User stored = users.get(userId);
+            if (stored == null) {
+                return null;
+            }
+            User copy = new User(stored.getId(), stored.getEmail());
+            stored.getCompletedTasks().values().forEach(copy::addTaskResult);
+            copy.setFinalStatus(stored.getFinalStatus());
+            return copy;
+        }
+
+        @Override
+        public boolean existsById(String userId) {
+            return users.containsKey(userId);
+        }
+
+        @Override
+        public String findFinalStatus(String userId) {
+            User stored = users.get(userId);
+            return stored != null ? stored.getFinalStatus() : null;
+        }
+
+        @Override
+        public String findIdByEmail(String normalizedEmail) {
+            return emails.get(normalizedEmail);
+        }
+
+        @Override
+        public boolean insert(User user, String normalizedEmail) {
+            if (emails.putIfAbsent(normalizedEmail, user.getId()) != null) {
+                return false;
+            }
+            users.put(user.getId(), new User(user.getId(), user.getEmail()));
+            return true;
+        }
+
+        @Override
+        public boolean appendTaskResult(String userId, TaskResult result) {
+            User stored = users.get(userId);
+            if (stored == null) {
+                return false;
+            }
+            stored.addTaskResult(result);
+            return true;
+        }
+
+        @Override
+        public boolean markFinal(String userId, String status) {
+            User stored = users.get(userId);
+            if (stored == null) {
+                return false;
+            }
+            stored.setFinalStatus(status);
+            return true;
+        }
+
+        @Override
+        public boolean reopen(String userId) {
+            User stored = users.get(userId);
+            if (stored == null) {
+                return false;
+            }
+            stored.reopen();
+            return true;
+        }
+
+        @Override
+        public synchronized boolean replaceFinalStatus(String userId, long expectedVersion, String status) {
+            User stored = users.get(userId);
+            if (stored == null || stored.getVersion() != expectedVersion) {
+                return false;
+            }
+            stored.reopen();
+            if (status != null) {
+                stored.setFinalStatus(status);
+            }
+            return true;
+        }
+
+        @Override
+        public long lastAssignedId() {
+            return users.size();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
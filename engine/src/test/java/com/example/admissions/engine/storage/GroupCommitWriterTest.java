@@ -0,0 +1,73 @@
+package com.example.admissions.engine.storage;
+
+import com.example.admissions.engine.exception.StorageException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GroupCommitWriter's shutdown: no write may be left waiting forever.
+ */
+class GroupCommitWriterTest {
+
+    @Test
+    void submit_afterClose_isRejected() {
+        GroupCommitWriter<Integer> writer = new GroupCommitWriter<>("test-writer", GroupCommitWriterTest::applyAll,
+                16, Duration.ofMillis(1), 100);
+        writer.close();
+
+        assertThrows(StorageException.class, () -> writer.submit(1));
+    }
+
+    @Test
+    void submit_racingClose_everyAcceptedWriteCompletes() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            AtomicInteger applied = new AtomicInteger();
+            GroupCommitWriter<Integer> writer = new GroupCommitWriter<>("test-writer", batch -> {
+                applied.addAndGet(batch.size());
+                return applyAll(batch);
+            }, 16, Duration.ofMillis(1), 100);
+            ConcurrentLinkedQueue<CompletableFuture<Boolean>> accepted = new ConcurrentLinkedQueue<>();
+            CountDownLatch started = new CountDownLatch(4);
+            Thread[] submitters = new Thread[4];
+            for (int t = 0; t < submitters.length; t++) {
+                submitters[t] = new Thread(() -> {
+                    started.countDown();
+                    try {
+                        for (int i = 0; ; i++) {
+                            accepted.add(writer.submit(i));
+                        }
+                    } catch (StorageException e) {
+                        // closed
+                    }
+                });
+                submitters[t].start();
+            }
+            started.await();
+            writer.close();
+            for (Thread submitter : submitters) {
+                submitter.join();
+            }
+
+            for (CompletableFuture<Boolean> write : accepted) {
+                assertTrue(write.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(accepted.size(), applied.get());
+        }
+    }
+
+    private static boolean[] applyAll(List<Integer> batch) {
+        boolean[] applied = new boolean[batch.size()];
+        Arrays.fill(applied, true);
+        return applied;
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.admissions.engine.storage;
+
+import com.example.admissions.engine.exception.StorageException;
+import com.example.admissions.engine.model.TaskResult;
+import com.example.admissions.engine.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the durable backends (append-only file and embedded JDBC).
+ */
+class PersistentUserRepositoryTest {
+    @TempDir
+    Path dir;
+
+    private UserRepository open(String backend) {
+        return switch (backend) {
+            case "file" -> new AppendOnlyFileUserRepository(
+                    dir.resolve("users.log"), new ColdUserTier(), true, 16, 256, Duration.ofMillis(2), 1000);
+            case "jdbc" -> new JdbcUserRepository(
+                    "jdbc:h2:file:" + dir.resolve("admissions"), "sa", "", 2, "CHECKPOINT SYNC", Duration.ZERO,
+                    16, 256, Duration.ofMillis(2), 1000);
+            default -> throw new IllegalArgumentException(backend);
+        };
+    }
+
+    private static void close(UserRepository repository) throws Exception {
+        ((AutoCloseable) repository).close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"file", "jdbc"})
+    void reopen_restoresUsersResultsAndStatus(String backend) throws Exception {
+        UserRepository repository = open(backend);
+        assertTrue(repository.insert(new User("1", "Durable@example.com"), "durable@example.com"));
+        assertTrue(repository.insert(new User("2", "other@example.com"), "other@example.com"));
+        Instant when = Instant.parse("2025-12-10T15:00:00Z");
+        assertTrue(repository.appendTaskResult("1", new TaskResult("iq_test", false, when, Map.of("score", 50))));
+        assertTrue(repository.appendTaskResult("1", new TaskResult("iq_test", true, when, Map.of("score", 90))));
+        assertTrue(repository.markFinal("1", "accepted"));
+        long version = repository.findVersion("1");
+        close(repository);
+
+        UserRepository reopened = open(backend);
+        try {
+            User user = reopened.findById("1");
+            assertNotNull(user);
+            assertEquals("Durable@example.com", user.getEmail());
+            assertEquals("accepted", user.getFinalStatus());
+            assertEquals("accepted", reopened.findFinalStatus("1"));
+            TaskResult result = user.getCompletedTasks().get("iq_test");
+            assertTrue(result.passed());
+            assertEquals(90, result.payload().get("score"));
+            assertEquals(when, result.when());
+            assertEquals("1", reopened.findIdByEmail("durable@example.com"));
+            assertEquals(2, reopened.lastAssignedId());
+            assertTrue(reopened.existsById("2"));
+            assertFalse(reopened.existsById("3"));
+            assertEquals(version, reopened.findVersion("1"));
+            assertEquals(version, user.getVersion());
+            assertEquals(-1, reopened.findVersion("3"));
+        } finally {
+            close(reopened);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"file", "jdbc"})
+    void reopen_clearedStatusSurvivesRestart_versionKeepsGrowing(String backend) throws Exception {
+        UserRepository repository = open(backend);
+        assertTrue(repository.insert(new User("1", "reopen@example.com"), "reopen@example.com"));
+        assertTrue(repository.appendTaskResult("1", new TaskResult("iq_test", true, Instant.now(), Map.of())));
+        assertTrue(repository.markFinal("1", "accepted"));
+        long finalized = repository.findVersion("1");
+        assertTrue(repository.reopen("1"));
+        assertFalse(repository.reopen("42"));
+        long reopened = repository.findVersion("1");
+        assertTrue(reopened > finalized);
+        close(repository);
+
+        UserRepository restarted = open(backend);
+        try {
+            assertNull(restarted.findFinalStatus("1"));
+            assertEquals(reopened, restarted.findVersion("1"));
+            assertEquals(reopened, restarted.findById("1").getVersion());
+            assertTrue(restarted.markFinal("1", "rejected"));
+            assertEquals("rejected", restarted.findFinalStatus("1"));
+            assertEquals(reopened + 1, restarted.findVersion("1"));
+            assertEquals(reopened + 1, restarted.findById("1").getVersion());
+        } finally {
+            close(restarted);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"file", "jdbc"})
+    void replaceFinalStatus_onlyAtExpectedVersion_survivesRestart(String backend) throws Exception {
+        UserRepository repository = open(backend);
+        assertTrue(repository.insert(new User("1", "replace@example.com"), "replace@example.com"));
+        Instant when = Instant.parse("2025-12-10T15:00:00Z");
+        assertTrue(repository.appendTaskResult("1", new TaskResult("iq_test", true, when, Map.of())));
+        assertTrue(repository.markFinal("1", "accepted"));
+        long read = repository.findVersion("1");
+        assertTrue(repository.appendTaskResult("1", new TaskResult("iq_test", true, when, Map.of()))); // a redo since
+
+        assertFalse(repository.replaceFinalStatus("1", read, "rejected"));
+        assertEquals("accepted", repository.findFinalStatus("1"));
+        long current = repository.findVersion("1");
+        assertTrue(repository.replaceFinalStatus("1", current, "rejected"));
+        assertFalse(repository.replaceFinalStatus("2", 0, null));
+        long replaced = repository.findVersion("1");
+        assertTrue(replaced > current);
+        close(repository);
+
+        UserRepository reopened = open(backend);
+        try {
+            assertEquals("rejected", reopened.findFinalStatus("1"));
+            assertEquals(replaced, reopened.findVersion("1"));
+            assertTrue(reopened.replaceFinalStatus("1", replaced, null));
+            assertNull(reopened.findFinalStatus("1"));
+        } finally {
+            close(reopened);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"file", "jdbc"})
+    void insert_duplicateEmail_returnsFalse(String backend) throws Exception {
+        UserRepository repository = open(backend);
+        try {
+            assertTrue(repository.insert(new User("1", "dup@example.com"), "dup@example.com"));
+            assertFalse(repository.insert(new User("2", "DUP@example.com"), "dup@example.com"));
+            assertFalse(repository.existsById("2"));
+        } finally {
+            close(repository);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"file", "jdbc"})
+    void writes_unknownUser_returnFalse(String backend) throws Exception {
+        UserRepository repository = open(backend);
+        try {
+            assertFalse(repository.appendTaskResult("42", new TaskResult("iq_test", true, Instant.now(), Map.of())));
+            assertFalse(repository.markFinal("42", "accepted"));
+            assertNull(repository.findById("42"));
+        } finally {
+            close(repository);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"file", "jdbc"})
+    void concurrentWrites_areCoalescedIntoBatches(String backend) throws Exception {
+        UserRepository repository = open(backend);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Boolean>> writes = new ArrayList<>();
+            for (int i = 1; i <= 200; i++) {
+                String id = String.valueOf(i);
+                writes.add(pool.submit(() -> repository.insert(new User(id, id + "@example.com"), id + "@example.com")
+                        && repository.appendTaskResult(id, new TaskResult("personal_details", true, Instant.now(), Map.of()))));
+            }
+            for (Future<Boolean> write : writes) {
+                assertTrue(write.get());
+            }
+            GroupCommitWriter<StorageWrite> writer = repository instanceof JdbcUserRepository jdbc
+                    ? jdbc.getWriter()
+                    : ((AppendOnlyFileUserRepository) repository).getWriter();
+            assertEquals(400, writer.getWriteCount());
+            assertTrue(writer.getBatchCount() < writer.getWriteCount());
+            assertEquals(1, repository.findById("200").getCompletedTasks().size());
+        } finally {
+            pool.shutdown();
+            close(repository);
+        }
+    }
+
+    @Test
+    void file_failedAppend_leavesStateUnchanged() throws Exception {
+        AppendOnlyFileUserRepository repository = (AppendOnlyFileUserRepository) open("file");
+        try {
+            assertTrue(repository.insert(new User("1", "failed@example.com"), "failed@example.com"));
+            repository.getWriter().close();
+
+            assertThrows(StorageException.class, () -> repository.insert(new User("2", "lost@example.com"), "lost@example.com"));
+            assertThrows(StorageException.class,
+                    () -> repository.appendTaskResult("1", new TaskResult("iq_test", true, Instant.now(), Map.of())));
+            assertThrows(StorageException.class, () -> repository.markFinal("1", "accepted"));
+
+            assertFalse(repository.existsById("2"));
+            assertNull(repository.findIdByEmail("lost@example.com"));
+            assertTrue(repository.findById("1").getCompletedTasks().isEmpty());
+            assertNull(repository.findFinalStatus("1"));
+        } finally {
+            repository.close();
+        }
+    }
+
+    @Test
+    void file_tornLengthPrefix_isTruncatedWithoutAllocatingIt() throws Exception {
+        UserRepository repository = open("file");
+        assertTrue(repository.insert(new User("1", "torn@example.com"), "torn@example.com"));
+        close(repository);
+        Path log = dir.resolve("users.log");
+        long intact = Files.size(log);
+        Files.write(log, new byte[]{0x7f, (byte) 0xff, (byte) 0xff, (byte) 0xf0, 1, 2}, StandardOpenOption.APPEND);
+
+        UserRepository reopened = open("file");
+        try {
+            assertTrue(reopened.existsById("1"));
+            assertEquals(intact, Files.size(log));
+            assertTrue(reopened.insert(new User("2", "after@example.com"), "after@example.com"));
+        } finally {
+            close(reopened);
+        }
+    }
+
+    @Test
+    void jdbc_writesForOneUserInOneBatch_keepSubmissionOrder() throws Exception {
+        JdbcUserRepository repository = new JdbcUserRepository(
+                "jdbc:h2:file:" + dir.resolve("ordered"), "sa", "", 2, "CHECKPOINT SYNC", Duration.ZERO,
+                16, 256, Duration.ofMillis(200), 1000);
+        try {
+            assertTrue(repository.insert(new User("1", "order@example.com"), "order@example.com"));
+            assertTrue(repository.markFinal("1", "rejected"));
+            GroupCommitWriter<StorageWrite> writer = repository.getWriter();
+            long batches = writer.getBatchCount();
+
+            CompletableFuture<Boolean> cleared = writer.submit(new StorageWrite.FinalStatusCleared("1"));
+            CompletableFuture<Boolean> marked = writer.submit(new StorageWrite.FinalStatusMarked("1", "accepted"));
+            CompletableFuture<Boolean> appended = writer.submit(
+                    new StorageWrite.TaskResultAppended("1", new TaskResult("iq_test", true, Instant.now(), Map.of())));
+
+            assertTrue(GroupCommitWriter.await(cleared));
+            assertTrue(GroupCommitWriter.await(marked));
+            assertTrue(GroupCommitWriter.await(appended));
+            assertEquals(batches + 1, writer.getBatchCount());
+            assertEquals("accepted", repository.findFinalStatus("1"));
+            assertEquals(1, repository.findById("1").getCompletedTasks().size());
+        } finally {
+            repository.close();
+        }
+    }
+}